@@ -0,0 +1,248 @@
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * HTTP load driver for a running backend filled by DatasetSeeder (profile
+ * "seed"). Each virtual user logs in as a different seeded account and
+ * replays a weighted mix of the endpoints the dashboard, trackers, blog and
+ * trainer pages call, with a short think time between requests. At the end
+ * it prints per-endpoint request counts, errors and p50/p95/p99 latency.
+ *
+ * Single-file program, no build needed:
+ *
+ * java scripts/load/LoadDriver.java --base-url http://localhost:8080 --users 50 --duration 120
+ *
+ * Options: --base-url, --users (virtual users), --duration (seconds),
+ * --think-ms (pause between requests), --accounts and --trainer-percent (the
+ * app.seed.users and app.seed.trainer-percent used to seed), --password
+ * (app.seed.password), --seed (random seed).
+ */
+public class LoadDriver {
+
+    private static final Pattern TOKEN = Pattern.compile("\"token\"\\s*:\\s*\"([^\"]+)\"");
+    private static final Pattern POST_ID = Pattern.compile("\"id\"\\s*:\\s*(\\d+)\\s*,\\s*\"title\"");
+
+    /** One entry of the mix: weight, label for the report, and how to build the request. */
+    private record Step(int weight, String label, RequestFactory factory) {
+    }
+
+    @FunctionalInterface
+    private interface RequestFactory {
+        HttpRequest.Builder create(Session session);
+    }
+
+    /** Per virtual user state. */
+    private record Session(String token, Random random, List<Long> postIds) {
+    }
+
+    private static final List<Step> MIX = List.of(
+            new Step(15, "GET /api/analytics/summary", s -> get("/api/analytics/summary")),
+            new Step(10, "GET /api/users/me", s -> get("/api/users/me")),
+            new Step(10, "GET /api/leaderboard/weekly", s -> get("/api/leaderboard/weekly")),
+            new Step(8, "GET /api/trackers/workouts/history", s -> get("/api/trackers/workouts/history?limit=20")),
+            new Step(6, "GET /api/trackers/meals/history", s -> get("/api/trackers/meals/history?limit=20")),
+            new Step(5, "GET /api/trackers/water/history", s -> get("/api/trackers/water/history?limit=20")),
+            new Step(4, "GET /api/trackers/sleep/history", s -> get("/api/trackers/sleep/history?limit=20")),
+            new Step(8, "GET /api/blog/posts", s -> get("/api/blog/posts")),
+            new Step(6, "GET /api/blog/posts/{id}", s -> get("/api/blog/posts/" + pick(s))),
+            new Step(3, "GET /api/blog/posts/{id}/comments", s -> get("/api/blog/posts/" + pick(s) + "/comments")),
+            new Step(4, "GET /api/trainers", s -> get("/api/trainers")),
+            new Step(2, "GET /api/trainers/filters", s -> get("/api/trainers/filters")),
+            new Step(3, "GET /api/notifications", s -> get("/api/notifications")),
+            new Step(2, "GET /api/trainer-interactions/client-requests",
+                    s -> get("/api/trainer-interactions/client-requests")),
+            new Step(5, "POST /api/trackers/workouts", s -> post("/api/trackers/workouts",
+                    "{\"type\":\"Running\",\"durationMinutes\":" + (15 + s.random().nextInt(45))
+                            + ",\"caloriesBurned\":" + (150 + s.random().nextInt(300)) + ",\"performedAt\":\""
+                            + LocalDateTime.now().withNano(0) + "\"}")),
+            new Step(5, "POST /api/trackers/water", s -> post("/api/trackers/water",
+                    "{\"liters\":0.25,\"loggedAt\":\"" + LocalDateTime.now().withNano(0) + "\"}")),
+            new Step(4, "GET /api/analytics/summary?90d", s -> get("/api/analytics/summary?startDate="
+                    + LocalDate.now().minusDays(89) + "&endDate=" + LocalDate.now())));
+
+    private static String baseUrl = "http://localhost:8080";
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parse(args);
+        baseUrl = options.getOrDefault("base-url", baseUrl).replaceAll("/$", "");
+        int users = Integer.parseInt(options.getOrDefault("users", "20"));
+        int durationSeconds = Integer.parseInt(options.getOrDefault("duration", "60"));
+        int thinkMs = Integer.parseInt(options.getOrDefault("think-ms", "200"));
+        int accounts = Integer.parseInt(options.getOrDefault("accounts", "1000"));
+        int trainers = Math.max(1, accounts * Integer.parseInt(options.getOrDefault("trainer-percent", "2")) / 100);
+        String password = options.getOrDefault("password", "Password123!");
+        long seed = Long.parseLong(options.getOrDefault("seed", "7"));
+
+        HttpClient client = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(5))
+                .executor(Executors.newFixedThreadPool(Math.max(4, users)))
+                .build();
+        Map<String, Stats> stats = new ConcurrentHashMap<>();
+        for (Step step : MIX) {
+            stats.put(step.label(), new Stats());
+        }
+        int totalWeight = MIX.stream().mapToInt(Step::weight).sum();
+
+        System.out.printf("Load: %d users for %ds against %s%n", users, durationSeconds, baseUrl);
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(durationSeconds);
+        ExecutorService workers = Executors.newFixedThreadPool(users);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int u = 0; u < users; u++) {
+            int userIndex = u;
+            futures.add(workers.submit(() -> {
+                Random random = new Random(seed + userIndex);
+                // Seeded trainers come first (seed0..), regular users after them
+                String email = "seed" + (trainers + random.nextInt(accounts - trainers)) + "@seed.wellnest.local";
+                Session session = login(client, email, password, random);
+                while (System.nanoTime() < deadline) {
+                    Step step = choose(random, totalWeight);
+                    HttpRequest request = step.factory().create(session)
+                            .header("Authorization", "Bearer " + session.token())
+                            .timeout(Duration.ofSeconds(30))
+                            .build();
+                    long started = System.nanoTime();
+                    try {
+                        HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                        stats.get(step.label()).record(System.nanoTime() - started, response.statusCode());
+                    } catch (Exception e) {
+                        stats.get(step.label()).record(System.nanoTime() - started, -1);
+                    }
+                    if (thinkMs > 0) {
+                        Thread.sleep(random.nextInt(thinkMs * 2 + 1));
+                    }
+                }
+                return null;
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        workers.shutdown();
+        report(stats, durationSeconds);
+        System.exit(0);
+    }
+
+    // -------------------- SESSION --------------------
+
+    private static Session login(HttpClient client, String email, String password, Random random) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/api/auth/login"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(
+                        "{\"email\":\"" + email + "\",\"password\":\"" + password + "\"}"))
+                .build();
+        HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+        Matcher matcher = TOKEN.matcher(response.body());
+        if (response.statusCode() != 200 || !matcher.find()) {
+            throw new IllegalStateException("Login failed for " + email + ": HTTP " + response.statusCode()
+                    + " (seed the database with the \"seed\" profile first)");
+        }
+        String token = matcher.group(1);
+
+        // Post ids for the /posts/{id} steps, from the feed once per session
+        HttpRequest feed = get("/api/blog/posts").header("Authorization", "Bearer " + token).build();
+        List<Long> postIds = new ArrayList<>();
+        Matcher ids = POST_ID.matcher(client.send(feed, HttpResponse.BodyHandlers.ofString()).body());
+        while (ids.find()) {
+            postIds.add(Long.parseLong(ids.group(1)));
+        }
+        if (postIds.isEmpty()) {
+            postIds.add(1L);
+        }
+        return new Session(token, random, postIds);
+    }
+
+    private static HttpRequest.Builder get(String path) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path)).GET();
+    }
+
+    private static HttpRequest.Builder post(String path, String json) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json));
+    }
+
+    private static long pick(Session session) {
+        return session.postIds().get(session.random().nextInt(session.postIds().size()));
+    }
+
+    private static Step choose(Random random, int totalWeight) {
+        int roll = random.nextInt(totalWeight);
+        for (Step step : MIX) {
+            roll -= step.weight();
+            if (roll < 0) {
+                return step;
+            }
+        }
+        return MIX.get(MIX.size() - 1);
+    }
+
+    // -------------------- REPORT --------------------
+
+    /** Latencies (ns) and outcome counts for one endpoint. */
+    private static final class Stats {
+        private final List<Long> latencies = Collections.synchronizedList(new ArrayList<>());
+        private final AtomicLong clientErrors = new AtomicLong();
+        private final AtomicLong serverErrors = new AtomicLong();
+
+        void record(long nanos, int status) {
+            latencies.add(nanos);
+            if (status >= 500 || status < 0) {
+                serverErrors.incrementAndGet();
+            } else if (status >= 400) {
+                clientErrors.incrementAndGet(); // e.g. the water cooldown; expected in the mix
+            }
+        }
+    }
+
+    private static void report(Map<String, Stats> stats, int durationSeconds) {
+        System.out.printf("%n%-48s %8s %7s %7s %9s %9s %9s%n", "endpoint", "requests", "4xx", "5xx/io",
+                "p50 ms", "p95 ms", "p99 ms");
+        List<Long> all = new ArrayList<>();
+        for (Step step : MIX) {
+            Stats s = stats.get(step.label());
+            List<Long> sorted;
+            synchronized (s.latencies) {
+                sorted = new ArrayList<>(s.latencies);
+            }
+            Collections.sort(sorted);
+            all.addAll(sorted);
+            System.out.printf("%-48s %8d %7d %7d %9.1f %9.1f %9.1f%n", step.label(), sorted.size(),
+                    s.clientErrors.get(), s.serverErrors.get(), percentile(sorted, 50), percentile(sorted, 95),
+                    percentile(sorted, 99));
+        }
+        Collections.sort(all);
+        System.out.printf("%-48s %8d %7s %7s %9.1f %9.1f %9.1f%n", "ALL", all.size(), "", "",
+                percentile(all, 50), percentile(all, 95), percentile(all, 99));
+        System.out.printf("Throughput: %.1f req/s%n", all.size() / (double) durationSeconds);
+    }
+
+    // Nearest-rank percentile in milliseconds
+    private static double percentile(List<Long> sorted, int p) {
+        if (sorted.isEmpty()) {
+            return 0;
+        }
+        int rank = (int) Math.ceil(p / 100.0 * sorted.size());
+        return sorted.get(Math.max(0, rank - 1)) / 1_000_000.0;
+    }
+
+    private static Map<String, String> parse(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            if (!args[i].startsWith("--")) {
+                throw new IllegalArgumentException("Unexpected argument: " + args[i]);
+            }
+            options.put(args[i].substring(2), args[i + 1]);
+        }
+        return options;
+    }
+}
@@ -0,0 +1,78 @@
+package com.wellnest.app.benchmark;
+
+import com.wellnest.app.dto.DailySeries;
+import org.openjdk.jmh.annotations.*;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-day analytics trend: the previous TreeMap&lt;String, Double&gt; keyed by
+ * ISO date against DailySeries, both for filling one value per day (as
+ * AnalyticsAccumulator does) and for writing the JSON the controllers return.
+ * Run with -prof gc to compare allocation per operation.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AnalyticsSeriesBenchmark {
+
+    @Param({ "7", "90", "365" })
+    private int days;
+
+    private final JsonMapper jsonMapper = JsonMapper.builder().build();
+
+    private LocalDate[] dates;
+    private double[] values;
+    private Map<String, Double> treeMap;
+    private DailySeries series;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        LocalDate start = LocalDate.of(2024, 1, 1);
+        dates = new LocalDate[days];
+        values = new double[days];
+        for (int i = 0; i < days; i++) {
+            dates[i] = start.plusDays(i);
+            values[i] = 20 + random.nextInt(70) + random.nextDouble();
+        }
+        treeMap = buildTreeMap();
+        series = buildDailySeries();
+    }
+
+    @Benchmark
+    public Map<String, Double> buildTreeMap() {
+        Map<String, Double> map = new TreeMap<>();
+        for (int i = 0; i < days; i++) {
+            map.put(dates[i].toString(), values[i]);
+        }
+        return map;
+    }
+
+    @Benchmark
+    public DailySeries buildDailySeries() {
+        DailySeries result = new DailySeries();
+        for (int i = 0; i < days; i++) {
+            result.put(dates[i], values[i]);
+        }
+        return result;
+    }
+
+    @Benchmark
+    public byte[] serializeTreeMap() {
+        return jsonMapper.writeValueAsBytes(treeMap);
+    }
+
+    @Benchmark
+    public byte[] serializeDailySeries() {
+        return jsonMapper.writeValueAsBytes(series);
+    }
+}
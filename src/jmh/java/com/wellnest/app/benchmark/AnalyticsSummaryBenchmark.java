@@ -0,0 +1,62 @@
+package com.wellnest.app.benchmark;
+
+import com.wellnest.app.dto.AnalyticsSummary;
+import com.wellnest.app.service.AnalyticsService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Full analytics summary (AnalyticsServiceImpl.generateSummary) per request,
+ * with the summary cache disabled so every call reaches the database.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@State(Scope.Benchmark)
+public class AnalyticsSummaryBenchmark {
+
+    @Param({ "1000", "100000", "1000000" })
+    private int rows;
+
+    @Param({ "7", "90" })
+    private int rangeDays;
+
+    private ConfigurableApplicationContext context;
+    private AnalyticsService analyticsService;
+    private Authentication[] users;
+    private LocalDate startDate;
+    private LocalDate endDate;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start(rows, Map.of("app.analytics.cache.enabled", "false"));
+        analyticsService = context.getBean(AnalyticsService.class);
+        List<String> emails = context.getBean(JdbcTemplate.class)
+                .queryForList("SELECT email FROM users ORDER BY id LIMIT 1000", String.class);
+        users = emails.stream().map(email -> new UsernamePasswordAuthenticationToken(email, null))
+                .toArray(Authentication[]::new);
+        endDate = LocalDate.now();
+        startDate = endDate.minusDays(rangeDays - 1);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public AnalyticsSummary summary() {
+        return analyticsService.getUserAnalytics(users[next++ % users.length], startDate, endDate);
+    }
+}
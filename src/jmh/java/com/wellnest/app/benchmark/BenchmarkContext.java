@@ -0,0 +1,86 @@
+package com.wellnest.app.benchmark;
+
+import com.wellnest.app.security.JwtService;
+import com.wellnest.app.service.*;
+import com.wellnest.app.service.impl.AnalyticsServiceImpl;
+import com.wellnest.app.service.impl.AppUserServiceImpl;
+import com.wellnest.app.service.impl.LocalImageStore;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.AutoConfigurationPackage;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Spring context over an in-memory H2 database (MySQL mode) holding a
+ * synthetic dataset of the requested size. Started in two phases: the first
+ * context only creates the schema and seeds it through SyntheticData, the
+ * second starts the services against the filled database, so their startup
+ * backfills (leaderboard boards, daily rollups) run over the seeded rows just
+ * as after a deploy. One context per benchmark trial.
+ */
+final class BenchmarkContext {
+
+    private BenchmarkContext() {
+    }
+
+    /** JPA and repositories only, used to create the schema. */
+    @SpringBootConfiguration
+    @EnableAutoConfiguration
+    @AutoConfigurationPackage(basePackages = "com.wellnest.app")
+    static class Schema {
+    }
+
+    /** The services under benchmark and what they depend on. */
+    @SpringBootConfiguration
+    @EnableAutoConfiguration
+    @AutoConfigurationPackage(basePackages = "com.wellnest.app")
+    @Import({ LeaderboardService.class, AnalyticsServiceImpl.class, AnalyticsSummaryCache.class,
+            AppUserServiceImpl.class, DailyRollupService.class, TrackerService.class, TrackerDayCounters.class,
+            BlogService.class, ImageService.class, ImageResizer.class, LocalImageStore.class,
+            LikeCounterBuffer.class, BlogSearchService.class, HotPostRanking.class,
+            ContentVersions.class, JwtService.class })
+    static class Services {
+    }
+
+    static ConfigurableApplicationContext start(int rows, Map<String, Object> properties) {
+        String url = "jdbc:h2:mem:bench" + System.nanoTime()
+                + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;NON_KEYWORDS=DAY;DB_CLOSE_DELAY=-1";
+
+        Map<String, Object> schemaProps = baseProperties(url);
+        schemaProps.put("spring.jpa.hibernate.ddl-auto", "create");
+        try (ConfigurableApplicationContext schema = build(Schema.class, schemaProps).run()) {
+            long started = System.nanoTime();
+            SyntheticData.Summary summary = new SyntheticData(schema.getBean(JdbcTemplate.class), 42).generate(rows);
+            System.out.printf("Seeded %s in %d ms%n", summary, (System.nanoTime() - started) / 1_000_000);
+        }
+
+        Map<String, Object> serviceProps = baseProperties(url);
+        serviceProps.put("spring.jpa.hibernate.ddl-auto", "none");
+        serviceProps.putAll(properties);
+        return build(Services.class, serviceProps).run();
+    }
+
+    private static Map<String, Object> baseProperties(String url) {
+        Map<String, Object> props = new HashMap<>();
+        props.put("spring.datasource.url", url);
+        props.put("spring.datasource.username", "sa");
+        props.put("spring.datasource.password", "");
+        props.put("spring.jpa.show-sql", "false");
+        props.put("spring.main.banner-mode", "off");
+        props.put("logging.level.root", "WARN");
+        return props;
+    }
+
+    private static SpringApplicationBuilder build(Class<?> config, Map<String, Object> properties) {
+        return new SpringApplicationBuilder(config)
+                .web(WebApplicationType.NONE)
+                .properties(properties);
+    }
+}
@@ -0,0 +1,89 @@
+package com.wellnest.app.benchmark;
+
+import com.wellnest.app.dto.BlogPostResponse;
+import com.wellnest.app.dto.BlogPostSummary;
+import com.wellnest.app.dto.BlogSearchResults;
+import com.wellnest.app.dto.CursorPage;
+import com.wellnest.app.service.BlogSearchService;
+import com.wellnest.app.service.BlogService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * BlogService.toResponse through its public callers: one post, and the whole
+ * feed for a signed-in user; the first page of the paginated summary feed
+ * and of the hot feed; and a search whose terms occur in every synthetic
+ * post (the worst case for ranking). Each call runs in a read-only
+ * transaction, as the open session does for a web request, so lazy likes
+ * and authors can load.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@State(Scope.Benchmark)
+public class BlogResponseBenchmark {
+
+    @Param({ "1000", "100000", "1000000" })
+    private int rows;
+
+    private ConfigurableApplicationContext context;
+    private BlogService blogService;
+    private BlogSearchService blogSearchService;
+    private TransactionTemplate readOnly;
+    private long[] postIds;
+    private String email;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start(rows, Map.of());
+        blogService = context.getBean(BlogService.class);
+        blogSearchService = context.getBean(BlogSearchService.class);
+        readOnly = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        readOnly.setReadOnly(true);
+        postIds = context.getBean(JdbcTemplate.class).queryForList("SELECT id FROM blog_posts", Long.class)
+                .stream().mapToLong(Long::longValue).toArray();
+        email = String.format(SyntheticData.EMAIL_FORMAT, 0);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Optional<BlogPostResponse> postById() {
+        long id = postIds[next++ % postIds.length];
+        return readOnly.execute(status -> blogService.getPostById(id, email));
+    }
+
+    @Benchmark
+    public List<BlogPostResponse> feed() {
+        return readOnly.execute(status -> blogService.getAllPosts(email));
+    }
+
+    @Benchmark
+    public CursorPage<BlogPostSummary> feedPage() {
+        return readOnly.execute(status -> blogService.getFeed(null, null, 20, email));
+    }
+
+    @Benchmark
+    public CursorPage<BlogPostSummary> hotPage() {
+        return readOnly.execute(status -> blogService.getHotFeed(null, 20, email));
+    }
+
+    @Benchmark
+    public BlogSearchResults search() {
+        return readOnly.execute(status -> blogSearchService.search("healthy sleep", 0, 10));
+    }
+}
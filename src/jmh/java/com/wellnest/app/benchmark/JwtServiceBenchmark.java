@@ -0,0 +1,47 @@
+package com.wellnest.app.benchmark;
+
+import com.wellnest.app.security.JwtService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/** Token work done on every authenticated request (parse + validate) and at login (generate). */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JwtServiceBenchmark {
+
+    private final JwtService jwtService = new JwtService();
+    private UserDetails user;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        user = new User("bench0@wellnest.local", "bench", List.of(new SimpleGrantedAuthority("USER")));
+        token = jwtService.generateToken(user);
+    }
+
+    @Benchmark
+    public String extractUsername() {
+        return jwtService.extractUsername(token);
+    }
+
+    // What JwtAuthenticationFilter does per request: extract, then validate
+    @Benchmark
+    public boolean parseAndValidate() {
+        jwtService.extractUsername(token);
+        return jwtService.isTokenValid(token, user);
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtService.generateToken(user);
+    }
+}
@@ -0,0 +1,46 @@
+package com.wellnest.app.benchmark;
+
+import com.wellnest.app.dto.LeaderboardResponse;
+import com.wellnest.app.service.LeaderboardService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/** Weekly leaderboard for a rotating set of users, after the boards are loaded at startup. */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@State(Scope.Benchmark)
+public class LeaderboardBenchmark {
+
+    @Param({ "1000", "100000", "1000000" })
+    private int rows;
+
+    private ConfigurableApplicationContext context;
+    private LeaderboardService leaderboardService;
+    private long[] userIds;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start(rows, Map.of());
+        leaderboardService = context.getBean(LeaderboardService.class);
+        userIds = context.getBean(JdbcTemplate.class).queryForList("SELECT id FROM users", Long.class).stream()
+                .mapToLong(Long::longValue).toArray();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public LeaderboardResponse weeklyLeaderboard() {
+        return leaderboardService.getWeeklyLeaderboard(userIds[next++ % userIds.length]);
+    }
+}
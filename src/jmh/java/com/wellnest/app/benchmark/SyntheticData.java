@@ -0,0 +1,213 @@
+package com.wellnest.app.benchmark;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Deterministic synthetic dataset written with batched JDBC inserts. "rows" is
+ * the number of tracker entries (workouts, meals, water, sleep) spread over
+ * the last 90 days; users, weight logs and blog content scale with it:
+ * one user per 200 entries, a weekly weight log per user, one blog post per
+ * 1000 entries with a few comments and likes each.
+ */
+final class SyntheticData {
+
+    static final int DAYS = 90;
+    static final String EMAIL_FORMAT = "bench%d@wellnest.local";
+
+    private static final int BATCH_SIZE = 5_000;
+    private static final String[] WORKOUT_TYPES = { "Running", "Cycling", "Strength", "Yoga", "Swimming" };
+    private static final String[] MEAL_TYPES = { "breakfast", "lunch", "dinner", "snack" };
+    private static final String[] SLEEP_QUALITY = { "good", "fair", "poor" };
+    private static final String[] GOALS = { "WEIGHT_LOSS", "MUSCLE_GAIN", "WORKOUT_FREQUENCY", "FITNESS" };
+    private static final String[] CATEGORIES = { "Nutrition", "Fitness", "Mental Wellness", "Lifestyle" };
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Random random;
+    private final LocalDate today = LocalDate.now();
+
+    SyntheticData(JdbcTemplate jdbcTemplate, long seed) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.random = new Random(seed);
+    }
+
+    record Summary(int users, int trackerRows, int posts, int comments) {
+    }
+
+    Summary generate(int rows) {
+        int userCount = Math.max(10, rows / 200);
+        long[] userIds = insertUsers(userCount);
+        insertWorkouts(userIds, rows * 35 / 100);
+        insertMeals(userIds, rows * 30 / 100);
+        insertWater(userIds, rows * 25 / 100);
+        insertSleep(userIds, rows - rows * 35 / 100 - rows * 30 / 100 - rows * 25 / 100);
+        insertWeightLogs(userIds);
+        int postCount = Math.max(20, rows / 1000);
+        int comments = insertBlog(userIds, postCount);
+        return new Summary(userCount, rows, postCount, comments);
+    }
+
+    // -------------------- USERS --------------------
+
+    private long[] insertUsers(int count) {
+        List<Object[]> batch = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            double weight = 55 + random.nextInt(50);
+            batch.add(new Object[] { "Bench User " + i, String.format(EMAIL_FORMAT, i), "{noop}bench", "USER",
+                    18 + random.nextInt(50), 150.0 + random.nextInt(45), weight, i % 2 == 0 ? "Male" : "Female",
+                    GOALS[i % GOALS.length], weight - 5 + random.nextInt(10), timestamp(today.minusDays(DAYS)) });
+        }
+        insert("INSERT INTO users (name, email, password, role, age, height_cm, weight_kg, gender, fitness_goal,"
+                + " target_weight_kg, created_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)", batch);
+        return jdbcTemplate.queryForList("SELECT id FROM users ORDER BY id", Long.class).stream()
+                .mapToLong(Long::longValue).toArray();
+    }
+
+    // -------------------- TRACKERS --------------------
+
+    private void insertWorkouts(long[] userIds, int count) {
+        String sql = "INSERT INTO workouts (user_id, type, duration_minutes, calories_burned, performed_at)"
+                + " VALUES (?, ?, ?, ?, ?)";
+        List<Object[]> batch = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            int minutes = 15 + random.nextInt(75);
+            batch.add(new Object[] { pick(userIds), WORKOUT_TYPES[random.nextInt(WORKOUT_TYPES.length)], minutes,
+                    minutes * (5 + random.nextInt(6)), timestamp(randomDay()) });
+            batch = flushIfFull(sql, batch);
+        }
+        insert(sql, batch);
+    }
+
+    private void insertMeals(long[] userIds, int count) {
+        String sql = "INSERT INTO meals (user_id, meal_type, calories, protein, carbs, fats, logged_at)"
+                + " VALUES (?, ?, ?, ?, ?, ?, ?)";
+        List<Object[]> batch = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            batch.add(new Object[] { pick(userIds), MEAL_TYPES[random.nextInt(MEAL_TYPES.length)],
+                    200 + random.nextInt(700), 5 + random.nextInt(40), 20 + random.nextInt(80),
+                    5 + random.nextInt(30), timestamp(randomDay()) });
+            batch = flushIfFull(sql, batch);
+        }
+        insert(sql, batch);
+    }
+
+    private void insertWater(long[] userIds, int count) {
+        String sql = "INSERT INTO water_intake (user_id, liters, logged_at) VALUES (?, ?, ?)";
+        List<Object[]> batch = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            batch.add(new Object[] { pick(userIds), 0.25 * (1 + random.nextInt(4)), timestamp(randomDay()) });
+            batch = flushIfFull(sql, batch);
+        }
+        insert(sql, batch);
+    }
+
+    private void insertSleep(long[] userIds, int count) {
+        String sql = "INSERT INTO sleep_logs (user_id, hours, sleep_date, quality) VALUES (?, ?, ?, ?)";
+        List<Object[]> batch = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            batch.add(new Object[] { pick(userIds), 4 + random.nextInt(6) + random.nextDouble(),
+                    Date.valueOf(randomDay().toLocalDate()), SLEEP_QUALITY[random.nextInt(SLEEP_QUALITY.length)] });
+            batch = flushIfFull(sql, batch);
+        }
+        insert(sql, batch);
+    }
+
+    // One log per user per week over the window
+    private void insertWeightLogs(long[] userIds) {
+        String sql = "INSERT INTO weight_logs (user_id, weight_kg, log_date) VALUES (?, ?, ?)";
+        List<Object[]> batch = new ArrayList<>();
+        for (long userId : userIds) {
+            double weight = 60 + random.nextInt(40);
+            for (int day = DAYS; day >= 0; day -= 7) {
+                weight += random.nextDouble() - 0.6;
+                batch.add(new Object[] { userId, weight, Date.valueOf(today.minusDays(day)) });
+            }
+            batch = flushIfFull(sql, batch);
+        }
+        insert(sql, batch);
+    }
+
+    // -------------------- BLOG --------------------
+
+    private int insertBlog(long[] userIds, int postCount) {
+        List<Object[]> posts = new ArrayList<>();
+        for (int i = 0; i < postCount; i++) {
+            posts.add(new Object[] { "Synthetic post " + i, "Excerpt of synthetic post " + i,
+                    "Body of synthetic post " + i + " about healthy habits, sleep and training.", "Bench Author",
+                    "User", CATEGORIES[i % CATEGORIES.length], random.nextInt(50), pick(userIds),
+                    timestamp(randomDay()) });
+        }
+        insert("INSERT INTO blog_posts (title, excerpt, content, author, role, category, likes, user_id, created_at)"
+                + " VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)", posts);
+        List<Long> postIds = jdbcTemplate.queryForList("SELECT id FROM blog_posts ORDER BY id", Long.class);
+
+        String commentSql = "INSERT INTO blog_comments (text, user_name, post_id, user_id, created_at)"
+                + " VALUES (?, ?, ?, ?, ?)";
+        String likeSql = "INSERT INTO post_likes (post_id, user_id) VALUES (?, ?)";
+        List<Object[]> comments = new ArrayList<>();
+        List<Object[]> likes = new ArrayList<>();
+        List<Object[]> counters = new ArrayList<>();
+        int commentCount = 0;
+        for (Long postId : postIds) {
+            int n = random.nextInt(10);
+            for (int c = 0; c < n; c++) {
+                long userId = pick(userIds);
+                comments.add(new Object[] { "Comment " + c + " on post " + postId, "Bench User", postId, userId,
+                        timestamp(randomDay()) });
+            }
+            commentCount += n;
+            // Consecutive users from a random offset, so no pair repeats
+            int likeCount = Math.min(userIds.length, random.nextInt(20));
+            int offset = random.nextInt(userIds.length);
+            for (int l = 0; l < likeCount; l++) {
+                likes.add(new Object[] { postId, userIds[(offset + l) % userIds.length] });
+            }
+            counters.add(new Object[] { likeCount, n, postId });
+            comments = flushIfFull(commentSql, comments);
+            likes = flushIfFull(likeSql, likes);
+        }
+        insert(commentSql, comments);
+        insert(likeSql, likes);
+        insert("UPDATE blog_posts SET likes = ?, comment_count = ? WHERE id = ?", counters);
+        return commentCount;
+    }
+
+    // -------------------- HELPERS --------------------
+
+    private long pick(long[] ids) {
+        return ids[random.nextInt(ids.length)];
+    }
+
+    private LocalDateTime randomDay() {
+        return today.minusDays(random.nextInt(DAYS)).atTime(6 + random.nextInt(16), random.nextInt(60));
+    }
+
+    private static Timestamp timestamp(LocalDate date) {
+        return Timestamp.valueOf(date.atStartOfDay());
+    }
+
+    private static Timestamp timestamp(LocalDateTime dateTime) {
+        return Timestamp.valueOf(dateTime);
+    }
+
+    private List<Object[]> flushIfFull(String sql, List<Object[]> batch) {
+        if (batch.size() < BATCH_SIZE) {
+            return batch;
+        }
+        insert(sql, batch);
+        return new ArrayList<>();
+    }
+
+    private void insert(String sql, List<Object[]> batch) {
+        if (!batch.isEmpty()) {
+            jdbcTemplate.batchUpdate(sql, batch);
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.wellnest.app.benchmark;
+
+import com.wellnest.app.dto.WaterIntakeDto;
+import com.wellnest.app.service.TrackerService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Daily limit checks of TrackerService.createWaterForUser. Every user in the
+ * rotation logged water ten minutes ago, so each call runs the today total and
+ * cooldown checks and is rejected before anything is written; dayCounters
+ * toggles the in-memory TrackerDayCounters cache.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@State(Scope.Benchmark)
+public class TrackerWaterLimitBenchmark {
+
+    @Param({ "1000", "100000", "1000000" })
+    private int rows;
+
+    @Param({ "true", "false" })
+    private boolean dayCounters;
+
+    private ConfigurableApplicationContext context;
+    private TrackerService trackerService;
+    private long[] userIds;
+    private final WaterIntakeDto dto = new WaterIntakeDto();
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start(rows,
+                Map.of("app.tracker.day-counters.enabled", String.valueOf(dayCounters)));
+        trackerService = context.getBean(TrackerService.class);
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        List<Long> ids = jdbcTemplate.queryForList("SELECT id FROM users ORDER BY id LIMIT 1000", Long.class);
+        Timestamp recent = Timestamp.valueOf(LocalDateTime.now().minusMinutes(10));
+        jdbcTemplate.batchUpdate("INSERT INTO water_intake (user_id, liters, logged_at) VALUES (?, 0.25, ?)",
+                ids.stream().map(id -> new Object[] { id, recent }).toList());
+        userIds = ids.stream().mapToLong(Long::longValue).toArray();
+        dto.setLiters(0.25);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public String rejectedByLimitChecks() {
+        try {
+            trackerService.createWaterForUser(userIds[next++ % userIds.length], dto);
+            throw new IllegalStateException("expected the cooldown to reject the entry");
+        } catch (IllegalArgumentException e) {
+            return e.getMessage();
+        }
+    }
+}
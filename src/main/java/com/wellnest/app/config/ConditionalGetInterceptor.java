@@ -0,0 +1,54 @@
+package com.wellnest.app.config;
+
+import com.wellnest.app.service.ContentVersions;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.security.Principal;
+
+/**
+ * Conditional GETs for a read model tracked by ContentVersions. Before the
+ * controller runs, the aggregate's current version is turned into an ETag
+ * and Last-Modified; a matching If-None-Match (or, without one, a recent
+ * enough If-Modified-Since) is answered 304 right here, so neither the
+ * service nor the database is touched. Otherwise both validators go out
+ * with the 200 and Cache-Control: no-cache makes clients revalidate each
+ * time. The version is read before the handler, so a write racing with the
+ * request can only make the tag older than the body, never newer.
+ */
+public class ConditionalGetInterceptor implements HandlerInterceptor {
+
+    private final ContentVersions contentVersions;
+    private final ContentVersions.Aggregate aggregate;
+    private final boolean perUser;
+
+    /** perUser: the body depends on the signed-in user, so the tag does too. */
+    public ConditionalGetInterceptor(ContentVersions contentVersions, ContentVersions.Aggregate aggregate,
+            boolean perUser) {
+        this.contentVersions = contentVersions;
+        this.aggregate = aggregate;
+        this.perUser = perUser;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        String method = request.getMethod();
+        if (!"GET".equals(method) && !"HEAD".equals(method)) {
+            return true;
+        }
+        Principal principal = perUser ? request.getUserPrincipal() : null;
+        ContentVersions.Validators validators =
+                contentVersions.current(aggregate, principal != null ? principal.getName() : null);
+
+        if (perUser) {
+            response.addHeader(HttpHeaders.VARY, HttpHeaders.AUTHORIZATION);
+        }
+        response.setHeader(HttpHeaders.CACHE_CONTROL, principal != null ? "private, no-cache" : "no-cache");
+        // Sets ETag and Last-Modified, and 304 when the client's copy is current
+        return !new ServletWebRequest(request, response).checkNotModified(validators.etag(),
+                validators.lastModified());
+    }
+}
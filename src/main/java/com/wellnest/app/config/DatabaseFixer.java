@@ -1,16 +1,24 @@
 package com.wellnest.app.config;
 
+import com.wellnest.app.service.ContentVersions;
+import com.wellnest.app.service.ImageService;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Component;
 
+import java.util.List;
+
 @Component
 public class DatabaseFixer implements CommandLineRunner {
 
     private final JdbcTemplate jdbcTemplate;
+    private final ImageService imageService;
+    private final ContentVersions contentVersions;
 
-    public DatabaseFixer(JdbcTemplate jdbcTemplate) {
+    public DatabaseFixer(JdbcTemplate jdbcTemplate, ImageService imageService, ContentVersions contentVersions) {
         this.jdbcTemplate = jdbcTemplate;
+        this.imageService = imageService;
+        this.contentVersions = contentVersions;
     }
 
     @Override
@@ -18,14 +26,6 @@ public class DatabaseFixer implements CommandLineRunner {
         try {
             System.out.println("Applying database schema fixes...");
 
-            // Fix BlogPost image column
-            jdbcTemplate.execute("ALTER TABLE blog_posts MODIFY COLUMN image LONGTEXT");
-            System.out.println("Modified blog_posts.image to LONGTEXT");
-
-            // Fix Trainer image column
-            jdbcTemplate.execute("ALTER TABLE trainers MODIFY COLUMN image LONGTEXT");
-            System.out.println("Modified trainers.image to LONGTEXT");
-
             // Add phone column to users table if missing
             // Add phone column to users table if missing
             Integer phoneCount = jdbcTemplate.queryForObject(
@@ -44,10 +44,71 @@ public class DatabaseFixer implements CommandLineRunner {
                 // System.out.println("Phone column already exists.");
             }
 
+            // Weekly leaderboard table was replaced by leaderboard_daily_scores
+            jdbcTemplate.execute("DROP TABLE IF EXISTS leaderboard_scores");
+
+            // blog_posts.comment_count is kept up to date on every comment; fill it for
+            // posts from before the column existed
+            int counted = jdbcTemplate.update("UPDATE blog_posts p SET comment_count = "
+                    + "(SELECT COUNT(*) FROM blog_comments c WHERE c.post_id = p.id) WHERE p.comment_count IS NULL");
+            if (counted > 0) {
+                System.out.println("Filled comment_count for " + counted + " blog posts");
+            }
+
+            // blog_posts.likes is written from LikeCounterBuffer; deltas still buffered when the
+            // process stopped never reached it, so bring it back to the post_likes row count
+            int recounted = jdbcTemplate.update("UPDATE blog_posts p SET likes = "
+                    + "(SELECT COUNT(*) FROM post_likes l WHERE l.post_id = p.id) WHERE COALESCE(p.likes, -1) <> "
+                    + "(SELECT COUNT(*) FROM post_likes l WHERE l.post_id = p.id)");
+            if (recounted > 0) {
+                System.out.println("Recounted likes for " + recounted + " blog posts");
+                contentVersions.bump(ContentVersions.Aggregate.BLOG);
+            }
+
+            // Group memberships from before invitations existed were never accepted: the
+            // owner stays a member, everyone else gets a pending invite
+            int invited = jdbcTemplate.update("UPDATE leaderboard_group_members m SET status = CASE WHEN m.user_id = "
+                    + "(SELECT g.owner_id FROM leaderboard_groups g WHERE g.id = m.group_id) THEN 'ACTIVE' "
+                    + "ELSE 'PENDING' END WHERE m.status IS NULL OR m.status = ''");
+            if (invited > 0) {
+                System.out.println("Set status on " + invited + " leaderboard group memberships");
+            }
+
         } catch (Exception e) {
             // Ignore errors (e.g., if table doesn't exist yet, though ddl-auto runs before
             // this)
             System.out.println("Database fix skipped or failed (might already be correct): " + e.getMessage());
         }
+
+        try {
+            // Base64 images used to live in LONGTEXT image columns; move them to the image
+            // store, then narrow the columns once they only hold URLs
+            int migrated = imageService.migrateInlineImages();
+            if (migrated > 0) {
+                System.out.println("Moved " + migrated + " inline images to the image store");
+                // The server may already be answering; tags handed out before the move are stale
+                contentVersions.bump(ContentVersions.Aggregate.BLOG);
+                contentVersions.bump(ContentVersions.Aggregate.TRAINERS);
+            }
+            narrowImageColumn("blog_posts");
+            narrowImageColumn("trainers");
+        } catch (Exception e) {
+            System.out.println("Image migration skipped or failed: " + e.getMessage());
+        }
+    }
+
+    private void narrowImageColumn(String table) {
+        List<String> types = jdbcTemplate.queryForList(
+                "SELECT data_type FROM information_schema.columns WHERE table_name = ? AND column_name = 'image' AND table_schema = DATABASE()",
+                String.class, table);
+        if (types.isEmpty()) {
+            return;
+        }
+        Integer tooLong = jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM " + table + " WHERE LENGTH(image) > " + ImageService.MAX_URL_LENGTH, Integer.class);
+        if ("longtext".equalsIgnoreCase(types.get(0)) && tooLong != null && tooLong == 0) {
+            jdbcTemplate.execute("ALTER TABLE " + table + " MODIFY COLUMN image VARCHAR(512)");
+            System.out.println("Modified " + table + ".image to VARCHAR(512)");
+        }
     }
 }
@@ -0,0 +1,370 @@
+package com.wellnest.app.config;
+
+import com.wellnest.app.service.BlogSearchService;
+import com.wellnest.app.service.ContentVersions;
+import com.wellnest.app.service.DailyRollupService;
+import com.wellnest.app.service.HotPostRanking;
+import com.wellnest.app.service.LeaderboardService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Fills the database with a realistic synthetic dataset for local load
+ * testing. Only active with the "seed" profile:
+ *
+ * mvn spring-boot:run -Dspring-boot.run.profiles=seed
+ * -Dspring-boot.run.arguments="--app.seed.users=5000 --app.seed.months=6"
+ *
+ * Generates users (a share of them trainers with their trainer profile),
+ * trainer-client links, months of workouts/meals/water/sleep/weight logs,
+ * blog posts with likes and comments, and chat threads for active links. Rows
+ * go in through batched JDBC inserts; the leaderboard buckets, daily
+ * rollups, blog search index and hot ranking are rebuilt once at the end.
+ * Every seeded account logs in with app.seed.password. Skipped when seeded
+ * users already exist.
+ */
+@Component
+@Profile("seed")
+public class DatasetSeeder implements CommandLineRunner {
+
+    public static final String EMAIL_DOMAIN = "@seed.wellnest.local";
+
+    private static final int BATCH_SIZE = 5_000;
+    private static final String[] WORKOUT_TYPES = { "Running", "Cycling", "Strength", "Yoga", "Swimming", "HIIT" };
+    private static final String[] MEAL_TYPES = { "breakfast", "lunch", "dinner", "snack" };
+    private static final String[] SLEEP_QUALITY = { "good", "fair", "poor" };
+    private static final String[] GOALS = { "WEIGHT_LOSS", "MUSCLE_GAIN", "WORKOUT_FREQUENCY", "FITNESS" };
+    private static final String[] SPECIALTIES = { "Weight Loss", "Strength", "Yoga", "Cardio", "Nutrition" };
+    private static final String[] LOCATIONS = { "Online", "Mumbai", "Delhi", "Bangalore", "Pune" };
+    private static final String[] DAYS = { "Mon", "Tue", "Wed", "Thu", "Fri", "Sat", "Sun" };
+    private static final String[] CATEGORIES = { "Nutrition", "Fitness", "Mental Wellness", "Lifestyle" };
+
+    private final JdbcTemplate jdbcTemplate;
+    private final PasswordEncoder passwordEncoder;
+    private final LeaderboardService leaderboardService;
+    private final DailyRollupService dailyRollupService;
+    private final BlogSearchService blogSearchService;
+    private final HotPostRanking hotPostRanking;
+    private final ContentVersions contentVersions;
+
+    private final int userCount;
+    private final int months;
+    private final int trainerPercent;
+    private final int postCount;
+    private final String password;
+    private final Random random;
+
+    public DatasetSeeder(JdbcTemplate jdbcTemplate,
+            PasswordEncoder passwordEncoder,
+            LeaderboardService leaderboardService,
+            DailyRollupService dailyRollupService,
+            BlogSearchService blogSearchService,
+            HotPostRanking hotPostRanking,
+            ContentVersions contentVersions,
+            @Value("${app.seed.users:1000}") int userCount,
+            @Value("${app.seed.months:6}") int months,
+            @Value("${app.seed.trainer-percent:2}") int trainerPercent,
+            @Value("${app.seed.posts:200}") int postCount,
+            @Value("${app.seed.password:Password123!}") String password,
+            @Value("${app.seed.random-seed:42}") long randomSeed) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.passwordEncoder = passwordEncoder;
+        this.leaderboardService = leaderboardService;
+        this.dailyRollupService = dailyRollupService;
+        this.blogSearchService = blogSearchService;
+        this.hotPostRanking = hotPostRanking;
+        this.contentVersions = contentVersions;
+        this.userCount = userCount;
+        this.months = months;
+        this.trainerPercent = trainerPercent;
+        this.postCount = postCount;
+        this.password = password;
+        this.random = new Random(randomSeed);
+    }
+
+    @Override
+    public void run(String... args) {
+        Integer existing = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM users WHERE email LIKE ?",
+                Integer.class, "%" + EMAIL_DOMAIN);
+        if (existing != null && existing > 0) {
+            System.out.println("Dataset seeder skipped: " + existing + " seeded users already exist");
+            return;
+        }
+        long started = System.currentTimeMillis();
+        LocalDate today = LocalDate.now();
+        LocalDate firstDay = today.minusMonths(months);
+
+        int trainerCount = Math.max(1, userCount * trainerPercent / 100);
+        long[] trainerUserIds = insertUsers(0, trainerCount, "ROLE_TRAINER", firstDay);
+        long[] clientIds = insertUsers(trainerCount, userCount - trainerCount, "ROLE_USER", firstDay);
+        long[] trainerIds = insertTrainers(trainerUserIds, firstDay);
+        System.out.println("Seeded " + trainerCount + " trainers and " + clientIds.length + " users");
+
+        List<long[]> activeLinks = insertTrainerClients(trainerIds, trainerUserIds, clientIds, firstDay);
+        long trackerRows = insertTrackers(clientIds, firstDay, today);
+        System.out.println("Seeded " + trackerRows + " tracker entries and weight logs");
+
+        insertBlog(trainerUserIds, clientIds, firstDay, today);
+        long messages = insertChats(activeLinks, firstDay, today);
+        System.out.println("Seeded " + postCount + " blog posts and " + messages + " chat messages");
+
+        dailyRollupService.rebuildAll();
+        leaderboardService.rebuildAll();
+        blogSearchService.rebuildAll();
+        hotPostRanking.rebuildAll();
+        contentVersions.bump(ContentVersions.Aggregate.BLOG);
+        contentVersions.bump(ContentVersions.Aggregate.TRAINERS);
+        System.out.println("Dataset seeded in " + (System.currentTimeMillis() - started) / 1000 + "s");
+    }
+
+    // -------------------- USERS & TRAINERS --------------------
+
+    // Users are numbered from offset so emails stay unique: seed<n>@seed.wellnest.local
+    private long[] insertUsers(int offset, int count, String role, LocalDate firstDay) {
+        String hash = passwordEncoder.encode(password); // one hash for all, BCrypt is slow on purpose
+        List<Object[]> batch = new ArrayList<>();
+        for (int i = offset; i < offset + count; i++) {
+            double weight = 50 + random.nextInt(60);
+            String goal = GOALS[random.nextInt(GOALS.length)];
+            double target = "MUSCLE_GAIN".equals(goal) ? weight + 3 + random.nextInt(8) : weight - 3 - random.nextInt(12);
+            batch.add(new Object[] { "Seed User " + i, "seed" + i + EMAIL_DOMAIN, hash, role, 18 + random.nextInt(50),
+                    150.0 + random.nextInt(45), weight, random.nextBoolean() ? "Male" : "Female", goal, target,
+                    timestamp(firstDay.minusDays(random.nextInt(30)).atTime(9, 0)) });
+        }
+        insert("INSERT INTO users (name, email, password, role, age, height_cm, weight_kg, gender, fitness_goal,"
+                + " target_weight_kg, created_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)", batch);
+        return jdbcTemplate.queryForList("SELECT id FROM users WHERE role = ? AND email LIKE ? ORDER BY id",
+                Long.class, role, "%" + EMAIL_DOMAIN).stream().mapToLong(Long::longValue).toArray();
+    }
+
+    private long[] insertTrainers(long[] trainerUserIds, LocalDate firstDay) {
+        List<Object[]> batch = new ArrayList<>();
+        for (long userId : trainerUserIds) {
+            batch.add(new Object[] { "Seed Trainer " + userId, 1 + random.nextInt(15),
+                    Math.round((3 + random.nextDouble() * 2) * 10) / 10.0, random.nextInt(40),
+                    LOCATIONS[random.nextInt(LOCATIONS.length)], "Certified coach seeded for load tests.",
+                    "trainer" + userId + EMAIL_DOMAIN, userId, timestamp(firstDay.atTime(9, 0)) });
+        }
+        insert("INSERT INTO trainers (name, experience, rating, rating_count, location, bio, email, user_id, created_at)"
+                + " VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)", batch);
+        // Same order as trainerUserIds (ascending user id)
+        long[] trainerIds = jdbcTemplate.queryForList("SELECT id FROM trainers WHERE email LIKE ? ORDER BY user_id",
+                Long.class, "%" + EMAIL_DOMAIN).stream().mapToLong(Long::longValue).toArray();
+
+        List<Object[]> specialties = new ArrayList<>();
+        List<Object[]> availability = new ArrayList<>();
+        for (long trainerId : trainerIds) {
+            int first = random.nextInt(SPECIALTIES.length);
+            for (int s = 0; s < 2; s++) {
+                specialties.add(new Object[] { trainerId, SPECIALTIES[(first + s) % SPECIALTIES.length] });
+            }
+            for (int d = random.nextInt(2); d < DAYS.length; d += 2) {
+                availability.add(new Object[] { trainerId, DAYS[d] });
+            }
+        }
+        insert("INSERT INTO trainer_specialties (trainer_id, specialty) VALUES (?, ?)", specialties);
+        insert("INSERT INTO trainer_availability (trainer_id, day) VALUES (?, ?)", availability);
+        return trainerIds;
+    }
+
+    // About 60% of users get a trainer; returns the ACTIVE links as {trainerUserId, clientId}
+    private List<long[]> insertTrainerClients(long[] trainerIds, long[] trainerUserIds, long[] clientIds,
+            LocalDate firstDay) {
+        String sql = "INSERT INTO trainer_clients (trainer_id, client_id, status, initial_message, created_at)"
+                + " VALUES (?, ?, ?, ?, ?)";
+        List<Object[]> batch = new ArrayList<>();
+        List<long[]> active = new ArrayList<>();
+        for (long clientId : clientIds) {
+            if (random.nextInt(100) >= 60) {
+                continue;
+            }
+            int t = random.nextInt(trainerIds.length);
+            int roll = random.nextInt(100);
+            String status = roll < 80 ? "ACTIVE" : roll < 95 ? "PENDING" : "REJECTED";
+            batch.add(new Object[] { trainerIds[t], clientId, status, "Hi, I would like to train with you.",
+                    timestamp(firstDay.plusDays(random.nextInt(14)).atTime(10, 0)) });
+            if ("ACTIVE".equals(status)) {
+                active.add(new long[] { trainerUserIds[t], clientId });
+            }
+            batch = flushIfFull(sql, batch);
+        }
+        insert(sql, batch);
+        return active;
+    }
+
+    // -------------------- TRACKERS --------------------
+
+    private long insertTrackers(long[] clientIds, LocalDate firstDay, LocalDate today) {
+        String workoutSql = "INSERT INTO workouts (user_id, type, duration_minutes, calories_burned, performed_at)"
+                + " VALUES (?, ?, ?, ?, ?)";
+        String mealSql = "INSERT INTO meals (user_id, meal_type, calories, protein, carbs, fats, logged_at)"
+                + " VALUES (?, ?, ?, ?, ?, ?, ?)";
+        String waterSql = "INSERT INTO water_intake (user_id, liters, logged_at) VALUES (?, ?, ?)";
+        String sleepSql = "INSERT INTO sleep_logs (user_id, hours, sleep_date, quality) VALUES (?, ?, ?, ?)";
+        String weightSql = "INSERT INTO weight_logs (user_id, weight_kg, log_date) VALUES (?, ?, ?)";
+
+        List<Object[]> workouts = new ArrayList<>();
+        List<Object[]> meals = new ArrayList<>();
+        List<Object[]> water = new ArrayList<>();
+        List<Object[]> sleep = new ArrayList<>();
+        List<Object[]> weights = new ArrayList<>();
+        long rows = 0;
+        for (long userId : clientIds) {
+            // Each user has a habit level, so the leaderboard is not flat
+            int engagement = 30 + random.nextInt(70);
+            double weight = 55 + random.nextInt(50);
+            for (LocalDate day = firstDay; !day.isAfter(today); day = day.plusDays(1)) {
+                if (random.nextInt(100) >= engagement) {
+                    continue;
+                }
+                if (random.nextInt(100) < 60) {
+                    int minutes = 15 + random.nextInt(75);
+                    rows++;
+                    workouts.add(new Object[] { userId, WORKOUT_TYPES[random.nextInt(WORKOUT_TYPES.length)],
+                            minutes, minutes * (5 + random.nextInt(6)), timestamp(day.atTime(6 + random.nextInt(4), 0)) });
+                }
+                for (int m = 0; m < MEAL_TYPES.length; m++) {
+                    if (random.nextInt(100) < 75) {
+                        rows++;
+                        meals.add(new Object[] { userId, MEAL_TYPES[m], 150 + random.nextInt(700),
+                                5 + random.nextInt(40), 20 + random.nextInt(80), 5 + random.nextInt(30),
+                                timestamp(day.atTime(8 + m * 4, random.nextInt(60))) });
+                    }
+                }
+                // Spaced two hours apart, like the one-per-hour cooldown allows
+                int glasses = 2 + random.nextInt(5);
+                for (int w = 0; w < glasses; w++) {
+                    rows++;
+                    water.add(new Object[] { userId, 0.25 * (1 + random.nextInt(3)),
+                            timestamp(day.atTime(8 + w * 2, random.nextInt(60))) });
+                }
+                if (random.nextInt(100) < 80) {
+                    rows++;
+                    sleep.add(new Object[] { userId, 5 + random.nextInt(4) + random.nextDouble(), Date.valueOf(day),
+                            SLEEP_QUALITY[random.nextInt(SLEEP_QUALITY.length)] });
+                }
+                if (day.getDayOfWeek().getValue() == 1) {
+                    weight += random.nextDouble() - 0.6;
+                    rows++;
+                    weights.add(new Object[] { userId, Math.round(weight * 10) / 10.0, Date.valueOf(day) });
+                }
+            }
+            workouts = flushIfFull(workoutSql, workouts);
+            meals = flushIfFull(mealSql, meals);
+            water = flushIfFull(waterSql, water);
+            sleep = flushIfFull(sleepSql, sleep);
+            weights = flushIfFull(weightSql, weights);
+        }
+        insert(workoutSql, workouts);
+        insert(mealSql, meals);
+        insert(waterSql, water);
+        insert(sleepSql, sleep);
+        insert(weightSql, weights);
+        return rows;
+    }
+
+    // -------------------- BLOG & CHAT --------------------
+
+    private void insertBlog(long[] trainerUserIds, long[] clientIds, LocalDate firstDay, LocalDate today) {
+        int days = (int) (today.toEpochDay() - firstDay.toEpochDay()) + 1;
+        List<Object[]> posts = new ArrayList<>();
+        for (int i = 0; i < postCount; i++) {
+            boolean byTrainer = random.nextInt(100) < 40;
+            long authorId = byTrainer ? trainerUserIds[random.nextInt(trainerUserIds.length)]
+                    : clientIds[random.nextInt(clientIds.length)];
+            String category = CATEGORIES[random.nextInt(CATEGORIES.length)];
+            posts.add(new Object[] { category + " tips #" + i, "Short excerpt for seeded " + category + " post " + i,
+                    "Seeded article " + i + " about " + category.toLowerCase() + ", habits, sleep and training.",
+                    "Seed Author", byTrainer ? "Trainer" : "User", category, 0, authorId,
+                    timestamp(firstDay.plusDays(random.nextInt(days)).atTime(12, random.nextInt(60))) });
+        }
+        insert("INSERT INTO blog_posts (title, excerpt, content, author, role, category, likes, user_id, created_at)"
+                + " VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)", posts);
+        List<Long> postIds = jdbcTemplate.queryForList(
+                "SELECT p.id FROM blog_posts p JOIN users u ON u.id = p.user_id WHERE u.email LIKE ? ORDER BY p.id",
+                Long.class, "%" + EMAIL_DOMAIN);
+
+        String commentSql = "INSERT INTO blog_comments (text, user_name, post_id, user_id, created_at)"
+                + " VALUES (?, ?, ?, ?, ?)";
+        String likeSql = "INSERT INTO post_likes (post_id, user_id, created_at) VALUES (?, ?, ?)";
+        List<Object[]> comments = new ArrayList<>();
+        List<Object[]> likes = new ArrayList<>();
+        List<Object[]> counters = new ArrayList<>();
+        for (Long postId : postIds) {
+            int commentCount = random.nextInt(16);
+            for (int c = 0; c < commentCount; c++) {
+                long userId = clientIds[random.nextInt(clientIds.length)];
+                comments.add(new Object[] { "Great read, thanks! (" + c + ")", "Seed User " + userId, postId, userId,
+                        timestamp(today.minusDays(random.nextInt(days)).atTime(18, random.nextInt(60))) });
+            }
+            // Consecutive users from a random offset, so no (post, user) pair repeats
+            int likeCount = Math.min(clientIds.length, random.nextInt(60));
+            int offset = random.nextInt(clientIds.length);
+            for (int l = 0; l < likeCount; l++) {
+                likes.add(new Object[] { postId, clientIds[(offset + l) % clientIds.length],
+                        timestamp(today.minusDays(random.nextInt(days)).atTime(20, random.nextInt(60))) });
+            }
+            counters.add(new Object[] { likeCount, commentCount, postId });
+            comments = flushIfFull(commentSql, comments);
+            likes = flushIfFull(likeSql, likes);
+        }
+        insert(commentSql, comments);
+        insert(likeSql, likes);
+        insert("UPDATE blog_posts SET likes = ?, comment_count = ? WHERE id = ?", counters);
+    }
+
+    // A thread of 5-30 alternating messages per active trainer-client link
+    private long insertChats(List<long[]> activeLinks, LocalDate firstDay, LocalDate today) {
+        String sql = "INSERT INTO chat_messages (sender_id, receiver_id, content, timestamp) VALUES (?, ?, ?, ?)";
+        long seconds = (today.toEpochDay() - firstDay.toEpochDay()) * 86_400;
+        List<Object[]> batch = new ArrayList<>();
+        long total = 0;
+        for (long[] link : activeLinks) {
+            int count = 5 + random.nextInt(26);
+            LocalDateTime at = firstDay.atTime(9, 0).plusSeconds((long) (random.nextDouble() * seconds / 2));
+            for (int m = 0; m < count; m++) {
+                boolean fromTrainer = m % 2 == 0;
+                batch.add(new Object[] { fromTrainer ? link[0] : link[1], fromTrainer ? link[1] : link[0],
+                        fromTrainer ? "How did today's session go? (" + m + ")" : "Going well, thanks! (" + m + ")",
+                        timestamp(at) });
+                at = at.plusMinutes(5 + random.nextInt(600));
+            }
+            total += count;
+            batch = flushIfFull(sql, batch);
+        }
+        insert(sql, batch);
+        return total;
+    }
+
+    // -------------------- HELPERS --------------------
+
+    private static Timestamp timestamp(LocalDateTime dateTime) {
+        return Timestamp.valueOf(dateTime);
+    }
+
+    private List<Object[]> flushIfFull(String sql, List<Object[]> batch) {
+        if (batch.size() < BATCH_SIZE) {
+            return batch;
+        }
+        insert(sql, batch);
+        return new ArrayList<>();
+    }
+
+    private void insert(String sql, List<Object[]> batch) {
+        if (!batch.isEmpty()) {
+            jdbcTemplate.batchUpdate(sql, batch);
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package com.wellnest.app.config;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.http.HttpServletRequest;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.data.domain.Slice;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Added to every service bean and Spring Data repository by MetricsConfig.
+ * Services: each public method call is timed as wellnest.service.calls
+ * (tags: service, method, endpoint, exception). Repositories are already
+ * timed by Spring Boot (spring.data.repository.invocations); here only the
+ * rows each call returned are recorded as wellnest.repository.rows (tags:
+ * repository, method, endpoint). endpoint is the HTTP method and route
+ * pattern of the request being served, or "none" outside a request.
+ */
+public class MethodMetricsInterceptor implements MethodInterceptor {
+
+    public static final String SERVICE_CALLS = "wellnest.service.calls";
+    public static final String REPOSITORY_ROWS = "wellnest.repository.rows";
+    public static final String NO_ENDPOINT = "none";
+
+    private final ObjectProvider<MeterRegistry> registryProvider;
+    private final String component;
+    private final boolean repository;
+    private MeterRegistry registry;
+
+    MethodMetricsInterceptor(ObjectProvider<MeterRegistry> registryProvider, String component, boolean repository) {
+        this.registryProvider = registryProvider;
+        this.component = component;
+        this.repository = repository;
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        Method method = invocation.getMethod();
+        if (method.getDeclaringClass() == Object.class || !Modifier.isPublic(method.getModifiers())) {
+            return invocation.proceed();
+        }
+        MeterRegistry meterRegistry = registry();
+        if (meterRegistry == null) {
+            return invocation.proceed();
+        }
+        if (repository) {
+            Object result = invocation.proceed();
+            long rows = rowCount(result);
+            if (rows >= 0) {
+                DistributionSummary.builder(REPOSITORY_ROWS)
+                        .tag("repository", component)
+                        .tag("method", method.getName())
+                        .tag("endpoint", currentEndpoint())
+                        .register(meterRegistry)
+                        .record(rows);
+            }
+            return result;
+        }
+
+        long started = System.nanoTime();
+        String exception = "none";
+        try {
+            return invocation.proceed();
+        } catch (Throwable t) {
+            exception = t.getClass().getSimpleName();
+            throw t;
+        } finally {
+            Timer.builder(SERVICE_CALLS)
+                    .tag("service", component)
+                    .tag("method", method.getName())
+                    .tag("endpoint", currentEndpoint())
+                    .tag("exception", exception)
+                    .register(meterRegistry)
+                    .record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /** "GET /api/trackers/workouts/history" for the request on this thread, else "none". */
+    public static String currentEndpoint() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes instanceof ServletRequestAttributes servletAttributes) {
+            HttpServletRequest request = servletAttributes.getRequest();
+            Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            if (pattern != null) {
+                return request.getMethod() + " " + pattern;
+            }
+        }
+        return NO_ENDPOINT; // startup, pool threads, or filters before handler mapping
+    }
+
+    // Rows in a query result; -1 for results that are not rows (counts, flags,
+    // void) or cannot be counted without consuming them (streams)
+    static long rowCount(Object result) {
+        if (result == null) {
+            return 0;
+        }
+        if (result instanceof Collection<?> collection) {
+            return collection.size();
+        }
+        if (result instanceof Slice<?> slice) {
+            return slice.getNumberOfElements();
+        }
+        if (result instanceof Optional<?> optional) {
+            return optional.isPresent() ? 1 : 0;
+        }
+        if (result instanceof Map<?, ?> map) {
+            return map.size();
+        }
+        if (result instanceof Number || result instanceof Boolean || result instanceof Stream<?>) {
+            return -1;
+        }
+        if (result instanceof Iterable<?> iterable) {
+            long count = 0;
+            for (Object ignored : iterable) {
+                count++;
+            }
+            return count;
+        }
+        return 1; // a single entity or projection row
+    }
+
+    // Resolved on first use: the registry may not exist yet when beans are wrapped
+    private MeterRegistry registry() {
+        if (registry == null) {
+            registry = registryProvider.getIfAvailable();
+        }
+        return registry;
+    }
+}
@@ -0,0 +1,107 @@
+package com.wellnest.app.config;
+
+import com.wellnest.app.service.AnalyticsSummaryCache;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.aop.framework.Advised;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.data.metrics.DefaultRepositoryTagsProvider;
+import org.springframework.boot.data.metrics.RepositoryTagsProvider;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.data.repository.Repository;
+import org.springframework.data.repository.core.support.RepositoryMethodInvocationListener.RepositoryMethodInvocation;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Timing and row counts for the data access and service layers, exposed
+ * through the actuator (/actuator/prometheus, /actuator/metrics):
+ * - spring.data.repository.invocations (Spring Boot) times every repository
+ * method; the endpoint tag is added here
+ * - wellnest.repository.rows and wellnest.service.calls, see
+ * MethodMetricsInterceptor
+ * - wellnest.analytics.cache.* from AnalyticsSummaryCache.stats()
+ * app.metrics.method-timing.enabled=false turns off the interceptor.
+ */
+@Configuration
+public class MetricsConfig {
+
+    private static final String SERVICE_PACKAGE = "com.wellnest.app.service";
+    private static final String REPOSITORY_PACKAGE = "com.wellnest.app.repository";
+
+    @Bean
+    public RepositoryTagsProvider repositoryTagsProvider() {
+        return new DefaultRepositoryTagsProvider() {
+            @Override
+            public Iterable<Tag> repositoryTags(RepositoryMethodInvocation invocation) {
+                List<Tag> tags = new ArrayList<>();
+                super.repositoryTags(invocation).forEach(tags::add);
+                tags.add(Tag.of("endpoint", MethodMetricsInterceptor.currentEndpoint()));
+                return tags;
+            }
+        };
+    }
+
+    // Static so it is registered before the beans it wraps are created
+    @Bean
+    public static BeanPostProcessor methodMetricsPostProcessor(ObjectProvider<MeterRegistry> registryProvider,
+            Environment environment) {
+        boolean enabled = environment.getProperty("app.metrics.method-timing.enabled", Boolean.class, true);
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!enabled) {
+                    return bean;
+                }
+                if (bean instanceof Repository<?, ?> && bean instanceof Advised advised) {
+                    for (Class<?> type : advised.getProxiedInterfaces()) {
+                        if (type.getPackageName().equals(REPOSITORY_PACKAGE)) {
+                            advised.addAdvice(0,
+                                    new MethodMetricsInterceptor(registryProvider, type.getSimpleName(), true));
+                            return bean;
+                        }
+                    }
+                    return bean;
+                }
+                Class<?> targetClass = AopUtils.getTargetClass(bean);
+                if (!targetClass.getPackageName().startsWith(SERVICE_PACKAGE)) {
+                    return bean;
+                }
+                MethodMetricsInterceptor interceptor =
+                        new MethodMetricsInterceptor(registryProvider, targetClass.getSimpleName(), false);
+                if (bean instanceof Advised advised && !advised.isFrozen()) {
+                    advised.addAdvice(0, interceptor);
+                    return bean;
+                }
+                ProxyFactory factory = new ProxyFactory(bean);
+                factory.setProxyTargetClass(true);
+                factory.addAdvice(interceptor);
+                return factory.getProxy(targetClass.getClassLoader());
+            }
+        };
+    }
+
+    @Bean
+    public MeterBinder analyticsCacheMetrics(AnalyticsSummaryCache cache) {
+        return registry -> {
+            FunctionCounter.builder("wellnest.analytics.cache.hits", cache, c -> c.stats().getHits())
+                    .register(registry);
+            FunctionCounter.builder("wellnest.analytics.cache.misses", cache, c -> c.stats().getMisses())
+                    .register(registry);
+            FunctionCounter.builder("wellnest.analytics.cache.evictions", cache, c -> c.stats().getEvictions())
+                    .register(registry);
+            FunctionCounter.builder("wellnest.analytics.cache.invalidations", cache,
+                    c -> c.stats().getInvalidations()).register(registry);
+            Gauge.builder("wellnest.analytics.cache.size", cache, c -> c.stats().getSize()).register(registry);
+        };
+    }
+}
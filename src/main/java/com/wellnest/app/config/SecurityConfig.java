@@ -2,6 +2,7 @@ package com.wellnest.app.config;
 
 import com.wellnest.app.security.JwtAuthenticationFilter;
 import com.wellnest.app.service.CustomUserDetailsService;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -24,11 +25,14 @@ public class SecurityConfig {
 
     private final CustomUserDetailsService userDetailsService;
     private final JwtAuthenticationFilter jwtFilter;
+    private final int managementPort;
 
     public SecurityConfig(CustomUserDetailsService userDetailsService,
-            JwtAuthenticationFilter jwtFilter) {
+            JwtAuthenticationFilter jwtFilter,
+            @Value("${management.server.port:-1}") int managementPort) {
         this.userDetailsService = userDetailsService;
         this.jwtFilter = jwtFilter;
+        this.managementPort = managementPort;
     }
 
     @Bean
@@ -62,10 +66,18 @@ public class SecurityConfig {
                                                                                                          // pre-flight
                         .requestMatchers("/api/auth/**").permitAll() // login/register open
                         .requestMatchers("/health", "/").permitAll() // UptimeRobot health check
+                        .requestMatchers("/actuator/health").permitAll()
+                        // Metrics are open on the management port (keep it on an internal
+                        // interface for scrapers) and admin-only on the public port
+                        .requestMatchers(request -> managementPort > 0 && request.getLocalPort() == managementPort)
+                        .permitAll()
+                        .requestMatchers("/actuator/**").hasAuthority("ROLE_ADMIN")
                         // Blog endpoints - allow public reading
                         .requestMatchers(org.springframework.http.HttpMethod.GET, "/api/blog/**").permitAll()
                         // Trainer endpoints - allow public reading
                         .requestMatchers(org.springframework.http.HttpMethod.GET, "/api/trainers/**").permitAll()
+                        // Images are addressed by content hash and shown on public pages
+                        .requestMatchers(org.springframework.http.HttpMethod.GET, "/api/images/**").permitAll()
                         .requestMatchers(org.springframework.http.HttpMethod.POST, "/api/blog/posts/{id}/comments")
                         .permitAll()
                         .requestMatchers("/api/contact/**").permitAll() // Contact form public access
@@ -0,0 +1,32 @@
+package com.wellnest.app.config;
+
+import com.wellnest.app.service.ContentVersions;
+import com.wellnest.app.service.ContentVersions.Aggregate;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * ETag / Last-Modified validation for the public read endpoints, see
+ * ConditionalGetInterceptor. Only responses built purely from blog posts or
+ * trainer profiles are covered; diet plans and other per-user data are not.
+ */
+@Configuration
+public class WebConfig implements WebMvcConfigurer {
+
+    private final ContentVersions contentVersions;
+
+    public WebConfig(ContentVersions contentVersions) {
+        this.contentVersions = contentVersions;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        // isLiked differs per reader
+        registry.addInterceptor(new ConditionalGetInterceptor(contentVersions, Aggregate.BLOG, true))
+                .addPathPatterns("/api/blog/**");
+        registry.addInterceptor(new ConditionalGetInterceptor(contentVersions, Aggregate.TRAINERS, false))
+                .addPathPatterns("/api/trainers", "/api/trainers/match", "/api/trainers/filters",
+                        "/api/trainers/{id}");
+    }
+}
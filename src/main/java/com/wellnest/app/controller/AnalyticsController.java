@@ -1,13 +1,21 @@
 package com.wellnest.app.controller;
 
 import com.wellnest.app.dto.AnalyticsSummary;
+import com.wellnest.app.dto.ClientAnalyticsSummary;
+import com.wellnest.app.service.AnalyticsGranularity;
 import com.wellnest.app.service.AnalyticsService;
+import com.wellnest.app.service.AnalyticsStreamService;
+import com.wellnest.app.service.AppUserService;
+import com.wellnest.app.service.ClientAnalyticsService;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.time.LocalDate;
+import java.util.List;
 
 @RestController
 @RequestMapping("/api/analytics")
@@ -16,11 +24,34 @@ public class AnalyticsController {
 
     private final AnalyticsService analyticsService;
     private final com.wellnest.app.service.TrainerInteractionService trainerInteractionService;
+    private final ClientAnalyticsService clientAnalyticsService;
+    private final AnalyticsStreamService analyticsStreamService;
+    private final AppUserService appUserService;
 
     public AnalyticsController(AnalyticsService analyticsService,
-            com.wellnest.app.service.TrainerInteractionService trainerInteractionService) {
+            com.wellnest.app.service.TrainerInteractionService trainerInteractionService,
+            ClientAnalyticsService clientAnalyticsService,
+            AnalyticsStreamService analyticsStreamService,
+            AppUserService appUserService) {
         this.analyticsService = analyticsService;
         this.trainerInteractionService = trainerInteractionService;
+        this.clientAnalyticsService = clientAnalyticsService;
+        this.analyticsStreamService = analyticsStreamService;
+        this.appUserService = appUserService;
+    }
+
+    // GET /api/analytics/clients?startDate=...&endDate=... - compact figures for all
+    // ACTIVE clients of the logged-in trainer (defaults to the last 7 days)
+    @GetMapping("/clients")
+    public ResponseEntity<List<ClientAnalyticsSummary>> getAnalyticsForClients(
+            Authentication authentication,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
+
+        Long userId = appUserService.getUserIdFromAuthentication(authentication);
+        LocalDate end = endDate != null ? endDate : LocalDate.now();
+        LocalDate start = startDate != null ? startDate : end.minusDays(6);
+        return ResponseEntity.ok(clientAnalyticsService.getClientsOverview(userId, start, end));
     }
 
     @GetMapping("/client/{clientId}")
@@ -48,4 +79,24 @@ public class AnalyticsController {
 
         return ResponseEntity.ok(summary);
     }
+
+    // GET /api/analytics/summary/stream?startDate=2020-01-01&endDate=2024-12-31&granularity=day|week|month
+    // NDJSON, one line per period with activity, written as the range is read
+    @GetMapping(value = "/summary/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamAnalyticsSummary(
+            Authentication authentication,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestParam(required = false, defaultValue = "week") String granularity) {
+
+        // Resolve and validate on the request thread; the body is written asynchronously
+        Long userId = appUserService.getUserIdFromAuthentication(authentication);
+        AnalyticsGranularity bucketSize = AnalyticsGranularity.fromParam(granularity);
+        if (startDate.isAfter(endDate)) {
+            throw new IllegalArgumentException("startDate must not be after endDate");
+        }
+        StreamingResponseBody body = out -> analyticsStreamService.streamBuckets(userId, startDate, endDate,
+                bucketSize, out);
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+    }
 }
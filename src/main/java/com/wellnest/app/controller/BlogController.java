@@ -2,8 +2,12 @@ package com.wellnest.app.controller;
 
 import com.wellnest.app.dto.BlogPostDto;
 import com.wellnest.app.dto.BlogPostResponse;
+import com.wellnest.app.dto.BlogPostSummary;
+import com.wellnest.app.dto.BlogSearchResults;
 import com.wellnest.app.dto.CommentDto;
 import com.wellnest.app.dto.CommentResponse;
+import com.wellnest.app.dto.CursorPage;
+import com.wellnest.app.service.BlogSearchService;
 import com.wellnest.app.service.BlogService;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
@@ -18,9 +22,11 @@ import java.util.List;
 public class BlogController {
 
     private final BlogService blogService;
+    private final BlogSearchService blogSearchService;
 
-    public BlogController(BlogService blogService) {
+    public BlogController(BlogService blogService, BlogSearchService blogSearchService) {
         this.blogService = blogService;
+        this.blogSearchService = blogSearchService;
     }
 
     // GET /api/blog/posts - Get all blog posts (optionally filtered by category)
@@ -32,6 +38,36 @@ public class BlogController {
         return ResponseEntity.ok(posts);
     }
 
+    // GET /api/blog/feed?category=Fitness&cursor=...&limit=20 - Paginated summaries, newest first
+    @GetMapping("/feed")
+    public ResponseEntity<CursorPage<BlogPostSummary>> getFeed(
+            @RequestParam(required = false) String category,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit,
+            Authentication authentication) {
+        String email = authentication != null ? authentication.getName() : null;
+        return ResponseEntity.ok(blogService.getFeed(category, cursor, limit, email));
+    }
+
+    // GET /api/blog/hot?cursor=...&limit=20 - Paginated summaries, most liked/commented recently first
+    @GetMapping("/hot")
+    public ResponseEntity<CursorPage<BlogPostSummary>> getHotFeed(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit,
+            Authentication authentication) {
+        String email = authentication != null ? authentication.getName() : null;
+        return ResponseEntity.ok(blogService.getHotFeed(cursor, limit, email));
+    }
+
+    // GET /api/blog/search?q=morning+yoga&page=0&size=10 - Ranked full-text search with highlighted snippets
+    @GetMapping("/search")
+    public ResponseEntity<BlogSearchResults> search(
+            @RequestParam String q,
+            @RequestParam(required = false) Integer page,
+            @RequestParam(required = false) Integer size) {
+        return ResponseEntity.ok(blogSearchService.search(q, page, size));
+    }
+
     // GET /api/blog/posts/{id} - Get a single blog post by ID
     @GetMapping("/posts/{id}")
     public ResponseEntity<BlogPostResponse> getPostById(@PathVariable Long id, Authentication authentication) {
@@ -0,0 +1,122 @@
+package com.wellnest.app.controller;
+
+import com.wellnest.app.service.ImageResizer;
+import com.wellnest.app.service.ImageService;
+import com.wellnest.app.service.ImageStore;
+import com.wellnest.app.service.ImageVariant;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Optional;
+
+@RestController
+@RequestMapping("/api/images")
+public class ImageController {
+
+    // Tomcat's sendfile request attributes: the connector copies the file to the socket itself
+    private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    // The hash names the bytes, so the response never changes
+    private static final String CACHE_FOREVER = "public, max-age=31536000, immutable";
+
+    private final ImageStore imageStore;
+    private final ImageResizer imageResizer;
+
+    public ImageController(ImageStore imageStore, ImageResizer imageResizer) {
+        this.imageStore = imageStore;
+        this.imageResizer = imageResizer;
+    }
+
+    // GET /api/images/{hash} - Image bytes, cached by browsers and proxies for a year
+    @GetMapping("/{hash}")
+    public void getImage(@PathVariable String hash, HttpServletRequest request, HttpServletResponse response)
+            throws IOException {
+        Optional<Resource> image = imageStore.get(hash);
+        if (image.isEmpty()) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+        serve(image.get(), "\"" + hash + "\"", CACHE_FOREVER, request, response);
+    }
+
+    // GET /api/images/{hash}/thumb (or /medium) - Downscaled copy for lists. Until it has
+    // been made, the original is served without long-term caching and the copy is queued.
+    @GetMapping("/{hash}/{variant}")
+    public void getVariant(@PathVariable String hash, @PathVariable String variant, HttpServletRequest request,
+            HttpServletResponse response) throws IOException {
+        ImageVariant imageVariant = ImageVariant.fromKey(variant);
+        Optional<Resource> original = imageVariant != null ? imageStore.get(hash) : Optional.empty();
+        if (original.isEmpty()) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+        Optional<Resource> resized = imageStore.getVariant(hash, imageVariant);
+        if (resized.isPresent()) {
+            serve(resized.get(), "\"" + hash + "." + variant + "\"", CACHE_FOREVER, request, response);
+            return;
+        }
+        imageResizer.submitStored(hash);
+        serve(original.get(), "\"" + hash + "\"", "no-cache", request, response);
+    }
+
+    private static void serve(Resource resource, String etag, String cacheControl, HttpServletRequest request,
+            HttpServletResponse response) throws IOException {
+        response.setHeader(HttpHeaders.ETAG, etag);
+        response.setHeader(HttpHeaders.CACHE_CONTROL, cacheControl);
+        String ifNoneMatch = request.getHeader(HttpHeaders.IF_NONE_MATCH);
+        if (ifNoneMatch != null && (ifNoneMatch.contains(etag) || ifNoneMatch.trim().equals("*"))) {
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return;
+        }
+
+        byte[] head = new byte[12];
+        int read;
+        try (InputStream in = resource.getInputStream()) {
+            read = in.readNBytes(head, 0, head.length);
+        }
+        String contentType = ImageService.contentType(Arrays.copyOf(head, read));
+        response.setContentType(contentType != null ? contentType : "application/octet-stream");
+        response.setHeader("X-Content-Type-Options", "nosniff");
+        long length = resource.contentLength();
+        response.setContentLengthLong(length);
+
+        if (!resource.isFile()) {
+            try (InputStream in = resource.getInputStream()) {
+                in.transferTo(response.getOutputStream());
+            }
+            return;
+        }
+        File file = resource.getFile();
+        if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+            request.setAttribute(SENDFILE_FILENAME, file.getAbsolutePath());
+            request.setAttribute(SENDFILE_START, 0L);
+            request.setAttribute(SENDFILE_END, length);
+            return;
+        }
+        // No sendfile (other containers, tests): let the channel transfer the file in chunks
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            WritableByteChannel out = Channels.newChannel(response.getOutputStream());
+            long position = 0;
+            while (position < length) {
+                position += channel.transferTo(position, length - position, out);
+            }
+        }
+    }
+}
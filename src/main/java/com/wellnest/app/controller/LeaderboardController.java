@@ -1,29 +1,133 @@
 package com.wellnest.app.controller;
 
+import com.wellnest.app.dto.LeaderboardGroupRequest;
+import com.wellnest.app.dto.LeaderboardGroupResponse;
 import com.wellnest.app.dto.LeaderboardResponse;
 import com.wellnest.app.service.AppUserService;
+import com.wellnest.app.service.LeaderboardGroupService;
+import com.wellnest.app.service.LeaderboardPeriod;
 import com.wellnest.app.service.LeaderboardService;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
-import org.springframework.web.bind.annotation.GetMapping;
-import org.springframework.web.bind.annotation.RequestMapping;
-import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
 
 @RestController
 @RequestMapping("/api/leaderboard")
 public class LeaderboardController {
 
     private final LeaderboardService leaderboardService;
+    private final LeaderboardGroupService leaderboardGroupService;
     private final AppUserService appUserService;
 
-    public LeaderboardController(LeaderboardService leaderboardService, AppUserService appUserService) {
+    public LeaderboardController(LeaderboardService leaderboardService,
+            LeaderboardGroupService leaderboardGroupService,
+            AppUserService appUserService) {
         this.leaderboardService = leaderboardService;
+        this.leaderboardGroupService = leaderboardGroupService;
         this.appUserService = appUserService;
     }
 
+    // GET /api/leaderboard?period=daily|weekly|monthly|rolling-7-days|all-time
+    @GetMapping
+    public ResponseEntity<LeaderboardResponse> getLeaderboard(
+            @RequestParam(required = false, defaultValue = "weekly") String period,
+            Authentication authentication) {
+        Long userId = appUserService.getUserIdFromAuthentication(authentication);
+        return ResponseEntity.ok(leaderboardService.getLeaderboard(LeaderboardPeriod.fromParam(period), userId));
+    }
+
     @GetMapping("/weekly")
     public ResponseEntity<LeaderboardResponse> getWeeklyLeaderboard(Authentication authentication) {
         Long userId = appUserService.getUserIdFromAuthentication(authentication);
         return ResponseEntity.ok(leaderboardService.getWeeklyLeaderboard(userId));
     }
+
+    // -------------------- TRAINER ROSTER --------------------
+
+    // GET /api/leaderboard/trainer/{trainerId}?period=weekly (trainer or ACTIVE client)
+    @GetMapping("/trainer/{trainerId}")
+    public ResponseEntity<LeaderboardResponse> getTrainerLeaderboard(
+            @PathVariable Long trainerId,
+            @RequestParam(required = false, defaultValue = "weekly") String period,
+            Authentication authentication) {
+        Long userId = appUserService.getUserIdFromAuthentication(authentication);
+        return ResponseEntity.ok(
+                leaderboardGroupService.getTrainerLeaderboard(trainerId, LeaderboardPeriod.fromParam(period), userId));
+    }
+
+    // Logged-in trainer's own clients
+    @GetMapping("/my-clients")
+    public ResponseEntity<LeaderboardResponse> getMyClientsLeaderboard(
+            @RequestParam(required = false, defaultValue = "weekly") String period,
+            Authentication authentication) {
+        Long userId = appUserService.getUserIdFromAuthentication(authentication);
+        return ResponseEntity.ok(
+                leaderboardGroupService.getMyClientsLeaderboard(LeaderboardPeriod.fromParam(period), userId));
+    }
+
+    // -------------------- USER GROUPS --------------------
+
+    @GetMapping("/groups")
+    public ResponseEntity<List<LeaderboardGroupResponse>> getGroups(Authentication authentication) {
+        Long userId = appUserService.getUserIdFromAuthentication(authentication);
+        return ResponseEntity.ok(leaderboardGroupService.getGroups(userId));
+    }
+
+    // Groups the current user has been invited to
+    @GetMapping("/groups/invites")
+    public ResponseEntity<List<LeaderboardGroupResponse>> getGroupInvites(Authentication authentication) {
+        Long userId = appUserService.getUserIdFromAuthentication(authentication);
+        return ResponseEntity.ok(leaderboardGroupService.getInvites(userId));
+    }
+
+    @PostMapping("/groups")
+    public ResponseEntity<LeaderboardGroupResponse> createGroup(@RequestBody LeaderboardGroupRequest request,
+            Authentication authentication) {
+        Long userId = appUserService.getUserIdFromAuthentication(authentication);
+        return ResponseEntity.ok(leaderboardGroupService.createGroup(request, userId));
+    }
+
+    @DeleteMapping("/groups/{groupId}")
+    public ResponseEntity<Void> deleteGroup(@PathVariable Long groupId, Authentication authentication) {
+        Long userId = appUserService.getUserIdFromAuthentication(authentication);
+        leaderboardGroupService.deleteGroup(groupId, userId);
+        return ResponseEntity.ok().build();
+    }
+
+    // Invites the user; they join once they accept
+    @PostMapping("/groups/{groupId}/members/{memberId}")
+    public ResponseEntity<LeaderboardGroupResponse> addGroupMember(@PathVariable Long groupId,
+            @PathVariable Long memberId, Authentication authentication) {
+        Long userId = appUserService.getUserIdFromAuthentication(authentication);
+        return ResponseEntity.ok(leaderboardGroupService.addMember(groupId, memberId, userId));
+    }
+
+    @PostMapping("/groups/{groupId}/accept")
+    public ResponseEntity<LeaderboardGroupResponse> acceptGroupInvite(@PathVariable Long groupId,
+            Authentication authentication) {
+        Long userId = appUserService.getUserIdFromAuthentication(authentication);
+        return ResponseEntity.ok(leaderboardGroupService.acceptInvite(groupId, userId));
+    }
+
+    // Owner removes a member, or a member leaves / declines an invite
+    @DeleteMapping("/groups/{groupId}/members/{memberId}")
+    public ResponseEntity<Void> removeGroupMember(@PathVariable Long groupId, @PathVariable Long memberId,
+            Authentication authentication) {
+        Long userId = appUserService.getUserIdFromAuthentication(authentication);
+        leaderboardGroupService.removeMember(groupId, memberId, userId);
+        return ResponseEntity.ok().build();
+    }
+
+    // GET /api/leaderboard/groups/{groupId}?period=weekly (owner or accepted member)
+    @GetMapping("/groups/{groupId}")
+    public ResponseEntity<LeaderboardResponse> getGroupLeaderboard(
+            @PathVariable Long groupId,
+            @RequestParam(required = false, defaultValue = "weekly") String period,
+            Authentication authentication) {
+        Long userId = appUserService.getUserIdFromAuthentication(authentication);
+        return ResponseEntity.ok(
+                leaderboardGroupService.getGroupLeaderboard(groupId, LeaderboardPeriod.fromParam(period), userId));
+    }
 }
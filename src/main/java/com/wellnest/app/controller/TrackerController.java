@@ -1,5 +1,8 @@
 package com.wellnest.app.controller;
 
+import com.wellnest.app.dto.BulkTrackerRequest;
+import com.wellnest.app.dto.BulkTrackerResponse;
+import com.wellnest.app.dto.CursorPage;
 import com.wellnest.app.dto.MealDto;
 import com.wellnest.app.dto.SleepLogDto;
 import com.wellnest.app.dto.WaterIntakeDto;
@@ -9,12 +12,16 @@ import com.wellnest.app.model.SleepLog;
 import com.wellnest.app.model.WaterIntake;
 import com.wellnest.app.model.Workout;
 import com.wellnest.app.service.AppUserService;
+import com.wellnest.app.service.TrackerBulkService;
 import com.wellnest.app.service.TrackerService;
 import jakarta.validation.Valid;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
 import java.util.List;
 
 /**
@@ -30,13 +37,26 @@ import java.util.List;
 public class TrackerController {
 
     private final TrackerService trackerService;
+    private final TrackerBulkService trackerBulkService;
     private final AppUserService appUserService;
 
-    public TrackerController(TrackerService trackerService, AppUserService appUserService) {
+    public TrackerController(TrackerService trackerService, TrackerBulkService trackerBulkService,
+            AppUserService appUserService) {
         this.trackerService = trackerService;
+        this.trackerBulkService = trackerBulkService;
         this.appUserService = appUserService;
     }
 
+    // -------------------- BULK --------------------
+
+    // POST /api/trackers/bulk - mixed entries, one result per entry (created id or error)
+    @PostMapping("/bulk")
+    public ResponseEntity<BulkTrackerResponse> bulkImport(@RequestBody BulkTrackerRequest request,
+            Authentication authentication) {
+        Long userId = appUserService.getUserIdFromAuthentication(authentication);
+        return ResponseEntity.ok(trackerBulkService.ingest(userId, request));
+    }
+
     // -------------------- WORKOUT --------------------
 
     @PostMapping("/workouts")
@@ -54,6 +74,18 @@ public class TrackerController {
         return ResponseEntity.ok(list);
     }
 
+    // GET /api/trackers/workouts/history?from=2024-01-01&to=2024-01-31&cursor=...&limit=20
+    @GetMapping("/workouts/history")
+    public ResponseEntity<CursorPage<Workout>> getWorkoutHistory(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit,
+            Authentication authentication) {
+        Long userId = appUserService.getUserIdFromAuthentication(authentication);
+        return ResponseEntity.ok(trackerService.getWorkoutHistory(userId, from, to, cursor, limit));
+    }
+
     @DeleteMapping("/workouts/{id}")
     public ResponseEntity<Void> deleteWorkout(@PathVariable Long id, Authentication authentication) {
         Long userId = appUserService.getUserIdFromAuthentication(authentication);
@@ -78,6 +110,18 @@ public class TrackerController {
         return ResponseEntity.ok(list);
     }
 
+    // GET /api/trackers/meals/history?from=2024-01-01&to=2024-01-31&cursor=...&limit=20
+    @GetMapping("/meals/history")
+    public ResponseEntity<CursorPage<Meal>> getMealHistory(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit,
+            Authentication authentication) {
+        Long userId = appUserService.getUserIdFromAuthentication(authentication);
+        return ResponseEntity.ok(trackerService.getMealHistory(userId, from, to, cursor, limit));
+    }
+
     @DeleteMapping("/meals/{id}")
     public ResponseEntity<Void> deleteMeal(@PathVariable Long id, Authentication authentication) {
         Long userId = appUserService.getUserIdFromAuthentication(authentication);
@@ -102,6 +146,18 @@ public class TrackerController {
         return ResponseEntity.ok(list);
     }
 
+    // GET /api/trackers/water/history?from=2024-01-01&to=2024-01-31&cursor=...&limit=20
+    @GetMapping("/water/history")
+    public ResponseEntity<CursorPage<WaterIntake>> getWaterHistory(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit,
+            Authentication authentication) {
+        Long userId = appUserService.getUserIdFromAuthentication(authentication);
+        return ResponseEntity.ok(trackerService.getWaterHistory(userId, from, to, cursor, limit));
+    }
+
     @DeleteMapping("/water/{id}")
     public ResponseEntity<Void> deleteWater(@PathVariable Long id, Authentication authentication) {
         Long userId = appUserService.getUserIdFromAuthentication(authentication);
@@ -126,6 +182,18 @@ public class TrackerController {
         return ResponseEntity.ok(list);
     }
 
+    // GET /api/trackers/sleep/history?from=2024-01-01&to=2024-01-31&cursor=...&limit=20
+    @GetMapping("/sleep/history")
+    public ResponseEntity<CursorPage<SleepLog>> getSleepHistory(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit,
+            Authentication authentication) {
+        Long userId = appUserService.getUserIdFromAuthentication(authentication);
+        return ResponseEntity.ok(trackerService.getSleepHistory(userId, from, to, cursor, limit));
+    }
+
     @DeleteMapping("/sleep/{id}")
     public ResponseEntity<Void> deleteSleep(@PathVariable Long id, Authentication authentication) {
         Long userId = appUserService.getUserIdFromAuthentication(authentication);
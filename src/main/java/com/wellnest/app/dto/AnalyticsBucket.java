@@ -0,0 +1,32 @@
+package com.wellnest.app.dto;
+
+import lombok.Data;
+
+import java.time.LocalDate;
+
+/**
+ * Totals for one day, week or month of a streamed analytics range. The period
+ * is clipped to the requested range, and averages are over the days in it.
+ */
+@Data
+public class AnalyticsBucket {
+    private LocalDate periodStart;
+    private LocalDate periodEnd;
+    private int activeDays; // days with any tracker entry
+
+    private int totalWorkouts;
+    private double totalWorkoutMinutes;
+    private double totalCaloriesBurned;
+
+    private int totalMeals;
+    private double avgDailyCalories;
+    private double totalProtein;
+    private double totalCarbs;
+    private double totalFat;
+
+    private double avgSleepDuration;
+    private double avgSleepQuality;
+
+    private double totalWaterIntake; // in ml
+    private int waterDaysMetGoal;
+}
@@ -0,0 +1,15 @@
+package com.wellnest.app.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class AnalyticsCacheStats {
+    private long hits;
+    private long misses;
+    private long evictions; // size-based only; expired entries are dropped on read
+    private long invalidations;
+    private int size;
+    private int maxEntries;
+}
@@ -0,0 +1,25 @@
+package com.wellnest.app.dto;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * A post as listed in the feed: no content, inline image or comments (see
+ * BlogPostResponse from GET /api/blog/posts/{id} for those), only the counts.
+ */
+@Getter
+@Setter
+public class BlogPostSummary {
+    private Long id;
+    private String title;
+    private String excerpt;
+    private String author;
+    private String role;
+    private String category;
+    private String image; // only when it is a link; base64 data URIs are left to the detail view
+    private Integer likes;
+    private long commentCount;
+    private Boolean isLiked = false;
+    private Long authorId;
+    private String date;
+}
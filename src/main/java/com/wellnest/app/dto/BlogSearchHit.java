@@ -0,0 +1,28 @@
+package com.wellnest.app.dto;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.List;
+
+/**
+ * A post found by GET /api/blog/search. Highlights are [start, end) character
+ * ranges of the matching words in title and snippet, so clients can mark
+ * them without parsing HTML.
+ */
+@Getter
+@Setter
+public class BlogSearchHit {
+    private Long id;
+    private String title;
+    private List<int[]> titleHighlights;
+    private String excerpt;
+    private String snippet; // the best matching passage of the content, or the excerpt
+    private List<int[]> snippetHighlights;
+    private String author;
+    private String role;
+    private String category;
+    private String image;
+    private String date;
+    private double score;
+}
@@ -0,0 +1,19 @@
+package com.wellnest.app.dto;
+
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * One page of ranked search results. total counts every matching post; only
+ * the first BlogSearchService.MAX_RESULT_WINDOW of them can be paged through.
+ */
+@Data
+public class BlogSearchResults {
+    private String query;
+    private int page;
+    private int size;
+    private int total;
+    private boolean hasMore;
+    private List<BlogSearchHit> hits;
+}
@@ -0,0 +1,29 @@
+package com.wellnest.app.dto;
+
+import lombok.Data;
+
+@Data
+public class BulkItemResult {
+    private String type; // workout, meal, water, sleep
+    private int index; // position in the request list of that type
+    private boolean created;
+    private Long id;
+    private String error;
+
+    public static BulkItemResult created(String type, int index, Long id) {
+        BulkItemResult result = new BulkItemResult();
+        result.setType(type);
+        result.setIndex(index);
+        result.setCreated(true);
+        result.setId(id);
+        return result;
+    }
+
+    public static BulkItemResult rejected(String type, int index, String error) {
+        BulkItemResult result = new BulkItemResult();
+        result.setType(type);
+        result.setIndex(index);
+        result.setError(error);
+        return result;
+    }
+}
@@ -0,0 +1,18 @@
+package com.wellnest.app.dto;
+
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Mixed tracker entries uploaded in one request (wearable sync, offline
+ * clients). Each entry is validated on its own and reported by list index.
+ */
+@Data
+public class BulkTrackerRequest {
+    private List<WorkoutDto> workouts = new ArrayList<>();
+    private List<MealDto> meals = new ArrayList<>();
+    private List<WaterIntakeDto> water = new ArrayList<>();
+    private List<SleepLogDto> sleep = new ArrayList<>();
+}
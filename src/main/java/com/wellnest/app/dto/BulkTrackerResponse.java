@@ -0,0 +1,18 @@
+package com.wellnest.app.dto;
+
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class BulkTrackerResponse {
+    private int created;
+    private int rejected;
+    private List<BulkItemResult> results;
+
+    public BulkTrackerResponse(List<BulkItemResult> results) {
+        this.results = results;
+        this.created = (int) results.stream().filter(BulkItemResult::isCreated).count();
+        this.rejected = results.size() - created;
+    }
+}
@@ -0,0 +1,25 @@
+package com.wellnest.app.dto;
+
+import lombok.Data;
+
+/**
+ * Compact per-client figures for the trainer dashboard; the full
+ * AnalyticsSummary stays available per client.
+ */
+@Data
+public class ClientAnalyticsSummary {
+    private Long clientId;
+    private String clientName;
+    private String fitnessGoal;
+    private Double weightKg;
+    private Double targetWeightKg;
+    private double bmi; // 0 when height or weight is missing
+
+    private int activeDays; // days with any tracker entry
+    private int totalWorkouts;
+    private double totalWorkoutMinutes;
+    private double avgDailyCalories;
+    private double avgSleepHours;
+    private double avgDailyWaterIntake; // in ml, over days with water logged
+    private int waterDaysMetGoal;
+}
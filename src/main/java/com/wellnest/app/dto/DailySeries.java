@@ -0,0 +1,142 @@
+package com.wellnest.app.dto;
+
+import tools.jackson.core.JsonGenerator;
+import tools.jackson.databind.SerializationContext;
+import tools.jackson.databind.ValueSerializer;
+import tools.jackson.databind.annotation.JsonSerialize;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * One double per calendar day, stored as an epoch-day offset plus a primitive
+ * array (NaN marks a day without data). Replaces Map&lt;String, Double&gt;
+ * trends so adding a point neither boxes nor formats a date. Serialized as
+ * the same JSON object as before: {"2024-05-01": 30.0, ...}, oldest first,
+ * days without data omitted.
+ *
+ * Grows in either direction as days are added; not thread-safe.
+ */
+@JsonSerialize(using = DailySeries.Serializer.class)
+public final class DailySeries {
+
+    private static final double[] NO_VALUES = new double[0];
+
+    private long firstEpochDay;
+    private double[] values = NO_VALUES;
+    private int size;
+
+    public static DailySeries empty() {
+        return new DailySeries();
+    }
+
+    /** Adds value to the day's total (the first value for a day sets it). */
+    public void add(LocalDate day, double value) {
+        int i = slot(day.toEpochDay());
+        if (Double.isNaN(values[i])) {
+            values[i] = value;
+            size++;
+        } else {
+            values[i] += value;
+        }
+    }
+
+    /** Replaces the day's value. */
+    public void put(LocalDate day, double value) {
+        int i = slot(day.toEpochDay());
+        if (Double.isNaN(values[i])) {
+            size++;
+        }
+        values[i] = value;
+    }
+
+    /** The day's value, or NaN when the day has no data. */
+    public double get(LocalDate day) {
+        long offset = day.toEpochDay() - firstEpochDay;
+        return offset >= 0 && offset < values.length ? values[(int) offset] : Double.NaN;
+    }
+
+    /** Number of days with data. */
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /** Days with data keyed by ISO date, oldest first (allocates; for callers needing a Map). */
+    public Map<String, Double> toMap() {
+        Map<String, Double> map = new LinkedHashMap<>();
+        for (int i = 0; i < values.length; i++) {
+            if (!Double.isNaN(values[i])) {
+                map.put(LocalDate.ofEpochDay(firstEpochDay + i).toString(), values[i]);
+            }
+        }
+        return map;
+    }
+
+    // Index of epochDay, growing the array (doubling) to cover it
+    private int slot(long epochDay) {
+        if (values.length == 0) {
+            firstEpochDay = epochDay;
+            values = new double[8];
+            Arrays.fill(values, Double.NaN);
+            return 0;
+        }
+        long offset = epochDay - firstEpochDay;
+        if (offset < 0) {
+            int shift = (int) Math.max(-offset, values.length);
+            double[] grown = new double[values.length + shift];
+            Arrays.fill(grown, 0, shift, Double.NaN);
+            System.arraycopy(values, 0, grown, shift, values.length);
+            values = grown;
+            firstEpochDay -= shift;
+            offset += shift;
+        } else if (offset >= values.length) {
+            int length = (int) Math.max(offset + 1, values.length * 2L);
+            int oldLength = values.length;
+            values = Arrays.copyOf(values, length);
+            Arrays.fill(values, oldLength, length, Double.NaN);
+        }
+        return (int) offset;
+    }
+
+    /** Writes {"yyyy-MM-dd": value, ...} without building a map. */
+    public static final class Serializer extends ValueSerializer<DailySeries> {
+
+        @Override
+        public void serialize(DailySeries series, JsonGenerator gen, SerializationContext ctxt) {
+            gen.writeStartObject(series);
+            char[] key = new char[10];
+            for (int i = 0; i < series.values.length; i++) {
+                double value = series.values[i];
+                if (Double.isNaN(value)) {
+                    continue;
+                }
+                LocalDate date = LocalDate.ofEpochDay(series.firstEpochDay + i);
+                gen.writeName(new String(formatIsoDate(date, key)));
+                gen.writeNumber(value);
+            }
+            gen.writeEndObject();
+        }
+
+        // yyyy-MM-dd for years 0-9999 into a reused buffer
+        private static char[] formatIsoDate(LocalDate date, char[] buf) {
+            int year = date.getYear();
+            buf[0] = (char) ('0' + year / 1000 % 10);
+            buf[1] = (char) ('0' + year / 100 % 10);
+            buf[2] = (char) ('0' + year / 10 % 10);
+            buf[3] = (char) ('0' + year % 10);
+            buf[4] = '-';
+            buf[5] = (char) ('0' + date.getMonthValue() / 10);
+            buf[6] = (char) ('0' + date.getMonthValue() % 10);
+            buf[7] = '-';
+            buf[8] = (char) ('0' + date.getDayOfMonth() / 10);
+            buf[9] = (char) ('0' + date.getDayOfMonth() % 10);
+            return buf;
+        }
+    }
+}
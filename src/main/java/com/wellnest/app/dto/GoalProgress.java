@@ -11,5 +11,5 @@ public class GoalProgress {
     private int percentageComplete;
     private String status; // "On Track", "Needs Improvement", "At Risk"
     private String recommendation; // Customized recommendation
-    private java.util.Map<String, Double> weeklyProgressTrend;
+    private DailySeries weeklyProgressTrend;
 }
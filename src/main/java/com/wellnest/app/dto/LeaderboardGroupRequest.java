@@ -0,0 +1,11 @@
+package com.wellnest.app.dto;
+
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class LeaderboardGroupRequest {
+    private String name;
+    private List<Long> memberIds;
+}
@@ -0,0 +1,18 @@
+package com.wellnest.app.dto;
+
+import lombok.Data;
+
+@Data
+public class LeaderboardGroupResponse {
+    private Long id;
+    private String name;
+    private Long ownerId;
+    private long memberCount;
+
+    public LeaderboardGroupResponse(Long id, String name, Long ownerId, long memberCount) {
+        this.id = id;
+        this.name = name;
+        this.ownerId = ownerId;
+        this.memberCount = memberCount;
+    }
+}
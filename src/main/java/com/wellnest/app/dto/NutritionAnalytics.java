@@ -9,6 +9,6 @@ public class NutritionAnalytics {
     private double avgDailyProtein;
     private double avgDailyCarbs;
     private double avgDailyFat;
-    private Map<String, Double> weeklyCalorieTrend;
+    private DailySeries weeklyCalorieTrend;
     private Map<String, Double> macronutrientDistribution; // {"protein": 30.0, "carbs": 40.0, "fat": 30.0}
 }
@@ -9,4 +9,5 @@ public class TrainerUpdateDto {
     private String location;
     private List<String> specialties;
     private String bio;
+    private String image; // base64 data URI or link
 }
@@ -9,6 +9,6 @@ public class WorkoutAnalytics {
     private double totalDuration; // in minutes
     private double avgDuration; // in minutes
     private Map<String, Integer> workoutsByType; // e.g., {"Cardio": 5, "Strength": 3}
-    private Map<String, Double> weeklyTrend; // e.g., {"2023-01-01": 30.5, "2023-01-02": 45.0}
-    private Map<String, Double> dailyCaloriesBurned; // e.g., {"2023-01-01": 300.0, ...}
+    private DailySeries weeklyTrend; // e.g., {"2023-01-01": 30.5, "2023-01-02": 45.0}
+    private DailySeries dailyCaloriesBurned; // e.g., {"2023-01-01": 300.0, ...}
 }
@@ -4,6 +4,7 @@ import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.Setter;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.DynamicUpdate;
 
 import java.time.LocalDateTime;
 import java.util.HashSet;
@@ -12,7 +13,10 @@ import java.util.Set;
 @Setter
 @Getter
 @Entity
-@Table(name = "blog_posts")
+@DynamicUpdate // saves write only changed columns, so edits never overwrite the counters
+@Table(name = "blog_posts", indexes = {
+        @Index(name = "idx_blog_posts_created", columnList = "created_at, id"),
+        @Index(name = "idx_blog_posts_category_created", columnList = "category, created_at, id") })
 public class BlogPost {
 
     @Id
@@ -34,10 +38,13 @@ public class BlogPost {
 
     private String category; // Nutrition, Fitness, Mental Wellness, Lifestyle
 
-    @Column(columnDefinition = "LONGTEXT")
-    private String image;
+    @Column(length = 512)
+    private String image; // a link, /api/images/{hash} for uploaded images
 
-    private Integer likes = 0;
+    private Integer likes = 0; // post_likes rows, updated atomically (LikeCounterBuffer)
+
+    @Column(name = "comment_count")
+    private Integer commentCount = 0; // NULL on rows from before the column until DatabaseFixer fills it
 
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id")
@@ -0,0 +1,83 @@
+package com.wellnest.app.model;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDate;
+
+/**
+ * Per-user, per-day totals of every tracker table. DailyRollupService applies
+ * deltas on each tracker write, so analytics read one row per day instead of
+ * every raw entry. Counts are kept next to the sums so a day whose entries
+ * were all deleted (count 0) is treated as empty.
+ */
+@Setter
+@Getter
+@Entity
+@Table(name = "daily_rollups",
+        uniqueConstraints = @UniqueConstraint(name = "uk_daily_rollup_user_date", columnNames = { "user_id", "rollup_date" }))
+public class DailyRollup {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "rollup_date", nullable = false)
+    private LocalDate rollupDate;
+
+    // Meals
+    @Column(name = "meal_count", nullable = false)
+    private Integer mealCount = 0;
+
+    @Column(name = "calories_in", nullable = false)
+    private Double caloriesIn = 0.0;
+
+    @Column(name = "protein_g", nullable = false)
+    private Double proteinG = 0.0;
+
+    @Column(name = "carbs_g", nullable = false)
+    private Double carbsG = 0.0;
+
+    @Column(name = "fats_g", nullable = false)
+    private Double fatsG = 0.0;
+
+    // Workouts (per-type counts live in daily_workout_type_rollups)
+    @Column(name = "workout_count", nullable = false)
+    private Integer workoutCount = 0;
+
+    @Column(name = "workout_minutes", nullable = false)
+    private Double workoutMinutes = 0.0;
+
+    @Column(name = "calories_out", nullable = false)
+    private Double caloriesOut = 0.0;
+
+    // Water
+    @Column(name = "water_count", nullable = false)
+    private Integer waterCount = 0;
+
+    @Column(name = "water_liters", nullable = false)
+    private Double waterLiters = 0.0;
+
+    // Sleep; the sum of squares gives the standard deviation over any range
+    @Column(name = "sleep_count", nullable = false)
+    private Integer sleepCount = 0;
+
+    @Column(name = "sleep_hours", nullable = false)
+    private Double sleepHours = 0.0;
+
+    @Column(name = "sleep_hours_sq", nullable = false)
+    private Double sleepHoursSq = 0.0;
+
+    @Column(name = "sleep_quality_sum", nullable = false)
+    private Double sleepQualitySum = 0.0;
+
+    @Column(name = "sleep_quality_count", nullable = false)
+    private Integer sleepQualityCount = 0;
+
+    public DailyRollup() {
+    }
+}
@@ -0,0 +1,42 @@
+package com.wellnest.app.model;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDate;
+
+/**
+ * Workout count and minutes per user, day and workout type; the per-type
+ * breakdown of DailyRollup.
+ */
+@Setter
+@Getter
+@Entity
+@Table(name = "daily_workout_type_rollups",
+        uniqueConstraints = @UniqueConstraint(name = "uk_daily_workout_type_user_date_type",
+                columnNames = { "user_id", "rollup_date", "type" }))
+public class DailyWorkoutTypeRollup {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "rollup_date", nullable = false)
+    private LocalDate rollupDate;
+
+    @Column(nullable = false, length = 64)
+    private String type;
+
+    @Column(name = "workout_count", nullable = false)
+    private Integer workoutCount = 0;
+
+    @Column(nullable = false)
+    private Double minutes = 0.0;
+
+    public DailyWorkoutTypeRollup() {
+    }
+}
@@ -0,0 +1,44 @@
+package com.wellnest.app.model;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDate;
+
+/**
+ * Leaderboard points earned by one user on one day. Every board (daily, weekly,
+ * monthly, rolling, all-time) is a sum over a range of these buckets, and
+ * TrackerService keeps them current with deltas so raw activity rows are never
+ * rescanned for ranking.
+ */
+@Setter
+@Getter
+@Entity
+@Table(name = "leaderboard_daily_scores",
+        uniqueConstraints = @UniqueConstraint(name = "uk_leaderboard_user_date", columnNames = { "user_id", "score_date" }),
+        indexes = @Index(name = "idx_leaderboard_date_user", columnList = "score_date, user_id, score"))
+public class LeaderboardDailyScore {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "score_date", nullable = false)
+    private LocalDate scoreDate;
+
+    @Column(nullable = false)
+    private Double score = 0.0;
+
+    public LeaderboardDailyScore() {
+    }
+
+    public LeaderboardDailyScore(Long userId, LocalDate scoreDate, Double score) {
+        this.userId = userId;
+        this.scoreDate = scoreDate;
+        this.score = score;
+    }
+}
@@ -0,0 +1,41 @@
+package com.wellnest.app.model;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * A user-defined set of people (friends, a running club, ...) ranked against
+ * each other on their own leaderboard. Members live in leaderboard_group_members.
+ */
+@Setter
+@Getter
+@Entity
+@Table(name = "leaderboard_groups", indexes = @Index(name = "idx_leaderboard_group_owner", columnList = "owner_id"))
+public class LeaderboardGroup {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, length = 100)
+    private String name;
+
+    @Column(name = "owner_id", nullable = false)
+    private Long ownerId;
+
+    @CreationTimestamp
+    @Column(name = "created_at", updatable = false)
+    private LocalDateTime createdAt;
+
+    public LeaderboardGroup() {
+    }
+
+    public LeaderboardGroup(String name, Long ownerId) {
+        this.name = name;
+        this.ownerId = ownerId;
+    }
+}
@@ -0,0 +1,37 @@
+package com.wellnest.app.model;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+
+@Setter
+@Getter
+@Entity
+@Table(name = "leaderboard_group_members",
+        uniqueConstraints = @UniqueConstraint(name = "uk_leaderboard_group_member", columnNames = { "group_id", "user_id" }),
+        indexes = @Index(name = "idx_leaderboard_member_user", columnList = "user_id"))
+public class LeaderboardGroupMember {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "group_id", nullable = false)
+    private Long groupId;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    // Only ACTIVE members are ranked; invited users stay PENDING until they accept
+    @Column(nullable = false, length = 16)
+    private String status; // PENDING, ACTIVE
+
+    public LeaderboardGroupMember() {
+    }
+
+    public LeaderboardGroupMember(Long groupId, Long userId, String status) {
+        this.groupId = groupId;
+        this.userId = userId;
+        this.status = status;
+    }
+}
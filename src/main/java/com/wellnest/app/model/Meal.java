@@ -8,7 +8,7 @@ import java.time.LocalDateTime;
 @Setter
 @Getter
 @Entity
-@Table(name = "meals")
+@Table(name = "meals", indexes = @Index(name = "idx_meals_user_logged", columnList = "user_id, logged_at"))
 public class Meal {
     // Getters & setters
     @Id
@@ -0,0 +1,45 @@
+package com.wellnest.app.model;
+
+import jakarta.persistence.*;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+/**
+ * One row of post_likes, the join table behind BlogPost.likedBy, mapped on
+ * its own for the time of the like. Rows are written by BlogPostRepository's
+ * native queries; created_at is NULL on likes from before the column existed,
+ * which are dated at the post's creation instead.
+ */
+@Setter
+@Getter
+@Entity
+@Table(name = "post_likes")
+@IdClass(PostLike.Key.class)
+public class PostLike {
+
+    @Id
+    @Column(name = "post_id")
+    private Long postId;
+
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+
+    public PostLike() {
+    }
+
+    @Getter
+    @Setter
+    @EqualsAndHashCode
+    public static class Key implements Serializable {
+        private Long postId;
+        private Long userId;
+    }
+}
@@ -9,7 +9,7 @@ import java.time.LocalDate;
 @Setter
 @Getter
 @Entity
-@Table(name = "sleep_logs")
+@Table(name = "sleep_logs", indexes = @Index(name = "idx_sleep_user_date", columnList = "user_id, sleep_date"))
 public class SleepLog {
     // Getters/setters
     @Id
@@ -44,8 +44,8 @@ public class Trainer {
     @Column(length = 1000)
     private String bio;
 
-    @Column(columnDefinition = "LONGTEXT")
-    private String image;
+    @Column(length = 512)
+    private String image; // a link, /api/images/{hash} for uploaded images
 
     private String email;
 
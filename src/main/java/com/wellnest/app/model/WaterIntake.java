@@ -9,7 +9,7 @@ import java.time.LocalDateTime;
 @Setter
 @Getter
 @Entity
-@Table(name = "water_intake")
+@Table(name = "water_intake", indexes = @Index(name = "idx_water_user_logged", columnList = "user_id, logged_at"))
 public class WaterIntake {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
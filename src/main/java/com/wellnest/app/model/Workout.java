@@ -8,7 +8,7 @@ import java.time.LocalDateTime;
 @Getter
 @Setter
 @Entity
-@Table(name = "workouts")
+@Table(name = "workouts", indexes = @Index(name = "idx_workouts_user_performed", columnList = "user_id, performed_at"))
 public class Workout {
 
     @Id
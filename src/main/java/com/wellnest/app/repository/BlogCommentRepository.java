@@ -1,9 +1,13 @@
 package com.wellnest.app.repository;
 
 import com.wellnest.app.model.BlogComment;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -11,5 +15,12 @@ public interface BlogCommentRepository extends JpaRepository<BlogComment, Long>
 
     List<BlogComment> findByPostIdOrderByCreatedAtAsc(Long postId);
 
+    // Comments of a page of posts at once; c.post.id is read from the foreign key
+    List<BlogComment> findByPostIdInOrderByCreatedAtAsc(Collection<Long> postIds);
+
     void deleteByPostId(Long postId);
+
+    // (id, post id, createdAt) in id order, read in batches to build HotPostRanking
+    @Query("SELECT c.id, c.post.id, c.createdAt FROM BlogComment c WHERE c.id > :afterId ORDER BY c.id")
+    List<Object[]> findCommentTimes(@Param("afterId") Long afterId, Pageable pageable);
 }
@@ -1,10 +1,18 @@
 package com.wellnest.app.repository;
 
 import com.wellnest.app.model.BlogPost;
+import com.wellnest.app.model.PostLike;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface BlogPostRepository extends JpaRepository<BlogPost, Long> {
@@ -15,5 +23,64 @@ public interface BlogPostRepository extends JpaRepository<BlogPost, Long> {
 
     List<BlogPost> findByUserIdOrderByCreatedAtDesc(Long userId);
 
-    List<BlogPost> findByAuthorContainingIgnoreCaseOrderByCreatedAtDesc(String author);
+    // Feed columns (see findFeedPage) for the given posts, in no particular order
+    @Query("SELECT p.id, p.title, p.excerpt, p.author, p.role, p.category, "
+            + "CASE WHEN p.image LIKE 'data:%' THEN NULL ELSE p.image END, p.likes, p.createdAt, p.user.id, "
+            + "COALESCE(p.commentCount, 0) FROM BlogPost p WHERE p.id IN :ids")
+    List<Object[]> findSummaries(@Param("ids") Collection<Long> ids);
+
+    // (id, createdAt) in id order, read in batches to build HotPostRanking
+    @Query("SELECT p.id, p.createdAt FROM BlogPost p WHERE p.id > :afterId ORDER BY p.id")
+    List<Object[]> findHotSeeds(@Param("afterId") Long afterId, Pageable pageable);
+
+    // (post id, user id, time of the like) in primary key order after (afterPostId, afterUserId),
+    // read in batches to build HotPostRanking; likes without a time are dated at the post's creation
+    @Query("SELECT l.postId, l.userId, COALESCE(l.createdAt, p.createdAt) FROM PostLike l "
+            + "JOIN BlogPost p ON p.id = l.postId "
+            + "WHERE l.postId > :afterPostId OR (l.postId = :afterPostId AND l.userId > :afterUserId) "
+            + "ORDER BY l.postId, l.userId")
+    List<Object[]> findLikeTimes(@Param("afterPostId") Long afterPostId, @Param("afterUserId") Long afterUserId,
+            Pageable pageable);
+
+    // Searchable fields in id order, read in batches to build BlogSearchIndex
+    @Query("SELECT p.id, p.title, p.excerpt, p.content, p.author, p.category FROM BlogPost p "
+            + "WHERE p.id > :afterId ORDER BY p.id")
+    List<Object[]> findSearchFields(@Param("afterId") Long afterId, Pageable pageable);
+
+    // Keyset page of the feed, newest first: (id, title, excerpt, author, role, category,
+    // image unless it is an inline data URI, likes, createdAt, author user id, comment
+    // count). Rows before (beforeAt, beforeId), optionally in one category.
+    @Query("SELECT p.id, p.title, p.excerpt, p.author, p.role, p.category, "
+            + "CASE WHEN p.image LIKE 'data:%' THEN NULL ELSE p.image END, p.likes, p.createdAt, p.user.id, "
+            + "COALESCE(p.commentCount, 0) "
+            + "FROM BlogPost p WHERE (:category IS NULL OR p.category = :category) "
+            + "AND p.createdAt <= :beforeAt AND (p.createdAt < :beforeAt OR p.id < :beforeId) "
+            + "ORDER BY p.createdAt DESC, p.id DESC")
+    List<Object[]> findFeedPage(@Param("category") String category, @Param("beforeAt") LocalDateTime beforeAt,
+            @Param("beforeId") Long beforeId, Pageable pageable);
+
+    // post_likes rows are read and written directly; the likedBy set is never loaded.
+    // All three statements hit the (post_id, user_id) primary key.
+    @Query("SELECT l FROM PostLike l WHERE l.postId = :postId AND l.userId = :userId")
+    Optional<PostLike> findLike(@Param("postId") Long postId, @Param("userId") Long userId);
+
+    // 1 if the like was added, 0 if it was already there (a concurrent click)
+    @Modifying
+    @Query(value = "INSERT IGNORE INTO post_likes (post_id, user_id, created_at) VALUES (:postId, :userId, :likedAt)",
+            nativeQuery = true)
+    int insertLike(@Param("postId") Long postId, @Param("userId") Long userId,
+            @Param("likedAt") LocalDateTime likedAt);
+
+    @Modifying
+    @Query(value = "DELETE FROM post_likes WHERE post_id = :postId AND user_id = :userId", nativeQuery = true)
+    int deleteLike(@Param("postId") Long postId, @Param("userId") Long userId);
+
+    @Modifying
+    @Query(value = "UPDATE blog_posts SET comment_count = COALESCE(comment_count, 0) + :delta WHERE id = :postId",
+            nativeQuery = true)
+    int addComments(@Param("postId") Long postId, @Param("delta") int delta);
+
+    // Which of these posts the user has liked, without loading any likedBy set
+    @Query("SELECT p.id FROM BlogPost p JOIN p.likedBy u WHERE u.id = :userId AND p.id IN :postIds")
+    List<Long> findIdsLikedByUser(@Param("userId") Long userId, @Param("postIds") Collection<Long> postIds);
 }
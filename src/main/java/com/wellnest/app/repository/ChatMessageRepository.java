@@ -2,13 +2,16 @@ package com.wellnest.app.repository;
 
 import com.wellnest.app.model.ChatMessage;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
 
 @Repository
 public interface ChatMessageRepository extends JpaRepository<ChatMessage, Long> {
-    // Find messages between two users ordered by timestamp
-    List<ChatMessage> findBySenderIdAndReceiverIdOrSenderIdAndReceiverIdOrderByTimestampAsc(
-            Long senderId1, Long receiverId1, Long senderId2, Long receiverId2);
+    // Messages between two users ordered by timestamp, with the sender fetched for its name
+    @Query("SELECT m FROM ChatMessage m JOIN FETCH m.sender WHERE (m.sender.id = :userId AND m.receiver.id = :otherUserId) "
+            + "OR (m.sender.id = :otherUserId AND m.receiver.id = :userId) ORDER BY m.timestamp ASC")
+    List<ChatMessage> findConversation(@Param("userId") Long userId, @Param("otherUserId") Long otherUserId);
 }
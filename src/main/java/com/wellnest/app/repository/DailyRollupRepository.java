@@ -0,0 +1,42 @@
+package com.wellnest.app.repository;
+
+import com.wellnest.app.model.DailyRollup;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
+@Repository
+public interface DailyRollupRepository extends JpaRepository<DailyRollup, Long> {
+
+    List<DailyRollup> findByUserIdAndRollupDateBetweenOrderByRollupDateAsc(Long userId, LocalDate from, LocalDate to);
+
+    // Forward-only, oldest first; must be consumed inside a transaction and closed.
+    // The fetch size only takes effect on MySQL with useCursorFetch=true.
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT r FROM DailyRollup r WHERE r.userId = :userId AND r.rollupDate BETWEEN :from AND :to "
+            + "ORDER BY r.rollupDate ASC")
+    Stream<DailyRollup> streamForUserBetween(@Param("userId") Long userId, @Param("from") LocalDate from,
+            @Param("to") LocalDate to);
+
+    // One row per user: (user_id, active days, workouts, workout minutes, calories in,
+    // sleep logs, sleep hours, water liters, days with water, days meeting waterGoalLiters)
+    @Query("SELECT r.userId, "
+            + "SUM(CASE WHEN r.workoutCount > 0 OR r.mealCount > 0 OR r.waterCount > 0 OR r.sleepCount > 0 "
+            + "THEN 1 ELSE 0 END), "
+            + "SUM(r.workoutCount), SUM(r.workoutMinutes), SUM(r.caloriesIn), SUM(r.sleepCount), SUM(r.sleepHours), "
+            + "SUM(r.waterLiters), SUM(CASE WHEN r.waterCount > 0 THEN 1 ELSE 0 END), "
+            + "SUM(CASE WHEN r.waterCount > 0 AND r.waterLiters >= :waterGoalLiters THEN 1 ELSE 0 END) "
+            + "FROM DailyRollup r WHERE r.userId IN :userIds AND r.rollupDate BETWEEN :from AND :to "
+            + "GROUP BY r.userId")
+    List<Object[]> sumByUserIdsBetween(@Param("userIds") Collection<Long> userIds, @Param("from") LocalDate from,
+            @Param("to") LocalDate to, @Param("waterGoalLiters") double waterGoalLiters);
+}
@@ -0,0 +1,21 @@
+package com.wellnest.app.repository;
+
+import com.wellnest.app.model.DailyWorkoutTypeRollup;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface DailyWorkoutTypeRollupRepository extends JpaRepository<DailyWorkoutTypeRollup, Long> {
+
+    // (type, workout count) for one user over a range of days
+    @Query("SELECT r.type, SUM(r.workoutCount) FROM DailyWorkoutTypeRollup r "
+            + "WHERE r.userId = :userId AND r.rollupDate BETWEEN :from AND :to "
+            + "GROUP BY r.type HAVING SUM(r.workoutCount) > 0")
+    List<Object[]> sumCountsByTypeForUserBetween(@Param("userId") Long userId, @Param("from") LocalDate from,
+            @Param("to") LocalDate to);
+}
@@ -0,0 +1,47 @@
+package com.wellnest.app.repository;
+
+import com.wellnest.app.model.LeaderboardDailyScore;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface LeaderboardDailyScoreRepository extends JpaRepository<LeaderboardDailyScore, Long> {
+
+    // (user_id, total) per user over a window of day buckets
+    @Query("SELECT s.userId, SUM(s.score) FROM LeaderboardDailyScore s "
+            + "WHERE s.scoreDate BETWEEN :from AND :to GROUP BY s.userId")
+    List<Object[]> sumScoresByUserBetween(@Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    // Atomic upsert so concurrent tracker writes for the same user/day never lose a delta
+    @Modifying
+    @Query(value = "INSERT INTO leaderboard_daily_scores (user_id, score_date, score) VALUES (:userId, :scoreDate, :delta) "
+            + "ON DUPLICATE KEY UPDATE score = score + :delta", nativeQuery = true)
+    int addToScore(@Param("userId") Long userId, @Param("scoreDate") LocalDate scoreDate,
+            @Param("delta") double delta);
+
+    // Fills the (empty) bucket table from the raw tracker tables in one INSERT ... SELECT:
+    // each table is grouped by user and day in the database, then the four are added up.
+    // Points per unit come from LeaderboardService.
+    @Modifying
+    @Query(value = "INSERT INTO leaderboard_daily_scores (user_id, score_date, score) "
+            + "SELECT user_id, score_date, SUM(points) FROM ("
+            + "SELECT user_id, CAST(performed_at AS DATE) AS score_date, "
+            + "COALESCE(SUM(duration_minutes), 0) * :workoutPoints AS points FROM workouts "
+            + "WHERE performed_at IS NOT NULL GROUP BY user_id, CAST(performed_at AS DATE) "
+            + "UNION ALL SELECT user_id, CAST(logged_at AS DATE), COUNT(*) * :mealPoints FROM meals "
+            + "WHERE logged_at IS NOT NULL GROUP BY user_id, CAST(logged_at AS DATE) "
+            + "UNION ALL SELECT user_id, CAST(logged_at AS DATE), COALESCE(SUM(liters), 0) * :waterPoints "
+            + "FROM water_intake WHERE logged_at IS NOT NULL GROUP BY user_id, CAST(logged_at AS DATE) "
+            + "UNION ALL SELECT user_id, sleep_date, COALESCE(SUM(hours), 0) * :sleepPoints FROM sleep_logs "
+            + "WHERE sleep_date IS NOT NULL GROUP BY user_id, sleep_date"
+            + ") activity GROUP BY user_id, score_date", nativeQuery = true)
+    int insertScoresFromActivity(@Param("workoutPoints") double workoutPoints,
+            @Param("mealPoints") double mealPoints, @Param("waterPoints") double waterPoints,
+            @Param("sleepPoints") double sleepPoints);
+}
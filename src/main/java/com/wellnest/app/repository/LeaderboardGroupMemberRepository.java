@@ -0,0 +1,41 @@
+package com.wellnest.app.repository;
+
+import com.wellnest.app.model.LeaderboardGroupMember;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface LeaderboardGroupMemberRepository extends JpaRepository<LeaderboardGroupMember, Long> {
+
+    @Query("SELECT m.userId FROM LeaderboardGroupMember m WHERE m.groupId = :groupId AND m.status = 'ACTIVE'")
+    List<Long> findActiveUserIds(@Param("groupId") Long groupId);
+
+    Optional<LeaderboardGroupMember> findByGroupIdAndUserId(Long groupId, Long userId);
+
+    boolean existsByGroupIdAndUserId(Long groupId, Long userId);
+
+    // Members and pending invites; both count towards the group size limit
+    long countByGroupId(Long groupId);
+
+    long countByGroupIdAndStatus(Long groupId, String status);
+
+    // (group id, accepted members) for a page of groups; groups with none are left out
+    @Query("SELECT m.groupId, COUNT(m) FROM LeaderboardGroupMember m "
+            + "WHERE m.groupId IN :groupIds AND m.status = 'ACTIVE' GROUP BY m.groupId")
+    List<Object[]> countActiveByGroupIds(@Param("groupIds") Collection<Long> groupIds);
+
+    @Modifying
+    @Query("DELETE FROM LeaderboardGroupMember m WHERE m.groupId = :groupId AND m.userId = :userId")
+    int deleteMember(@Param("groupId") Long groupId, @Param("userId") Long userId);
+
+    @Modifying
+    @Query("DELETE FROM LeaderboardGroupMember m WHERE m.groupId = :groupId")
+    int deleteAllByGroup(@Param("groupId") Long groupId);
+}
@@ -0,0 +1,25 @@
+package com.wellnest.app.repository;
+
+import com.wellnest.app.model.LeaderboardGroup;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface LeaderboardGroupRepository extends JpaRepository<LeaderboardGroup, Long> {
+
+    // Groups the user owns or has joined
+    @Query("SELECT g FROM LeaderboardGroup g WHERE g.ownerId = :userId OR g.id IN "
+            + "(SELECT m.groupId FROM LeaderboardGroupMember m WHERE m.userId = :userId AND m.status = 'ACTIVE') "
+            + "ORDER BY g.name")
+    List<LeaderboardGroup> findVisibleToUser(@Param("userId") Long userId);
+
+    // Groups the user has been invited to and not yet answered
+    @Query("SELECT g FROM LeaderboardGroup g WHERE g.id IN "
+            + "(SELECT m.groupId FROM LeaderboardGroupMember m WHERE m.userId = :userId AND m.status = 'PENDING') "
+            + "ORDER BY g.name")
+    List<LeaderboardGroup> findInvitesForUser(@Param("userId") Long userId);
+}
@@ -1,7 +1,10 @@
 package com.wellnest.app.repository;
 
 import com.wellnest.app.model.Meal;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import java.time.LocalDateTime;
 import java.util.List;
 
@@ -11,4 +14,27 @@ public interface MealRepository extends JpaRepository<Meal, Long> {
     List<Meal> findByUserIdAndLoggedAtBetween(Long userId, LocalDateTime startDateTime, LocalDateTime endDateTime);
 
     List<Meal> findByLoggedAtBetween(LocalDateTime startDateTime, LocalDateTime endDateTime);
+
+    // Meal types (lower-cased) logged in [start, end); at most a handful of rows per day
+    @Query("SELECT DISTINCT LOWER(m.mealType) FROM Meal m WHERE m.userId = :userId "
+            + "AND m.loggedAt >= :start AND m.loggedAt < :end")
+    List<String> findMealTypesForUserBetween(@Param("userId") Long userId, @Param("start") LocalDateTime start,
+            @Param("end") LocalDateTime end);
+
+    @Query("SELECT COUNT(m) > 0 FROM Meal m WHERE m.userId = :userId AND LOWER(m.mealType) = LOWER(:mealType) "
+            + "AND m.loggedAt >= :start AND m.loggedAt < :end")
+    boolean existsMealTypeForUserBetween(@Param("userId") Long userId, @Param("mealType") String mealType,
+            @Param("start") LocalDateTime start, @Param("end") LocalDateTime end);
+
+    // (day, lower-cased meal type) pairs for one user; daily limit check of a bulk upload
+    @Query("SELECT DISTINCT CAST(m.loggedAt AS LocalDate), LOWER(m.mealType) FROM Meal m "
+            + "WHERE m.userId = :userId AND m.loggedAt >= :start AND m.loggedAt < :end")
+    List<Object[]> findMealTypesForUserByDay(@Param("userId") Long userId, @Param("start") LocalDateTime start,
+            @Param("end") LocalDateTime end);
+
+    // Keyset page over (user_id, logged_at), newest first; see WorkoutRepository.findHistoryPage
+    @Query("SELECT m FROM Meal m WHERE m.userId = :userId AND m.loggedAt >= :from AND m.loggedAt <= :beforeAt "
+            + "AND (m.loggedAt < :beforeAt OR m.id < :beforeId) ORDER BY m.loggedAt DESC, m.id DESC")
+    List<Meal> findHistoryPage(@Param("userId") Long userId, @Param("from") LocalDateTime from,
+            @Param("beforeAt") LocalDateTime beforeAt, @Param("beforeId") Long beforeId, Pageable pageable);
 }
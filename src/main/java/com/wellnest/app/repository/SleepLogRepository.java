@@ -1,7 +1,10 @@
 package com.wellnest.app.repository;
 
 import com.wellnest.app.model.SleepLog;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import java.time.LocalDate;
 import java.util.List;
 
@@ -11,4 +14,17 @@ public interface SleepLogRepository extends JpaRepository<SleepLog, Long> {
     List<SleepLog> findByUserIdAndSleepDateBetween(Long userId, LocalDate startDate, LocalDate endDate);
 
     List<SleepLog> findBySleepDateBetween(LocalDate startDate, LocalDate endDate);
+
+    boolean existsByUserIdAndSleepDate(Long userId, LocalDate sleepDate);
+
+    @Query("SELECT DISTINCT s.sleepDate FROM SleepLog s WHERE s.userId = :userId "
+            + "AND s.sleepDate BETWEEN :start AND :end")
+    List<LocalDate> findSleepDatesForUserBetween(@Param("userId") Long userId, @Param("start") LocalDate start,
+            @Param("end") LocalDate end);
+
+    // Keyset page over (user_id, sleep_date), newest first; see WorkoutRepository.findHistoryPage
+    @Query("SELECT s FROM SleepLog s WHERE s.userId = :userId AND s.sleepDate >= :from AND s.sleepDate <= :beforeDate "
+            + "AND (s.sleepDate < :beforeDate OR s.id < :beforeId) ORDER BY s.sleepDate DESC, s.id DESC")
+    List<SleepLog> findHistoryPage(@Param("userId") Long userId, @Param("from") LocalDate from,
+            @Param("beforeDate") LocalDate beforeDate, @Param("beforeId") Long beforeId, Pageable pageable);
 }
@@ -2,6 +2,8 @@ package com.wellnest.app.repository;
 
 import com.wellnest.app.model.TrainerClient;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -9,9 +11,23 @@ import java.util.Optional;
 
 @Repository
 public interface TrainerClientRepository extends JpaRepository<TrainerClient, Long> {
-    List<TrainerClient> findByTrainerId(Long trainerId);
+    // Trainer and client are fetched with the rows; the connection lists read both names
+    @Query("SELECT tc FROM TrainerClient tc JOIN FETCH tc.trainer JOIN FETCH tc.client WHERE tc.trainer.id = :trainerId")
+    List<TrainerClient> findByTrainerId(@Param("trainerId") Long trainerId);
 
-    List<TrainerClient> findByClientId(Long clientId);
+    @Query("SELECT tc FROM TrainerClient tc JOIN FETCH tc.trainer JOIN FETCH tc.client WHERE tc.client.id = :clientId")
+    List<TrainerClient> findByClientId(@Param("clientId") Long clientId);
 
     Optional<TrainerClient> findByTrainerIdAndClientId(Long trainerId, Long clientId);
+
+    // Client ids only, so roster-scoped features never load the User entities
+    @Query("SELECT tc.client.id FROM TrainerClient tc WHERE tc.trainer.id = :trainerId AND tc.status = 'ACTIVE'")
+    List<Long> findActiveClientIds(@Param("trainerId") Long trainerId);
+
+    // (id, name, fitnessGoal, weightKg, targetWeightKg, heightCm) of every ACTIVE client
+    @Query("SELECT c.id, c.name, c.fitnessGoal, c.weightKg, c.targetWeightKg, c.heightCm FROM TrainerClient tc "
+            + "JOIN tc.client c WHERE tc.trainer.id = :trainerId AND tc.status = 'ACTIVE' ORDER BY c.name")
+    List<Object[]> findActiveClientProfiles(@Param("trainerId") Long trainerId);
+
+    boolean existsByTrainerIdAndClientIdAndStatus(Long trainerId, Long clientId, String status);
 }
@@ -2,7 +2,10 @@ package com.wellnest.app.repository;
 
 import com.wellnest.app.model.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 public interface UserRepository extends JpaRepository<User , Long> {
@@ -11,4 +14,10 @@ public interface UserRepository extends JpaRepository<User , Long> {
     Optional<User> findByEmail(String email);
 
     Optional<User> findByResetToken(String resetToken);
+
+    // Lightweight (id, name) rows for in-memory leaderboards
+    @Query("SELECT u.id, u.name FROM User u")
+    List<Object[]> findAllIdAndName();
+
+    long countByIdIn(Collection<Long> ids);
 }
@@ -1,7 +1,10 @@
 package com.wellnest.app.repository;
 
 import com.wellnest.app.model.WaterIntake;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import java.time.LocalDateTime;
 import java.util.List;
 
@@ -12,4 +15,26 @@ public interface WaterIntakeRepository extends JpaRepository<WaterIntake, Long>
             LocalDateTime endDateTime);
 
     List<WaterIntake> findByLoggedAtBetween(LocalDateTime startDateTime, LocalDateTime endDateTime);
+
+    @Query("SELECT COALESCE(SUM(w.liters), 0) FROM WaterIntake w WHERE w.userId = :userId "
+            + "AND w.loggedAt >= :start AND w.loggedAt < :end")
+    double sumLitersForUserBetween(@Param("userId") Long userId, @Param("start") LocalDateTime start,
+            @Param("end") LocalDateTime end);
+
+    // Newest entry only, read from the end of the (user_id, logged_at) index
+    @Query("SELECT MAX(w.loggedAt) FROM WaterIntake w WHERE w.userId = :userId")
+    LocalDateTime findLatestLoggedAt(@Param("userId") Long userId);
+
+    // (day, total liters) for one user; daily limit check of a bulk upload
+    @Query("SELECT CAST(w.loggedAt AS LocalDate), SUM(w.liters) FROM WaterIntake w "
+            + "WHERE w.userId = :userId AND w.loggedAt >= :start AND w.loggedAt < :end "
+            + "GROUP BY CAST(w.loggedAt AS LocalDate)")
+    List<Object[]> sumLitersForUserByDay(@Param("userId") Long userId, @Param("start") LocalDateTime start,
+            @Param("end") LocalDateTime end);
+
+    // Keyset page over (user_id, logged_at), newest first; see WorkoutRepository.findHistoryPage
+    @Query("SELECT w FROM WaterIntake w WHERE w.userId = :userId AND w.loggedAt >= :from AND w.loggedAt <= :beforeAt "
+            + "AND (w.loggedAt < :beforeAt OR w.id < :beforeId) ORDER BY w.loggedAt DESC, w.id DESC")
+    List<WaterIntake> findHistoryPage(@Param("userId") Long userId, @Param("from") LocalDateTime from,
+            @Param("beforeAt") LocalDateTime beforeAt, @Param("beforeId") Long beforeId, Pageable pageable);
 }
@@ -2,6 +2,8 @@ package com.wellnest.app.repository;
 
 import com.wellnest.app.model.WeightLog;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
@@ -11,4 +13,13 @@ import java.util.List;
 public interface WeightLogRepository extends JpaRepository<WeightLog, Long> {
     List<WeightLog> findByUserIdAndLogDateBetween(Long userId, LocalDate startDate, LocalDate endDate);
     List<WeightLog> findByUserIdOrderByLogDateAsc(Long userId);
+
+    // (log_date, weight_kg) rows in the range plus the user's earliest log (the
+    // goal baseline), oldest first, in one round trip and without loading the User
+    @Query("SELECT w.logDate, w.weightKg FROM WeightLog w WHERE w.user.id = :userId "
+            + "AND (w.logDate BETWEEN :start AND :end "
+            + "OR w.logDate = (SELECT MIN(f.logDate) FROM WeightLog f WHERE f.user.id = :userId)) "
+            + "ORDER BY w.logDate ASC")
+    List<Object[]> findRangeWithBaseline(@Param("userId") Long userId, @Param("start") LocalDate start,
+            @Param("end") LocalDate end);
 }
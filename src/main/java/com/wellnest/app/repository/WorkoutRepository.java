@@ -1,6 +1,7 @@
 package com.wellnest.app.repository;
 
 import com.wellnest.app.model.Workout;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 
 import java.time.LocalDateTime;
@@ -14,6 +15,36 @@ public interface WorkoutRepository extends JpaRepository<Workout, Long> {
 
         List<Workout> findByPerformedAtBetween(LocalDateTime startDateTime, LocalDateTime endDateTime);
 
+        // Daily limit check: index range count on (user_id, performed_at)
+        @org.springframework.data.jpa.repository.Query("SELECT COUNT(w) FROM Workout w WHERE w.userId = :userId "
+                        + "AND w.performedAt >= :start AND w.performedAt < :end")
+        long countForUserBetween(
+                        @org.springframework.data.repository.query.Param("userId") Long userId,
+                        @org.springframework.data.repository.query.Param("start") LocalDateTime start,
+                        @org.springframework.data.repository.query.Param("end") LocalDateTime end);
+
+        // (day, count) for one user; daily limit check of a bulk upload
+        @org.springframework.data.jpa.repository.Query("SELECT CAST(w.performedAt AS LocalDate), COUNT(w) FROM Workout w "
+                        + "WHERE w.userId = :userId AND w.performedAt >= :start AND w.performedAt < :end "
+                        + "GROUP BY CAST(w.performedAt AS LocalDate)")
+        List<Object[]> countForUserByDay(
+                        @org.springframework.data.repository.query.Param("userId") Long userId,
+                        @org.springframework.data.repository.query.Param("start") LocalDateTime start,
+                        @org.springframework.data.repository.query.Param("end") LocalDateTime end);
+
+        // Keyset page: rows in [from, beforeAt) plus ties at beforeAt with a smaller id,
+        // newest first. A range scan on (user_id, performed_at).
+        @org.springframework.data.jpa.repository.Query("SELECT w FROM Workout w WHERE w.userId = :userId "
+                        + "AND w.performedAt >= :from AND w.performedAt <= :beforeAt "
+                        + "AND (w.performedAt < :beforeAt OR w.id < :beforeId) "
+                        + "ORDER BY w.performedAt DESC, w.id DESC")
+        List<Workout> findHistoryPage(
+                        @org.springframework.data.repository.query.Param("userId") Long userId,
+                        @org.springframework.data.repository.query.Param("from") LocalDateTime from,
+                        @org.springframework.data.repository.query.Param("beforeAt") LocalDateTime beforeAt,
+                        @org.springframework.data.repository.query.Param("beforeId") Long beforeId,
+                        Pageable pageable);
+
         @org.springframework.data.jpa.repository.Query(value = "SELECT w.user_id, SUM(w.duration_minutes) as totalMinutes FROM workouts w WHERE w.performed_at BETWEEN :start AND :end GROUP BY w.user_id ORDER BY totalMinutes DESC LIMIT 10", nativeQuery = true)
         List<Object[]> findTopUsersByDuration(
                         @org.springframework.data.repository.query.Param("start") LocalDateTime start,
@@ -0,0 +1,48 @@
+package com.wellnest.app.service;
+
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+
+/**
+ * Bucket size of streamed analytics. Each maps a day to the inclusive
+ * [start, end] range of the bucket containing it.
+ */
+public enum AnalyticsGranularity {
+    DAY,
+    WEEK, // ISO week, Monday to Sunday
+    MONTH;
+
+    public LocalDate bucketStart(LocalDate day) {
+        switch (this) {
+            case DAY:
+                return day;
+            case WEEK:
+                return LeaderboardService.weekStartOf(day);
+            default:
+                return day.withDayOfMonth(1);
+        }
+    }
+
+    public LocalDate bucketEnd(LocalDate day) {
+        switch (this) {
+            case DAY:
+                return day;
+            case WEEK:
+                return LeaderboardService.weekStartOf(day).plusDays(6);
+            default:
+                return day.with(TemporalAdjusters.lastDayOfMonth());
+        }
+    }
+
+    /** Parse the "granularity" request parameter ("day", "week" or "month"); defaults to WEEK. */
+    public static AnalyticsGranularity fromParam(String value) {
+        if (value == null || value.isBlank()) {
+            return WEEK;
+        }
+        try {
+            return valueOf(value.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown analytics granularity: " + value);
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package com.wellnest.app.service;
+
+import com.wellnest.app.dto.AnalyticsBucket;
+import com.wellnest.app.model.DailyRollup;
+import com.wellnest.app.repository.DailyRollupRepository;
+import jakarta.persistence.EntityManager;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Long-range analytics written as NDJSON, one AnalyticsBucket per line. Daily
+ * rollup rows are read through a forward-only stream in date order and folded
+ * into the current bucket only; each finished bucket is written and flushed
+ * before the next row is read, so memory stays flat however long the range.
+ * Buckets without any tracker entry are skipped.
+ */
+@Service
+public class AnalyticsStreamService {
+
+    // Same daily target as the full water analytics (2000 ml)
+    private static final double WATER_GOAL_LITERS = 2.0;
+
+    private final DailyRollupRepository dailyRollupRepository;
+    private final EntityManager entityManager;
+    private final JsonMapper jsonMapper;
+
+    public AnalyticsStreamService(DailyRollupRepository dailyRollupRepository, EntityManager entityManager,
+            JsonMapper jsonMapper) {
+        this.dailyRollupRepository = dailyRollupRepository;
+        this.entityManager = entityManager;
+        this.jsonMapper = jsonMapper;
+    }
+
+    /** Writes the buckets of [startDate, endDate] to out; returns how many were written. */
+    @Transactional(readOnly = true)
+    public int streamBuckets(Long userId, LocalDate startDate, LocalDate endDate, AnalyticsGranularity granularity,
+            OutputStream out) throws IOException {
+        int written = 0;
+        BucketBuilder current = null;
+        try (Stream<DailyRollup> rows = dailyRollupRepository.streamForUserBetween(userId, startDate, endDate)) {
+            Iterator<DailyRollup> it = rows.iterator();
+            while (it.hasNext()) {
+                DailyRollup row = it.next();
+                entityManager.detach(row); // keep the persistence context from growing with the range
+                LocalDate day = row.getRollupDate();
+                if (current != null && day.isAfter(current.end)) {
+                    written += current.writeTo(out);
+                    current = null;
+                }
+                if (current == null) {
+                    LocalDate bucketStart = granularity.bucketStart(day);
+                    LocalDate bucketEnd = granularity.bucketEnd(day);
+                    current = new BucketBuilder(bucketStart.isBefore(startDate) ? startDate : bucketStart,
+                            bucketEnd.isAfter(endDate) ? endDate : bucketEnd);
+                }
+                current.add(row);
+            }
+        }
+        if (current != null) {
+            written += current.writeTo(out);
+        }
+        return written;
+    }
+
+    /** Running totals of the bucket being filled. */
+    private final class BucketBuilder {
+        final LocalDate start;
+        final LocalDate end;
+        final AnalyticsBucket bucket = new AnalyticsBucket();
+        double caloriesIn;
+        int sleepCount;
+        double sleepHours;
+        double sleepQualitySum;
+        int sleepQualityCount;
+
+        BucketBuilder(LocalDate start, LocalDate end) {
+            this.start = start;
+            this.end = end;
+            bucket.setPeriodStart(start);
+            bucket.setPeriodEnd(end);
+        }
+
+        void add(DailyRollup r) {
+            boolean active = r.getWorkoutCount() > 0 || r.getMealCount() > 0 || r.getWaterCount() > 0
+                    || r.getSleepCount() > 0;
+            if (!active) {
+                return;
+            }
+            bucket.setActiveDays(bucket.getActiveDays() + 1);
+            bucket.setTotalWorkouts(bucket.getTotalWorkouts() + r.getWorkoutCount());
+            bucket.setTotalWorkoutMinutes(bucket.getTotalWorkoutMinutes() + r.getWorkoutMinutes());
+            bucket.setTotalCaloriesBurned(bucket.getTotalCaloriesBurned() + r.getCaloriesOut());
+            bucket.setTotalMeals(bucket.getTotalMeals() + r.getMealCount());
+            bucket.setTotalProtein(bucket.getTotalProtein() + r.getProteinG());
+            bucket.setTotalCarbs(bucket.getTotalCarbs() + r.getCarbsG());
+            bucket.setTotalFat(bucket.getTotalFat() + r.getFatsG());
+            caloriesIn += r.getCaloriesIn();
+            sleepCount += r.getSleepCount();
+            sleepHours += r.getSleepHours();
+            sleepQualitySum += r.getSleepQualitySum();
+            sleepQualityCount += r.getSleepQualityCount();
+            if (r.getWaterCount() > 0) {
+                bucket.setTotalWaterIntake(bucket.getTotalWaterIntake() + r.getWaterLiters() * 1000);
+                if (r.getWaterLiters() >= WATER_GOAL_LITERS) {
+                    bucket.setWaterDaysMetGoal(bucket.getWaterDaysMetGoal() + 1);
+                }
+            }
+        }
+
+        // One NDJSON line, flushed so the client sees it immediately
+        int writeTo(OutputStream out) throws IOException {
+            if (bucket.getActiveDays() == 0) {
+                return 0;
+            }
+            bucket.setAvgDailyCalories(caloriesIn / (ChronoUnit.DAYS.between(start, end) + 1));
+            bucket.setAvgSleepDuration(sleepCount > 0 ? sleepHours / sleepCount : 0);
+            bucket.setAvgSleepQuality(sleepQualityCount > 0 ? sleepQualitySum / sleepQualityCount : 0);
+            out.write(jsonMapper.writeValueAsBytes(bucket));
+            out.write('\n');
+            out.flush();
+            return 1;
+        }
+    }
+}
@@ -0,0 +1,160 @@
+package com.wellnest.app.service;
+
+import com.wellnest.app.dto.AnalyticsCacheStats;
+import com.wellnest.app.dto.AnalyticsSummary;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Bounded cache of AnalyticsSummary keyed by (userId, startDate, endDate).
+ * Entries expire after app.analytics.cache.ttl-seconds and the least recently
+ * used entry is evicted beyond app.analytics.cache.max-entries.
+ *
+ * Every write that changes what a summary shows (tracker entries, weight,
+ * profile) calls invalidate(userId), which drops that user's entries once the
+ * write commits. Each invalidation also bumps the user's generation, so a
+ * summary computed from data read before the commit is not stored afterwards.
+ */
+@Component
+public class AnalyticsSummaryCache {
+
+    private record Key(Long userId, LocalDate startDate, LocalDate endDate) {
+    }
+
+    private record Entry(AnalyticsSummary summary, long expiresAtNanos) {
+    }
+
+    private final boolean enabled;
+    private final int maxEntries;
+    private final long ttlNanos;
+    private final LongSupplier nanoClock;
+
+    // Access-ordered for LRU eviction, plus a per-user key index so an
+    // invalidation touches only that user's entries; both guarded by "this"
+    private final LinkedHashMap<Key, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private final Map<Long, Set<Key>> keysByUser = new HashMap<>();
+    private final Map<Long, Long> generations = new ConcurrentHashMap<>();
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+    private final AtomicLong invalidations = new AtomicLong();
+
+    @Autowired
+    public AnalyticsSummaryCache(@Value("${app.analytics.cache.enabled:true}") boolean enabled,
+            @Value("${app.analytics.cache.max-entries:2000}") int maxEntries,
+            @Value("${app.analytics.cache.ttl-seconds:300}") long ttlSeconds) {
+        this(enabled, maxEntries, ttlSeconds, System::nanoTime);
+    }
+
+    AnalyticsSummaryCache(boolean enabled, int maxEntries, long ttlSeconds, LongSupplier nanoClock) {
+        this.enabled = enabled;
+        this.maxEntries = maxEntries;
+        this.ttlNanos = TimeUnit.SECONDS.toNanos(ttlSeconds);
+        this.nanoClock = nanoClock;
+    }
+
+    /**
+     * Cached summary for the key, or the loader's result (stored unless the user
+     * was invalidated while it was computing). The loader runs outside the lock,
+     * so two concurrent misses for one key may both compute.
+     */
+    public AnalyticsSummary get(Long userId, LocalDate startDate, LocalDate endDate,
+            Supplier<AnalyticsSummary> loader) {
+        if (!enabled) {
+            return loader.get();
+        }
+        Key key = new Key(userId, startDate, endDate);
+        synchronized (this) {
+            Entry entry = entries.get(key);
+            if (entry != null) {
+                if (entry.expiresAtNanos() - nanoClock.getAsLong() > 0) {
+                    hits.incrementAndGet();
+                    return entry.summary();
+                }
+                remove(key);
+            }
+        }
+        misses.incrementAndGet();
+
+        long generation = generations.getOrDefault(userId, 0L);
+        AnalyticsSummary summary = loader.get();
+        synchronized (this) {
+            if (generations.getOrDefault(userId, 0L) == generation) {
+                put(key, new Entry(summary, nanoClock.getAsLong() + ttlNanos));
+            }
+        }
+        return summary;
+    }
+
+    /** Drops every cached summary of the user once the current transaction commits. */
+    public void invalidate(Long userId) {
+        if (!enabled || userId == null) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evictUser(userId);
+                }
+            });
+        } else {
+            evictUser(userId);
+        }
+    }
+
+    public AnalyticsCacheStats stats() {
+        int size;
+        synchronized (this) {
+            size = entries.size();
+        }
+        return new AnalyticsCacheStats(hits.get(), misses.get(), evictions.get(), invalidations.get(), size,
+                maxEntries);
+    }
+
+    // -------------------- HELPERS --------------------
+
+    private synchronized void evictUser(Long userId) {
+        generations.merge(userId, 1L, Long::sum);
+        invalidations.incrementAndGet();
+        Set<Key> keys = keysByUser.remove(userId);
+        if (keys != null) {
+            keys.forEach(entries::remove);
+        }
+    }
+
+    // Caller holds the lock
+    private void put(Key key, Entry entry) {
+        entries.put(key, entry);
+        keysByUser.computeIfAbsent(key.userId(), k -> new HashSet<>()).add(key);
+        if (entries.size() > maxEntries) {
+            Key eldest = entries.keySet().iterator().next();
+            remove(eldest);
+            evictions.incrementAndGet();
+        }
+    }
+
+    // Caller holds the lock
+    private void remove(Key key) {
+        entries.remove(key);
+        Set<Key> keys = keysByUser.get(key.userId());
+        if (keys != null) {
+            keys.remove(key);
+            if (keys.isEmpty()) {
+                keysByUser.remove(key.userId());
+            }
+        }
+    }
+}
@@ -0,0 +1,465 @@
+package com.wellnest.app.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory inverted index over blog posts, ranked with BM25. Every post gets
+ * an internal ordinal; each term keeps a postings list of (ordinal, weighted
+ * term frequency) in ordinal order, where a hit in the title counts 3x,
+ * author and category 2x, the excerpt 1.5x and the content once.
+ *
+ * Queries match posts containing every term; the last term also matches
+ * longer terms starting with it, so partially typed words find results.
+ * Candidates come from the rarest term and are narrowed by binary search in
+ * the other postings lists, so cost follows the matching posts, not the
+ * number of posts indexed.
+ *
+ * Updates append a new ordinal and mark the old one dead; dead entries are
+ * skipped while ranking and dropped by a compaction once they outnumber the
+ * live ones. Reads share a read lock, updates take the write lock.
+ */
+public class BlogSearchIndex {
+
+    /** Receives each token of a text, lower-cased, with its character range. */
+    public interface TokenConsumer {
+        void accept(String term, int start, int end);
+    }
+
+    /** The indexed fields of one post. */
+    public record Document(long postId, String title, String excerpt, String content, String author,
+            String category) {
+    }
+
+    /** A ranked post. */
+    public record Hit(long postId, double score) {
+    }
+
+    /** The requested window of hits and how many posts matched in total. */
+    public record Result(int total, List<Hit> hits) {
+    }
+
+    /** A fragment of a text and the [start, end) ranges in it that matched the query. */
+    public record Snippet(String text, List<int[]> highlights) {
+    }
+
+    private static final float TITLE_WEIGHT = 3f;
+    private static final float AUTHOR_WEIGHT = 2f;
+    private static final float CATEGORY_WEIGHT = 2f;
+    private static final float EXCERPT_WEIGHT = 1.5f;
+    private static final float CONTENT_WEIGHT = 1f;
+
+    // BM25 term frequency saturation and length normalization
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+
+    // Completions of a partially typed last term that take part in a query
+    private static final int MAX_PREFIX_EXPANSIONS = 64;
+    // Dead ordinals tolerated before compaction is considered
+    private static final int MIN_COMPACTION = 1024;
+
+    private static final Set<String> STOP_WORDS = Set.of("a", "an", "and", "are", "as", "at", "be", "by", "for",
+            "from", "in", "is", "it", "of", "on", "or", "that", "the", "this", "to", "was", "with");
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final TreeMap<String, Postings> postings = new TreeMap<>();
+    private final Map<Long, Integer> ordinalByPost = new HashMap<>();
+    private final BitSet dead = new BitSet();
+
+    // Per ordinal
+    private long[] postIds = new long[64];
+    private float[] lengths = new float[64];
+
+    private int nextOrdinal = 0;
+    private int deadCount = 0;
+    private double totalLength = 0; // of live posts
+
+    private static final class Postings {
+        int[] docs = new int[4];
+        float[] freqs = new float[4];
+        int size;
+
+        void add(int doc, float freq) {
+            if (size == docs.length) {
+                docs = Arrays.copyOf(docs, size * 2);
+                freqs = Arrays.copyOf(freqs, size * 2);
+            }
+            docs[size] = doc;
+            freqs[size] = freq;
+            size++;
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return ordinalByPost.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** Distinct terms in the index, dead postings included until the next compaction. */
+    public int termCount() {
+        lock.readLock().lock();
+        try {
+            return postings.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** Insert or replace a post. */
+    public void put(Document document) {
+        Map<String, float[]> freqs = new HashMap<>();
+        float[] length = new float[1];
+        addField(freqs, length, document.title(), TITLE_WEIGHT);
+        addField(freqs, length, document.excerpt(), EXCERPT_WEIGHT);
+        addField(freqs, length, document.content(), CONTENT_WEIGHT);
+        addField(freqs, length, document.author(), AUTHOR_WEIGHT);
+        addField(freqs, length, document.category(), CATEGORY_WEIGHT);
+
+        lock.writeLock().lock();
+        try {
+            markDead(document.postId());
+            if (nextOrdinal == postIds.length) {
+                postIds = Arrays.copyOf(postIds, nextOrdinal * 2);
+                lengths = Arrays.copyOf(lengths, nextOrdinal * 2);
+            }
+            int ordinal = nextOrdinal++;
+            postIds[ordinal] = document.postId();
+            lengths[ordinal] = length[0];
+            totalLength += length[0];
+            ordinalByPost.put(document.postId(), ordinal);
+            for (Map.Entry<String, float[]> entry : freqs.entrySet()) {
+                postings.computeIfAbsent(entry.getKey(), term -> new Postings()).add(ordinal, entry.getValue()[0]);
+            }
+            compactIfSparse();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(long postId) {
+        lock.writeLock().lock();
+        try {
+            markDead(postId);
+            compactIfSparse();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            postings.clear();
+            ordinalByPost.clear();
+            dead.clear();
+            postIds = new long[64];
+            lengths = new float[64];
+            nextOrdinal = 0;
+            deadCount = 0;
+            totalLength = 0;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Posts matching all query terms (see {@link #queryTerms}), best first; ties
+     * go to the newer post. Only hits [offset, offset + limit) are returned.
+     */
+    public Result search(List<String> terms, int offset, int limit) {
+        if (terms.isEmpty()) {
+            return new Result(0, List.of());
+        }
+        lock.readLock().lock();
+        try {
+            int live = ordinalByPost.size();
+            if (live == 0) {
+                return new Result(0, List.of());
+            }
+            double avgLength = totalLength / live;
+
+            // The postings each query term can match; rarest term first
+            List<List<Postings>> groups = new ArrayList<>(terms.size());
+            for (int i = 0; i < terms.size(); i++) {
+                List<Postings> group = matchingPostings(terms.get(i), i == terms.size() - 1);
+                if (group.isEmpty()) {
+                    return new Result(0, List.of());
+                }
+                groups.add(group);
+            }
+            groups.sort((a, b) -> Long.compare(postingCount(a), postingCount(b)));
+
+            // Candidates are the live posts of the rarest term. A post matching several
+            // completions of the same term scores the best one.
+            Map<Integer, Double> first = new HashMap<>();
+            for (Postings p : groups.get(0)) {
+                double idf = idf(p.size, live);
+                for (int j = 0; j < p.size; j++) {
+                    int doc = p.docs[j];
+                    if (!dead.get(doc)) {
+                        first.merge(doc, idf * tf(p.freqs[j], lengths[doc], avgLength), Math::max);
+                    }
+                }
+            }
+            int count = first.size();
+            int[] candidates = new int[count];
+            double[] scores = new double[count];
+            int n = 0;
+            for (Map.Entry<Integer, Double> entry : first.entrySet()) {
+                candidates[n] = entry.getKey();
+                scores[n++] = entry.getValue();
+            }
+
+            for (int g = 1; g < groups.size() && count > 0; g++) {
+                int kept = 0;
+                for (int c = 0; c < count; c++) {
+                    int doc = candidates[c];
+                    double best = -1;
+                    for (Postings p : groups.get(g)) {
+                        int at = Arrays.binarySearch(p.docs, 0, p.size, doc);
+                        if (at >= 0) {
+                            best = Math.max(best, idf(p.size, live) * tf(p.freqs[at], lengths[doc], avgLength));
+                        }
+                    }
+                    if (best >= 0) {
+                        candidates[kept] = doc;
+                        scores[kept++] = scores[c] + best;
+                    }
+                }
+                count = kept;
+            }
+            return new Result(count, top(candidates, scores, count, offset, limit));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // -------------------- TEXT --------------------
+
+    /** Distinct indexable terms of a query, in order. */
+    public static List<String> queryTerms(String query) {
+        Set<String> terms = new LinkedHashSet<>();
+        forEachToken(query, (term, start, end) -> terms.add(term));
+        return new ArrayList<>(terms);
+    }
+
+    /**
+     * Splits text into runs of letters and digits, lower-cased. Stop words and
+     * single characters are skipped; start and end index the original text.
+     */
+    public static void forEachToken(String text, TokenConsumer consumer) {
+        if (text == null) {
+            return;
+        }
+        int length = text.length();
+        int i = 0;
+        while (i < length) {
+            while (i < length && !Character.isLetterOrDigit(text.charAt(i))) {
+                i++;
+            }
+            int start = i;
+            while (i < length && Character.isLetterOrDigit(text.charAt(i))) {
+                i++;
+            }
+            if (i - start > 1) {
+                String term = text.substring(start, i).toLowerCase(Locale.ROOT);
+                if (!STOP_WORDS.contains(term)) {
+                    consumer.accept(term, start, i);
+                }
+            }
+        }
+    }
+
+    /**
+     * Up to maxChars of text around the densest run of query terms, cut at word
+     * boundaries, with "…" where text was left out and the ranges of the
+     * matching words. Without a match the start of the text is returned.
+     */
+    public static Snippet snippet(String text, List<String> terms, int maxChars) {
+        if (text == null || text.isEmpty()) {
+            return new Snippet("", List.of());
+        }
+        List<int[]> matches = highlights(text, terms);
+        if (matches.isEmpty() && text.length() <= maxChars) {
+            return new Snippet(text, List.of());
+        }
+
+        // Window starting a little before the match with the most matches after it
+        int anchor = 0;
+        int bestCount = 0;
+        for (int i = 0, j = 0; i < matches.size(); i++) {
+            while (j < matches.size() && matches.get(j)[1] <= matches.get(i)[0] + maxChars) {
+                j++;
+            }
+            if (j - i > bestCount) {
+                bestCount = j - i;
+                anchor = matches.get(i)[0];
+            }
+        }
+        int start = Math.max(0, Math.min(anchor - maxChars / 4, text.length() - maxChars));
+        if (start > 0) {
+            int space = text.indexOf(' ', start - 1);
+            start = space >= 0 && space < anchor ? space + 1 : start;
+        }
+        int end = Math.min(text.length(), start + maxChars);
+        if (end < text.length()) {
+            int space = text.lastIndexOf(' ', end);
+            end = space > start ? space : end;
+        }
+
+        String prefix = start > 0 ? "…" : "";
+        List<int[]> inWindow = new ArrayList<>();
+        for (int[] match : matches) {
+            if (match[0] >= start && match[1] <= end) {
+                inWindow.add(new int[] { match[0] - start + prefix.length(), match[1] - start + prefix.length() });
+            }
+        }
+        return new Snippet(prefix + text.substring(start, end) + (end < text.length() ? "…" : ""), inWindow);
+    }
+
+    /** [start, end) of every word in text matching the query terms (the last one as a prefix). */
+    public static List<int[]> highlights(String text, List<String> terms) {
+        List<int[]> ranges = new ArrayList<>();
+        if (terms.isEmpty()) {
+            return ranges;
+        }
+        String last = terms.get(terms.size() - 1);
+        forEachToken(text, (term, start, end) -> {
+            if (term.startsWith(last) || terms.contains(term)) {
+                ranges.add(new int[] { start, end });
+            }
+        });
+        return ranges;
+    }
+
+    // -------------------- INTERNALS --------------------
+
+    private static void addField(Map<String, float[]> freqs, float[] length, String text, float weight) {
+        forEachToken(text, (term, start, end) -> {
+            freqs.computeIfAbsent(term, t -> new float[1])[0] += weight;
+            length[0] += weight;
+        });
+    }
+
+    private List<Postings> matchingPostings(String term, boolean prefix) {
+        List<Postings> group = new ArrayList<>();
+        if (!prefix) {
+            Postings exact = postings.get(term);
+            if (exact != null) {
+                group.add(exact);
+            }
+            return group;
+        }
+        for (Postings p : postings.subMap(term, true, term + Character.MAX_VALUE, false).values()) {
+            group.add(p);
+            if (group.size() == MAX_PREFIX_EXPANSIONS) {
+                break;
+            }
+        }
+        return group;
+    }
+
+    private static long postingCount(List<Postings> group) {
+        long count = 0;
+        for (Postings p : group) {
+            count += p.size;
+        }
+        return count;
+    }
+
+    // Document frequency counts dead entries until compaction; close enough for ranking
+    private static double idf(int docFreq, int live) {
+        return Math.log(1 + (live - docFreq + 0.5) / (docFreq + 0.5));
+    }
+
+    private static double tf(float freq, float length, double avgLength) {
+        return freq * (K1 + 1) / (freq + K1 * (1 - B + B * length / avgLength));
+    }
+
+    // Hits [offset, offset + limit) by score, then newest post, via a bounded min-heap
+    private List<Hit> top(int[] candidates, double[] scores, int count, int offset, int limit) {
+        int k = (int) Math.min((long) offset + limit, count);
+        if (k <= offset) {
+            return List.of();
+        }
+        PriorityQueue<Integer> heap = new PriorityQueue<>(k, (a, b) -> {
+            int byScore = Double.compare(scores[a], scores[b]);
+            return byScore != 0 ? byScore : Long.compare(postIds[candidates[a]], postIds[candidates[b]]);
+        });
+        for (int i = 0; i < count; i++) {
+            heap.add(i);
+            if (heap.size() > k) {
+                heap.poll();
+            }
+        }
+        Hit[] ranked = new Hit[heap.size()];
+        for (int i = ranked.length - 1; i >= 0; i--) {
+            int c = heap.poll();
+            ranked[i] = new Hit(postIds[candidates[c]], scores[c]);
+        }
+        return List.of(Arrays.copyOfRange(ranked, offset, ranked.length));
+    }
+
+    private void markDead(long postId) {
+        Integer ordinal = ordinalByPost.remove(postId);
+        if (ordinal != null) {
+            dead.set(ordinal);
+            deadCount++;
+            totalLength -= lengths[ordinal];
+        }
+    }
+
+    // Renumbers live posts densely (keeping their order) and drops dead postings
+    private void compactIfSparse() {
+        if (deadCount < MIN_COMPACTION || deadCount < ordinalByPost.size()) {
+            return;
+        }
+        int[] remap = new int[nextOrdinal];
+        int live = 0;
+        for (int ordinal = 0; ordinal < nextOrdinal; ordinal++) {
+            if (dead.get(ordinal)) {
+                remap[ordinal] = -1;
+            } else {
+                remap[ordinal] = live;
+                postIds[live] = postIds[ordinal];
+                lengths[live] = lengths[ordinal];
+                live++;
+            }
+        }
+        Iterator<Postings> it = postings.values().iterator();
+        while (it.hasNext()) {
+            Postings p = it.next();
+            int kept = 0;
+            for (int j = 0; j < p.size; j++) {
+                int doc = remap[p.docs[j]];
+                if (doc >= 0) {
+                    p.docs[kept] = doc;
+                    p.freqs[kept++] = p.freqs[j];
+                }
+            }
+            p.size = kept;
+            if (kept == 0) {
+                it.remove();
+            }
+        }
+        ordinalByPost.replaceAll((postId, ordinal) -> remap[ordinal]);
+        dead.clear();
+        nextOrdinal = live;
+        deadCount = 0;
+    }
+}
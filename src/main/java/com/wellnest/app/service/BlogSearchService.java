@@ -0,0 +1,207 @@
+package com.wellnest.app.service;
+
+import com.wellnest.app.dto.BlogSearchHit;
+import com.wellnest.app.dto.BlogSearchResults;
+import com.wellnest.app.model.BlogPost;
+import com.wellnest.app.repository.BlogPostRepository;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Full-text search over blog posts. Ranking runs on the in-memory
+ * BlogSearchIndex, built from the table at startup and kept current by
+ * BlogService after each create, update and delete commits; the database is
+ * only asked for the posts on the requested page, by primary key.
+ */
+@Service
+public class BlogSearchService {
+
+    private static final Logger log = LoggerFactory.getLogger(BlogSearchService.class);
+
+    public static final int MAX_RESULT_WINDOW = 1000;
+
+    private static final int DEFAULT_PAGE_SIZE = 10;
+    private static final int MAX_PAGE_SIZE = 50;
+    private static final int SNIPPET_CHARS = 160;
+    private static final int BUILD_BATCH = 500;
+
+    private final BlogPostRepository blogPostRepository;
+
+    // Replaced as a whole by rebuildAll, so searches never see a half-built index
+    private volatile BlogSearchIndex index = new BlogSearchIndex();
+
+    // Read-held by a post write from its commit until the index has it; rebuildAll
+    // takes it exclusively, so no write lands on an index that is about to be dropped
+    private final ReentrantReadWriteLock commitLock = new ReentrantReadWriteLock();
+
+    public BlogSearchService(BlogPostRepository blogPostRepository) {
+        this.blogPostRepository = blogPostRepository;
+    }
+
+    // -------------------- INDEXING --------------------
+
+    /**
+     * Indexes every post, reading the table in id order in batches. Runs at
+     * startup and after bulk loads that bypass BlogService (DatasetSeeder);
+     * post writes wait to commit until the new index is in place.
+     */
+    @PostConstruct
+    public void rebuildAll() {
+        long started = System.currentTimeMillis();
+        BlogSearchIndex fresh;
+        commitLock.writeLock().lock();
+        try {
+            fresh = build();
+            index = fresh;
+        } finally {
+            commitLock.writeLock().unlock();
+        }
+        log.info("Blog search index built: {} posts, {} terms in {} ms", fresh.size(), fresh.termCount(),
+                System.currentTimeMillis() - started);
+    }
+
+    private BlogSearchIndex build() {
+        BlogSearchIndex fresh = new BlogSearchIndex();
+        long afterId = 0;
+        List<Object[]> rows;
+        do {
+            rows = blogPostRepository.findSearchFields(afterId, PageRequest.of(0, BUILD_BATCH));
+            for (Object[] row : rows) {
+                afterId = (Long) row[0];
+                fresh.put(new BlogSearchIndex.Document(afterId, (String) row[1], (String) row[2],
+                        (String) row[3], (String) row[4], (String) row[5]));
+            }
+        } while (rows.size() == BUILD_BATCH);
+        return fresh;
+    }
+
+    /** (Re)indexes a saved post once the surrounding transaction commits. */
+    public void index(BlogPost post) {
+        BlogSearchIndex.Document document = new BlogSearchIndex.Document(post.getId(), post.getTitle(),
+                post.getExcerpt(), post.getContent(), post.getAuthor(), post.getCategory());
+        afterCommit(() -> index.put(document));
+    }
+
+    /** Drops a deleted post once the surrounding transaction commits. */
+    public void remove(Long postId) {
+        afterCommit(() -> index.remove(postId));
+    }
+
+    // -------------------- SEARCH --------------------
+
+    /**
+     * Ranked page of posts matching every word of the query (the last word may
+     * be partially typed). page is 0-based.
+     */
+    public BlogSearchResults search(String query, Integer page, Integer size) {
+        if (query == null || query.isBlank()) {
+            throw new IllegalArgumentException("q is required");
+        }
+        int pageSize = size != null ? size : DEFAULT_PAGE_SIZE;
+        int pageNumber = page != null ? page : 0;
+        if (pageSize < 1) {
+            throw new IllegalArgumentException("size must be at least 1");
+        }
+        if (pageNumber < 0) {
+            throw new IllegalArgumentException("page must not be negative");
+        }
+        pageSize = Math.min(pageSize, MAX_PAGE_SIZE);
+        int offset = (int) Math.min((long) pageNumber * pageSize, MAX_RESULT_WINDOW);
+        int limit = Math.min(pageSize, MAX_RESULT_WINDOW - offset);
+
+        List<String> terms = BlogSearchIndex.queryTerms(query);
+        BlogSearchIndex.Result result = index.search(terms, offset, limit);
+
+        List<Long> ids = result.hits().stream().map(BlogSearchIndex.Hit::postId).collect(Collectors.toList());
+        Map<Long, BlogPost> posts = ids.isEmpty() ? Map.of()
+                : blogPostRepository.findAllById(ids).stream()
+                        .collect(Collectors.toMap(BlogPost::getId, Function.identity()));
+        List<BlogSearchHit> hits = new ArrayList<>(ids.size());
+        for (BlogSearchIndex.Hit hit : result.hits()) {
+            BlogPost post = posts.get(hit.postId());
+            if (post != null) { // deleted since it was ranked
+                hits.add(toHit(post, hit.score(), terms));
+            }
+        }
+
+        BlogSearchResults results = new BlogSearchResults();
+        results.setQuery(query);
+        results.setPage(pageNumber);
+        results.setSize(pageSize);
+        results.setTotal(result.total());
+        results.setHasMore(offset + result.hits().size() < Math.min(result.total(), MAX_RESULT_WINDOW));
+        results.setHits(hits);
+        return results;
+    }
+
+    private static BlogSearchHit toHit(BlogPost post, double score, List<String> terms) {
+        BlogSearchHit hit = new BlogSearchHit();
+        hit.setId(post.getId());
+        hit.setTitle(post.getTitle());
+        hit.setTitleHighlights(BlogSearchIndex.highlights(post.getTitle() != null ? post.getTitle() : "", terms));
+        hit.setExcerpt(post.getExcerpt());
+        // The content passage if the query occurs in it, else the excerpt
+        BlogSearchIndex.Snippet snippet = BlogSearchIndex.snippet(post.getContent(), terms, SNIPPET_CHARS);
+        if (snippet.highlights().isEmpty() && post.getExcerpt() != null) {
+            snippet = BlogSearchIndex.snippet(post.getExcerpt(), terms, SNIPPET_CHARS);
+        }
+        hit.setSnippet(snippet.text());
+        hit.setSnippetHighlights(snippet.highlights());
+        hit.setAuthor(post.getAuthor());
+        hit.setRole(post.getRole());
+        hit.setCategory(post.getCategory());
+        String image = post.getImage();
+        hit.setImage(image != null && image.startsWith("data:") ? null
+                : ImageService.variantUrl(image, ImageVariant.MEDIUM));
+        hit.setDate(post.getCreatedAt() != null ? post.getCreatedAt().toLocalDate().toString() : null);
+        hit.setScore(score);
+        return hit;
+    }
+
+    private void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            commitLock.readLock().lock();
+            try {
+                action.run();
+            } finally {
+                commitLock.readLock().unlock();
+            }
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            private boolean locked;
+
+            @Override
+            public void beforeCommit(boolean readOnly) {
+                commitLock.readLock().lock();
+                locked = true;
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                if (!locked) {
+                    return; // rolled back before reaching the commit
+                }
+                try {
+                    if (status == STATUS_COMMITTED) {
+                        action.run();
+                    }
+                } finally {
+                    commitLock.readLock().unlock();
+                }
+            }
+        });
+    }
+}
@@ -2,35 +2,65 @@ package com.wellnest.app.service;
 
 import com.wellnest.app.dto.BlogPostDto;
 import com.wellnest.app.dto.BlogPostResponse;
+import com.wellnest.app.dto.BlogPostSummary;
 import com.wellnest.app.dto.CommentDto;
 import com.wellnest.app.dto.CommentResponse;
+import com.wellnest.app.dto.CursorPage;
 import com.wellnest.app.model.BlogComment;
 import com.wellnest.app.model.BlogPost;
+import com.wellnest.app.model.PostLike;
 import com.wellnest.app.model.User;
 import com.wellnest.app.repository.BlogCommentRepository;
 import com.wellnest.app.repository.BlogPostRepository;
 import com.wellnest.app.repository.UserRepository;
 import jakarta.annotation.PostConstruct;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
 public class BlogService {
 
+    private static final int DEFAULT_PAGE_SIZE = 20;
+    private static final int MAX_PAGE_SIZE = 100;
+    // Upper bound for the first feed page; MySQL DATETIME cannot hold LocalDateTime.MAX
+    private static final LocalDateTime FEED_END = LocalDateTime.of(9999, 12, 31, 23, 59, 59);
+
     private final BlogPostRepository blogPostRepository;
     private final BlogCommentRepository blogCommentRepository;
     private final UserRepository userRepository;
+    private final ImageService imageService;
+    private final LikeCounterBuffer likeCounterBuffer;
+    private final BlogSearchService blogSearchService;
+    private final HotPostRanking hotPostRanking;
+    private final ContentVersions contentVersions;
 
     public BlogService(BlogPostRepository blogPostRepository,
             BlogCommentRepository blogCommentRepository,
-            UserRepository userRepository) {
+            UserRepository userRepository,
+            ImageService imageService,
+            LikeCounterBuffer likeCounterBuffer,
+            BlogSearchService blogSearchService,
+            HotPostRanking hotPostRanking,
+            ContentVersions contentVersions) {
         this.blogPostRepository = blogPostRepository;
         this.blogCommentRepository = blogCommentRepository;
         this.userRepository = userRepository;
+        this.imageService = imageService;
+        this.likeCounterBuffer = likeCounterBuffer;
+        this.blogSearchService = blogSearchService;
+        this.hotPostRanking = hotPostRanking;
+        this.contentVersions = contentVersions;
     }
 
     // Initialize default blog posts if database is empty
@@ -68,18 +98,17 @@ public class BlogService {
                     "https://images.unsplash.com/photo-1493612276216-9c59019558f7?q=80&w=2000&auto=format&fit=crop");
             post3.setLikes(215);
 
-            blogPostRepository.save(post1);
-            blogPostRepository.save(post2);
-            blogPostRepository.save(post3);
+            for (BlogPost post : List.of(post1, post2, post3)) {
+                BlogPost saved = blogPostRepository.save(post);
+                blogSearchService.index(saved);
+                hotPostRanking.postCreated(saved.getId(), saved.getCreatedAt());
+            }
         }
     }
 
     public List<BlogPostResponse> getAllPosts(String userEmail) {
         User user = userEmail != null ? userRepository.findByEmail(userEmail).orElse(null) : null;
-        return blogPostRepository.findAllByOrderByCreatedAtDesc()
-                .stream()
-                .map(post -> toResponse(post, user))
-                .collect(Collectors.toList());
+        return asListItems(toResponses(blogPostRepository.findAllByOrderByCreatedAtDesc(), user));
     }
 
     public List<BlogPostResponse> getPostsByCategory(String category, String userEmail) {
@@ -87,10 +116,74 @@ public class BlogService {
             return getAllPosts(userEmail);
         }
         User user = userEmail != null ? userRepository.findByEmail(userEmail).orElse(null) : null;
-        return blogPostRepository.findByCategoryOrderByCreatedAtDesc(category)
-                .stream()
-                .map(post -> toResponse(post, user))
-                .collect(Collectors.toList());
+        return asListItems(toResponses(blogPostRepository.findByCategoryOrderByCreatedAtDesc(category), user));
+    }
+
+    // Keyset-paginated feed of summaries, newest first. One query for the page (counts
+    // are columns) and one for the caller's likes, whatever the page size.
+    public CursorPage<BlogPostSummary> getFeed(String category, String cursor, Integer limit, String userEmail) {
+        int size = pageSize(limit);
+        String filter = category == null || category.isBlank() || category.equalsIgnoreCase("All") ? null : category;
+        LocalDateTime beforeAt = FEED_END;
+        long beforeId = Long.MAX_VALUE;
+        if (cursor != null && !cursor.isBlank()) {
+            HistoryCursor c = HistoryCursor.decode(cursor);
+            beforeAt = c.timestamp();
+            beforeId = c.id();
+        }
+        List<Object[]> rows = blogPostRepository.findFeedPage(filter, beforeAt, beforeId,
+                PageRequest.of(0, size + 1));
+        boolean hasMore = rows.size() > size;
+        if (hasMore) {
+            rows = rows.subList(0, size);
+        }
+
+        List<BlogPostSummary> items = toSummaries(rows, userEmail);
+
+        String nextCursor = null;
+        if (hasMore) {
+            Object[] last = rows.get(rows.size() - 1);
+            nextCursor = HistoryCursor.encode(last[8], (Long) last[0]);
+        }
+        return new CursorPage<>(items, nextCursor);
+    }
+
+    // Hot feed: posts by time-decayed likes and comments (see HotPostRanking). The order
+    // is a top-k walk of the in-memory ranking; one query loads the page's summaries.
+    // The cursor is the offset of the next page.
+    public CursorPage<BlogPostSummary> getHotFeed(String cursor, Integer limit, String userEmail) {
+        int size = pageSize(limit);
+        int offset = 0;
+        if (cursor != null && !cursor.isBlank()) {
+            try {
+                offset = Integer.parseInt(cursor);
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            if (offset < 0) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+        }
+        List<Long> ids = hotPostRanking.top(offset, size + 1);
+        boolean hasMore = ids.size() > size;
+        if (hasMore) {
+            ids = ids.subList(0, size);
+        }
+
+        List<Object[]> rows = new ArrayList<>(ids.size());
+        if (!ids.isEmpty()) {
+            Map<Long, Object[]> rowsById = new HashMap<>();
+            for (Object[] row : blogPostRepository.findSummaries(ids)) {
+                rowsById.put((Long) row[0], row);
+            }
+            for (Long id : ids) {
+                Object[] row = rowsById.get(id);
+                if (row != null) { // deleted since it was ranked
+                    rows.add(row);
+                }
+            }
+        }
+        return new CursorPage<>(toSummaries(rows, userEmail), hasMore ? String.valueOf(offset + size) : null);
     }
 
     public Optional<BlogPostResponse> getPostById(Long id, String userEmail) {
@@ -107,7 +200,7 @@ public class BlogService {
         post.setExcerpt(dto.getExcerpt());
         post.setContent(dto.getContent());
         post.setCategory(dto.getCategory());
-        post.setImage(dto.getImage());
+        post.setImage(imageService.toImageUrl(dto.getImage())); // uploads are kept as /api/images/{hash}
         post.setLikes(0);
 
         if (user != null) {
@@ -130,6 +223,9 @@ public class BlogService {
         }
 
         BlogPost saved = blogPostRepository.save(post);
+        blogSearchService.index(saved);
+        hotPostRanking.postCreated(saved.getId(), saved.getCreatedAt());
+        contentVersions.bump(ContentVersions.Aggregate.BLOG);
         return toResponse(saved, user);
     }
 
@@ -145,8 +241,11 @@ public class BlogService {
             if (dto.getCategory() != null)
                 post.setCategory(dto.getCategory());
             if (dto.getImage() != null)
-                post.setImage(dto.getImage());
-            return toResponse(blogPostRepository.save(post), null);
+                post.setImage(imageService.toImageUrl(dto.getImage()));
+            BlogPost saved = blogPostRepository.save(post);
+            blogSearchService.index(saved);
+            contentVersions.bump(ContentVersions.Aggregate.BLOG);
+            return toResponse(saved, null);
         });
     }
 
@@ -164,6 +263,9 @@ public class BlogService {
 
         blogCommentRepository.deleteByPostId(id);
         blogPostRepository.deleteById(id);
+        blogSearchService.remove(id);
+        hotPostRanking.postDeleted(id);
+        contentVersions.bump(ContentVersions.Aggregate.BLOG);
     }
 
     @Transactional
@@ -171,13 +273,27 @@ public class BlogService {
         User user = userRepository.findByEmail(userEmail).orElseThrow(() -> new RuntimeException("User not found"));
 
         return blogPostRepository.findById(id).map(post -> {
-            if (post.getLikedBy().contains(user)) {
-                post.getLikedBy().remove(user);
+            // One indexed post_likes row is checked and changed instead of loading likedBy;
+            // the affected row count keeps the counter right when clicks race. An unlike
+            // takes the like off the hot ranking at the time it was made
+            Optional<PostLike> like = blogPostRepository.findLike(id, user.getId());
+            int delta;
+            LocalDateTime likedAt;
+            if (like.isPresent()) {
+                delta = -blogPostRepository.deleteLike(id, user.getId());
+                likedAt = like.get().getCreatedAt(); // NULL on old likes: dated at the post's creation
             } else {
-                post.getLikedBy().add(user);
+                likedAt = LocalDateTime.now();
+                delta = blogPostRepository.insertLike(id, user.getId(), likedAt);
             }
-            post.setLikes(post.getLikedBy().size());
-            return toResponse(blogPostRepository.save(post), user);
+            if (delta != 0) {
+                likeCounterBuffer.add(id, delta);
+                hotPostRanking.liked(id, post.getCreatedAt(), likedAt, delta);
+                contentVersions.bump(ContentVersions.Aggregate.BLOG);
+            }
+            BlogPostResponse response = toResponse(post, user);
+            response.setLikes(response.getLikes() + delta); // post was read before this change
+            return response;
         });
     }
 
@@ -197,6 +313,10 @@ public class BlogService {
         }
 
         blogCommentRepository.deleteById(commentId);
+        blogPostRepository.addComments(comment.getPost().getId(), -1);
+        hotPostRanking.commented(comment.getPost().getId(), comment.getPost().getCreatedAt(),
+                comment.getCreatedAt(), -1);
+        contentVersions.bump(ContentVersions.Aggregate.BLOG);
     }
 
     @Transactional
@@ -220,6 +340,9 @@ public class BlogService {
         }
 
         blogCommentRepository.save(comment);
+        blogPostRepository.addComments(postId, 1);
+        hotPostRanking.commented(postId, post.getCreatedAt(), comment.getCreatedAt(), 1);
+        contentVersions.bump(ContentVersions.Aggregate.BLOG);
 
         return getComments(postId);
     }
@@ -227,12 +350,98 @@ public class BlogService {
     public List<CommentResponse> getComments(Long postId) {
         return blogCommentRepository.findByPostIdOrderByCreatedAtAsc(postId)
                 .stream()
-                .map(c -> new CommentResponse(c.getId(), c.getText(), c.getUserName(), c.getCreatedAt(),
-                        c.getUser() != null ? c.getUser().getId() : null))
+                .map(this::toCommentResponse)
                 .collect(Collectors.toList());
     }
 
+    private CommentResponse toCommentResponse(BlogComment c) {
+        // getUser().getId() reads the foreign key from the proxy, no extra query
+        return new CommentResponse(c.getId(), c.getText(), c.getUserName(), c.getCreatedAt(),
+                c.getUser() != null ? c.getUser().getId() : null);
+    }
+
+    // Stored count plus committed toggles the buffer has not written yet
+    private int likeCount(Integer stored, Long postId) {
+        return (stored != null ? stored : 0) + likeCounterBuffer.pending(postId);
+    }
+
+    // Rows as selected by findFeedPage/findSummaries, plus isLiked for the caller in one query
+    private List<BlogPostSummary> toSummaries(List<Object[]> rows, String userEmail) {
+        List<BlogPostSummary> items = new ArrayList<>(rows.size());
+        for (Object[] row : rows) {
+            BlogPostSummary summary = new BlogPostSummary();
+            summary.setId((Long) row[0]);
+            summary.setTitle((String) row[1]);
+            summary.setExcerpt((String) row[2]);
+            summary.setAuthor((String) row[3]);
+            summary.setRole((String) row[4]);
+            summary.setCategory((String) row[5]);
+            summary.setImage(ImageService.variantUrl((String) row[6], ImageVariant.MEDIUM));
+            summary.setLikes(likeCount((Integer) row[7], summary.getId()));
+            LocalDateTime createdAt = (LocalDateTime) row[8];
+            summary.setDate(createdAt != null ? createdAt.toLocalDate().toString() : null);
+            summary.setAuthorId((Long) row[9]);
+            summary.setCommentCount(((Number) row[10]).longValue());
+            items.add(summary);
+        }
+        if (!items.isEmpty() && userEmail != null) {
+            User user = userRepository.findByEmail(userEmail).orElse(null);
+            if (user != null) {
+                List<Long> postIds = items.stream().map(BlogPostSummary::getId).collect(Collectors.toList());
+                Set<Long> liked = new HashSet<>(blogPostRepository.findIdsLikedByUser(user.getId(), postIds));
+                items.forEach(summary -> summary.setIsLiked(liked.contains(summary.getId())));
+            }
+        }
+        return items;
+    }
+
+    private static int pageSize(Integer limit) {
+        if (limit == null) {
+            return DEFAULT_PAGE_SIZE;
+        }
+        if (limit < 1) {
+            throw new IllegalArgumentException("limit must be at least 1");
+        }
+        return Math.min(limit, MAX_PAGE_SIZE);
+    }
+
     private BlogPostResponse toResponse(BlogPost post, User currentUser) {
+        return toResponses(List.of(post), currentUser).get(0);
+    }
+
+    // Comments and the current user's likes for all posts in one query each,
+    // instead of two per post
+    private List<BlogPostResponse> toResponses(List<BlogPost> posts, User currentUser) {
+        if (posts.isEmpty()) {
+            return new ArrayList<>();
+        }
+        List<Long> postIds = posts.stream().map(BlogPost::getId).collect(Collectors.toList());
+
+        Map<Long, List<CommentResponse>> commentsByPost = new HashMap<>();
+        for (BlogComment c : blogCommentRepository.findByPostIdInOrderByCreatedAtAsc(postIds)) {
+            commentsByPost.computeIfAbsent(c.getPost().getId(), id -> new ArrayList<>()).add(toCommentResponse(c));
+        }
+        Set<Long> likedPostIds = currentUser != null
+                ? new HashSet<>(blogPostRepository.findIdsLikedByUser(currentUser.getId(), postIds))
+                : Set.of();
+
+        List<BlogPostResponse> responses = new ArrayList<>(posts.size());
+        for (BlogPost post : posts) {
+            BlogPostResponse response = baseResponse(post);
+            response.setIsLiked(likedPostIds.contains(post.getId()));
+            response.setComments(commentsByPost.getOrDefault(post.getId(), new ArrayList<>()));
+            responses.add(response);
+        }
+        return responses;
+    }
+
+    // Lists show each image as a card, so they link the medium copy; the post page keeps the original
+    private static List<BlogPostResponse> asListItems(List<BlogPostResponse> responses) {
+        responses.forEach(r -> r.setImage(ImageService.variantUrl(r.getImage(), ImageVariant.MEDIUM)));
+        return responses;
+    }
+
+    private BlogPostResponse baseResponse(BlogPost post) {
         BlogPostResponse response = new BlogPostResponse(
                 post.getId(),
                 post.getTitle(),
@@ -242,20 +451,12 @@ public class BlogService {
                 post.getRole(),
                 post.getCategory(),
                 post.getImage(),
-                post.getLikes(),
+                likeCount(post.getLikes(), post.getId()),
                 post.getCreatedAt());
 
         if (post.getUser() != null) {
             response.setAuthorId(post.getUser().getId());
         }
-
-        if (currentUser != null) {
-            response.setIsLiked(post.getLikedBy().contains(currentUser));
-        } else {
-            response.setIsLiked(false);
-        }
-
-        response.setComments(getComments(post.getId()));
         return response;
     }
 }
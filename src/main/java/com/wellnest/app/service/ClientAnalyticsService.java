@@ -0,0 +1,143 @@
+package com.wellnest.app.service;
+
+import com.wellnest.app.dto.ClientAnalyticsSummary;
+import com.wellnest.app.model.Trainer;
+import com.wellnest.app.repository.DailyRollupRepository;
+import com.wellnest.app.repository.TrainerClientRepository;
+import com.wellnest.app.repository.TrainerRepository;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Trainer dashboard: compact analytics for every ACTIVE client in one call.
+ * The roster (with the profile fields needed) is one query, and the figures
+ * come from the daily rollups aggregated per client with user_id IN (...), so
+ * the number of round trips does not grow with the roster. Large rosters are
+ * split into IN chunks that run in parallel on a small bounded pool.
+ */
+@Service
+public class ClientAnalyticsService {
+
+    private static final int IN_CHUNK_SIZE = 100;
+
+    // Same daily target as the full water analytics (2000 ml)
+    private static final double WATER_GOAL_LITERS = 2.0;
+
+    private final TrainerRepository trainerRepository;
+    private final TrainerClientRepository trainerClientRepository;
+    private final DailyRollupRepository dailyRollupRepository;
+    private final ExecutorService executor;
+
+    public ClientAnalyticsService(TrainerRepository trainerRepository,
+            TrainerClientRepository trainerClientRepository,
+            DailyRollupRepository dailyRollupRepository,
+            @Value("${app.analytics.client-overview.threads:4}") int threads) {
+        this.trainerRepository = trainerRepository;
+        this.trainerClientRepository = trainerClientRepository;
+        this.dailyRollupRepository = dailyRollupRepository;
+        this.executor = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "client-analytics");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    public List<ClientAnalyticsSummary> getClientsOverview(Long trainerUserId, LocalDate startDate,
+            LocalDate endDate) {
+        if (startDate.isAfter(endDate)) {
+            throw new IllegalArgumentException("startDate must not be after endDate");
+        }
+        Trainer trainer = trainerRepository.findByUserId(trainerUserId)
+                .orElseThrow(() -> new RuntimeException("Trainer profile not found for this user"));
+
+        Map<Long, ClientAnalyticsSummary> byClient = new LinkedHashMap<>();
+        for (Object[] row : trainerClientRepository.findActiveClientProfiles(trainer.getId())) {
+            ClientAnalyticsSummary summary = new ClientAnalyticsSummary();
+            summary.setClientId(((Number) row[0]).longValue());
+            summary.setClientName((String) row[1]);
+            summary.setFitnessGoal((String) row[2]);
+            summary.setWeightKg((Double) row[3]);
+            summary.setTargetWeightKg((Double) row[4]);
+            summary.setBmi(bmi((Double) row[3], (Double) row[5]));
+            byClient.put(summary.getClientId(), summary);
+        }
+        if (byClient.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        long days = ChronoUnit.DAYS.between(startDate, endDate) + 1;
+        for (Object[] row : aggregate(new ArrayList<>(byClient.keySet()), startDate, endDate)) {
+            apply(byClient.get(((Number) row[0]).longValue()), row, days);
+        }
+        return new ArrayList<>(byClient.values());
+    }
+
+    // One IN query per chunk; a single chunk runs on the caller's thread
+    private List<Object[]> aggregate(List<Long> clientIds, LocalDate startDate, LocalDate endDate) {
+        if (clientIds.size() <= IN_CHUNK_SIZE) {
+            return dailyRollupRepository.sumByUserIdsBetween(clientIds, startDate, endDate, WATER_GOAL_LITERS);
+        }
+        List<CompletableFuture<List<Object[]>>> futures = new ArrayList<>();
+        for (int i = 0; i < clientIds.size(); i += IN_CHUNK_SIZE) {
+            List<Long> chunk = clientIds.subList(i, Math.min(i + IN_CHUNK_SIZE, clientIds.size()));
+            futures.add(CompletableFuture.supplyAsync(
+                    () -> dailyRollupRepository.sumByUserIdsBetween(chunk, startDate, endDate, WATER_GOAL_LITERS),
+                    executor));
+        }
+        List<Object[]> rows = new ArrayList<>();
+        try {
+            for (CompletableFuture<List<Object[]>> future : futures) {
+                rows.addAll(future.join());
+            }
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+        return rows;
+    }
+
+    // Row layout follows DailyRollupRepository.sumByUserIdsBetween
+    private static void apply(ClientAnalyticsSummary summary, Object[] row, long days) {
+        summary.setActiveDays(intValue(row[1]));
+        summary.setTotalWorkouts(intValue(row[2]));
+        summary.setTotalWorkoutMinutes(doubleValue(row[3]));
+        summary.setAvgDailyCalories(doubleValue(row[4]) / days);
+        int sleepLogs = intValue(row[5]);
+        summary.setAvgSleepHours(sleepLogs > 0 ? doubleValue(row[6]) / sleepLogs : 0);
+        int waterDays = intValue(row[8]);
+        summary.setAvgDailyWaterIntake(waterDays > 0 ? doubleValue(row[7]) * 1000 / waterDays : 0);
+        summary.setWaterDaysMetGoal(intValue(row[9]));
+    }
+
+    private static double bmi(Double weightKg, Double heightCm) {
+        if (weightKg == null || heightCm == null || heightCm <= 0) {
+            return 0;
+        }
+        double heightInMeters = heightCm / 100.0;
+        return weightKg / (heightInMeters * heightInMeters);
+    }
+
+    private static int intValue(Object value) {
+        return value != null ? ((Number) value).intValue() : 0;
+    }
+
+    private static double doubleValue(Object value) {
+        return value != null ? ((Number) value).doubleValue() : 0.0;
+    }
+}
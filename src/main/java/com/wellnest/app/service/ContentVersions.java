@@ -0,0 +1,119 @@
+package com.wellnest.app.service;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Version counters for the public read models, used as HTTP validators by
+ * ConditionalGetInterceptor. Every write to an aggregate bumps its version
+ * once the transaction has completed, after all other after-commit work
+ * (search index, hot ranking, like buffer), so a response tagged with a
+ * version never holds data older than that version.
+ *
+ * ETags carry a per-process nonce: writes made while the app was down (or by
+ * another instance) can never be mistaken for an unchanged version.
+ */
+@Service
+public class ContentVersions {
+
+    public enum Aggregate {
+        BLOG("b"), TRAINERS("t");
+
+        private final String key;
+
+        Aggregate(String key) {
+            this.key = key;
+        }
+    }
+
+    private static final class Version {
+        long number;
+        long lastModifiedMillis; // whole seconds, strictly increasing
+    }
+
+    private final String nonce = Long.toString(System.currentTimeMillis(), 36);
+    private final Map<Aggregate, Version> versions = new EnumMap<>(Aggregate.class);
+
+    public ContentVersions() {
+        long now = TimeUnit.SECONDS.toMillis(TimeUnit.MILLISECONDS.toSeconds(System.currentTimeMillis()));
+        for (Aggregate aggregate : Aggregate.values()) {
+            Version version = new Version();
+            version.lastModifiedMillis = now;
+            versions.put(aggregate, version);
+        }
+    }
+
+    /** Marks the aggregate changed once the current transaction commits (now if there is none). */
+    public void bump(Aggregate aggregate) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status == STATUS_COMMITTED) {
+                        increment(aggregate);
+                    }
+                }
+            });
+        } else {
+            increment(aggregate);
+        }
+    }
+
+    /** ETag and Last-Modified (epoch millis) of one version, read together. */
+    public record Validators(String etag, long lastModified) {
+    }
+
+    /**
+     * Validators for the aggregate's current version. Responses that differ
+     * per caller (the blog's isLiked) pass the principal so each user gets
+     * their own strong ETag, tagged with a digest of the principal (a plain
+     * hashCode collides for names like "Aa" and "BB").
+     */
+    public Validators current(Aggregate aggregate, String principal) {
+        long number;
+        long lastModified;
+        synchronized (this) {
+            Version version = versions.get(aggregate);
+            number = version.number;
+            lastModified = version.lastModifiedMillis;
+        }
+        String tag = aggregate.key + "-" + nonce + "-" + number;
+        if (principal != null) {
+            tag += "-" + digest(principal);
+        }
+        return new Validators("\"" + tag + "\"", lastModified);
+    }
+
+    public synchronized long version(Aggregate aggregate) {
+        return versions.get(aggregate).number;
+    }
+
+    // First 16 bytes of the SHA-256, as hex
+    private static String digest(String principal) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(principal.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(Arrays.copyOf(hash, 16));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e); // every JVM has SHA-256
+        }
+    }
+
+    // Last-Modified has one-second resolution; stepping it at least a second per
+    // change keeps If-Modified-Since from missing two writes in the same second
+    private synchronized void increment(Aggregate aggregate) {
+        Version version = versions.get(aggregate);
+        version.number++;
+        long now = TimeUnit.SECONDS.toMillis(TimeUnit.MILLISECONDS.toSeconds(System.currentTimeMillis()));
+        version.lastModifiedMillis = Math.max(now, version.lastModifiedMillis + 1000);
+    }
+}
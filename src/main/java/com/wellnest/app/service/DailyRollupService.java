@@ -0,0 +1,240 @@
+package com.wellnest.app.service;
+
+import com.wellnest.app.model.Meal;
+import com.wellnest.app.model.SleepLog;
+import com.wellnest.app.model.WaterIntake;
+import com.wellnest.app.model.Workout;
+import com.wellnest.app.repository.DailyRollupRepository;
+import jakarta.annotation.PostConstruct;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.*;
+
+/**
+ * Maintains daily_rollups and daily_workout_type_rollups. Tracker writes pass
+ * the rows they created (or the row they deleted, with sign -1); the rows are
+ * folded into one delta per day and applied with a single batched upsert, in
+ * the caller's transaction, so the rollups commit or roll back with the raw
+ * rows. Analytics read the rollups and never rescan raw entries.
+ */
+@Service
+public class DailyRollupService {
+
+    // Metric slots of a day delta, in daily_rollups column order
+    private static final int MEAL_COUNT = 0;
+    private static final int CALORIES_IN = 1;
+    private static final int PROTEIN = 2;
+    private static final int CARBS = 3;
+    private static final int FATS = 4;
+    private static final int WORKOUT_COUNT = 5;
+    private static final int WORKOUT_MINUTES = 6;
+    private static final int CALORIES_OUT = 7;
+    private static final int WATER_COUNT = 8;
+    private static final int WATER_LITERS = 9;
+    private static final int SLEEP_COUNT = 10;
+    private static final int SLEEP_HOURS = 11;
+    private static final int SLEEP_HOURS_SQ = 12;
+    private static final int SLEEP_QUALITY_SUM = 13;
+    private static final int SLEEP_QUALITY_COUNT = 14;
+
+    private static final String[] METRIC_COLUMNS = { "meal_count", "calories_in", "protein_g", "carbs_g", "fats_g",
+            "workout_count", "workout_minutes", "calories_out", "water_count", "water_liters", "sleep_count",
+            "sleep_hours", "sleep_hours_sq", "sleep_quality_sum", "sleep_quality_count" };
+
+    private static final String INSERT_DAY_COLUMNS = "INSERT INTO daily_rollups (user_id, rollup_date, "
+            + String.join(", ", METRIC_COLUMNS) + ") ";
+    private static final String ADD_ON_DUPLICATE = addOnDuplicate(METRIC_COLUMNS);
+    private static final String UPSERT_DAY = INSERT_DAY_COLUMNS + "VALUES (?, ?"
+            + ", ?".repeat(METRIC_COLUMNS.length) + ")" + ADD_ON_DUPLICATE;
+    private static final String UPSERT_WORKOUT_TYPE = "INSERT INTO daily_workout_type_rollups "
+            + "(user_id, rollup_date, type, workout_count, minutes) VALUES (?, ?, ?, ?, ?)"
+            + addOnDuplicate(new String[] { "workout_count", "minutes" });
+
+    // Sleep quality labels scored for averaging; anything else counts as unrated
+    private static final String QUALITY_SCORE_SQL = "CASE LOWER(quality) WHEN 'good' THEN 5 WHEN 'fair' THEN 3 "
+            + "WHEN 'poor' THEN 1 ELSE 0 END";
+
+    // Full rebuild from raw rows, one grouped INSERT ... SELECT per table
+    private static final String[] REBUILD_DAY_STATEMENTS = {
+            INSERT_DAY_COLUMNS + "SELECT user_id, CAST(logged_at AS DATE), COUNT(*), COALESCE(SUM(calories), 0), "
+                    + "COALESCE(SUM(protein), 0), COALESCE(SUM(carbs), 0), COALESCE(SUM(fats), 0), "
+                    + "0, 0, 0, 0, 0, 0, 0, 0, 0, 0 FROM meals WHERE logged_at IS NOT NULL "
+                    + "GROUP BY user_id, CAST(logged_at AS DATE)" + ADD_ON_DUPLICATE,
+            INSERT_DAY_COLUMNS + "SELECT user_id, CAST(performed_at AS DATE), 0, 0, 0, 0, 0, COUNT(*), "
+                    + "COALESCE(SUM(duration_minutes), 0), COALESCE(SUM(calories_burned), 0), "
+                    + "0, 0, 0, 0, 0, 0, 0 FROM workouts WHERE performed_at IS NOT NULL "
+                    + "GROUP BY user_id, CAST(performed_at AS DATE)" + ADD_ON_DUPLICATE,
+            INSERT_DAY_COLUMNS + "SELECT user_id, CAST(logged_at AS DATE), 0, 0, 0, 0, 0, 0, 0, 0, COUNT(*), "
+                    + "SUM(liters), 0, 0, 0, 0, 0 FROM water_intake WHERE logged_at IS NOT NULL AND liters IS NOT NULL "
+                    + "GROUP BY user_id, CAST(logged_at AS DATE)" + ADD_ON_DUPLICATE,
+            INSERT_DAY_COLUMNS + "SELECT user_id, sleep_date, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, COUNT(*), "
+                    + "COALESCE(SUM(hours), 0), COALESCE(SUM(hours * hours), 0), SUM(" + QUALITY_SCORE_SQL + "), "
+                    + "SUM(CASE WHEN " + QUALITY_SCORE_SQL + " > 0 THEN 1 ELSE 0 END) "
+                    + "FROM sleep_logs WHERE sleep_date IS NOT NULL GROUP BY user_id, sleep_date" + ADD_ON_DUPLICATE };
+    private static final String REBUILD_WORKOUT_TYPES = "INSERT INTO daily_workout_type_rollups "
+            + "(user_id, rollup_date, type, workout_count, minutes) "
+            + "SELECT user_id, CAST(performed_at AS DATE), type, COUNT(*), COALESCE(SUM(duration_minutes), 0) "
+            + "FROM workouts WHERE performed_at IS NOT NULL GROUP BY user_id, CAST(performed_at AS DATE), type";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final DailyRollupRepository dailyRollupRepository;
+
+    public DailyRollupService(JdbcTemplate jdbcTemplate, DailyRollupRepository dailyRollupRepository) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.dailyRollupRepository = dailyRollupRepository;
+    }
+
+    // -------------------- DELTAS --------------------
+
+    public void applyWorkouts(Long userId, Collection<Workout> workouts, int sign) {
+        Map<LocalDate, double[]> days = new HashMap<>();
+        Map<LocalDate, Map<String, double[]>> types = new HashMap<>();
+        for (Workout w : workouts) {
+            if (w.getPerformedAt() == null) {
+                continue;
+            }
+            LocalDate day = w.getPerformedAt().toLocalDate();
+            double minutes = w.getDurationMinutes() != null ? w.getDurationMinutes() : 0.0;
+            double[] delta = days.computeIfAbsent(day, k -> new double[METRIC_COLUMNS.length]);
+            delta[WORKOUT_COUNT] += sign;
+            delta[WORKOUT_MINUTES] += sign * minutes;
+            delta[CALORIES_OUT] += sign * (w.getCaloriesBurned() != null ? w.getCaloriesBurned() : 0.0);
+
+            double[] typeDelta = types.computeIfAbsent(day, k -> new HashMap<>())
+                    .computeIfAbsent(w.getType(), k -> new double[2]);
+            typeDelta[0] += sign;
+            typeDelta[1] += sign * minutes;
+        }
+        upsertDays(userId, days);
+
+        List<Object[]> typeArgs = new ArrayList<>();
+        types.forEach((day, byType) -> byType.forEach((type, delta) -> typeArgs
+                .add(new Object[] { userId, Date.valueOf(day), type, (int) delta[0], delta[1] })));
+        if (!typeArgs.isEmpty()) {
+            jdbcTemplate.batchUpdate(UPSERT_WORKOUT_TYPE, typeArgs);
+        }
+    }
+
+    public void applyMeals(Long userId, Collection<Meal> meals, int sign) {
+        Map<LocalDate, double[]> days = new HashMap<>();
+        for (Meal m : meals) {
+            if (m.getLoggedAt() == null) {
+                continue;
+            }
+            double[] delta = days.computeIfAbsent(m.getLoggedAt().toLocalDate(),
+                    k -> new double[METRIC_COLUMNS.length]);
+            delta[MEAL_COUNT] += sign;
+            delta[CALORIES_IN] += sign * (m.getCalories() != null ? m.getCalories() : 0.0);
+            delta[PROTEIN] += sign * (m.getProtein() != null ? m.getProtein() : 0.0);
+            delta[CARBS] += sign * (m.getCarbs() != null ? m.getCarbs() : 0.0);
+            delta[FATS] += sign * (m.getFats() != null ? m.getFats() : 0.0);
+        }
+        upsertDays(userId, days);
+    }
+
+    public void applyWater(Long userId, Collection<WaterIntake> entries, int sign) {
+        Map<LocalDate, double[]> days = new HashMap<>();
+        for (WaterIntake w : entries) {
+            if (w.getLoggedAt() == null || w.getLiters() == null) {
+                continue;
+            }
+            double[] delta = days.computeIfAbsent(w.getLoggedAt().toLocalDate(),
+                    k -> new double[METRIC_COLUMNS.length]);
+            delta[WATER_COUNT] += sign;
+            delta[WATER_LITERS] += sign * w.getLiters();
+        }
+        upsertDays(userId, days);
+    }
+
+    public void applySleep(Long userId, Collection<SleepLog> logs, int sign) {
+        Map<LocalDate, double[]> days = new HashMap<>();
+        for (SleepLog s : logs) {
+            if (s.getSleepDate() == null) {
+                continue;
+            }
+            double hours = s.getHours() != null ? s.getHours() : 0.0;
+            double quality = sleepQualityScore(s.getQuality());
+            double[] delta = days.computeIfAbsent(s.getSleepDate(), k -> new double[METRIC_COLUMNS.length]);
+            delta[SLEEP_COUNT] += sign;
+            delta[SLEEP_HOURS] += sign * hours;
+            delta[SLEEP_HOURS_SQ] += sign * hours * hours;
+            if (quality > 0) {
+                delta[SLEEP_QUALITY_SUM] += sign * quality;
+                delta[SLEEP_QUALITY_COUNT] += sign;
+            }
+        }
+        upsertDays(userId, days);
+    }
+
+    // Map string quality to a number for averaging (0 = unrated)
+    public static double sleepQualityScore(String quality) {
+        switch (quality != null ? quality.toLowerCase(Locale.ROOT) : "") {
+            case "good":
+                return 5.0;
+            case "fair":
+                return 3.0;
+            case "poor":
+                return 1.0;
+            default:
+                return 0.0;
+        }
+    }
+
+    // -------------------- BACKFILL --------------------
+
+    // Build the rollups from raw activity when the table is empty (first deploy)
+    @PostConstruct
+    public void initializeRollups() {
+        if (dailyRollupRepository.count() == 0) {
+            rebuildAll();
+        }
+    }
+
+    /**
+     * Discards and recomputes every rollup row from the raw tracker tables in
+     * the database. Only needed for the initial backfill or after manual edits
+     * to raw rows.
+     */
+    @Transactional
+    public void rebuildAll() {
+        jdbcTemplate.update("DELETE FROM daily_workout_type_rollups");
+        jdbcTemplate.update("DELETE FROM daily_rollups");
+        for (String sql : REBUILD_DAY_STATEMENTS) {
+            jdbcTemplate.update(sql);
+        }
+        jdbcTemplate.update(REBUILD_WORKOUT_TYPES);
+    }
+
+    // -------------------- HELPERS --------------------
+
+    private void upsertDays(Long userId, Map<LocalDate, double[]> days) {
+        if (days.isEmpty()) {
+            return;
+        }
+        List<Object[]> args = new ArrayList<>(days.size());
+        days.forEach((day, delta) -> {
+            Object[] row = new Object[METRIC_COLUMNS.length + 2];
+            row[0] = userId;
+            row[1] = Date.valueOf(day);
+            for (int i = 0; i < delta.length; i++) {
+                row[i + 2] = delta[i];
+            }
+            args.add(row);
+        });
+        jdbcTemplate.batchUpdate(UPSERT_DAY, args);
+    }
+
+    // "ON DUPLICATE KEY UPDATE c = c + VALUES(c), ..." so concurrent writes for
+    // the same user/day add up instead of overwriting each other
+    private static String addOnDuplicate(String[] columns) {
+        StringJoiner joiner = new StringJoiner(", ", " ON DUPLICATE KEY UPDATE ", "");
+        for (String column : columns) {
+            joiner.add(column + " = " + column + " + VALUES(" + column + ")");
+        }
+        return joiner.toString();
+    }
+}
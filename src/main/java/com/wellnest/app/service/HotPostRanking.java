@@ -0,0 +1,285 @@
+package com.wellnest.app.service;
+
+import com.wellnest.app.repository.BlogCommentRepository;
+import com.wellnest.app.repository.BlogPostRepository;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Supplier;
+
+/**
+ * "Hot" order of blog posts: likes and comments that decay exponentially
+ * with app.blog.hot.half-life-hours. A post counts as one like when it is
+ * created, so new posts show up before anyone reacts. Likes and comments are
+ * dated at their own post_likes / blog_comments created_at, both live and on
+ * rebuild, so an unlike or a deleted comment takes off exactly what was added.
+ *
+ * An event of weight w at time t adds w * 2^((t - EPOCH) / halfLife) to the
+ * post's sum, kept as its logarithm (the raw sum would overflow within
+ * months). The decayed score at time now is sum * 2^(-(now - EPOCH) / halfLife),
+ * the same factor for every post, so ordering by the stored log-score is the
+ * hot order at any time: decay never touches stored values and the order only
+ * changes when a post gets an event. Posts are held in a LeaderboardIndex
+ * keyed by log-score, so a page of the hot feed is a top-k walk.
+ */
+@Service
+public class HotPostRanking {
+
+    private static final Logger log = LoggerFactory.getLogger(HotPostRanking.class);
+
+    // Fixed origin for event times; any instant works, it only keeps the exponents small
+    private static final LocalDateTime EPOCH = LocalDateTime.of(2024, 1, 1, 0, 0);
+
+    private static final double POST_WEIGHT = 1.0;
+    private static final double LIKE_WEIGHT = 1.0;
+    private static final double COMMENT_WEIGHT = 2.0;
+
+    private static final int BUILD_BATCH = 1000;
+
+    private final BlogPostRepository blogPostRepository;
+    private final BlogCommentRepository blogCommentRepository;
+    private final double halfLifeHours;
+    private final Supplier<LocalDateTime> clock;
+
+    private volatile LeaderboardIndex index = new LeaderboardIndex();
+
+    // Shared by events from commit until they are on the index, exclusive while
+    // rebuildAll reads the tables
+    private final ReentrantReadWriteLock commitLock = new ReentrantReadWriteLock();
+
+    @Autowired
+    public HotPostRanking(BlogPostRepository blogPostRepository,
+            BlogCommentRepository blogCommentRepository,
+            @Value("${app.blog.hot.half-life-hours:24}") double halfLifeHours) {
+        this(blogPostRepository, blogCommentRepository, halfLifeHours, LocalDateTime::now);
+    }
+
+    HotPostRanking(BlogPostRepository blogPostRepository, BlogCommentRepository blogCommentRepository,
+            double halfLifeHours, Supplier<LocalDateTime> clock) {
+        if (halfLifeHours <= 0) {
+            throw new IllegalArgumentException("app.blog.hot.half-life-hours must be positive");
+        }
+        this.blogPostRepository = blogPostRepository;
+        this.blogCommentRepository = blogCommentRepository;
+        this.halfLifeHours = halfLifeHours;
+        this.clock = clock;
+    }
+
+    // -------------------- REBUILD --------------------
+
+    /**
+     * Scores every post from the tables: its creation, each like and each
+     * comment at its own time (likes from before post_likes.created_at are
+     * dated at the post's creation). Runs at startup and after bulk loads
+     * that bypass BlogService (DatasetSeeder). Events wait to commit until
+     * the new index is in place, so none is lost with the old one or counted
+     * in both the tables and the replay.
+     */
+    @PostConstruct
+    public void rebuildAll() {
+        long started = System.currentTimeMillis();
+        LeaderboardIndex fresh;
+        commitLock.writeLock().lock();
+        try {
+            fresh = build();
+            index = fresh;
+        } finally {
+            commitLock.writeLock().unlock();
+        }
+        log.info("Hot post ranking built: {} posts in {} ms", fresh.size(), System.currentTimeMillis() - started);
+    }
+
+    private LeaderboardIndex build() {
+        LeaderboardIndex fresh = new LeaderboardIndex();
+        long afterId = 0;
+        List<Object[]> rows;
+        do {
+            rows = blogPostRepository.findHotSeeds(afterId, PageRequest.of(0, BUILD_BATCH));
+            for (Object[] row : rows) {
+                afterId = (Long) row[0];
+                LocalDateTime createdAt = row[1] != null ? (LocalDateTime) row[1] : EPOCH;
+                fresh.put(afterId, null, logWeight(POST_WEIGHT, createdAt));
+            }
+        } while (rows.size() == BUILD_BATCH);
+
+        long afterPostId = 0;
+        long afterUserId = 0;
+        do {
+            rows = blogPostRepository.findLikeTimes(afterPostId, afterUserId, PageRequest.of(0, BUILD_BATCH));
+            for (Object[] row : rows) {
+                afterPostId = (Long) row[0];
+                afterUserId = (Long) row[1];
+                LocalDateTime likedAt = row[2] != null ? (LocalDateTime) row[2] : EPOCH;
+                if (fresh.contains(afterPostId)) {
+                    fresh.put(afterPostId, null, logAdd(fresh.scoreOf(afterPostId), logWeight(LIKE_WEIGHT, likedAt)));
+                }
+            }
+        } while (rows.size() == BUILD_BATCH);
+
+        afterId = 0;
+        do {
+            rows = blogCommentRepository.findCommentTimes(afterId, PageRequest.of(0, BUILD_BATCH));
+            for (Object[] row : rows) {
+                afterId = (Long) row[0];
+                long postId = (Long) row[1];
+                LocalDateTime createdAt = row[2] != null ? (LocalDateTime) row[2] : EPOCH;
+                if (fresh.contains(postId)) {
+                    fresh.put(postId, null, logAdd(fresh.scoreOf(postId), logWeight(COMMENT_WEIGHT, createdAt)));
+                }
+            }
+        } while (rows.size() == BUILD_BATCH);
+
+        return fresh;
+    }
+
+    // -------------------- EVENTS --------------------
+
+    // Each event is applied once the caller's transaction commits
+
+    public void postCreated(Long postId, LocalDateTime createdAt) {
+        double logScore = logWeight(POST_WEIGHT, createdAt != null ? createdAt : clock.get());
+        afterCommit(() -> index.put(postId, null, logScore));
+    }
+
+    /** delta +1 for a like, -1 for an unlike, dated at the time the like was made. */
+    public void liked(Long postId, LocalDateTime postCreatedAt, LocalDateTime likedAt, int delta) {
+        LocalDateTime postAt = postCreatedAt != null ? postCreatedAt : EPOCH;
+        record(postId, delta * LIKE_WEIGHT, likedAt != null ? likedAt : postAt, postAt);
+    }
+
+    /** delta +1 for a new comment, -1 for a deleted one, dated at the comment's creation. */
+    public void commented(Long postId, LocalDateTime postCreatedAt, LocalDateTime commentedAt, int delta) {
+        record(postId, delta * COMMENT_WEIGHT, commentedAt != null ? commentedAt : clock.get(),
+                postCreatedAt != null ? postCreatedAt : EPOCH);
+    }
+
+    public void postDeleted(Long postId) {
+        afterCommit(() -> index.remove(postId));
+    }
+
+    // -------------------- READ --------------------
+
+    /** Post ids at hot ranks [offset, offset + limit). */
+    public List<Long> top(int offset, int limit) {
+        List<Long> ids = new ArrayList<>(limit);
+        index.forEachTop(offset + limit, (rank, postId, name, score) -> {
+            if (rank > offset) {
+                ids.add(postId);
+            }
+        });
+        return ids;
+    }
+
+    /** Current decayed score of a post (likes-equivalent), 0 if it is not ranked. */
+    public double score(Long postId) {
+        LeaderboardIndex current = index;
+        if (!current.contains(postId)) {
+            return 0.0;
+        }
+        return Math.exp(current.scoreOf(postId) - exponent(clock.get()));
+    }
+
+    public int size() {
+        return index.size();
+    }
+
+    // -------------------- INTERNALS --------------------
+
+    private void record(Long postId, double weight, LocalDateTime at, LocalDateTime postAt) {
+        if (weight == 0) {
+            return;
+        }
+        afterCommit(() -> apply(postId, weight, at, postAt));
+    }
+
+    private void apply(Long postId, double weight, LocalDateTime at, LocalDateTime postAt) {
+        LeaderboardIndex current = index;
+        synchronized (current) { // read-modify-write of one post's log-score
+            if (!current.contains(postId)) {
+                return; // deleted meanwhile
+            }
+            double logScore = current.scoreOf(postId);
+            double logDelta = logWeight(Math.abs(weight), at);
+            if (weight > 0) {
+                current.put(postId, null, logAdd(logScore, logDelta));
+            } else {
+                // Never below the post's own creation weight, which no event takes away
+                // (only rounding, or a rebuild that missed the event, gets there)
+                current.put(postId, null, logSubtractAtLeast(logScore, logDelta, logWeight(POST_WEIGHT, postAt)));
+            }
+        }
+    }
+
+    // ln(weight * 2^((at - EPOCH) / halfLife))
+    private double logWeight(double weight, LocalDateTime at) {
+        return Math.log(weight) + exponent(at);
+    }
+
+    private double exponent(LocalDateTime at) {
+        double hours = Duration.between(EPOCH, at).toMillis() / 3_600_000.0;
+        return hours / halfLifeHours * Math.log(2);
+    }
+
+    // ln(e^a + e^b) without overflow
+    static double logAdd(double a, double b) {
+        double max = Math.max(a, b);
+        return max + Math.log1p(Math.exp(Math.min(a, b) - max));
+    }
+
+    // ln(e^a - e^b), or floor when that is smaller (or undefined)
+    static double logSubtractAtLeast(double a, double b, double floor) {
+        if (b >= a) {
+            return floor;
+        }
+        return Math.max(floor, a + Math.log1p(-Math.exp(b - a)));
+    }
+
+    // The commit lock is held from just before the commit until the event is on the
+    // index, so a rebuild never reads the row and then gets the event too
+    private void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            commitLock.readLock().lock();
+            try {
+                action.run();
+            } finally {
+                commitLock.readLock().unlock();
+            }
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            private boolean locked;
+
+            @Override
+            public void beforeCommit(boolean readOnly) {
+                commitLock.readLock().lock();
+                locked = true;
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                if (!locked) {
+                    return; // rolled back before reaching the commit
+                }
+                try {
+                    if (status == STATUS_COMMITTED) {
+                        action.run();
+                    }
+                } finally {
+                    commitLock.readLock().unlock();
+                }
+            }
+        });
+    }
+}
@@ -0,0 +1,210 @@
+package com.wellnest.app.service;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Service;
+
+import javax.imageio.IIOException;
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Makes the ImageVariant copies of stored images with ImageIO on a small
+ * bounded pool, off the request threads. Each image is decoded once; MEDIUM
+ * is scaled from the original and THUMB from MEDIUM. Images already smaller
+ * than a variant are stored as they are. When the queue is full the work is
+ * dropped: GET /api/images/{hash}/{variant} serves the original meanwhile and
+ * asks for the variants again.
+ */
+@Service
+public class ImageResizer {
+
+    private static final Logger log = LoggerFactory.getLogger(ImageResizer.class);
+
+    // Refuse to decode larger images (a small PNG can declare a huge canvas)
+    static final long MAX_PIXELS = 40_000_000L;
+    private static final float JPEG_QUALITY = 0.85f;
+    private static final List<ImageVariant> LARGEST_FIRST = Stream.of(ImageVariant.values())
+            .sorted(Comparator.comparingInt(ImageVariant::maxSide).reversed()).toList();
+
+    private final ImageStore imageStore;
+    private final ThreadPoolExecutor executor;
+    private final Set<String> pending = ConcurrentHashMap.newKeySet();
+    // Images ImageIO cannot read (e.g. WebP, corrupt files), so they are not retried on every request
+    private final Set<String> unreadable = ConcurrentHashMap.newKeySet();
+
+    public ImageResizer(ImageStore imageStore,
+            @Value("${app.images.resize.threads:2}") int threads,
+            @Value("${app.images.resize.queue-size:100}") int queueSize) {
+        this.imageStore = imageStore;
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueSize), runnable -> {
+                    Thread thread = new Thread(runnable, "image-resizer");
+                    thread.setDaemon(true);
+                    return thread;
+                }, new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /** Queues the variants of an image just stored, reusing the bytes already in memory. */
+    public void submit(String hash, byte[] bytes) {
+        enqueue(hash, () -> bytes);
+    }
+
+    /** Queues the variants of an image already in the store (e.g. stored before variants existed). */
+    public void submitStored(String hash) {
+        enqueue(hash, () -> {
+            Optional<Resource> original = imageStore.get(hash);
+            if (original.isEmpty()) {
+                return null;
+            }
+            try (InputStream in = original.get().getInputStream()) {
+                return in.readAllBytes();
+            }
+        });
+    }
+
+    @FunctionalInterface
+    private interface Source {
+        byte[] read() throws IOException;
+    }
+
+    private void enqueue(String hash, Source source) {
+        if (unreadable.contains(hash) || !pending.add(hash)) {
+            return;
+        }
+        try {
+            executor.execute(() -> {
+                try {
+                    byte[] bytes = source.read();
+                    if (bytes != null) {
+                        createVariants(hash, bytes);
+                    }
+                } catch (IOException | RuntimeException e) {
+                    log.warn("Image variants for {} failed: {}", hash, e.getMessage());
+                } finally {
+                    pending.remove(hash);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            pending.remove(hash); // queue full; requested again on the next miss
+        }
+    }
+
+    /** Decodes the image and stores every variant. Runs on the caller's thread. */
+    public void createVariants(String hash, byte[] bytes) throws IOException {
+        BufferedImage original = decode(bytes);
+        if (original == null) {
+            unreadable.add(hash);
+            return;
+        }
+        boolean alpha = original.getColorModel().hasAlpha();
+        BufferedImage current = original;
+        for (ImageVariant variant : LARGEST_FIRST) {
+            BufferedImage scaled = scale(current, variant.maxSide(), alpha);
+            imageStore.putVariant(hash, variant, scaled == original ? bytes : encode(scaled, alpha));
+            current = scaled;
+        }
+    }
+
+    // -------------------- IMAGE IO --------------------
+
+    private static BufferedImage decode(byte[] bytes) throws IOException {
+        try (ImageInputStream in = ImageIO.createImageInputStream(new ByteArrayInputStream(bytes))) {
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(in);
+            if (!readers.hasNext()) {
+                return null;
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(in, true, true);
+                long pixels = (long) reader.getWidth(0) * reader.getHeight(0);
+                if (pixels > MAX_PIXELS) {
+                    throw new IOException("Image has " + pixels + " pixels, more than " + MAX_PIXELS);
+                }
+                return reader.read(0);
+            } catch (IIOException e) {
+                return null; // corrupt or truncated
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    // Scales so the longer side is at most maxSide, halving first for a smoother
+    // result than one bilinear step; returns the image itself when it already fits
+    static BufferedImage scale(BufferedImage image, int maxSide, boolean alpha) {
+        int width = image.getWidth();
+        int height = image.getHeight();
+        if (Math.max(width, height) <= maxSide) {
+            return image;
+        }
+        double factor = (double) maxSide / Math.max(width, height);
+        int targetWidth = Math.max(1, (int) Math.round(width * factor));
+        int targetHeight = Math.max(1, (int) Math.round(height * factor));
+        BufferedImage current = image;
+        do {
+            width = Math.max(targetWidth, width / 2);
+            height = Math.max(targetHeight, height / 2);
+            BufferedImage next = new BufferedImage(width, height,
+                    alpha ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB);
+            Graphics2D g = next.createGraphics();
+            g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            g.drawImage(current, 0, 0, width, height, null);
+            g.dispose();
+            current = next;
+        } while (width != targetWidth || height != targetHeight);
+        return current;
+    }
+
+    // PNG keeps transparency; everything else becomes a JPEG
+    private static byte[] encode(BufferedImage image, boolean alpha) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        if (alpha) {
+            ImageIO.write(image, "png", out);
+            return out.toByteArray();
+        }
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        try (ImageOutputStream ios = ImageIO.createImageOutputStream(out)) {
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality(JPEG_QUALITY);
+            writer.setOutput(ios);
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,150 @@
+package com.wellnest.app.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.util.Base64;
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * Turns inline base64 images into ImageStore entries. Posts and trainers keep
+ * only the image URL (/api/images/{hash}, or an external link as before), so
+ * list responses no longer carry the image payload.
+ */
+@Service
+public class ImageService {
+
+    public static final String URL_PREFIX = "/api/images/";
+    public static final int MAX_IMAGE_BYTES = 10 * 1024 * 1024;
+    // Width of blog_posts.image and trainers.image
+    public static final int MAX_URL_LENGTH = 512;
+
+    private static final Logger log = LoggerFactory.getLogger(ImageService.class);
+
+    private static final Pattern HASH = Pattern.compile("[0-9a-f]{64}");
+
+    private final ImageStore imageStore;
+    private final ImageResizer imageResizer;
+    private final JdbcTemplate jdbcTemplate;
+
+    public ImageService(ImageStore imageStore, ImageResizer imageResizer, JdbcTemplate jdbcTemplate) {
+        this.imageStore = imageStore;
+        this.imageResizer = imageResizer;
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * The value to keep in an image column: a data URI is stored, its variants
+     * are queued and it is replaced by its URL; anything else (null, a link) is
+     * returned unchanged as long as it fits the column.
+     */
+    public String toImageUrl(String image) {
+        if (image == null) {
+            return null;
+        }
+        if (!image.startsWith("data:")) {
+            if (image.length() > MAX_URL_LENGTH) {
+                throw new IllegalArgumentException("Image link is longer than " + MAX_URL_LENGTH + " characters");
+            }
+            return image;
+        }
+        int comma = image.indexOf(',');
+        if (comma < 0 || !image.substring(0, comma).endsWith(";base64")) {
+            throw new IllegalArgumentException("Image must be a base64 data URI or a link");
+        }
+        byte[] bytes;
+        try {
+            bytes = Base64.getMimeDecoder().decode(image.substring(comma + 1));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid image data");
+        }
+        if (bytes.length > MAX_IMAGE_BYTES) {
+            throw new IllegalArgumentException("Image is larger than 10MB");
+        }
+        if (contentType(bytes) == null) {
+            throw new IllegalArgumentException("Unsupported image type (use PNG, JPEG, GIF or WebP)");
+        }
+        String hash = imageStore.put(bytes);
+        imageResizer.submit(hash, bytes);
+        return URL_PREFIX + hash;
+    }
+
+    /**
+     * URL of a smaller copy for list views: /api/images/{hash}/thumb for stored
+     * images; external links and null are returned unchanged.
+     */
+    public static String variantUrl(String imageUrl, ImageVariant variant) {
+        if (imageUrl == null || !imageUrl.startsWith(URL_PREFIX)
+                || !isHash(imageUrl.substring(URL_PREFIX.length()))) {
+            return imageUrl;
+        }
+        return imageUrl + "/" + variant.key();
+    }
+
+    // -------------------- MIGRATION --------------------
+
+    /**
+     * Moves the data URIs still in blog_posts.image and trainers.image into the
+     * store, one row at a time so only one image is in memory. Rows that do not
+     * hold a usable image are left as they are. Returns the rows updated.
+     */
+    public int migrateInlineImages() {
+        return migrate("blog_posts") + migrate("trainers");
+    }
+
+    private int migrate(String table) {
+        List<Long> ids = jdbcTemplate.queryForList("SELECT id FROM " + table + " WHERE image LIKE 'data:%'",
+                Long.class);
+        int migrated = 0;
+        for (Long id : ids) {
+            String image = jdbcTemplate.queryForObject("SELECT image FROM " + table + " WHERE id = ?",
+                    String.class, id);
+            try {
+                jdbcTemplate.update("UPDATE " + table + " SET image = ? WHERE id = ?", toImageUrl(image), id);
+                migrated++;
+            } catch (IllegalArgumentException e) {
+                log.warn("Image of {} {} not migrated: {}", table, id, e.getMessage());
+            }
+        }
+        return migrated;
+    }
+
+    // -------------------- FORMAT --------------------
+
+    public static boolean isHash(String value) {
+        return value != null && HASH.matcher(value).matches();
+    }
+
+    /** Content type from the file signature, or null when it is not a supported image. */
+    public static String contentType(byte[] head) {
+        if (startsWith(head, 0x89, 'P', 'N', 'G')) {
+            return "image/png";
+        }
+        if (startsWith(head, 0xFF, 0xD8, 0xFF)) {
+            return "image/jpeg";
+        }
+        if (startsWith(head, 'G', 'I', 'F', '8')) {
+            return "image/gif";
+        }
+        if (startsWith(head, 'R', 'I', 'F', 'F') && head.length >= 12
+                && head[8] == 'W' && head[9] == 'E' && head[10] == 'B' && head[11] == 'P') {
+            return "image/webp";
+        }
+        return null; // SVG and the rest are refused: they could carry scripts
+    }
+
+    private static boolean startsWith(byte[] bytes, int... signature) {
+        if (bytes.length < signature.length) {
+            return false;
+        }
+        for (int i = 0; i < signature.length; i++) {
+            if ((bytes[i] & 0xFF) != signature[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
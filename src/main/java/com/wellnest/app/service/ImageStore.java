@@ -0,0 +1,27 @@
+package com.wellnest.app.service;
+
+import org.springframework.core.io.Resource;
+
+import java.util.Optional;
+
+/**
+ * Content-addressed image storage: an image is stored under the hex SHA-256
+ * of its bytes, so a key never changes meaning and storing the same image
+ * twice keeps one copy. LocalImageStore keeps them on disk; another backend
+ * (object storage) only has to implement these methods. Variants (resized
+ * copies) are kept next to their original under the original's hash.
+ */
+public interface ImageStore {
+
+    /** Stores the bytes and returns their SHA-256 hex digest. */
+    String put(byte[] bytes);
+
+    /** The stored image, or empty when nothing was stored under this hash. */
+    Optional<Resource> get(String hash);
+
+    /** Stores a variant of the image stored under hash, replacing any earlier one. */
+    void putVariant(String hash, ImageVariant variant, byte[] bytes);
+
+    /** The variant, or empty when it has not been made (yet). */
+    Optional<Resource> getVariant(String hash, ImageVariant variant);
+}
@@ -0,0 +1,35 @@
+package com.wellnest.app.service;
+
+/**
+ * Downscaled copies made of every stored image, bounded by the longer side.
+ * THUMB is for avatars (80px at 2x), MEDIUM for blog cards in lists.
+ */
+public enum ImageVariant {
+    THUMB(160),
+    MEDIUM(640);
+
+    private final int maxSide;
+
+    ImageVariant(int maxSide) {
+        this.maxSide = maxSide;
+    }
+
+    public int maxSide() {
+        return maxSide;
+    }
+
+    /** The path segment: /api/images/{hash}/thumb. */
+    public String key() {
+        return name().toLowerCase();
+    }
+
+    /** The variant for a path segment, or null when there is none. */
+    public static ImageVariant fromKey(String key) {
+        for (ImageVariant variant : values()) {
+            if (variant.key().equals(key)) {
+                return variant;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,231 @@
+package com.wellnest.app.service;
+
+import com.wellnest.app.dto.LeaderboardGroupRequest;
+import com.wellnest.app.dto.LeaderboardGroupResponse;
+import com.wellnest.app.dto.LeaderboardResponse;
+import com.wellnest.app.model.LeaderboardGroup;
+import com.wellnest.app.model.LeaderboardGroupMember;
+import com.wellnest.app.model.Trainer;
+import com.wellnest.app.repository.LeaderboardGroupMemberRepository;
+import com.wellnest.app.repository.LeaderboardGroupRepository;
+import com.wellnest.app.repository.TrainerClientRepository;
+import com.wellnest.app.repository.TrainerRepository;
+import com.wellnest.app.repository.UserRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Leaderboards scoped to a trainer's active clients or to user-defined groups.
+ * This service only resolves and authorizes the member ids; ranking is done by
+ * LeaderboardService against the shared per-user scores.
+ *
+ * Adding someone to a group only invites them: their scores are shown to the
+ * group once they accept, the same way a trainer sees a client only after
+ * accepting the connection.
+ */
+@Service
+public class LeaderboardGroupService {
+
+    private static final int MAX_GROUP_SIZE = 200;
+
+    private static final String PENDING = "PENDING";
+    private static final String ACTIVE = "ACTIVE";
+
+    private final LeaderboardService leaderboardService;
+    private final LeaderboardGroupRepository groupRepository;
+    private final LeaderboardGroupMemberRepository memberRepository;
+    private final TrainerRepository trainerRepository;
+    private final TrainerClientRepository trainerClientRepository;
+    private final UserRepository userRepository;
+    private final NotificationService notificationService;
+
+    public LeaderboardGroupService(LeaderboardService leaderboardService,
+            LeaderboardGroupRepository groupRepository,
+            LeaderboardGroupMemberRepository memberRepository,
+            TrainerRepository trainerRepository,
+            TrainerClientRepository trainerClientRepository,
+            UserRepository userRepository,
+            NotificationService notificationService) {
+        this.leaderboardService = leaderboardService;
+        this.groupRepository = groupRepository;
+        this.memberRepository = memberRepository;
+        this.trainerRepository = trainerRepository;
+        this.trainerClientRepository = trainerClientRepository;
+        this.userRepository = userRepository;
+        this.notificationService = notificationService;
+    }
+
+    // -------------------- TRAINER ROSTER --------------------
+
+    // Visible to the trainer and to their ACTIVE clients
+    public LeaderboardResponse getTrainerLeaderboard(Long trainerId, LeaderboardPeriod period, Long currentUserId) {
+        Trainer trainer = trainerRepository.findById(trainerId)
+                .orElseThrow(() -> new RuntimeException("Trainer not found"));
+
+        boolean isTrainer = trainer.getUser() != null && trainer.getUser().getId().equals(currentUserId);
+        if (!isTrainer && !trainerClientRepository.existsByTrainerIdAndClientIdAndStatus(trainerId, currentUserId,
+                "ACTIVE")) {
+            throw new RuntimeException("Not authorized to view this trainer's leaderboard");
+        }
+
+        List<Long> clientIds = trainerClientRepository.findActiveClientIds(trainerId);
+        return leaderboardService.getScopedLeaderboard(period, clientIds, currentUserId);
+    }
+
+    // Board for the trainer profile owned by the current user
+    public LeaderboardResponse getMyClientsLeaderboard(LeaderboardPeriod period, Long currentUserId) {
+        Trainer trainer = trainerRepository.findByUserId(currentUserId)
+                .orElseThrow(() -> new RuntimeException("Trainer profile not found for this user"));
+        return getTrainerLeaderboard(trainer.getId(), period, currentUserId);
+    }
+
+    // -------------------- USER GROUPS --------------------
+
+    public List<LeaderboardGroupResponse> getGroups(Long currentUserId) {
+        return toResponses(groupRepository.findVisibleToUser(currentUserId));
+    }
+
+    // Groups the user has been invited to; accept to join, remove yourself to decline
+    public List<LeaderboardGroupResponse> getInvites(Long currentUserId) {
+        return toResponses(groupRepository.findInvitesForUser(currentUserId));
+    }
+
+    // The creator is always a member of their own group; everyone else is invited
+    @Transactional
+    public LeaderboardGroupResponse createGroup(LeaderboardGroupRequest request, Long currentUserId) {
+        if (request.getName() == null || request.getName().isBlank()) {
+            throw new IllegalArgumentException("Group name is required");
+        }
+        Set<Long> memberIds = new LinkedHashSet<>();
+        memberIds.add(currentUserId);
+        if (request.getMemberIds() != null) {
+            memberIds.addAll(request.getMemberIds());
+        }
+        validateMembers(memberIds);
+
+        LeaderboardGroup group = groupRepository.save(new LeaderboardGroup(request.getName().trim(), currentUserId));
+        List<LeaderboardGroupMember> members = memberIds.stream()
+                .map(userId -> new LeaderboardGroupMember(group.getId(), userId,
+                        userId.equals(currentUserId) ? ACTIVE : PENDING))
+                .collect(Collectors.toList());
+        memberRepository.saveAll(members);
+        for (Long userId : memberIds) {
+            if (!userId.equals(currentUserId)) {
+                notifyInvited(group, userId);
+            }
+        }
+        return toResponse(group);
+    }
+
+    @Transactional
+    public LeaderboardGroupResponse addMember(Long groupId, Long userId, Long currentUserId) {
+        LeaderboardGroup group = getOwnedGroup(groupId, currentUserId);
+        if (!memberRepository.existsByGroupIdAndUserId(groupId, userId)) {
+            if (memberRepository.countByGroupId(groupId) >= MAX_GROUP_SIZE) {
+                throw new IllegalArgumentException("A group can have at most " + MAX_GROUP_SIZE + " members");
+            }
+            validateMembers(Set.of(userId));
+            memberRepository.save(new LeaderboardGroupMember(groupId, userId, PENDING));
+            notifyInvited(group, userId);
+        }
+        return toResponse(group);
+    }
+
+    @Transactional
+    public LeaderboardGroupResponse acceptInvite(Long groupId, Long currentUserId) {
+        LeaderboardGroupMember member = memberRepository.findByGroupIdAndUserId(groupId, currentUserId)
+                .orElseThrow(() -> new RuntimeException("Invitation not found"));
+        if (!ACTIVE.equals(member.getStatus())) {
+            member.setStatus(ACTIVE);
+            memberRepository.save(member);
+        }
+        return toResponse(groupRepository.findById(groupId)
+                .orElseThrow(() -> new RuntimeException("Group not found")));
+    }
+
+    // Owners remove anyone but themselves; members can remove themselves (leave or decline an invite)
+    @Transactional
+    public void removeMember(Long groupId, Long userId, Long currentUserId) {
+        LeaderboardGroup group = groupRepository.findById(groupId)
+                .orElseThrow(() -> new RuntimeException("Group not found"));
+        if (!group.getOwnerId().equals(currentUserId) && !userId.equals(currentUserId)) {
+            throw new RuntimeException("Not authorized to modify this group");
+        }
+        if (userId.equals(group.getOwnerId())) {
+            throw new IllegalArgumentException("The owner cannot leave their own group; delete the group instead");
+        }
+        memberRepository.deleteMember(groupId, userId);
+    }
+
+    @Transactional
+    public void deleteGroup(Long groupId, Long currentUserId) {
+        getOwnedGroup(groupId, currentUserId);
+        memberRepository.deleteAllByGroup(groupId);
+        groupRepository.deleteById(groupId);
+    }
+
+    // Visible to the owner and to members who accepted; ranks accepted members only
+    public LeaderboardResponse getGroupLeaderboard(Long groupId, LeaderboardPeriod period, Long currentUserId) {
+        LeaderboardGroup group = groupRepository.findById(groupId)
+                .orElseThrow(() -> new RuntimeException("Group not found"));
+        List<Long> memberIds = memberRepository.findActiveUserIds(groupId);
+        if (!group.getOwnerId().equals(currentUserId) && !memberIds.contains(currentUserId)) {
+            throw new RuntimeException("Not authorized to view this group");
+        }
+        return leaderboardService.getScopedLeaderboard(period, memberIds, currentUserId);
+    }
+
+    private LeaderboardGroup getOwnedGroup(Long groupId, Long currentUserId) {
+        LeaderboardGroup group = groupRepository.findById(groupId)
+                .orElseThrow(() -> new RuntimeException("Group not found"));
+        if (!group.getOwnerId().equals(currentUserId)) {
+            throw new RuntimeException("Not authorized to modify this group");
+        }
+        return group;
+    }
+
+    private void validateMembers(Set<Long> memberIds) {
+        if (memberIds.size() > MAX_GROUP_SIZE) {
+            throw new IllegalArgumentException("A group can have at most " + MAX_GROUP_SIZE + " members");
+        }
+        if (userRepository.countByIdIn(memberIds) != memberIds.size()) {
+            throw new IllegalArgumentException("One or more members do not exist");
+        }
+    }
+
+    private void notifyInvited(LeaderboardGroup group, Long userId) {
+        notificationService.createNotification(userId, "Leaderboard Invitation",
+                "You have been invited to the leaderboard group \"" + group.getName() + "\".", "INFO");
+    }
+
+    // One grouped count for the whole list instead of one per group
+    private List<LeaderboardGroupResponse> toResponses(List<LeaderboardGroup> groups) {
+        if (groups.isEmpty()) {
+            return new ArrayList<>();
+        }
+        Map<Long, Long> memberCounts = new HashMap<>();
+        for (Object[] row : memberRepository.countActiveByGroupIds(
+                groups.stream().map(LeaderboardGroup::getId).collect(Collectors.toList()))) {
+            memberCounts.put((Long) row[0], (Long) row[1]);
+        }
+        List<LeaderboardGroupResponse> result = new ArrayList<>(groups.size());
+        for (LeaderboardGroup group : groups) {
+            result.add(new LeaderboardGroupResponse(group.getId(), group.getName(), group.getOwnerId(),
+                    memberCounts.getOrDefault(group.getId(), 0L)));
+        }
+        return result;
+    }
+
+    private LeaderboardGroupResponse toResponse(LeaderboardGroup group) {
+        return new LeaderboardGroupResponse(group.getId(), group.getName(), group.getOwnerId(),
+                memberRepository.countByGroupIdAndStatus(group.getId(), ACTIVE));
+    }
+}
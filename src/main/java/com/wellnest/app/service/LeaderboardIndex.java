@@ -0,0 +1,380 @@
+package com.wellnest.app.service;
+
+import java.util.Arrays;
+
+/**
+ * In-memory order-statistic tree (treap) of user scores, ordered by score
+ * descending then user id ascending. Supports O(log n) score updates, rank
+ * lookups and top-k walks without boxing: nodes live in parallel primitive
+ * arrays and the user id lookup is an open-addressing long -> int table.
+ *
+ * HotPostRanking keeps blog posts in one too, keyed by post id.
+ *
+ * All public methods are synchronized; each call is short (logarithmic or
+ * bounded by k), so a single monitor is enough for leaderboard traffic.
+ */
+public class LeaderboardIndex {
+
+    /** Receives entries in rank order from {@link #forEachTop}. */
+    public interface EntryConsumer {
+        void accept(int rank, long userId, String name, double score);
+    }
+
+    private static final int NIL = 0;
+
+    private long[] keys;
+    private double[] scores;
+    private String[] names;
+    private int[] left;
+    private int[] right;
+    private int[] size;
+    private int[] priority;
+
+    private int root = NIL;
+    private int nextNode = 1; // slot 0 is the NIL sentinel
+    private int freeList = NIL;
+    private int seed = 0x2545F491;
+
+    private final LongIntMap nodeByUser = new LongIntMap();
+
+    // Split results (avoids allocating a pair per split)
+    private int splitLeft;
+    private int splitRight;
+
+    public LeaderboardIndex() {
+        allocate(64);
+    }
+
+    public synchronized int size() {
+        return size[root];
+    }
+
+    public synchronized void clear() {
+        allocate(64);
+        root = NIL;
+        nextNode = 1;
+        freeList = NIL;
+        nodeByUser.clear();
+    }
+
+    public synchronized boolean contains(long userId) {
+        return nodeByUser.get(userId) != NIL;
+    }
+
+    /** Current score, or 0 when the user is not indexed. */
+    public synchronized double scoreOf(long userId) {
+        int node = nodeByUser.get(userId);
+        return node == NIL ? 0.0 : scores[node];
+    }
+
+    public synchronized String nameOf(long userId) {
+        int node = nodeByUser.get(userId);
+        return node == NIL ? null : names[node];
+    }
+
+    public synchronized void setName(long userId, String name) {
+        int node = nodeByUser.get(userId);
+        if (node != NIL) {
+            names[node] = name;
+        }
+    }
+
+    /** Insert or replace a user's score. */
+    public synchronized void put(long userId, String name, double score) {
+        int node = nodeByUser.get(userId);
+        if (node != NIL) {
+            root = remove(root, node);
+            if (name != null) {
+                names[node] = name;
+            }
+        } else {
+            node = newNode(userId, name);
+            nodeByUser.put(userId, node);
+        }
+        scores[node] = score;
+        left[node] = NIL;
+        right[node] = NIL;
+        size[node] = 1;
+        root = insert(root, node);
+    }
+
+    /**
+     * Add delta to a user's score.
+     *
+     * @return false if the user is not indexed (nothing changed)
+     */
+    public synchronized boolean addScore(long userId, double delta) {
+        int node = nodeByUser.get(userId);
+        if (node == NIL) {
+            return false;
+        }
+        root = remove(root, node);
+        scores[node] += delta;
+        left[node] = NIL;
+        right[node] = NIL;
+        size[node] = 1;
+        root = insert(root, node);
+        return true;
+    }
+
+    public synchronized void remove(long userId) {
+        int node = nodeByUser.remove(userId);
+        if (node != NIL) {
+            root = remove(root, node);
+            names[node] = null;
+            left[node] = freeList;
+            freeList = node;
+        }
+    }
+
+    /** 1-based position in the board, or 0 when the user is not indexed. */
+    public synchronized int rankOf(long userId) {
+        int node = nodeByUser.get(userId);
+        if (node == NIL) {
+            return 0;
+        }
+        double s = scores[node];
+        int rank = 0;
+        int t = root;
+        while (t != NIL) {
+            if (t == node) {
+                return rank + size[left[t]] + 1;
+            }
+            if (precedes(t, s, userId)) {
+                rank += size[left[t]] + 1;
+                t = right[t];
+            } else {
+                t = left[t];
+            }
+        }
+        return 0;
+    }
+
+    /** In-order walk of the first k entries; O(log n + k). */
+    public synchronized void forEachTop(int k, EntryConsumer consumer) {
+        int[] stack = new int[64];
+        int depth = 0;
+        int t = root;
+        int rank = 0;
+        while ((t != NIL || depth > 0) && rank < k) {
+            while (t != NIL) {
+                if (depth == stack.length) {
+                    stack = Arrays.copyOf(stack, depth * 2);
+                }
+                stack[depth++] = t;
+                t = left[t];
+            }
+            t = stack[--depth];
+            consumer.accept(++rank, keys[t], names[t], scores[t]);
+            t = right[t];
+        }
+    }
+
+    // -------------------- TREAP INTERNALS --------------------
+
+    // True if node t is ordered strictly before (score, userId)
+    private boolean precedes(int t, double score, long userId) {
+        return scores[t] > score || (scores[t] == score && keys[t] < userId);
+    }
+
+    private void update(int t) {
+        size[t] = size[left[t]] + size[right[t]] + 1;
+    }
+
+    private int insert(int t, int node) {
+        split(t, scores[node], keys[node]);
+        return merge(merge(splitLeft, node), splitRight);
+    }
+
+    private int remove(int t, int node) {
+        if (t == node) {
+            return merge(left[t], right[t]);
+        }
+        if (precedes(t, scores[node], keys[node])) {
+            right[t] = remove(right[t], node);
+        } else {
+            left[t] = remove(left[t], node);
+        }
+        update(t);
+        return t;
+    }
+
+    // Splits t into nodes before (score, userId) and the rest
+    private void split(int t, double score, long userId) {
+        if (t == NIL) {
+            splitLeft = NIL;
+            splitRight = NIL;
+            return;
+        }
+        if (precedes(t, score, userId)) {
+            split(right[t], score, userId);
+            right[t] = splitLeft;
+            update(t);
+            splitLeft = t;
+        } else {
+            split(left[t], score, userId);
+            left[t] = splitRight;
+            update(t);
+            splitRight = t;
+        }
+    }
+
+    private int merge(int a, int b) {
+        if (a == NIL) {
+            return b;
+        }
+        if (b == NIL) {
+            return a;
+        }
+        if (priority[a] > priority[b]) {
+            right[a] = merge(right[a], b);
+            update(a);
+            return a;
+        }
+        left[b] = merge(a, left[b]);
+        update(b);
+        return b;
+    }
+
+    private int newNode(long userId, String name) {
+        int node;
+        if (freeList != NIL) {
+            node = freeList;
+            freeList = left[node];
+        } else {
+            if (nextNode == keys.length) {
+                grow(keys.length * 2);
+            }
+            node = nextNode++;
+        }
+        keys[node] = userId;
+        names[node] = name;
+        priority[node] = nextPriority();
+        return node;
+    }
+
+    private int nextPriority() {
+        // xorshift32; quality is plenty for treap balancing
+        seed ^= seed << 13;
+        seed ^= seed >>> 17;
+        seed ^= seed << 5;
+        return seed;
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        scores = new double[capacity];
+        names = new String[capacity];
+        left = new int[capacity];
+        right = new int[capacity];
+        size = new int[capacity];
+        priority = new int[capacity];
+    }
+
+    private void grow(int capacity) {
+        keys = Arrays.copyOf(keys, capacity);
+        scores = Arrays.copyOf(scores, capacity);
+        names = Arrays.copyOf(names, capacity);
+        left = Arrays.copyOf(left, capacity);
+        right = Arrays.copyOf(right, capacity);
+        size = Arrays.copyOf(size, capacity);
+        priority = Arrays.copyOf(priority, capacity);
+    }
+
+    /**
+     * Open-addressing long -> int map with linear probing and backward-shift
+     * deletion. Returns 0 (NIL) for missing keys.
+     */
+    private static final class LongIntMap {
+        private static final long EMPTY = Long.MIN_VALUE;
+
+        private long[] keys;
+        private int[] values;
+        private int count;
+
+        LongIntMap() {
+            clear();
+        }
+
+        void clear() {
+            keys = new long[128];
+            Arrays.fill(keys, EMPTY);
+            values = new int[128];
+            count = 0;
+        }
+
+        int get(long key) {
+            int mask = keys.length - 1;
+            for (int i = slot(key, mask); keys[i] != EMPTY; i = (i + 1) & mask) {
+                if (keys[i] == key) {
+                    return values[i];
+                }
+            }
+            return NIL;
+        }
+
+        void put(long key, int value) {
+            if ((count + 1) * 2 > keys.length) {
+                rehash(keys.length * 2);
+            }
+            int mask = keys.length - 1;
+            int i = slot(key, mask);
+            while (keys[i] != EMPTY) {
+                if (keys[i] == key) {
+                    values[i] = value;
+                    return;
+                }
+                i = (i + 1) & mask;
+            }
+            keys[i] = key;
+            values[i] = value;
+            count++;
+        }
+
+        int remove(long key) {
+            int mask = keys.length - 1;
+            int i = slot(key, mask);
+            while (keys[i] != EMPTY) {
+                if (keys[i] == key) {
+                    int removed = values[i];
+                    // Shift following entries back so probe chains stay intact
+                    int gap = i;
+                    int j = (i + 1) & mask;
+                    while (keys[j] != EMPTY) {
+                        int home = slot(keys[j], mask);
+                        if (((j - home) & mask) >= ((j - gap) & mask)) {
+                            keys[gap] = keys[j];
+                            values[gap] = values[j];
+                            gap = j;
+                        }
+                        j = (j + 1) & mask;
+                    }
+                    keys[gap] = EMPTY;
+                    count--;
+                    return removed;
+                }
+                i = (i + 1) & mask;
+            }
+            return NIL;
+        }
+
+        private void rehash(int capacity) {
+            long[] oldKeys = keys;
+            int[] oldValues = values;
+            keys = new long[capacity];
+            Arrays.fill(keys, EMPTY);
+            values = new int[capacity];
+            count = 0;
+            for (int i = 0; i < oldKeys.length; i++) {
+                if (oldKeys[i] != EMPTY) {
+                    put(oldKeys[i], oldValues[i]);
+                }
+            }
+        }
+
+        private static int slot(long key, int mask) {
+            long h = key * 0x9E3779B97F4A7C15L;
+            return (int) (h ^ (h >>> 32)) & mask;
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.wellnest.app.service;
+
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+
+/**
+ * Leaderboard windows. Each maps "today" to an inclusive [start, end] range of
+ * daily score buckets.
+ */
+public enum LeaderboardPeriod {
+    DAILY,
+    WEEKLY, // ISO week, Monday to Sunday
+    MONTHLY,
+    ROLLING_7_DAYS, // today and the six days before it
+    ALL_TIME;
+
+    private static final LocalDate ALL_TIME_START = LocalDate.EPOCH;
+    private static final LocalDate ALL_TIME_END = LocalDate.of(9999, 12, 31);
+
+    public LocalDate windowStart(LocalDate today) {
+        switch (this) {
+            case DAILY:
+                return today;
+            case WEEKLY:
+                return LeaderboardService.weekStartOf(today);
+            case MONTHLY:
+                return today.withDayOfMonth(1);
+            case ROLLING_7_DAYS:
+                return today.minusDays(6);
+            default:
+                return ALL_TIME_START;
+        }
+    }
+
+    public LocalDate windowEnd(LocalDate today) {
+        switch (this) {
+            case DAILY:
+            case ROLLING_7_DAYS:
+                return today;
+            case WEEKLY:
+                return LeaderboardService.weekStartOf(today).plusDays(6);
+            case MONTHLY:
+                return today.with(TemporalAdjusters.lastDayOfMonth());
+            default:
+                return ALL_TIME_END;
+        }
+    }
+
+    /**
+     * Parse the "period" request parameter, e.g. "weekly", "all-time" or
+     * "rolling-7-days" (case and separator insensitive).
+     */
+    public static LeaderboardPeriod fromParam(String value) {
+        if (value == null || value.isBlank()) {
+            return WEEKLY;
+        }
+        String normalized = value.trim().replace('-', '_').toUpperCase();
+        if ("ROLLING".equals(normalized) || "ROLLING_7".equals(normalized)) {
+            return ROLLING_7_DAYS;
+        }
+        try {
+            return LeaderboardPeriod.valueOf(normalized);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown leaderboard period: " + value);
+        }
+    }
+}
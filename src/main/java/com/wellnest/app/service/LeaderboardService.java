@@ -4,129 +4,366 @@ import com.wellnest.app.dto.LeaderboardEntry;
 import com.wellnest.app.dto.LeaderboardResponse;
 import com.wellnest.app.model.*;
 import com.wellnest.app.repository.*;
+import jakarta.annotation.PostConstruct;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.time.DayOfWeek;
 import java.time.LocalDate;
-import java.time.LocalDateTime;
-import java.time.LocalTime;
 import java.time.temporal.TemporalAdjusters;
 import java.util.*;
-import java.util.function.Function;
-import java.util.stream.Collectors;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
 
 @Service
 public class LeaderboardService {
 
-    private final WorkoutRepository workoutRepository;
-    private final MealRepository mealRepository;
-    private final WaterIntakeRepository waterIntakeRepository;
-    private final SleepLogRepository sleepLogRepository;
+    private static final int TOP_N = 10;
+
     private final UserRepository userRepository;
+    private final LeaderboardDailyScoreRepository dailyScoreRepository;
+
+    private final Map<LeaderboardPeriod, Board> boards = new EnumMap<>(LeaderboardPeriod.class);
+
+    // Shared by score writes from commit until their delta is on the boards, exclusive
+    // while a board reloads from the database sums
+    private final ReentrantReadWriteLock commitLock = new ReentrantReadWriteLock();
 
-    public LeaderboardService(WorkoutRepository workoutRepository,
-            MealRepository mealRepository,
-            WaterIntakeRepository waterIntakeRepository,
-            SleepLogRepository sleepLogRepository,
-            UserRepository userRepository) {
-        this.workoutRepository = workoutRepository;
-        this.mealRepository = mealRepository;
-        this.waterIntakeRepository = waterIntakeRepository;
-        this.sleepLogRepository = sleepLogRepository;
+    public LeaderboardService(UserRepository userRepository,
+            LeaderboardDailyScoreRepository dailyScoreRepository) {
         this.userRepository = userRepository;
+        this.dailyScoreRepository = dailyScoreRepository;
+        for (LeaderboardPeriod period : LeaderboardPeriod.values()) {
+            boards.put(period, new Board());
+        }
     }
 
-    public LeaderboardResponse getWeeklyLeaderboard(Long currentUserId) {
-        // 1. Determine Date Range (Monday to Sunday)
-        LocalDate today = LocalDate.now();
-        LocalDate startOfWeek = today.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
-        LocalDate endOfWeek = today.with(TemporalAdjusters.nextOrSame(DayOfWeek.SUNDAY));
+    /**
+     * In-memory ranking for one period, valid for the window [from, to]. Rebuilt
+     * from the daily buckets when "today" moves to a new window.
+     */
+    private static final class Board {
+        final LeaderboardIndex index = new LeaderboardIndex();
+        volatile LocalDate from;
+        volatile LocalDate to;
+
+        boolean covers(LocalDate date) {
+            LocalDate f = from;
+            LocalDate t = to;
+            return f != null && !date.isBefore(f) && !date.isAfter(t);
+        }
+    }
+
+    // -------------------- SCORING --------------------
+
+    private static final double POINTS_PER_WORKOUT_MINUTE = 1.0;
+    private static final double POINTS_PER_MEAL = 10.0;
+    private static final double POINTS_PER_WATER_LITER = 20.0;
+    private static final double POINTS_PER_SLEEP_HOUR = 10.0;
+
+    // Score: 1 pt per minute of workout
+    public static double pointsFor(Workout w) {
+        return (w.getDurationMinutes() != null) ? w.getDurationMinutes() * POINTS_PER_WORKOUT_MINUTE : 0.0;
+    }
+
+    // Score: 10 pts per meal logged
+    public static double pointsFor(Meal m) {
+        return POINTS_PER_MEAL;
+    }
+
+    // Score: 20 pts per Liter of water
+    public static double pointsFor(WaterIntake w) {
+        return (w.getLiters() != null) ? w.getLiters() * POINTS_PER_WATER_LITER : 0.0;
+    }
+
+    // Score: 10 pts per hour of sleep
+    public static double pointsFor(SleepLog s) {
+        return (s.getHours() != null) ? s.getHours() * POINTS_PER_SLEEP_HOUR : 0.0;
+    }
+
+    public static LocalDate weekStartOf(LocalDate date) {
+        return date.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+    }
+
+    /**
+     * Apply a score delta (negative on delete) to the user's bucket for
+     * activityDate. Must run inside the caller's transaction so the score stays
+     * consistent with the activity row.
+     */
+    @Transactional
+    public void recordActivity(Long userId, LocalDate activityDate, double points) {
+        if (userId == null || activityDate == null || points == 0.0) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            commitLock.readLock().lock();
+            try {
+                dailyScoreRepository.addToScore(userId, activityDate, points);
+                applyToBoards(userId, activityDate, points);
+            } finally {
+                commitLock.readLock().unlock();
+            }
+            return;
+        }
+        dailyScoreRepository.addToScore(userId, activityDate, points);
+
+        // Mirror the delta into the in-memory boards only once the row is committed. The
+        // commit lock is held from just before the commit until the delta is applied, so
+        // a board reload never sees the row in the database and then gets the delta too
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            private boolean locked;
+
+            @Override
+            public void beforeCommit(boolean readOnly) {
+                commitLock.readLock().lock();
+                locked = true;
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                if (!locked) {
+                    return; // rolled back before reaching the commit
+                }
+                try {
+                    if (status == STATUS_COMMITTED) {
+                        applyToBoards(userId, activityDate, points);
+                    }
+                } finally {
+                    commitLock.readLock().unlock();
+                }
+            }
+        });
+    }
 
-        LocalDateTime start = startOfWeek.atStartOfDay();
-        LocalDateTime end = endOfWeek.atTime(LocalTime.MAX);
+    private void applyToBoards(Long userId, LocalDate activityDate, double points) {
+        for (Board board : boards.values()) {
+            synchronized (board) {
+                if (!board.covers(activityDate)) {
+                    continue; // outside this window; the persisted bucket is enough
+                }
+                if (!board.index.addScore(userId, points)) {
+                    // First activity of a user registered after the board was built; the
+                    // name is resolved on the next read
+                    board.index.put(userId, null, points);
+                }
+            }
+        }
+    }
 
-        // 2. Fetch all activities for the week
-        List<Workout> workouts = workoutRepository.findByPerformedAtBetween(start, end);
-        List<Meal> meals = mealRepository.findByLoggedAtBetween(start, end);
-        List<WaterIntake> waterIntakes = waterIntakeRepository.findByLoggedAtBetween(start, end);
-        List<SleepLog> sleepLogs = sleepLogRepository.findBySleepDateBetween(startOfWeek, endOfWeek);
+    // -------------------- BACKFILL --------------------
 
-        // 3. Initialize Scores for ALL users to 0.0
-        Map<Long, Double> userScores = new HashMap<>();
-        List<User> allUsers = userRepository.findAll();
-        for (User user : allUsers) {
-            userScores.put(user.getId(), 0.0);
+    // Seed the daily buckets from raw activity when the table is empty (first
+    // deploy), then load every in-memory board
+    @PostConstruct
+    public void initializeBoards() {
+        if (dailyScoreRepository.count() == 0) {
+            insertScoresFromActivity();
+        }
+        LocalDate today = LocalDate.now();
+        for (LeaderboardPeriod period : LeaderboardPeriod.values()) {
+            currentBoard(period, today);
+        }
+    }
+
+    // Recompute every bucket and reload the boards after activity was written
+    // without recordActivity (bulk loads such as DatasetSeeder). The boards are
+    // reloaded once the new buckets are committed, outside this transaction's locks.
+    @Transactional
+    public void rebuildAll() {
+        dailyScoreRepository.deleteAllInBatch();
+        insertScoresFromActivity();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    reloadBoards();
+                }
+            });
+        } else {
+            reloadBoards();
         }
+    }
 
-        // 4. Aggregate Scores per User (Addition to base 0.0)
-        // Score: 1 pt per minute of workout
-        for (Workout w : workouts) {
-            double points = (w.getDurationMinutes() != null) ? w.getDurationMinutes().doubleValue() : 0.0;
-            userScores.merge(w.getUserId(), points, (a, b) -> (a != null ? a : 0.0) + (b != null ? b : 0.0));
+    private void reloadBoards() {
+        LocalDate today = LocalDate.now();
+        for (LeaderboardPeriod period : LeaderboardPeriod.values()) {
+            Board board = boards.get(period);
+            synchronized (board) {
+                board.from = null;
+            }
+            currentBoard(period, today);
         }
+    }
+
+    // One INSERT ... SELECT in the database; no activity row or bucket entity is
+    // loaded, so the cost does not grow the persistence context
+    private void insertScoresFromActivity() {
+        dailyScoreRepository.insertScoresFromActivity(POINTS_PER_WORKOUT_MINUTE, POINTS_PER_MEAL,
+                POINTS_PER_WATER_LITER, POINTS_PER_SLEEP_HOUR);
+    }
 
-        // Score: 10 pts per meal logged
-        for (Meal m : meals) {
-            userScores.merge(m.getUserId(), 10.0, (a, b) -> (a != null ? a : 0.0) + (b != null ? b : 0.0));
+    // Returns the board for period, rebuilding it first if today falls in a new window
+    private Board currentBoard(LeaderboardPeriod period, LocalDate today) {
+        Board board = boards.get(period);
+        LocalDate from = period.windowStart(today);
+        if (!from.equals(board.from)) {
+            rebuild(board, from, period.windowEnd(today));
         }
+        return board;
+    }
 
-        // Score: 20 pts per Liter of water
-        for (WaterIntake w : waterIntakes) {
-            double liters = (w.getLiters() != null) ? w.getLiters() : 0.0;
-            userScores.merge(w.getUserId(), liters * 20.0, (a, b) -> (a != null ? a : 0.0) + (b != null ? b : 0.0));
+    // Every user starts at 0 so zero-activity users are still ranked, then the
+    // window's bucket sums are overlaid. Cost depends on users, not on activity rows.
+    // With the commit lock held exclusively, each score write either reached the
+    // boards before the clear or commits after the sums are read.
+    private void rebuild(Board board, LocalDate from, LocalDate to) {
+        commitLock.writeLock().lock();
+        try {
+            rebuildLocked(board, from, to);
+        } finally {
+            commitLock.writeLock().unlock();
         }
+    }
 
-        // Score: 10 pts per hour of sleep
-        for (SleepLog s : sleepLogs) {
-            double hours = (s.getHours() != null) ? s.getHours() : 0.0;
-            userScores.merge(s.getUserId(), hours * 10.0, (a, b) -> (a != null ? a : 0.0) + (b != null ? b : 0.0));
+    private void rebuildLocked(Board board, LocalDate from, LocalDate to) {
+        synchronized (board) {
+            if (from.equals(board.from)) {
+                return;
+            }
+            board.index.clear();
+            for (Object[] row : userRepository.findAllIdAndName()) {
+                board.index.put(((Number) row[0]).longValue(), (String) row[1], 0.0);
+            }
+            for (Object[] row : dailyScoreRepository.sumScoresByUserBetween(from, to)) {
+                long userId = ((Number) row[0]).longValue();
+                double score = ((Number) row[1]).doubleValue();
+                if (!board.index.addScore(userId, score)) {
+                    board.index.put(userId, null, score);
+                }
+            }
+            board.to = to;
+            board.from = from;
         }
+    }
 
-        // Ensure current user is in the map (redundant now but safe)
-        userScores.putIfAbsent(currentUserId, 0.0);
+    // -------------------- READ --------------------
 
-        // 4. Sort All Entries
-        List<Map.Entry<Long, Double>> sortedEntries = userScores.entrySet().stream()
-                .sorted(Map.Entry.<Long, Double>comparingByValue().reversed())
-                .collect(Collectors.toList());
+    public LeaderboardResponse getWeeklyLeaderboard(Long currentUserId) {
+        return getLeaderboard(LeaderboardPeriod.WEEKLY, currentUserId);
+    }
 
-        // 5. Identify Users to Fetch (Top 10 + Current User)
-        Set<Long> usersToFetch = new HashSet<>();
-        usersToFetch.add(currentUserId);
-        sortedEntries.stream().limit(10).forEach(e -> usersToFetch.add(e.getKey()));
+    /**
+     * Top 10 plus the caller's entry for the given period. Served from the
+     * in-memory board, so the cost does not depend on the window length.
+     */
+    public LeaderboardResponse getLeaderboard(LeaderboardPeriod period, Long currentUserId) {
+        Board board = currentBoard(period, LocalDate.now());
 
-        Map<Long, User> userMap = userRepository.findAllById(usersToFetch).stream()
-                .collect(Collectors.toMap(User::getId, Function.identity()));
+        // Users registered since the last rebuild join the board at 0
+        String joiningName = null;
+        if (!board.index.contains(currentUserId)) {
+            joiningName = userRepository.findById(currentUserId).map(User::getName).orElse(null);
+        }
 
-        // 6. Build Entries
         List<LeaderboardEntry> top10 = new ArrayList<>();
-        LeaderboardEntry currentUserEntry = null;
+        Map<Long, LeaderboardEntry> unnamed = new HashMap<>();
+        LeaderboardEntry currentUserEntry;
 
-        int rank = 1;
-        for (Map.Entry<Long, Double> entry : sortedEntries) {
-            Long userId = entry.getKey();
-            Double score = entry.getValue();
-
-            // Check if this user needs to be in our response
-            boolean isTop10 = rank <= 10;
-            boolean isCurrentUser = userId.equals(currentUserId);
+        // The top 10 and the caller's rank must come from the same state of the board;
+        // score updates and rebuilds hold this monitor too
+        synchronized (board) {
+            LeaderboardIndex index = board.index;
+            if (!index.contains(currentUserId)) {
+                index.put(currentUserId, joiningName, 0.0);
+            }
 
-            if (isTop10 || isCurrentUser) {
-                User user = userMap.get(userId);
-                String name = (user != null) ? user.getName() : "Unknown User";
+            index.forEachTop(TOP_N, (rank, userId, name, score) -> {
                 LeaderboardEntry dto = new LeaderboardEntry(name, score);
                 dto.setRank(rank);
-
-                if (isTop10) {
-                    top10.add(dto);
+                top10.add(dto);
+                if (name == null) {
+                    unnamed.put(userId, dto);
                 }
-                if (isCurrentUser) {
-                    currentUserEntry = dto;
+            });
+
+            int currentUserRank = index.rankOf(currentUserId);
+            if (currentUserRank > 0 && currentUserRank <= top10.size()) {
+                currentUserEntry = top10.get(currentUserRank - 1);
+            } else {
+                currentUserEntry = new LeaderboardEntry(index.nameOf(currentUserId), index.scoreOf(currentUserId));
+                currentUserEntry.setRank(currentUserRank);
+                if (currentUserEntry.getUserName() == null) {
+                    unnamed.put(currentUserId, currentUserEntry);
                 }
             }
-            rank++;
+        }
+
+        // Only users first seen through a tracker write need a name lookup
+        if (!unnamed.isEmpty()) {
+            resolveNames(unnamed);
         }
 
         return new LeaderboardResponse(top10, currentUserEntry);
     }
+
+    /**
+     * Ranks only the given users (a trainer's roster or a user-defined group)
+     * for the period. Scores are point lookups in the shared board, so the cost
+     * is O(group size log group size) regardless of how many users or activity
+     * rows exist. Every member is returned; currentUserEntry is null when the
+     * caller is not a member (e.g. the trainer viewing their roster).
+     */
+    public LeaderboardResponse getScopedLeaderboard(LeaderboardPeriod period, Collection<Long> memberIds,
+            Long currentUserId) {
+        Board board = currentBoard(period, LocalDate.now());
+
+        List<ScopedMember> members = new ArrayList<>(memberIds.size());
+        synchronized (board) {
+            for (Long memberId : new LinkedHashSet<>(memberIds)) {
+                members.add(new ScopedMember(memberId, board.index.nameOf(memberId), board.index.scoreOf(memberId)));
+            }
+        }
+        members.sort(Comparator.comparingDouble(ScopedMember::score).reversed()
+                .thenComparingLong(ScopedMember::userId));
+
+        List<LeaderboardEntry> ranked = new ArrayList<>(members.size());
+        Map<Long, LeaderboardEntry> unnamed = new HashMap<>();
+        LeaderboardEntry currentUserEntry = null;
+        for (ScopedMember member : members) {
+            LeaderboardEntry dto = new LeaderboardEntry(member.name(), member.score());
+            dto.setRank(ranked.size() + 1);
+            ranked.add(dto);
+            if (member.name() == null) {
+                unnamed.put(member.userId(), dto);
+            }
+            if (currentUserId != null && member.userId() == currentUserId) {
+                currentUserEntry = dto;
+            }
+        }
+
+        // Members with no activity since the last rebuild are not on the board yet
+        if (!unnamed.isEmpty()) {
+            resolveNames(unnamed);
+        }
+
+        return new LeaderboardResponse(ranked, currentUserEntry);
+    }
+
+    private record ScopedMember(long userId, String name, double score) {
+    }
+
+    private void resolveNames(Map<Long, LeaderboardEntry> unnamed) {
+        for (User user : userRepository.findAllById(unnamed.keySet())) {
+            for (Board board : boards.values()) {
+                board.index.setName(user.getId(), user.getName());
+            }
+            unnamed.get(user.getId()).setUserName(user.getName());
+        }
+        for (LeaderboardEntry entry : unnamed.values()) {
+            if (entry.getUserName() == null) {
+                entry.setUserName("Unknown User");
+            }
+        }
+    }
 }
@@ -0,0 +1,135 @@
+package com.wellnest.app.service;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Coalesces blog_posts.likes changes. Each toggle adds +1/-1 to a per-post
+ * LongAdder (striped, so a burst of clicks on one post does not contend on a
+ * single counter) once its transaction commits, and a background thread
+ * writes the summed deltas every app.blog.like-buffer.flush-ms as one batch
+ * of UPDATE likes = likes + delta, in one transaction so a failed batch
+ * leaves nothing half applied. Readers add pending(postId) to the stored
+ * count. Deltas still buffered when the process dies are lost; DatabaseFixer
+ * recounts likes from post_likes at startup. With app.blog.like-buffer.enabled=false every toggle updates the row
+ * directly in the caller's transaction.
+ */
+@Service
+public class LikeCounterBuffer {
+
+    private static final Logger log = LoggerFactory.getLogger(LikeCounterBuffer.class);
+
+    private static final String ADD_LIKES = "UPDATE blog_posts SET likes = COALESCE(likes, 0) + ? WHERE id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+    private final Map<Long, LongAdder> pending = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService flusher;
+
+    public LikeCounterBuffer(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+            @Value("${app.blog.like-buffer.enabled:true}") boolean enabled,
+            @Value("${app.blog.like-buffer.flush-ms:1000}") long flushMillis) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.enabled = enabled;
+        if (enabled) {
+            this.flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "like-counter-flush");
+                thread.setDaemon(true);
+                return thread;
+            });
+            flusher.scheduleWithFixedDelay(this::flushQuietly, flushMillis, flushMillis, TimeUnit.MILLISECONDS);
+        } else {
+            this.flusher = null;
+        }
+    }
+
+    /** Records a like (+1) or unlike (-1) on the post, applied after the current transaction commits. */
+    public void add(Long postId, int delta) {
+        if (!enabled) {
+            jdbcTemplate.update(ADD_LIKES, delta, postId);
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    buffer(postId, delta);
+                }
+            });
+        } else {
+            buffer(postId, delta);
+        }
+    }
+
+    /** Committed changes not yet written to blog_posts.likes. */
+    public int pending(Long postId) {
+        LongAdder adder = pending.get(postId);
+        return adder != null ? (int) adder.sum() : 0;
+    }
+
+    /** Writes all pending deltas; returns the posts updated. */
+    public synchronized int flush() {
+        List<Object[]> updates = new ArrayList<>();
+        // Entries are kept (one per liked post) so a toggle never adds to a removed adder.
+        // Deltas are taken out before the write so a committed batch is never counted
+        // twice by readers, and put back if the batch rolls back
+        pending.forEach((postId, adder) -> {
+            long delta = adder.sum();
+            if (delta != 0) {
+                adder.add(-delta);
+                updates.add(new Object[] { delta, postId });
+            }
+        });
+        if (updates.isEmpty()) {
+            return 0;
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(ADD_LIKES, updates));
+        } catch (RuntimeException e) {
+            for (Object[] update : updates) {
+                buffer((Long) update[1], (Long) update[0]);
+            }
+            throw e;
+        }
+        return updates.size();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (flusher != null) {
+            flusher.shutdownNow();
+            flushQuietly();
+        }
+    }
+
+    private void buffer(Long postId, long delta) {
+        pending.computeIfAbsent(postId, id -> new LongAdder()).add(delta);
+    }
+
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            log.warn("Like counter flush failed, retrying: {}", e.getMessage());
+        }
+    }
+}
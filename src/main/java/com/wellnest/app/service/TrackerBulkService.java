@@ -0,0 +1,493 @@
+package com.wellnest.app.service;
+
+import com.wellnest.app.dto.BulkItemResult;
+import com.wellnest.app.dto.BulkTrackerRequest;
+import com.wellnest.app.dto.BulkTrackerResponse;
+import com.wellnest.app.dto.MealDto;
+import com.wellnest.app.dto.SleepLogDto;
+import com.wellnest.app.dto.WaterIntakeDto;
+import com.wellnest.app.dto.WorkoutDto;
+import com.wellnest.app.model.Meal;
+import com.wellnest.app.model.SleepLog;
+import com.wellnest.app.model.WaterIntake;
+import com.wellnest.app.model.Workout;
+import com.wellnest.app.repository.MealRepository;
+import com.wellnest.app.repository.SleepLogRepository;
+import com.wellnest.app.repository.WaterIntakeRepository;
+import com.wellnest.app.repository.WorkoutRepository;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.Assert;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.*;
+
+/**
+ * Bulk ingestion of tracker entries for one user. Daily limits are checked in
+ * a single pass per entry type against the existing per-day totals (one
+ * grouped query per type covering the days in the upload), and accepted rows
+ * are written with one JDBC batch insert per table. IDENTITY ids stop Hibernate
+ * from batching inserts, so the entities are bypassed here.
+ *
+ * Limits are applied to each entry's own day (2 workouts, one entry per meal
+ * type, 10L water, one sleep log). The one-hour water cooldown only guards
+ * interactive logging and is not applied to synced entries, which carry their
+ * own timestamps.
+ *
+ * Daily rollups get one batched upsert per table for all accepted rows.
+ */
+@Service
+public class TrackerBulkService {
+
+    public static final int MAX_ITEMS = 500;
+
+    private static final int MAX_WORKOUTS_PER_DAY = 2;
+    private static final double MAX_WATER_LITERS_PER_DAY = 10.0;
+
+    private static final String INSERT_WORKOUT = "INSERT INTO workouts "
+            + "(user_id, type, duration_minutes, calories_burned, performed_at, notes) VALUES (?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_MEAL = "INSERT INTO meals "
+            + "(user_id, meal_type, calories, protein, carbs, fats, logged_at, notes) VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_WATER = "INSERT INTO water_intake "
+            + "(user_id, liters, logged_at, notes) VALUES (?, ?, ?, ?)";
+    private static final String INSERT_SLEEP = "INSERT INTO sleep_logs "
+            + "(user_id, hours, sleep_date, quality, notes) VALUES (?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final WorkoutRepository workoutRepository;
+    private final MealRepository mealRepository;
+    private final WaterIntakeRepository waterIntakeRepository;
+    private final SleepLogRepository sleepLogRepository;
+    private final LeaderboardService leaderboardService;
+    private final TrackerDayCounters dayCounters;
+    private final DailyRollupService dailyRollupService;
+    private final AnalyticsSummaryCache analyticsSummaryCache;
+    private final Validator validator;
+
+    public TrackerBulkService(JdbcTemplate jdbcTemplate,
+            WorkoutRepository workoutRepository,
+            MealRepository mealRepository,
+            WaterIntakeRepository waterIntakeRepository,
+            SleepLogRepository sleepLogRepository,
+            LeaderboardService leaderboardService,
+            TrackerDayCounters dayCounters,
+            DailyRollupService dailyRollupService,
+            AnalyticsSummaryCache analyticsSummaryCache,
+            Validator validator) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.workoutRepository = workoutRepository;
+        this.mealRepository = mealRepository;
+        this.waterIntakeRepository = waterIntakeRepository;
+        this.sleepLogRepository = sleepLogRepository;
+        this.leaderboardService = leaderboardService;
+        this.dayCounters = dayCounters;
+        this.dailyRollupService = dailyRollupService;
+        this.analyticsSummaryCache = analyticsSummaryCache;
+        this.validator = validator;
+    }
+
+    @Transactional
+    public BulkTrackerResponse ingest(Long userId, BulkTrackerRequest request) {
+        Assert.notNull(userId, "userId is required");
+        Assert.notNull(request, "bulk request is required");
+        int total = size(request.getWorkouts()) + size(request.getMeals()) + size(request.getWater())
+                + size(request.getSleep());
+        if (total == 0) {
+            throw new IllegalArgumentException("No entries to import");
+        }
+        if (total > MAX_ITEMS) {
+            throw new IllegalArgumentException("A bulk upload can contain at most " + MAX_ITEMS + " entries");
+        }
+
+        List<BulkItemResult> results = new ArrayList<>(total);
+        Map<LocalDate, Double> pointsByDay = new HashMap<>();
+        ingestWorkouts(userId, request.getWorkouts(), results, pointsByDay);
+        ingestMeals(userId, request.getMeals(), results, pointsByDay);
+        ingestWater(userId, request.getWater(), results, pointsByDay);
+        ingestSleep(userId, request.getSleep(), results, pointsByDay);
+
+        // One leaderboard upsert per touched day rather than per entry
+        pointsByDay.forEach((day, points) -> leaderboardService.recordActivity(userId, day, points));
+        BulkTrackerResponse response = new BulkTrackerResponse(results);
+        if (response.getCreated() > 0) {
+            analyticsSummaryCache.invalidate(userId);
+        }
+        return response;
+    }
+
+    // -------------------- WORKOUT --------------------
+
+    private void ingestWorkouts(Long userId, List<WorkoutDto> dtos, List<BulkItemResult> results,
+            Map<LocalDate, Double> pointsByDay) {
+        if (dtos == null || dtos.isEmpty()) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        List<Workout> candidates = new ArrayList<>();
+        List<Integer> candidateIndexes = new ArrayList<>();
+        for (int i = 0; i < dtos.size(); i++) {
+            WorkoutDto dto = dtos.get(i);
+            String error = validate(dto);
+            if (error != null) {
+                results.add(BulkItemResult.rejected("workout", i, error));
+                continue;
+            }
+            Workout w = new Workout();
+            w.setUserId(userId);
+            w.setType(dto.getType());
+            w.setDurationMinutes(dto.getDurationMinutes());
+            w.setCaloriesBurned(dto.getCaloriesBurned());
+            w.setPerformedAt(dto.getPerformedAt() != null ? dto.getPerformedAt() : now);
+            w.setNotes(dto.getNotes());
+            candidates.add(w);
+            candidateIndexes.add(i);
+        }
+        if (candidates.isEmpty()) {
+            return;
+        }
+
+        LocalDate[] range = dayRange(candidates, w -> w.getPerformedAt().toLocalDate());
+        Map<LocalDate, Long> perDay = new HashMap<>();
+        for (Object[] row : workoutRepository.countForUserByDay(userId, range[0].atStartOfDay(),
+                range[1].plusDays(1).atStartOfDay())) {
+            perDay.put(toLocalDate(row[0]), ((Number) row[1]).longValue());
+        }
+
+        List<Workout> accepted = new ArrayList<>();
+        List<Integer> acceptedIndexes = new ArrayList<>();
+        for (int i = 0; i < candidates.size(); i++) {
+            Workout w = candidates.get(i);
+            LocalDate day = w.getPerformedAt().toLocalDate();
+            long count = perDay.getOrDefault(day, 0L);
+            if (count >= MAX_WORKOUTS_PER_DAY) {
+                results.add(BulkItemResult.rejected("workout", candidateIndexes.get(i),
+                        "Daily Limit Reached: You can only log 2 workouts per day."));
+                continue;
+            }
+            perDay.put(day, count + 1);
+            accepted.add(w);
+            acceptedIndexes.add(candidateIndexes.get(i));
+        }
+
+        List<Long> ids = batchInsert(INSERT_WORKOUT, accepted, (ps, w) -> {
+            ps.setLong(1, w.getUserId());
+            ps.setString(2, w.getType());
+            setInteger(ps, 3, w.getDurationMinutes());
+            setInteger(ps, 4, w.getCaloriesBurned());
+            ps.setTimestamp(5, Timestamp.valueOf(w.getPerformedAt()));
+            ps.setString(6, w.getNotes());
+        });
+        for (int i = 0; i < accepted.size(); i++) {
+            Workout w = accepted.get(i);
+            w.setId(ids.get(i));
+            results.add(BulkItemResult.created("workout", acceptedIndexes.get(i), w.getId()));
+            pointsByDay.merge(w.getPerformedAt().toLocalDate(), LeaderboardService.pointsFor(w), Double::sum);
+            dayCounters.workoutCreated(userId, w.getPerformedAt());
+        }
+        dailyRollupService.applyWorkouts(userId, accepted, 1);
+    }
+
+    // -------------------- MEAL --------------------
+
+    private void ingestMeals(Long userId, List<MealDto> dtos, List<BulkItemResult> results,
+            Map<LocalDate, Double> pointsByDay) {
+        if (dtos == null || dtos.isEmpty()) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        List<Meal> candidates = new ArrayList<>();
+        List<Integer> candidateIndexes = new ArrayList<>();
+        for (int i = 0; i < dtos.size(); i++) {
+            MealDto dto = dtos.get(i);
+            String error = validate(dto);
+            if (error != null) {
+                results.add(BulkItemResult.rejected("meal", i, error));
+                continue;
+            }
+            Meal m = new Meal();
+            m.setUserId(userId);
+            m.setMealType(dto.getMealType());
+            m.setCalories(dto.getCalories());
+            m.setProtein(dto.getProtein());
+            m.setCarbs(dto.getCarbs());
+            m.setFats(dto.getFats());
+            m.setLoggedAt(dto.getLoggedAt() != null ? dto.getLoggedAt() : now);
+            m.setNotes(dto.getNotes());
+            candidates.add(m);
+            candidateIndexes.add(i);
+        }
+        if (candidates.isEmpty()) {
+            return;
+        }
+
+        LocalDate[] range = dayRange(candidates, m -> m.getLoggedAt().toLocalDate());
+        Set<String> loggedTypes = new HashSet<>();
+        for (Object[] row : mealRepository.findMealTypesForUserByDay(userId, range[0].atStartOfDay(),
+                range[1].plusDays(1).atStartOfDay())) {
+            loggedTypes.add(toLocalDate(row[0]) + "|" + row[1]);
+        }
+
+        List<Meal> accepted = new ArrayList<>();
+        List<Integer> acceptedIndexes = new ArrayList<>();
+        for (int i = 0; i < candidates.size(); i++) {
+            Meal m = candidates.get(i);
+            String key = m.getLoggedAt().toLocalDate() + "|" + m.getMealType().toLowerCase(Locale.ROOT);
+            if (!loggedTypes.add(key)) {
+                results.add(BulkItemResult.rejected("meal", candidateIndexes.get(i),
+                        "Daily Limit Reached: You have already logged " + m.getMealType() + " that day."));
+                continue;
+            }
+            accepted.add(m);
+            acceptedIndexes.add(candidateIndexes.get(i));
+        }
+
+        List<Long> ids = batchInsert(INSERT_MEAL, accepted, (ps, m) -> {
+            ps.setLong(1, m.getUserId());
+            ps.setString(2, m.getMealType());
+            setInteger(ps, 3, m.getCalories());
+            setInteger(ps, 4, m.getProtein());
+            setInteger(ps, 5, m.getCarbs());
+            setInteger(ps, 6, m.getFats());
+            ps.setTimestamp(7, Timestamp.valueOf(m.getLoggedAt()));
+            ps.setString(8, m.getNotes());
+        });
+        for (int i = 0; i < accepted.size(); i++) {
+            Meal m = accepted.get(i);
+            m.setId(ids.get(i));
+            results.add(BulkItemResult.created("meal", acceptedIndexes.get(i), m.getId()));
+            pointsByDay.merge(m.getLoggedAt().toLocalDate(), LeaderboardService.pointsFor(m), Double::sum);
+            dayCounters.mealCreated(userId, m.getLoggedAt(), m.getMealType());
+        }
+        dailyRollupService.applyMeals(userId, accepted, 1);
+    }
+
+    // -------------------- WATER --------------------
+
+    private void ingestWater(Long userId, List<WaterIntakeDto> dtos, List<BulkItemResult> results,
+            Map<LocalDate, Double> pointsByDay) {
+        if (dtos == null || dtos.isEmpty()) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        List<WaterIntake> candidates = new ArrayList<>();
+        List<Integer> candidateIndexes = new ArrayList<>();
+        for (int i = 0; i < dtos.size(); i++) {
+            WaterIntakeDto dto = dtos.get(i);
+            String error = validate(dto);
+            if (error != null) {
+                results.add(BulkItemResult.rejected("water", i, error));
+                continue;
+            }
+            WaterIntake w = new WaterIntake();
+            w.setUserId(userId);
+            w.setLiters(dto.getLiters());
+            w.setLoggedAt(dto.getLoggedAt() != null ? dto.getLoggedAt() : now);
+            w.setNotes(dto.getNotes());
+            candidates.add(w);
+            candidateIndexes.add(i);
+        }
+        if (candidates.isEmpty()) {
+            return;
+        }
+
+        LocalDate[] range = dayRange(candidates, w -> w.getLoggedAt().toLocalDate());
+        Map<LocalDate, Double> perDay = new HashMap<>();
+        for (Object[] row : waterIntakeRepository.sumLitersForUserByDay(userId, range[0].atStartOfDay(),
+                range[1].plusDays(1).atStartOfDay())) {
+            perDay.put(toLocalDate(row[0]), row[1] != null ? ((Number) row[1]).doubleValue() : 0.0);
+        }
+
+        List<WaterIntake> accepted = new ArrayList<>();
+        List<Integer> acceptedIndexes = new ArrayList<>();
+        for (int i = 0; i < candidates.size(); i++) {
+            WaterIntake w = candidates.get(i);
+            LocalDate day = w.getLoggedAt().toLocalDate();
+            double dayTotal = perDay.getOrDefault(day, 0.0);
+            if (dayTotal + w.getLiters() > MAX_WATER_LITERS_PER_DAY) {
+                results.add(BulkItemResult.rejected("water", candidateIndexes.get(i),
+                        "Daily Limit Reached: You cannot log more than 10L of water per day."));
+                continue;
+            }
+            perDay.put(day, dayTotal + w.getLiters());
+            accepted.add(w);
+            acceptedIndexes.add(candidateIndexes.get(i));
+        }
+
+        List<Long> ids = batchInsert(INSERT_WATER, accepted, (ps, w) -> {
+            ps.setLong(1, w.getUserId());
+            ps.setDouble(2, w.getLiters());
+            ps.setTimestamp(3, Timestamp.valueOf(w.getLoggedAt()));
+            ps.setString(4, w.getNotes());
+        });
+        for (int i = 0; i < accepted.size(); i++) {
+            WaterIntake w = accepted.get(i);
+            w.setId(ids.get(i));
+            results.add(BulkItemResult.created("water", acceptedIndexes.get(i), w.getId()));
+            pointsByDay.merge(w.getLoggedAt().toLocalDate(), LeaderboardService.pointsFor(w), Double::sum);
+            dayCounters.waterCreated(userId, w.getLoggedAt(), w.getLiters());
+        }
+        dailyRollupService.applyWater(userId, accepted, 1);
+    }
+
+    // -------------------- SLEEP --------------------
+
+    private void ingestSleep(Long userId, List<SleepLogDto> dtos, List<BulkItemResult> results,
+            Map<LocalDate, Double> pointsByDay) {
+        if (dtos == null || dtos.isEmpty()) {
+            return;
+        }
+        LocalDate today = LocalDate.now();
+        List<SleepLog> candidates = new ArrayList<>();
+        List<Integer> candidateIndexes = new ArrayList<>();
+        for (int i = 0; i < dtos.size(); i++) {
+            SleepLogDto dto = dtos.get(i);
+            String error = validate(dto);
+            if (error != null) {
+                results.add(BulkItemResult.rejected("sleep", i, error));
+                continue;
+            }
+            SleepLog s = new SleepLog();
+            s.setUserId(userId);
+            s.setHours(dto.getHours());
+            s.setSleepDate(dto.getSleepDate() != null ? dto.getSleepDate() : today);
+            s.setQuality(dto.getQuality());
+            s.setNotes(dto.getNotes());
+            candidates.add(s);
+            candidateIndexes.add(i);
+        }
+        if (candidates.isEmpty()) {
+            return;
+        }
+
+        LocalDate[] range = dayRange(candidates, SleepLog::getSleepDate);
+        Set<LocalDate> loggedDates = new HashSet<>(
+                sleepLogRepository.findSleepDatesForUserBetween(userId, range[0], range[1]));
+
+        List<SleepLog> accepted = new ArrayList<>();
+        List<Integer> acceptedIndexes = new ArrayList<>();
+        for (int i = 0; i < candidates.size(); i++) {
+            SleepLog s = candidates.get(i);
+            if (!loggedDates.add(s.getSleepDate())) {
+                results.add(BulkItemResult.rejected("sleep", candidateIndexes.get(i),
+                        "Daily Limit Reached: You can only log sleep once per day."));
+                continue;
+            }
+            accepted.add(s);
+            acceptedIndexes.add(candidateIndexes.get(i));
+        }
+
+        List<Long> ids = batchInsert(INSERT_SLEEP, accepted, (ps, s) -> {
+            ps.setLong(1, s.getUserId());
+            ps.setDouble(2, s.getHours());
+            ps.setObject(3, s.getSleepDate());
+            ps.setString(4, s.getQuality());
+            ps.setString(5, s.getNotes());
+        });
+        for (int i = 0; i < accepted.size(); i++) {
+            SleepLog s = accepted.get(i);
+            s.setId(ids.get(i));
+            results.add(BulkItemResult.created("sleep", acceptedIndexes.get(i), s.getId()));
+            pointsByDay.merge(s.getSleepDate(), LeaderboardService.pointsFor(s), Double::sum);
+            dayCounters.sleepCreated(userId, s.getSleepDate());
+        }
+        dailyRollupService.applySleep(userId, accepted, 1);
+    }
+
+    // -------------------- HELPERS --------------------
+
+    private interface RowBinder<T> {
+        void bind(PreparedStatement ps, T row) throws SQLException;
+    }
+
+    private interface DayOf<T> {
+        LocalDate apply(T row);
+    }
+
+    // One JDBC batch for all rows; generated ids come back in insert order
+    private <T> List<Long> batchInsert(String sql, List<T> rows, RowBinder<T> binder) {
+        if (rows.isEmpty()) {
+            return Collections.emptyList();
+        }
+        GeneratedKeyHolder keyHolder = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate(con -> con.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS),
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        binder.bind(ps, rows.get(i));
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return rows.size();
+                    }
+                }, keyHolder);
+
+        List<Map<String, Object>> keys = keyHolder.getKeyList();
+        if (keys.size() != rows.size()) {
+            throw new IllegalStateException("Expected " + rows.size() + " generated ids but got " + keys.size());
+        }
+        List<Long> ids = new ArrayList<>(keys.size());
+        for (Map<String, Object> key : keys) {
+            ids.add(((Number) key.values().iterator().next()).longValue());
+        }
+        return ids;
+    }
+
+    private static <T> LocalDate[] dayRange(List<T> rows, DayOf<T> dayOf) {
+        LocalDate min = null;
+        LocalDate max = null;
+        for (T row : rows) {
+            LocalDate day = dayOf.apply(row);
+            if (min == null || day.isBefore(min)) {
+                min = day;
+            }
+            if (max == null || day.isAfter(max)) {
+                max = day;
+            }
+        }
+        return new LocalDate[] { min, max };
+    }
+
+    // First bean validation message, or null when the entry is valid
+    private String validate(Object dto) {
+        if (dto == null) {
+            return "Entry is empty";
+        }
+        Set<ConstraintViolation<Object>> violations = validator.validate(dto);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        ConstraintViolation<Object> first = violations.iterator().next();
+        return first.getPropertyPath() + ": " + first.getMessage();
+    }
+
+    private static void setInteger(PreparedStatement ps, int index, Integer value) throws SQLException {
+        if (value != null) {
+            ps.setInt(index, value);
+        } else {
+            ps.setNull(index, Types.INTEGER);
+        }
+    }
+
+    private static LocalDate toLocalDate(Object value) {
+        if (value instanceof java.sql.Date) {
+            return ((java.sql.Date) value).toLocalDate();
+        }
+        return (LocalDate) value;
+    }
+
+    private static int size(List<?> list) {
+        return list != null ? list.size() : 0;
+    }
+}
@@ -0,0 +1,296 @@
+package com.wellnest.app.service;
+
+import com.wellnest.app.repository.MealRepository;
+import com.wellnest.app.repository.SleepLogRepository;
+import com.wellnest.app.repository.WaterIntakeRepository;
+import com.wellnest.app.repository.WorkoutRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Today's per-user tracker totals used by the daily limit checks in
+ * TrackerService. Every value comes from a bounded index query (count / sum /
+ * max for today), never from the user's full history.
+ *
+ * With app.tracker.day-counters.enabled=true (the default) the totals are also
+ * kept in memory: loaded once per user per day and then adjusted on create, so
+ * a limit check costs no database read at all. Deletes evict the user's entry
+ * and the next check reloads it. The whole map is dropped when the date rolls.
+ *
+ * Totals are loaded outside the map's locks. A load is only cached if no
+ * create or delete of a user in the same stripe was committing while it
+ * queried, since its totals might be missing that write; otherwise it serves
+ * just the one check.
+ */
+@Service
+public class TrackerDayCounters {
+
+    private final WorkoutRepository workoutRepository;
+    private final MealRepository mealRepository;
+    private final WaterIntakeRepository waterIntakeRepository;
+    private final SleepLogRepository sleepLogRepository;
+    private final boolean cacheEnabled;
+
+    private static final int STRIPES = 256;
+
+    private final Map<Long, DayCounters> counters = new ConcurrentHashMap<>();
+    private volatile LocalDate counterDay = LocalDate.now();
+
+    // Per stripe of user ids: writes between commit and their counter update, and a
+    // stamp bumped each time one finishes
+    private final AtomicLongArray committing = new AtomicLongArray(STRIPES);
+    private final AtomicLongArray settled = new AtomicLongArray(STRIPES);
+
+    public TrackerDayCounters(WorkoutRepository workoutRepository,
+            MealRepository mealRepository,
+            WaterIntakeRepository waterIntakeRepository,
+            SleepLogRepository sleepLogRepository,
+            @Value("${app.tracker.day-counters.enabled:true}") boolean cacheEnabled) {
+        this.workoutRepository = workoutRepository;
+        this.mealRepository = mealRepository;
+        this.waterIntakeRepository = waterIntakeRepository;
+        this.sleepLogRepository = sleepLogRepository;
+        this.cacheEnabled = cacheEnabled;
+    }
+
+    /** Today's totals for one user; mutable only under its own monitor. */
+    private static final class DayCounters {
+        int workouts;
+        final Set<String> mealTypes = new HashSet<>();
+        double waterLiters;
+        LocalDateTime lastWaterAt;
+        boolean sleepLogged;
+    }
+
+    // -------------------- CHECKS --------------------
+
+    public long workoutsToday(Long userId) {
+        if (!cacheEnabled) {
+            LocalDate today = LocalDate.now();
+            return workoutRepository.countForUserBetween(userId, today.atStartOfDay(),
+                    today.plusDays(1).atStartOfDay());
+        }
+        DayCounters c = load(userId);
+        synchronized (c) {
+            return c.workouts;
+        }
+    }
+
+    public boolean mealTypeLoggedToday(Long userId, String mealType) {
+        if (mealType == null) {
+            return false;
+        }
+        if (!cacheEnabled) {
+            LocalDate today = LocalDate.now();
+            return mealRepository.existsMealTypeForUserBetween(userId, mealType, today.atStartOfDay(),
+                    today.plusDays(1).atStartOfDay());
+        }
+        DayCounters c = load(userId);
+        synchronized (c) {
+            return c.mealTypes.contains(mealType.toLowerCase(Locale.ROOT));
+        }
+    }
+
+    public double waterLitersToday(Long userId) {
+        if (!cacheEnabled) {
+            LocalDate today = LocalDate.now();
+            return waterIntakeRepository.sumLitersForUserBetween(userId, today.atStartOfDay(),
+                    today.plusDays(1).atStartOfDay());
+        }
+        DayCounters c = load(userId);
+        synchronized (c) {
+            return c.waterLiters;
+        }
+    }
+
+    // Newest water entry of any day (the cooldown spans midnight)
+    public LocalDateTime lastWaterAt(Long userId) {
+        if (!cacheEnabled) {
+            return waterIntakeRepository.findLatestLoggedAt(userId);
+        }
+        DayCounters c = load(userId);
+        synchronized (c) {
+            return c.lastWaterAt;
+        }
+    }
+
+    public boolean sleepLoggedToday(Long userId) {
+        if (!cacheEnabled) {
+            return sleepLogRepository.existsByUserIdAndSleepDate(userId, LocalDate.now());
+        }
+        DayCounters c = load(userId);
+        synchronized (c) {
+            return c.sleepLogged;
+        }
+    }
+
+    // -------------------- UPDATES (applied after commit) --------------------
+
+    public void workoutCreated(Long userId, LocalDateTime performedAt) {
+        afterCommit(userId, c -> {
+            if (isToday(performedAt)) {
+                c.workouts++;
+            }
+        });
+    }
+
+    public void mealCreated(Long userId, LocalDateTime loggedAt, String mealType) {
+        afterCommit(userId, c -> {
+            if (isToday(loggedAt) && mealType != null) {
+                c.mealTypes.add(mealType.toLowerCase(Locale.ROOT));
+            }
+        });
+    }
+
+    public void waterCreated(Long userId, LocalDateTime loggedAt, Double liters) {
+        afterCommit(userId, c -> {
+            if (isToday(loggedAt) && liters != null) {
+                c.waterLiters += liters;
+            }
+            if (loggedAt != null && (c.lastWaterAt == null || loggedAt.isAfter(c.lastWaterAt))) {
+                c.lastWaterAt = loggedAt;
+            }
+        });
+    }
+
+    public void sleepCreated(Long userId, LocalDate sleepDate) {
+        afterCommit(userId, c -> {
+            if (LocalDate.now().equals(sleepDate)) {
+                c.sleepLogged = true;
+            }
+        });
+    }
+
+    // A delete can lower any total (and change the newest water entry); reload lazily
+    public void entryDeleted(Long userId) {
+        afterCommit(userId, null);
+    }
+
+    // -------------------- INTERNALS --------------------
+
+    private interface Update {
+        void apply(DayCounters counters);
+    }
+
+    // Only users already cached are updated (a null update evicts); others load fresh
+    // totals on their next check. The stripe counts the write as committing from just
+    // before the commit until it is applied, so loads running meanwhile are not cached.
+    private void afterCommit(Long userId, Update update) {
+        if (!cacheEnabled) {
+            return;
+        }
+        int stripe = stripe(userId);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            apply(userId, update);
+            settled.incrementAndGet(stripe);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            private boolean counted;
+
+            @Override
+            public void beforeCommit(boolean readOnly) {
+                committing.incrementAndGet(stripe);
+                counted = true;
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                if (!counted) {
+                    return;
+                }
+                try {
+                    if (status == STATUS_COMMITTED) {
+                        apply(userId, update);
+                    }
+                } finally {
+                    settled.incrementAndGet(stripe);
+                    committing.decrementAndGet(stripe);
+                }
+            }
+        });
+    }
+
+    private void apply(Long userId, Update update) {
+        rollDay();
+        counters.computeIfPresent(userId, (id, c) -> {
+            if (update == null) {
+                return null;
+            }
+            synchronized (c) {
+                update.apply(c);
+            }
+            return c;
+        });
+    }
+
+    private DayCounters load(Long userId) {
+        rollDay();
+        DayCounters cached = counters.get(userId);
+        if (cached != null) {
+            return cached;
+        }
+        LocalDate day = counterDay;
+        int stripe = stripe(userId);
+        long stamp = settled.get(stripe);
+        boolean quiet = committing.get(stripe) == 0;
+
+        DayCounters loaded = query(userId);
+
+        // Checked under the entry's map lock, which apply() also takes
+        DayCounters result = counters.compute(userId, (id, current) -> {
+            if (current != null) {
+                return current;
+            }
+            boolean stable = quiet && committing.get(stripe) == 0 && settled.get(stripe) == stamp
+                    && day.equals(counterDay);
+            return stable ? loaded : null;
+        });
+        return result != null ? result : loaded;
+    }
+
+    private static int stripe(Long userId) {
+        return (int) (userId ^ (userId >>> 32)) & (STRIPES - 1);
+    }
+
+    private DayCounters query(Long userId) {
+        LocalDate today = LocalDate.now();
+        LocalDateTime start = today.atStartOfDay();
+        LocalDateTime end = today.plusDays(1).atStartOfDay();
+
+        DayCounters c = new DayCounters();
+        c.workouts = (int) workoutRepository.countForUserBetween(userId, start, end);
+        c.mealTypes.addAll(mealRepository.findMealTypesForUserBetween(userId, start, end));
+        c.waterLiters = waterIntakeRepository.sumLitersForUserBetween(userId, start, end);
+        c.lastWaterAt = waterIntakeRepository.findLatestLoggedAt(userId);
+        c.sleepLogged = sleepLogRepository.existsByUserIdAndSleepDate(userId, today);
+        return c;
+    }
+
+    private void rollDay() {
+        LocalDate today = LocalDate.now();
+        if (!today.equals(counterDay)) {
+            synchronized (this) {
+                if (!today.equals(counterDay)) {
+                    counters.clear();
+                    counterDay = today;
+                }
+            }
+        }
+    }
+
+    private static boolean isToday(LocalDateTime time) {
+        return time != null && time.toLocalDate().equals(LocalDate.now());
+    }
+}
@@ -1,5 +1,6 @@
 package com.wellnest.app.service;
 
+import com.wellnest.app.dto.CursorPage;
 import com.wellnest.app.dto.MealDto;
 import com.wellnest.app.dto.SleepLogDto;
 import com.wellnest.app.dto.WaterIntakeDto;
@@ -12,29 +13,52 @@ import com.wellnest.app.repository.MealRepository;
 import com.wellnest.app.repository.SleepLogRepository;
 import com.wellnest.app.repository.WaterIntakeRepository;
 import com.wellnest.app.repository.WorkoutRepository;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.Assert;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Function;
 
 @Service
 public class TrackerService {
 
+    private static final int DEFAULT_PAGE_SIZE = 20;
+    private static final int MAX_PAGE_SIZE = 100;
+
+    // Upper bound used when a history request has no "to" date
+    private static final LocalDate MAX_HISTORY_DATE = LocalDate.of(9999, 12, 30);
+
     private final WorkoutRepository workoutRepository;
     private final MealRepository mealRepository;
     private final WaterIntakeRepository waterIntakeRepository;
     private final SleepLogRepository sleepLogRepository;
+    private final LeaderboardService leaderboardService;
+    private final TrackerDayCounters dayCounters;
+    private final DailyRollupService dailyRollupService;
+    private final AnalyticsSummaryCache analyticsSummaryCache;
 
     public TrackerService(WorkoutRepository workoutRepository,
             MealRepository mealRepository,
             WaterIntakeRepository waterIntakeRepository,
-            SleepLogRepository sleepLogRepository) {
+            SleepLogRepository sleepLogRepository,
+            LeaderboardService leaderboardService,
+            TrackerDayCounters dayCounters,
+            DailyRollupService dailyRollupService,
+            AnalyticsSummaryCache analyticsSummaryCache) {
         this.workoutRepository = workoutRepository;
         this.mealRepository = mealRepository;
         this.waterIntakeRepository = waterIntakeRepository;
         this.sleepLogRepository = sleepLogRepository;
+        this.leaderboardService = leaderboardService;
+        this.dayCounters = dayCounters;
+        this.dailyRollupService = dailyRollupService;
+        this.analyticsSummaryCache = analyticsSummaryCache;
     }
 
     // -------------------- WORKOUT --------------------
@@ -42,17 +66,13 @@ public class TrackerService {
     /**
      * Create a workout for the given userId. DTO's userId is ignored.
      */
+    @Transactional
     public Workout createWorkoutForUser(Long userId, WorkoutDto dto) {
         Assert.notNull(userId, "userId is required");
         Assert.notNull(dto, "workout dto is required");
 
         // Enforce Limit: Max 2 workouts per day
-        LocalDateTime startOfDay = LocalDate.now().atStartOfDay();
-        long todayCount = workoutRepository.findByUserIdOrderByPerformedAtDesc(userId).stream()
-                .filter(w -> w.getPerformedAt().isAfter(startOfDay))
-                .count();
-
-        if (todayCount >= 2) {
+        if (dayCounters.workoutsToday(userId) >= 2) {
             throw new IllegalArgumentException("Daily Limit Reached: You can only log 2 workouts per day.");
         }
 
@@ -64,7 +84,13 @@ public class TrackerService {
         workout.setPerformedAt(dto.getPerformedAt() != null ? dto.getPerformedAt() : LocalDateTime.now());
         workout.setNotes(dto.getNotes());
 
-        return workoutRepository.save(workout);
+        Workout saved = workoutRepository.save(workout);
+        dayCounters.workoutCreated(userId, saved.getPerformedAt());
+        dailyRollupService.applyWorkouts(userId, List.of(saved), 1);
+        analyticsSummaryCache.invalidate(userId);
+        leaderboardService.recordActivity(userId, saved.getPerformedAt().toLocalDate(),
+                LeaderboardService.pointsFor(saved));
+        return saved;
     }
 
     public List<Workout> getWorkoutsForUser(Long userId) {
@@ -72,6 +98,7 @@ public class TrackerService {
         return workoutRepository.findByUserIdOrderByPerformedAtDesc(userId);
     }
 
+    @Transactional
     public void deleteWorkout(Long userId, Long workoutId) {
         Assert.notNull(userId, "userId is required");
         Assert.notNull(workoutId, "workoutId is required");
@@ -81,21 +108,24 @@ public class TrackerService {
             throw new RuntimeException("Not authorized to delete this workout");
         }
         workoutRepository.delete(w);
+        dayCounters.entryDeleted(userId);
+        dailyRollupService.applyWorkouts(userId, List.of(w), -1);
+        analyticsSummaryCache.invalidate(userId);
+        if (w.getPerformedAt() != null) {
+            leaderboardService.recordActivity(userId, w.getPerformedAt().toLocalDate(),
+                    -LeaderboardService.pointsFor(w));
+        }
     }
 
     // -------------------- MEAL --------------------
 
+    @Transactional
     public Meal createMealForUser(Long userId, MealDto dto) {
         Assert.notNull(userId, "userId is required");
         Assert.notNull(dto, "meal dto is required");
 
         // Enforce Limit: Max 1 entry per Meal Type per day
-        LocalDateTime startOfDay = LocalDate.now().atStartOfDay();
-        boolean alreadyLoggedType = mealRepository.findByUserIdOrderByLoggedAtDesc(userId).stream()
-                .filter(m -> m.getLoggedAt().isAfter(startOfDay))
-                .anyMatch(m -> m.getMealType().equalsIgnoreCase(dto.getMealType()));
-
-        if (alreadyLoggedType) {
+        if (dayCounters.mealTypeLoggedToday(userId, dto.getMealType())) {
             throw new IllegalArgumentException(
                     "Daily Limit Reached: You have already logged " + dto.getMealType() + " today.");
         }
@@ -110,7 +140,13 @@ public class TrackerService {
         meal.setLoggedAt(dto.getLoggedAt() != null ? dto.getLoggedAt() : LocalDateTime.now());
         meal.setNotes(dto.getNotes());
 
-        return mealRepository.save(meal);
+        Meal saved = mealRepository.save(meal);
+        dayCounters.mealCreated(userId, saved.getLoggedAt(), saved.getMealType());
+        dailyRollupService.applyMeals(userId, List.of(saved), 1);
+        analyticsSummaryCache.invalidate(userId);
+        leaderboardService.recordActivity(userId, saved.getLoggedAt().toLocalDate(),
+                LeaderboardService.pointsFor(saved));
+        return saved;
     }
 
     public List<Meal> getMealsForUser(Long userId) {
@@ -118,6 +154,7 @@ public class TrackerService {
         return mealRepository.findByUserIdOrderByLoggedAtDesc(userId);
     }
 
+    @Transactional
     public void deleteMeal(Long userId, Long mealId) {
         Assert.notNull(userId, "userId is required");
         Assert.notNull(mealId, "mealId is required");
@@ -127,31 +164,34 @@ public class TrackerService {
             throw new RuntimeException("Not authorized to delete this meal");
         }
         mealRepository.delete(m);
+        dayCounters.entryDeleted(userId);
+        dailyRollupService.applyMeals(userId, List.of(m), -1);
+        analyticsSummaryCache.invalidate(userId);
+        if (m.getLoggedAt() != null) {
+            leaderboardService.recordActivity(userId, m.getLoggedAt().toLocalDate(),
+                    -LeaderboardService.pointsFor(m));
+        }
     }
 
     // -------------------- WATER --------------------
 
+    @Transactional
     public WaterIntake createWaterForUser(Long userId, WaterIntakeDto dto) {
         Assert.notNull(userId, "userId is required");
         Assert.notNull(dto, "water dto is required");
 
         // Enforce Limit: Max 10 Liters Total per day
-        LocalDateTime startOfDay = LocalDate.now().atStartOfDay();
-        double todayTotal = waterIntakeRepository.findByUserIdOrderByLoggedAtDesc(userId).stream()
-                .filter(w -> w.getLoggedAt().isAfter(startOfDay))
-                .mapToDouble(WaterIntake::getLiters)
-                .sum();
+        double todayTotal = dayCounters.waterLitersToday(userId);
 
         if (todayTotal + dto.getLiters() > 10.0) {
             throw new IllegalArgumentException("Daily Limit Reached: You cannot log more than 10L of water per day.");
         }
 
         // Enforce Cooldown: Max 1 entry per hour
-        List<WaterIntake> history = waterIntakeRepository.findByUserIdOrderByLoggedAtDesc(userId);
-        if (!history.isEmpty()) {
-            WaterIntake last = history.get(0);
+        LocalDateTime lastLoggedAt = dayCounters.lastWaterAt(userId);
+        if (lastLoggedAt != null) {
             LocalDateTime now = LocalDateTime.now();
-            long minutesDiff = java.time.Duration.between(last.getLoggedAt(), now).toMinutes();
+            long minutesDiff = java.time.Duration.between(lastLoggedAt, now).toMinutes();
             if (minutesDiff < 60) {
                 throw new IllegalArgumentException(
                         "Cooldown Active: Please wait " + (60 - minutesDiff) + " minutes before logging water again.");
@@ -164,7 +204,13 @@ public class TrackerService {
         water.setLoggedAt(dto.getLoggedAt() != null ? dto.getLoggedAt() : LocalDateTime.now());
         water.setNotes(dto.getNotes());
 
-        return waterIntakeRepository.save(water);
+        WaterIntake saved = waterIntakeRepository.save(water);
+        dayCounters.waterCreated(userId, saved.getLoggedAt(), saved.getLiters());
+        dailyRollupService.applyWater(userId, List.of(saved), 1);
+        analyticsSummaryCache.invalidate(userId);
+        leaderboardService.recordActivity(userId, saved.getLoggedAt().toLocalDate(),
+                LeaderboardService.pointsFor(saved));
+        return saved;
     }
 
     public List<WaterIntake> getWaterForUser(Long userId) {
@@ -172,6 +218,7 @@ public class TrackerService {
         return waterIntakeRepository.findByUserIdOrderByLoggedAtDesc(userId);
     }
 
+    @Transactional
     public void deleteWater(Long userId, Long waterId) {
         Assert.notNull(userId, "userId is required");
         Assert.notNull(waterId, "waterId is required");
@@ -181,20 +228,24 @@ public class TrackerService {
             throw new RuntimeException("Not authorized to delete this water log");
         }
         waterIntakeRepository.delete(w);
+        dayCounters.entryDeleted(userId);
+        dailyRollupService.applyWater(userId, List.of(w), -1);
+        analyticsSummaryCache.invalidate(userId);
+        if (w.getLoggedAt() != null) {
+            leaderboardService.recordActivity(userId, w.getLoggedAt().toLocalDate(),
+                    -LeaderboardService.pointsFor(w));
+        }
     }
 
     // -------------------- SLEEP --------------------
 
+    @Transactional
     public SleepLog createSleepForUser(Long userId, SleepLogDto dto) {
         Assert.notNull(userId, "userId is required");
         Assert.notNull(dto, "sleep dto is required");
 
         // Enforce Limit: Max 1 Sleep Record per day
-        LocalDate today = LocalDate.now();
-        boolean alreadyLoggedSleep = sleepLogRepository.findByUserIdOrderBySleepDateDesc(userId).stream()
-                .anyMatch(s -> s.getSleepDate().equals(today));
-
-        if (alreadyLoggedSleep) {
+        if (dayCounters.sleepLoggedToday(userId)) {
             throw new IllegalArgumentException("Daily Limit Reached: You can only log sleep once per day.");
         }
 
@@ -205,7 +256,12 @@ public class TrackerService {
         sleep.setQuality(dto.getQuality());
         sleep.setNotes(dto.getNotes());
 
-        return sleepLogRepository.save(sleep);
+        SleepLog saved = sleepLogRepository.save(sleep);
+        dayCounters.sleepCreated(userId, saved.getSleepDate());
+        dailyRollupService.applySleep(userId, List.of(saved), 1);
+        analyticsSummaryCache.invalidate(userId);
+        leaderboardService.recordActivity(userId, saved.getSleepDate(), LeaderboardService.pointsFor(saved));
+        return saved;
     }
 
     public List<SleepLog> getSleepForUser(Long userId) {
@@ -213,6 +269,7 @@ public class TrackerService {
         return sleepLogRepository.findByUserIdOrderBySleepDateDesc(userId);
     }
 
+    @Transactional
     public void deleteSleep(Long userId, Long sleepLogId) {
         Assert.notNull(userId, "userId is required");
         Assert.notNull(sleepLogId, "sleepLogId is required");
@@ -222,5 +279,98 @@ public class TrackerService {
             throw new RuntimeException("Not authorized to delete this sleep log");
         }
         sleepLogRepository.delete(s);
+        dayCounters.entryDeleted(userId);
+        dailyRollupService.applySleep(userId, List.of(s), -1);
+        analyticsSummaryCache.invalidate(userId);
+        leaderboardService.recordActivity(userId, s.getSleepDate(), -LeaderboardService.pointsFor(s));
+    }
+
+    // -------------------- HISTORY (keyset pagination) --------------------
+
+    /**
+     * Newest-first page of workouts with performedAt in [from, to] (both
+     * optional, inclusive days). Each page is one bounded range scan on
+     * (user_id, performed_at) no matter how long the history is.
+     */
+    public CursorPage<Workout> getWorkoutHistory(Long userId, LocalDate from, LocalDate to, String cursor,
+            Integer limit) {
+        return historyPage(userId, rangeStart(from, to).atStartOfDay(), rangeEnd(to).atStartOfDay(), cursor, limit,
+                HistoryCursor::timestamp, workoutRepository::findHistoryPage, Workout::getPerformedAt, Workout::getId);
+    }
+
+    public CursorPage<Meal> getMealHistory(Long userId, LocalDate from, LocalDate to, String cursor, Integer limit) {
+        return historyPage(userId, rangeStart(from, to).atStartOfDay(), rangeEnd(to).atStartOfDay(), cursor, limit,
+                HistoryCursor::timestamp, mealRepository::findHistoryPage, Meal::getLoggedAt, Meal::getId);
+    }
+
+    public CursorPage<WaterIntake> getWaterHistory(Long userId, LocalDate from, LocalDate to, String cursor,
+            Integer limit) {
+        return historyPage(userId, rangeStart(from, to).atStartOfDay(), rangeEnd(to).atStartOfDay(), cursor, limit,
+                HistoryCursor::timestamp, waterIntakeRepository::findHistoryPage, WaterIntake::getLoggedAt,
+                WaterIntake::getId);
+    }
+
+    public CursorPage<SleepLog> getSleepHistory(Long userId, LocalDate from, LocalDate to, String cursor,
+            Integer limit) {
+        return historyPage(userId, rangeStart(from, to), rangeEnd(to), cursor, limit,
+                HistoryCursor::date, sleepLogRepository::findHistoryPage, SleepLog::getSleepDate, SleepLog::getId);
+    }
+
+    /** One findHistoryPage query: rows with start <= key, before (beforeKey, beforeId), newest first. */
+    @FunctionalInterface
+    private interface HistoryQuery<K, T> {
+        List<T> find(Long userId, K start, K beforeKey, Long beforeId, Pageable pageable);
+    }
+
+    // Shared keyset paging for the history endpoints; K is the sort key (timestamp or date).
+    // The cursor only narrows the range, so a cursor from a wider query cannot widen this one.
+    private static <K extends Comparable<? super K>, T> CursorPage<T> historyPage(Long userId, K start, K end,
+            String cursor, Integer limit, Function<HistoryCursor, K> cursorKey, HistoryQuery<K, T> query,
+            Function<T, K> keyOf, Function<T, Long> idOf) {
+        Assert.notNull(userId, "userId is required");
+        int size = pageSize(limit);
+        K beforeKey = end;
+        long beforeId = 0L;
+        if (cursor != null && !cursor.isBlank()) {
+            HistoryCursor c = HistoryCursor.decode(cursor);
+            K key = cursorKey.apply(c);
+            if (key.compareTo(beforeKey) < 0) {
+                beforeKey = key;
+                beforeId = c.id();
+            }
+        }
+        List<T> rows = query.find(userId, start, beforeKey, beforeId, PageRequest.of(0, size + 1));
+        return toPage(rows, size, row -> HistoryCursor.encode(keyOf.apply(row), idOf.apply(row)));
+    }
+
+    private static int pageSize(Integer limit) {
+        if (limit == null) {
+            return DEFAULT_PAGE_SIZE;
+        }
+        if (limit < 1) {
+            throw new IllegalArgumentException("limit must be at least 1");
+        }
+        return Math.min(limit, MAX_PAGE_SIZE);
+    }
+
+    private static LocalDate rangeStart(LocalDate from, LocalDate to) {
+        if (from != null && to != null && from.isAfter(to)) {
+            throw new IllegalArgumentException("from must not be after to");
+        }
+        return from != null ? from : LocalDate.EPOCH;
+    }
+
+    // Exclusive upper bound: the day after "to"
+    private static LocalDate rangeEnd(LocalDate to) {
+        return (to != null ? to : MAX_HISTORY_DATE).plusDays(1);
+    }
+
+    // Rows were fetched with size + 1 so a full page knows whether more follow
+    private static <T> CursorPage<T> toPage(List<T> rows, int size, Function<T, String> cursorOf) {
+        if (rows.size() <= size) {
+            return new CursorPage<>(rows, null);
+        }
+        List<T> items = new ArrayList<>(rows.subList(0, size));
+        return new CursorPage<>(items, cursorOf.apply(items.get(size - 1)));
     }
 }
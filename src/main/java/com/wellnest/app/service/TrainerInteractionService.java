@@ -122,9 +122,8 @@ public class TrainerInteractionService {
                                 .orElseThrow(() -> new RuntimeException("User not found"));
 
                 // Find messages where (sender=callee and receiver=other) OR (sender=other and
-                // receiver=callee)
-                return chatMessageRepository.findBySenderIdAndReceiverIdOrSenderIdAndReceiverIdOrderByTimestampAsc(
-                                currentUser.getId(), otherUserId, otherUserId, currentUser.getId())
+                // receiver=callee); the receiver is only read for its id
+                return chatMessageRepository.findConversation(currentUser.getId(), otherUserId)
                                 .stream()
                                 .map(msg -> {
                                         ChatMessageDto dto = new ChatMessageDto();
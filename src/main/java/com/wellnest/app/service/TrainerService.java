@@ -23,9 +23,14 @@ import java.util.stream.Collectors;
 public class TrainerService {
 
     private final TrainerRepository trainerRepository;
+    private final ImageService imageService;
+    private final ContentVersions contentVersions;
 
-    public TrainerService(TrainerRepository trainerRepository) {
+    public TrainerService(TrainerRepository trainerRepository, ImageService imageService,
+            ContentVersions contentVersions) {
         this.trainerRepository = trainerRepository;
+        this.imageService = imageService;
+        this.contentVersions = contentVersions;
     }
 
     @Autowired
@@ -36,7 +41,7 @@ public class TrainerService {
     public List<TrainerResponse> getAllTrainers() {
         return trainerRepository.findAllByOrderByRatingDesc()
                 .stream()
-                .map(this::toResponse)
+                .map(this::toListResponse)
                 .collect(Collectors.toList());
     }
 
@@ -46,7 +51,7 @@ public class TrainerService {
         return allTrainers.stream()
                 .filter(trainer -> matchesGoal(trainer, goal))
                 .filter(trainer -> matchesLocation(trainer, location))
-                .map(this::toResponse)
+                .map(this::toListResponse)
                 .collect(Collectors.toList());
     }
 
@@ -107,6 +112,13 @@ public class TrainerService {
                 trainer.getPhone());
     }
 
+    // Trainer lists render 80px avatars, so they link the thumbnail instead of the photo
+    private TrainerResponse toListResponse(Trainer trainer) {
+        TrainerResponse response = toResponse(trainer);
+        response.setImage(ImageService.variantUrl(response.getImage(), ImageVariant.THUMB));
+        return response;
+    }
+
     public com.wellnest.app.dto.TrainerFiltersDto getFilters() {
         List<Trainer> all = trainerRepository.findAll();
         List<String> locations = all.stream()
@@ -135,8 +147,12 @@ public class TrainerService {
             trainer.setBio(dto.getBio());
         if (dto.getSpecialties() != null)
             trainer.setSpecialties(dto.getSpecialties());
+        if (dto.getImage() != null)
+            trainer.setImage(imageService.toImageUrl(dto.getImage()));
 
-        return toResponse(trainerRepository.save(trainer));
+        Trainer saved = trainerRepository.save(trainer);
+        contentVersions.bump(ContentVersions.Aggregate.TRAINERS);
+        return toResponse(saved);
     }
 
     @Autowired
@@ -199,6 +215,8 @@ public class TrainerService {
         trainer.setRating(newAvg);
         trainer.setRatingCount(newCount);
 
-        return toResponse(trainerRepository.save(trainer));
+        Trainer saved = trainerRepository.save(trainer);
+        contentVersions.bump(ContentVersions.Aggregate.TRAINERS);
+        return toResponse(saved);
     }
 }
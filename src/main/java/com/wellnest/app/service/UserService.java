@@ -11,12 +11,18 @@ public class UserService {
     private final UserRepository userRepo;
     private final com.wellnest.app.repository.TrainerRepository trainerRepo;
     private final com.wellnest.app.repository.WeightLogRepository weightLogRepository;
+    private final AnalyticsSummaryCache analyticsSummaryCache;
+    private final ContentVersions contentVersions;
 
     public UserService(UserRepository userRepository, com.wellnest.app.repository.TrainerRepository trainerRepo,
-            com.wellnest.app.repository.WeightLogRepository weightLogRepository) {
+            com.wellnest.app.repository.WeightLogRepository weightLogRepository,
+            AnalyticsSummaryCache analyticsSummaryCache,
+            ContentVersions contentVersions) {
         this.userRepo = userRepository;
         this.trainerRepo = trainerRepo;
         this.weightLogRepository = weightLogRepository;
+        this.analyticsSummaryCache = analyticsSummaryCache;
+        this.contentVersions = contentVersions;
     }
 
     public boolean emailExists(String email) {
@@ -24,7 +30,10 @@ public class UserService {
     }
 
     public User save(User user) {
-        return userRepo.save(user);
+        User saved = userRepo.save(user);
+        // Profile fields (goal, height, weight) feed the analytics summary
+        analyticsSummaryCache.invalidate(saved.getId());
+        return saved;
     }
 
     public Optional<User> findByEmail(String email) {
@@ -38,7 +47,9 @@ public class UserService {
     public User updateTargetWeight(String email, Double targetWeightKg) {
         User user = userRepo.findByEmail(email).orElseThrow(() -> new RuntimeException("User not found"));
         user.setTargetWeightKg(targetWeightKg);
-        return userRepo.save(user);
+        User saved = userRepo.save(user);
+        analyticsSummaryCache.invalidate(saved.getId());
+        return saved;
     }
 
     public void updateWeight(User user, Double newWeight) {
@@ -95,12 +106,14 @@ public class UserService {
         // 4. Update User entity
         user.setWeightKg(newWeight);
         userRepo.save(user);
+        analyticsSummaryCache.invalidate(user.getId());
     }
 
     public void clearWeightHistory(User user) {
         java.util.List<com.wellnest.app.model.WeightLog> logs = weightLogRepository
                 .findByUserIdOrderByLogDateAsc(user.getId());
         weightLogRepository.deleteAll(logs);
+        analyticsSummaryCache.invalidate(user.getId());
 
         // After clearing, we should probably re-initialize the current weight as the
         // "start"
@@ -116,5 +129,6 @@ public class UserService {
         User savedUser = userRepo.save(user);
         trainer.setUser(savedUser);
         trainerRepo.save(trainer);
+        contentVersions.bump(ContentVersions.Aggregate.TRAINERS);
     }
 }
@@ -0,0 +1,219 @@
+package com.wellnest.app.service.impl;
+
+import com.wellnest.app.dto.*;
+import com.wellnest.app.model.DailyRollup;
+
+import java.time.LocalDate;
+import java.util.*;
+
+/**
+ * Builds every per-entity section of an AnalyticsSummary in one pass over the
+ * user's daily rollup rows: each addDay call updates running totals and
+ * per-day DailySeries (primitive, no boxing or date formatting per day), and
+ * the build* methods only read them. Days outside
+ * [startDate, endDate] only feed the workout consistency window.
+ *
+ * Not thread-safe; one instance per summary.
+ */
+class AnalyticsAccumulator {
+
+    static final double TARGET_WATER_INTAKE_ML = 2000;
+
+    private final LocalDate startDate;
+    private final LocalDate endDate;
+    private final LocalDate consistencyStart;
+    private final LocalDate consistencyEnd;
+
+    // Workouts in [startDate, endDate]
+    private int workoutCount;
+    private double workoutMinutes;
+    private final Map<String, Integer> workoutsByType = new HashMap<>();
+    private final DailySeries workoutMinutesByDay = new DailySeries();
+    private final DailySeries caloriesBurnedByDay = new DailySeries();
+    private final DailySeries workoutCountByDay = new DailySeries();
+
+    // Workouts in the consistency window
+    private final Map<LocalDate, Integer> consistencyCounts = new HashMap<>();
+
+    private int mealCount;
+    private double totalCalories;
+    private double totalProtein;
+    private double totalCarbs;
+    private double totalFat;
+    private final DailySeries caloriesByDay = new DailySeries();
+
+    private int sleepCount;
+    private double sleepHours;
+    private double sleepHoursSq;
+    private double sleepQualitySum;
+    private int sleepQualityCount;
+    private final DailySeries sleepByDay = new DailySeries();
+
+    private int waterDays;
+    private int waterDaysMetGoal;
+    private double waterMl;
+    private final DailySeries waterMlByDay = new DailySeries();
+
+    AnalyticsAccumulator(LocalDate startDate, LocalDate endDate, LocalDate consistencyStart,
+            LocalDate consistencyEnd) {
+        this.startDate = startDate;
+        this.endDate = endDate;
+        this.consistencyStart = consistencyStart;
+        this.consistencyEnd = consistencyEnd;
+    }
+
+    // -------------------- ADD --------------------
+
+    // Sections skip days whose count dropped back to 0 after deletes
+    void addDay(DailyRollup r) {
+        LocalDate day = r.getRollupDate();
+        int workouts = r.getWorkoutCount();
+        if (workouts > 0 && !day.isBefore(consistencyStart) && !day.isAfter(consistencyEnd)) {
+            consistencyCounts.put(day, workouts);
+        }
+        if (day.isBefore(startDate) || day.isAfter(endDate)) {
+            return;
+        }
+        if (workouts > 0) {
+            workoutCount += workouts;
+            workoutMinutes += r.getWorkoutMinutes();
+            workoutMinutesByDay.put(day, r.getWorkoutMinutes());
+            caloriesBurnedByDay.put(day, r.getCaloriesOut());
+            workoutCountByDay.put(day, workouts);
+        }
+        if (r.getMealCount() > 0) {
+            mealCount += r.getMealCount();
+            totalCalories += r.getCaloriesIn();
+            totalProtein += r.getProteinG();
+            totalCarbs += r.getCarbsG();
+            totalFat += r.getFatsG();
+            caloriesByDay.put(day, r.getCaloriesIn());
+        }
+        if (r.getSleepCount() > 0) {
+            sleepCount += r.getSleepCount();
+            sleepHours += r.getSleepHours();
+            sleepHoursSq += r.getSleepHoursSq();
+            sleepQualitySum += r.getSleepQualitySum();
+            sleepQualityCount += r.getSleepQualityCount();
+            sleepByDay.put(day, r.getSleepHours());
+        }
+        if (r.getWaterCount() > 0) {
+            double dayMl = r.getWaterLiters() * 1000;
+            waterDays++;
+            waterMl += dayMl;
+            if (dayMl >= TARGET_WATER_INTAKE_ML) {
+                waterDaysMetGoal++;
+            }
+            waterMlByDay.put(day, dayMl);
+        }
+    }
+
+    void addWorkoutType(String type, int count) {
+        workoutsByType.merge(type, count, Integer::sum);
+    }
+
+    // -------------------- BUILD --------------------
+
+    int getWorkoutCount() {
+        return workoutCount;
+    }
+
+    DailySeries getWorkoutCountByDay() {
+        return workoutCountByDay;
+    }
+
+    WorkoutAnalytics buildWorkoutAnalytics() {
+        WorkoutAnalytics analytics = new WorkoutAnalytics();
+        if (workoutCount == 0) {
+            analytics.setTotalWorkouts(0);
+            analytics.setTotalDuration(0);
+            analytics.setAvgDuration(0);
+            analytics.setWorkoutsByType(Collections.emptyMap());
+            analytics.setWeeklyTrend(DailySeries.empty());
+            return analytics;
+        }
+        analytics.setTotalWorkouts(workoutCount);
+        analytics.setTotalDuration(workoutMinutes);
+        analytics.setAvgDuration(workoutMinutes / workoutCount);
+        analytics.setWorkoutsByType(workoutsByType);
+        analytics.setWeeklyTrend(workoutMinutesByDay);
+        analytics.setDailyCaloriesBurned(caloriesBurnedByDay);
+        return analytics;
+    }
+
+    NutritionAnalytics buildNutritionAnalytics(long days) {
+        NutritionAnalytics analytics = new NutritionAnalytics();
+        if (mealCount == 0) {
+            analytics.setAvgDailyCalories(0);
+            analytics.setAvgDailyProtein(0);
+            analytics.setAvgDailyCarbs(0);
+            analytics.setAvgDailyFat(0);
+            analytics.setWeeklyCalorieTrend(DailySeries.empty());
+            analytics.setMacronutrientDistribution(Collections.emptyMap());
+            return analytics;
+        }
+        analytics.setAvgDailyCalories(totalCalories / days);
+        analytics.setAvgDailyProtein(totalProtein / days);
+        analytics.setAvgDailyCarbs(totalCarbs / days);
+        analytics.setAvgDailyFat(totalFat / days);
+        analytics.setWeeklyCalorieTrend(caloriesByDay);
+
+        Map<String, Double> macroDistribution = new HashMap<>();
+        macroDistribution.put("protein", totalProtein);
+        macroDistribution.put("carbs", totalCarbs);
+        macroDistribution.put("fat", totalFat);
+        analytics.setMacronutrientDistribution(macroDistribution);
+        return analytics;
+    }
+
+    SleepAnalytics buildSleepAnalytics() {
+        SleepAnalytics analytics = new SleepAnalytics();
+        if (sleepCount == 0) {
+            analytics.setAvgSleepDuration(0);
+            analytics.setAvgSleepQuality(0);
+            analytics.setWeeklySleepTrend(DailySeries.empty());
+            analytics.setSleepConsistency("N/A");
+            return analytics;
+        }
+        double mean = sleepHours / sleepCount;
+        analytics.setAvgSleepDuration(mean);
+        analytics.setAvgSleepQuality(sleepQualityCount > 0 ? sleepQualitySum / sleepQualityCount : 0);
+        analytics.setWeeklySleepTrend(sleepByDay);
+
+        // Basic consistency logic: sample standard deviation of hours, from the
+        // rolled-up sum and sum of squares
+        double variance = sleepCount < 2 ? 0.0
+                : Math.max(0.0, (sleepHoursSq - sleepCount * mean * mean) / (sleepCount - 1));
+        double stdDev = Math.sqrt(variance);
+        if (stdDev < 1.0)
+            analytics.setSleepConsistency("Good");
+        else if (stdDev < 2.0)
+            analytics.setSleepConsistency("Fair");
+        else
+            analytics.setSleepConsistency("Poor");
+        return analytics;
+    }
+
+    WaterIntakeAnalytics buildWaterIntakeAnalytics() {
+        WaterIntakeAnalytics analytics = new WaterIntakeAnalytics();
+        analytics.setTargetDailyIntake(TARGET_WATER_INTAKE_ML);
+        if (waterDays == 0) {
+            analytics.setAvgDailyIntake(0);
+            analytics.setDaysMetGoal(0);
+            analytics.setWeeklyIntakeTrend(DailySeries.empty());
+            return analytics;
+        }
+        analytics.setDaysMetGoal(waterDaysMetGoal);
+        analytics.setAvgDailyIntake(waterMl / waterDays);
+        analytics.setWeeklyIntakeTrend(waterMlByDay);
+        return analytics;
+    }
+
+    WorkoutConsistency buildWorkoutConsistency() {
+        WorkoutConsistency consistency = new WorkoutConsistency();
+        consistency.setStartDate(consistencyStart);
+        consistency.setEndDate(consistencyEnd);
+        consistency.setWorkoutCounts(consistencyCounts);
+        return consistency;
+    }
+}
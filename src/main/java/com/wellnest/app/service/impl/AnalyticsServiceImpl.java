@@ -4,42 +4,39 @@ import com.wellnest.app.dto.*;
 import com.wellnest.app.model.*;
 import com.wellnest.app.repository.*;
 import com.wellnest.app.service.AnalyticsService;
+import com.wellnest.app.service.AnalyticsSummaryCache;
 import com.wellnest.app.service.AppUserService;
 import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDate;
-import java.time.LocalDateTime;
-import java.time.LocalTime;
 import java.time.temporal.ChronoUnit;
 import java.util.*;
-import java.util.stream.Collectors;
 
 @Service
 public class AnalyticsServiceImpl implements AnalyticsService {
 
-    private final WorkoutRepository workoutRepository;
-    private final MealRepository mealRepository;
-    private final SleepLogRepository sleepLogRepository;
-    private final WaterIntakeRepository waterIntakeRepository;
+    private static final int CONSISTENCY_DAYS = 90;
+
+    private final DailyRollupRepository dailyRollupRepository;
+    private final DailyWorkoutTypeRollupRepository workoutTypeRollupRepository;
     private final AppUserService appUserService;
     private final UserRepository userRepository;
     private final WeightLogRepository weightLogRepository;
+    private final AnalyticsSummaryCache summaryCache;
 
-    public AnalyticsServiceImpl(WorkoutRepository workoutRepository,
-            MealRepository mealRepository,
-            SleepLogRepository sleepLogRepository,
-            WaterIntakeRepository waterIntakeRepository,
+    public AnalyticsServiceImpl(DailyRollupRepository dailyRollupRepository,
+            DailyWorkoutTypeRollupRepository workoutTypeRollupRepository,
             AppUserService appUserService,
             UserRepository userRepository,
-            WeightLogRepository weightLogRepository) {
-        this.workoutRepository = workoutRepository;
-        this.mealRepository = mealRepository;
-        this.sleepLogRepository = sleepLogRepository;
-        this.waterIntakeRepository = waterIntakeRepository;
+            WeightLogRepository weightLogRepository,
+            AnalyticsSummaryCache summaryCache) {
+        this.dailyRollupRepository = dailyRollupRepository;
+        this.workoutTypeRollupRepository = workoutTypeRollupRepository;
         this.appUserService = appUserService;
         this.userRepository = userRepository;
         this.weightLogRepository = weightLogRepository;
+        this.summaryCache = summaryCache;
     }
 
     @Override
@@ -52,7 +49,7 @@ public class AnalyticsServiceImpl implements AnalyticsService {
     @Override
     public AnalyticsSummary getUserAnalytics(Authentication authentication, LocalDate startDate, LocalDate endDate) {
         Long userId = appUserService.getUserIdFromAuthentication(authentication);
-        return generateSummary(userId, startDate, endDate);
+        return summaryCache.get(userId, startDate, endDate, () -> generateSummary(userId, startDate, endDate));
     }
 
     @Override
@@ -64,202 +61,59 @@ public class AnalyticsServiceImpl implements AnalyticsService {
         // authorized.
         LocalDate endDate = LocalDate.now();
         LocalDate startDate = endDate.minusDays(6);
-        return generateSummary(clientId, startDate, endDate);
+        return summaryCache.get(clientId, startDate, endDate, () -> generateSummary(clientId, startDate, endDate));
     }
 
+    /**
+     * Builds the summary from the daily rollups (see DailyRollupService), so the
+     * cost follows the number of days rather than the number of entries: one
+     * fetch of rollup rows covering the requested range and the 90-day
+     * consistency window (two when they are far apart), one grouped query for
+     * workout types, and weight logs only for weight goals.
+     */
     private AnalyticsSummary generateSummary(Long userId, LocalDate startDate, LocalDate endDate) {
         User user = userRepository.findById(userId).orElseThrow(() -> new RuntimeException("User not found"));
 
-        LocalDateTime startDateTime = startDate.atStartOfDay();
-        LocalDateTime endDateTime = endDate.atTime(LocalTime.MAX);
+        LocalDate consistencyEnd = LocalDate.now();
+        LocalDate consistencyStart = consistencyEnd.minusDays(CONSISTENCY_DAYS - 1); // Approx 3 months
+
+        AnalyticsAccumulator acc = new AnalyticsAccumulator(startDate, endDate, consistencyStart, consistencyEnd);
 
-        List<Workout> workouts = workoutRepository.findByUserIdAndPerformedAtBetween(userId, startDateTime,
-                endDateTime);
+        boolean overlapping = !startDate.isAfter(consistencyEnd.plusDays(1))
+                && !endDate.isBefore(consistencyStart.minusDays(1));
+        if (overlapping) {
+            LocalDate from = startDate.isBefore(consistencyStart) ? startDate : consistencyStart;
+            LocalDate to = endDate.isAfter(consistencyEnd) ? endDate : consistencyEnd;
+            dailyRollupRepository.findByUserIdAndRollupDateBetweenOrderByRollupDateAsc(userId, from, to)
+                    .forEach(acc::addDay);
+        } else {
+            dailyRollupRepository.findByUserIdAndRollupDateBetweenOrderByRollupDateAsc(userId, startDate, endDate)
+                    .forEach(acc::addDay);
+            dailyRollupRepository.findByUserIdAndRollupDateBetweenOrderByRollupDateAsc(userId, consistencyStart,
+                    consistencyEnd).forEach(acc::addDay);
+        }
+        for (Object[] row : workoutTypeRollupRepository.sumCountsByTypeForUserBetween(userId, startDate, endDate)) {
+            acc.addWorkoutType((String) row[0], ((Number) row[1]).intValue());
+        }
 
         AnalyticsSummary summary = new AnalyticsSummary();
         summary.setStartDate(startDate);
         summary.setEndDate(endDate);
 
-        summary.setWorkoutAnalytics(calculateWorkoutAnalytics(userId, startDateTime, endDateTime));
         long days = ChronoUnit.DAYS.between(startDate, endDate) + 1;
-        summary.setNutritionAnalytics(calculateNutritionAnalytics(userId, startDateTime, endDateTime, days));
-        summary.setSleepAnalytics(calculateSleepAnalytics(userId, startDate, endDate)); // Uses LocalDate
-        summary.setWaterIntakeAnalytics(calculateWaterIntakeAnalytics(userId, startDateTime, endDateTime));
-        summary.setGoalProgress(calculateGoalProgress(user, startDateTime, endDateTime));
+        summary.setWorkoutAnalytics(acc.buildWorkoutAnalytics());
+        summary.setNutritionAnalytics(acc.buildNutritionAnalytics(days));
+        summary.setSleepAnalytics(acc.buildSleepAnalytics());
+        summary.setWaterIntakeAnalytics(acc.buildWaterIntakeAnalytics());
+        summary.setGoalProgress(calculateGoalProgress(user, startDate, endDate, acc));
         summary.setHealthMetrics(calculateHealthMetrics(user));
-        summary.setWorkoutConsistency(calculateWorkoutConsistency(userId));
+        summary.setWorkoutConsistency(acc.buildWorkoutConsistency());
 
         return summary;
     }
 
-    private WorkoutAnalytics calculateWorkoutAnalytics(Long userId, LocalDateTime startDateTime,
-            LocalDateTime endDateTime) {
-        List<Workout> workouts = workoutRepository.findByUserIdAndPerformedAtBetween(userId, startDateTime,
-                endDateTime);
-        WorkoutAnalytics analytics = new WorkoutAnalytics();
-
-        if (workouts.isEmpty()) {
-            analytics.setTotalWorkouts(0);
-            analytics.setTotalDuration(0);
-            analytics.setAvgDuration(0);
-            analytics.setWorkoutsByType(Collections.emptyMap());
-            analytics.setWeeklyTrend(Collections.emptyMap());
-            return analytics;
-        }
-
-        analytics.setTotalWorkouts(workouts.size());
-        double totalDuration = workouts.stream().mapToDouble(Workout::getDurationMinutes).sum();
-        analytics.setTotalDuration(totalDuration);
-        analytics.setAvgDuration(totalDuration / workouts.size());
-
-        Map<String, Integer> workoutsByType = workouts.stream()
-                .collect(Collectors.groupingBy(Workout::getType, Collectors.summingInt(w -> 1)));
-        analytics.setWorkoutsByType(workoutsByType);
-
-        Map<String, Double> weeklyTrend = workouts.stream()
-                .collect(Collectors.groupingBy(w -> w.getPerformedAt().toLocalDate().toString(),
-                        Collectors.summingDouble(Workout::getDurationMinutes)));
-        analytics.setWeeklyTrend(weeklyTrend);
-
-        Map<String, Double> dailyCaloriesBurned = workouts.stream()
-                .collect(Collectors.groupingBy(w -> w.getPerformedAt().toLocalDate().toString(),
-                        Collectors.summingDouble(w -> w.getCaloriesBurned() != null ? w.getCaloriesBurned() : 0.0)));
-        analytics.setDailyCaloriesBurned(dailyCaloriesBurned);
-
-        return analytics;
-    }
-
-    private NutritionAnalytics calculateNutritionAnalytics(Long userId, LocalDateTime startDateTime,
-            LocalDateTime endDateTime, long days) {
-        List<Meal> meals = mealRepository.findByUserIdAndLoggedAtBetween(userId, startDateTime, endDateTime);
-        NutritionAnalytics analytics = new NutritionAnalytics();
-
-        if (meals.isEmpty()) {
-            analytics.setAvgDailyCalories(0);
-            analytics.setAvgDailyProtein(0);
-            analytics.setAvgDailyCarbs(0);
-            analytics.setAvgDailyFat(0);
-            analytics.setWeeklyCalorieTrend(Collections.emptyMap());
-            analytics.setMacronutrientDistribution(Collections.emptyMap());
-            return analytics;
-        }
-
-        double totalCalories = meals.stream().mapToDouble(Meal::getCalories).sum();
-        double totalProtein = meals.stream().mapToDouble(Meal::getProtein).sum();
-        double totalCarbs = meals.stream().mapToDouble(Meal::getCarbs).sum();
-        double totalFat = meals.stream().mapToDouble(Meal::getFats).sum();
-
-        analytics.setAvgDailyCalories(totalCalories / days);
-        analytics.setAvgDailyProtein(totalProtein / days);
-        analytics.setAvgDailyCarbs(totalCarbs / days);
-        analytics.setAvgDailyFat(totalFat / days);
-
-        Map<String, Double> weeklyCalorieTrend = meals.stream()
-                .collect(Collectors.groupingBy(m -> m.getLoggedAt().toLocalDate().toString(),
-                        Collectors.summingDouble(Meal::getCalories)));
-        analytics.setWeeklyCalorieTrend(weeklyCalorieTrend);
-
-        Map<String, Double> macroDistribution = new HashMap<>();
-        macroDistribution.put("protein", totalProtein);
-        macroDistribution.put("carbs", totalCarbs);
-        macroDistribution.put("fat", totalFat);
-        analytics.setMacronutrientDistribution(macroDistribution);
-
-        return analytics;
-    }
-
-    private SleepAnalytics calculateSleepAnalytics(Long userId, LocalDate startDate, LocalDate endDate) {
-        List<SleepLog> sleepLogs = sleepLogRepository.findByUserIdAndSleepDateBetween(userId, startDate, endDate);
-        SleepAnalytics analytics = new SleepAnalytics();
-
-        if (sleepLogs.isEmpty()) {
-            analytics.setAvgSleepDuration(0);
-            analytics.setAvgSleepQuality(0);
-            analytics.setWeeklySleepTrend(Collections.emptyMap());
-            analytics.setSleepConsistency("N/A");
-            return analytics;
-        }
-
-        double avgDuration = sleepLogs.stream().mapToDouble(SleepLog::getHours).average().orElse(0);
-        analytics.setAvgSleepDuration(avgDuration);
-
-        // Map string quality to a number for averaging
-        double avgQuality = sleepLogs.stream()
-                .mapToDouble(s -> {
-                    switch (s.getQuality() != null ? s.getQuality().toLowerCase() : "") {
-                        case "good":
-                            return 5.0;
-                        case "fair":
-                            return 3.0;
-                        case "poor":
-                            return 1.0;
-                        default:
-                            return 0.0; // Or some other default
-                    }
-                })
-                .filter(q -> q > 0) // Exclude logs without quality
-                .average().orElse(0);
-        analytics.setAvgSleepQuality(avgQuality);
-
-        Map<String, Double> weeklyTrend = sleepLogs.stream()
-                .collect(Collectors.toMap(s -> s.getSleepDate().toString(), SleepLog::getHours,
-                        (oldValue, newValue) -> newValue));
-        analytics.setWeeklySleepTrend(weeklyTrend);
-
-        // Basic consistency logic
-        double stdDev = calculateStandardDeviation(
-                sleepLogs.stream().map(SleepLog::getHours).collect(Collectors.toList()));
-        if (stdDev < 1.0)
-            analytics.setSleepConsistency("Good");
-        else if (stdDev < 2.0)
-            analytics.setSleepConsistency("Fair");
-        else
-            analytics.setSleepConsistency("Poor");
-
-        return analytics;
-    }
-
-    private WaterIntakeAnalytics calculateWaterIntakeAnalytics(Long userId, LocalDateTime startDateTime,
-            LocalDateTime endDateTime) {
-        List<WaterIntake> waterIntakes = waterIntakeRepository.findByUserIdAndLoggedAtBetween(userId, startDateTime,
-                endDateTime);
-        WaterIntakeAnalytics analytics = new WaterIntakeAnalytics();
-        // Assuming a default target, this could be user-specific in the future
-        double targetIntake = 2000; // ml
-        analytics.setTargetDailyIntake(targetIntake);
-
-        if (waterIntakes.isEmpty()) {
-            analytics.setAvgDailyIntake(0);
-            analytics.setDaysMetGoal(0);
-            analytics.setWeeklyIntakeTrend(Collections.emptyMap());
-            return analytics;
-        }
-
-        // Group by Date and Sum Intake
-        Map<String, Double> dailyIntakeMap = waterIntakes.stream()
-                .collect(Collectors.groupingBy(
-                        w -> w.getLoggedAt().toLocalDate().toString(),
-                        Collectors.summingDouble(w -> w.getLiters() * 1000)));
-
-        // Calculate Days Met Goal based on aggregated daily totals
-        long daysMetGoal = dailyIntakeMap.values().stream()
-                .filter(total -> total >= targetIntake)
-                .count();
-        analytics.setDaysMetGoal((int) daysMetGoal);
-
-        // Average Daily Intake calculation
-        double avgIntake = dailyIntakeMap.values().stream()
-                .mapToDouble(Double::doubleValue)
-                .average()
-                .orElse(0);
-        analytics.setAvgDailyIntake(avgIntake);
-
-        analytics.setWeeklyIntakeTrend(dailyIntakeMap);
-
-        return analytics;
-    }
-
-    private GoalProgress calculateGoalProgress(User user, LocalDateTime startDateTime, LocalDateTime endDateTime) {
+    private GoalProgress calculateGoalProgress(User user, LocalDate startDate, LocalDate endDate,
+            AnalyticsAccumulator acc) {
         GoalProgress progress = new GoalProgress();
         String goal = user.getFitnessGoal();
         if (goal == null || goal.isEmpty()) {
@@ -286,18 +140,10 @@ public class AnalyticsServiceImpl implements AnalyticsService {
             progress.setTargetValue(targetWeight);
             progress.setUnit("kg");
 
-            // Get the initial weight from the weight logs or use current weight as fallback
-            List<WeightLog> allWeightLogs = weightLogRepository.findByUserIdOrderByLogDateAsc(user.getId());
-            double initialWeight = allWeightLogs.isEmpty() ? currentWeight : allWeightLogs.get(0).getWeightKg();
-
-            System.out.println("DEBUG GOAL: Current Weight = " + currentWeight);
-            System.out.println("DEBUG GOAL: Target Weight = " + targetWeight);
-            System.out.println("DEBUG GOAL: Initial Weight = " + initialWeight);
-            System.out.println("DEBUG GOAL: Logs Count = " + allWeightLogs.size());
-            if (!allWeightLogs.isEmpty()) {
-                System.out.println("DEBUG GOAL: First Log Date = " + allWeightLogs.get(0).getLogDate());
-                System.out.println("DEBUG GOAL: First Log Weight = " + allWeightLogs.get(0).getWeightKg());
-            }
+            // Range logs plus the earliest log (initial weight), oldest first; fall back to
+            // the current weight when nothing is logged
+            List<Object[]> weightRows = weightLogRepository.findRangeWithBaseline(user.getId(), startDate, endDate);
+            double initialWeight = weightRows.isEmpty() ? currentWeight : ((Number) weightRows.get(0)[1]).doubleValue();
 
             double weightDiff = Math.abs(currentWeight - initialWeight);
             double totalToChange = Math.abs(targetWeight - initialWeight);
@@ -339,33 +185,27 @@ public class AnalyticsServiceImpl implements AnalyticsService {
                 progress.setRecommendation("Every journey begins with a single step.");
             }
 
-            // Get weight logs for the specified date range
-            List<WeightLog> weightLogs = weightLogRepository.findByUserIdAndLogDateBetween(
-                    user.getId(),
-                    startDateTime.toLocalDate(),
-                    endDateTime.toLocalDate());
-
-            // Create a map of log date to weight
-            Map<String, Double> weeklyTrend = weightLogs.stream()
-                    .collect(Collectors.toMap(
-                            w -> w.getLogDate().toString(),
-                            WeightLog::getWeightKg,
-                            (oldValue, newValue) -> newValue));
+            // Weight per log date within the range (the baseline row may be older)
+            DailySeries weeklyTrend = new DailySeries();
+            for (Object[] row : weightRows) {
+                LocalDate logDate = (LocalDate) row[0];
+                if (!logDate.isBefore(startDate) && !logDate.isAfter(endDate)) {
+                    weeklyTrend.put(logDate, ((Number) row[1]).doubleValue());
+                }
+            }
             progress.setWeeklyProgressTrend(weeklyTrend);
         } else if ("WORKOUT_FREQUENCY".equalsIgnoreCase(normalizedGoal) || "FITNESS".equalsIgnoreCase(normalizedGoal)) {
-            // Existing workout frequency logic remains the same
-            List<Workout> workouts = workoutRepository.findByUserIdAndPerformedAtBetween(user.getId(), startDateTime,
-                    endDateTime);
-            // Assume goal is 4 workouts per week
-            long days = ChronoUnit.DAYS.between(startDateTime.toLocalDate(), endDateTime.toLocalDate()) + 1;
+            // Workouts in range come from the accumulator; assume goal is 4 workouts per week
+            int workoutCount = acc.getWorkoutCount();
+            long days = ChronoUnit.DAYS.between(startDate, endDate) + 1;
             double weeks = days / 7.0;
             double targetWorkouts = 4 * weeks;
 
-            progress.setCurrentValue(workouts.size());
+            progress.setCurrentValue(workoutCount);
             progress.setTargetValue(targetWorkouts);
             progress.setUnit("workouts");
 
-            int percentage = (int) ((workouts.size() / targetWorkouts) * 100);
+            int percentage = (int) ((workoutCount / targetWorkouts) * 100);
             progress.setPercentageComplete(Math.max(0, Math.min(100, percentage)));
 
             if (percentage >= 90)
@@ -377,10 +217,7 @@ public class AnalyticsServiceImpl implements AnalyticsService {
 
             progress.setRecommendation("Try to schedule your workouts in advance to stay consistent.");
 
-            Map<String, Double> weeklyTrend = workouts.stream()
-                    .collect(Collectors.groupingBy(w -> w.getPerformedAt().toLocalDate().toString(),
-                            Collectors.collectingAndThen(Collectors.counting(), Long::doubleValue)));
-            progress.setWeeklyProgressTrend(weeklyTrend);
+            progress.setWeeklyProgressTrend(acc.getWorkoutCountByDay());
         }
 
         return progress;
@@ -410,30 +247,4 @@ public class AnalyticsServiceImpl implements AnalyticsService {
 
         return metrics;
     }
-
-    private WorkoutConsistency calculateWorkoutConsistency(Long userId) {
-        LocalDate endDate = LocalDate.now();
-        LocalDate startDate = endDate.minusDays(89); // Approx 3 months
-
-        List<Workout> workouts = workoutRepository.findByUserIdAndPerformedAtBetween(userId, startDate.atStartOfDay(),
-                endDate.atTime(LocalTime.MAX));
-
-        Map<LocalDate, Integer> workoutCounts = workouts.stream()
-                .collect(Collectors.groupingBy(w -> w.getPerformedAt().toLocalDate(), Collectors.summingInt(w -> 1)));
-
-        WorkoutConsistency consistency = new WorkoutConsistency();
-        consistency.setStartDate(startDate);
-        consistency.setEndDate(endDate);
-        consistency.setWorkoutCounts(workoutCounts);
-
-        return consistency;
-    }
-
-    private double calculateStandardDeviation(List<Double> values) {
-        if (values.size() < 2)
-            return 0.0;
-        double mean = values.stream().mapToDouble(v -> v).average().orElse(0.0);
-        double variance = values.stream().mapToDouble(v -> Math.pow(v - mean, 2)).sum() / (values.size() - 1);
-        return Math.sqrt(variance);
-    }
 }
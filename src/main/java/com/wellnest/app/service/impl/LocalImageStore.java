@@ -0,0 +1,112 @@
+package com.wellnest.app.service.impl;
+
+import com.wellnest.app.service.ImageService;
+import com.wellnest.app.service.ImageStore;
+import com.wellnest.app.service.ImageVariant;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Optional;
+
+/**
+ * ImageStore on the local filesystem under app.images.dir, one file per
+ * image at ab/cd/abcd... and its variants at ab/cd/abcd....thumb: the first
+ * two byte pairs of the hash fan the files out so no directory grows too large.
+ */
+@Component
+public class LocalImageStore implements ImageStore {
+
+    private final Path root;
+
+    public LocalImageStore(@Value("${app.images.dir:data/images}") String dir) {
+        this.root = Path.of(dir).toAbsolutePath().normalize();
+    }
+
+    @Override
+    public String put(byte[] bytes) {
+        String hash = sha256(bytes);
+        Path target = pathOf(hash);
+        if (Files.exists(target)) {
+            return hash; // same bytes already stored
+        }
+        write(target, bytes);
+        return hash;
+    }
+
+    @Override
+    public Optional<Resource> get(String hash) {
+        if (!ImageService.isHash(hash)) {
+            return Optional.empty(); // also keeps "../" out of the path
+        }
+        return existing(pathOf(hash));
+    }
+
+    @Override
+    public void putVariant(String hash, ImageVariant variant, byte[] bytes) {
+        if (!ImageService.isHash(hash)) {
+            throw new IllegalArgumentException("Invalid image hash");
+        }
+        write(variantPath(hash, variant), bytes);
+    }
+
+    @Override
+    public Optional<Resource> getVariant(String hash, ImageVariant variant) {
+        if (!ImageService.isHash(hash)) {
+            return Optional.empty();
+        }
+        return existing(variantPath(hash, variant));
+    }
+
+    private static Optional<Resource> existing(Path path) {
+        return Files.isRegularFile(path) ? Optional.of(new FileSystemResource(path)) : Optional.empty();
+    }
+
+    private static void write(Path target, byte[] bytes) {
+        String name = target.getFileName().toString();
+        try {
+            Files.createDirectories(target.getParent());
+            // Write to a temp file and move it in, so readers never see a partial image;
+            // a concurrent writer of the same key wrote the same bytes
+            Path temp = Files.createTempFile(target.getParent(), name, ".tmp");
+            try {
+                Files.write(temp, bytes);
+                try {
+                    Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+                } catch (AtomicMoveNotSupportedException e) {
+                    Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+                }
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to store image " + name, e);
+        }
+    }
+
+    private Path pathOf(String hash) {
+        return root.resolve(hash.substring(0, 2)).resolve(hash.substring(2, 4)).resolve(hash);
+    }
+
+    private Path variantPath(String hash, ImageVariant variant) {
+        return pathOf(hash).resolveSibling(hash + "." + variant.key());
+    }
+
+    private static String sha256(byte[] bytes) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(bytes));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e); // every JVM has SHA-256
+        }
+    }
+}
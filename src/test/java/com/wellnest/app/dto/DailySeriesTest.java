@@ -0,0 +1,44 @@
+package com.wellnest.app.dto;
+
+import org.junit.jupiter.api.Test;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DailySeriesTest {
+
+    private final JsonMapper jsonMapper = JsonMapper.builder().build();
+
+    @Test
+    void serializesLikeTheDateKeyedMapItReplaces() {
+        LocalDate day = LocalDate.of(2024, 12, 30);
+        DailySeries series = new DailySeries();
+        Map<String, Double> map = new TreeMap<>();
+        // Out of order and across a year boundary, with a gap
+        for (int offset : new int[] { 3, 0, 1, -20, 40 }) {
+            series.put(day.plusDays(offset), offset * 1.5);
+            map.put(day.plusDays(offset).toString(), offset * 1.5);
+        }
+
+        assertEquals(jsonMapper.writeValueAsString(map), jsonMapper.writeValueAsString(series));
+        assertEquals(map, series.toMap());
+        assertEquals(5, series.size());
+        assertTrue(Double.isNaN(series.get(day.plusDays(2))));
+    }
+
+    @Test
+    void addSumsValuesOfTheSameDay() {
+        LocalDate day = LocalDate.of(2024, 5, 1);
+        DailySeries series = new DailySeries();
+        series.add(day, 250);
+        series.add(day, 500);
+
+        assertEquals(750, series.get(day), 1e-9);
+        assertEquals(1, series.size());
+        assertEquals("{}", jsonMapper.writeValueAsString(DailySeries.empty()));
+    }
+}
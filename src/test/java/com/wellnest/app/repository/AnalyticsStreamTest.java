@@ -0,0 +1,100 @@
+package com.wellnest.app.repository;
+
+import com.wellnest.app.model.DailyRollup;
+import com.wellnest.app.service.AnalyticsGranularity;
+import com.wellnest.app.service.AnalyticsStreamService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.boot.jpa.test.autoconfigure.TestEntityManager;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+class AnalyticsStreamTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+    @Autowired
+    private DailyRollupRepository dailyRollupRepository;
+
+    private final JsonMapper jsonMapper = JsonMapper.builder().build();
+    private AnalyticsStreamService streamService;
+
+    @BeforeEach
+    void setUp() {
+        streamService = new AnalyticsStreamService(dailyRollupRepository, entityManager.getEntityManager(),
+                jsonMapper);
+        // Two workouts every day of January and March 2024 (nothing in February), one
+        // day of water, and a day whose entries were all deleted again
+        for (LocalDate day = LocalDate.of(2024, 1, 1); day.isBefore(LocalDate.of(2024, 4, 1)); day = day.plusDays(1)) {
+            if (day.getMonthValue() == 2) {
+                continue;
+            }
+            DailyRollup r = rollup(day);
+            r.setWorkoutCount(2);
+            r.setWorkoutMinutes(60.0);
+            entityManager.persist(r);
+        }
+        DailyRollup water = dailyRollupRepository
+                .findByUserIdAndRollupDateBetweenOrderByRollupDateAsc(1L, LocalDate.of(2024, 1, 10),
+                        LocalDate.of(2024, 1, 10))
+                .get(0);
+        water.setWaterCount(3);
+        water.setWaterLiters(2.5);
+        entityManager.persist(rollup(LocalDate.of(2024, 2, 14))); // all counts back at 0
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void testStream_WritesOneLinePerActiveMonthClippedToRange() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        int written = streamService.streamBuckets(1L, LocalDate.of(2024, 1, 5), LocalDate.of(2024, 3, 31),
+                AnalyticsGranularity.MONTH, out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(2, written);
+        assertEquals(2, lines.length);
+
+        JsonNode january = jsonMapper.readTree(lines[0]);
+        assertEquals("2024-01-05", january.get("periodStart").asString());
+        assertEquals("2024-01-31", january.get("periodEnd").asString());
+        assertEquals(27, january.get("activeDays").asInt());
+        assertEquals(54, january.get("totalWorkouts").asInt());
+        assertEquals(2500.0, january.get("totalWaterIntake").asDouble(), 1e-9);
+        assertEquals(1, january.get("waterDaysMetGoal").asInt());
+
+        JsonNode march = jsonMapper.readTree(lines[1]);
+        assertEquals("2024-03-01", march.get("periodStart").asString());
+        assertEquals(31, march.get("activeDays").asInt());
+    }
+
+    @Test
+    void testStream_WeeklyBucketsFollowIsoWeeks() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        // 2024-01-01 is a Monday
+        int written = streamService.streamBuckets(1L, LocalDate.of(2024, 1, 1), LocalDate.of(2024, 1, 14),
+                AnalyticsGranularity.WEEK, out);
+
+        assertEquals(2, written);
+        JsonNode second = jsonMapper.readTree(out.toString(StandardCharsets.UTF_8).split("\n")[1]);
+        assertEquals("2024-01-08", second.get("periodStart").asString());
+        assertEquals(7, second.get("activeDays").asInt());
+        assertEquals(420.0, second.get("totalWorkoutMinutes").asDouble(), 1e-9);
+    }
+
+    private static DailyRollup rollup(LocalDate day) {
+        DailyRollup r = new DailyRollup();
+        r.setUserId(1L);
+        r.setRollupDate(day);
+        return r;
+    }
+}
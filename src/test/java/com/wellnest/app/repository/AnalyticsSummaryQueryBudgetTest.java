@@ -0,0 +1,150 @@
+package com.wellnest.app.repository;
+
+import com.wellnest.app.dto.AnalyticsSummary;
+import com.wellnest.app.model.*;
+import com.wellnest.app.service.AnalyticsSummaryCache;
+import com.wellnest.app.service.AppUserService;
+import com.wellnest.app.service.DailyRollupService;
+import com.wellnest.app.service.impl.AnalyticsServiceImpl;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.boot.jdbc.test.autoconfigure.AutoConfigureTestDatabase;
+import org.springframework.boot.jpa.test.autoconfigure.TestEntityManager;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.core.Authentication;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+// MySQL mode for the rollup upserts (ON DUPLICATE KEY UPDATE)
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:analytics;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "spring.jpa.properties.hibernate.generate_statistics=true" })
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class AnalyticsSummaryQueryBudgetTest {
+
+    // user + daily rollups + workout types + weight logs
+    private static final long QUERY_BUDGET = 4;
+    private static final int DAYS = 30;
+
+    @Autowired
+    private TestEntityManager entityManager;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private DailyRollupRepository dailyRollupRepository;
+    @Autowired
+    private DailyWorkoutTypeRollupRepository workoutTypeRollupRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private WeightLogRepository weightLogRepository;
+
+    private AnalyticsServiceImpl analyticsService;
+    private final Authentication auth = mock(Authentication.class);
+    private final LocalDate today = LocalDate.now();
+
+    @BeforeEach
+    void setUp() {
+        User user = new User();
+        user.setName("Analytics");
+        user.setEmail("analytics@test.com");
+        user.setPassword("secret");
+        user.setRole("USER");
+        user.setWeightKg(80.0);
+        user.setTargetWeightKg(75.0);
+        user.setHeightCm(180.0);
+        user.setFitnessGoal("Weight Loss");
+        entityManager.persist(user);
+        Long userId = user.getId();
+
+        // An old baseline weight plus one log per day and a few entries of each kind per day
+        entityManager.persist(new WeightLog(user, 84.0, today.minusDays(200)));
+        for (int i = 0; i < DAYS; i++) {
+            LocalDate day = today.minusDays(i);
+            entityManager.persist(new WeightLog(user, 82.0 - i * 0.05, day));
+            for (int k = 0; k < 2; k++) {
+                Workout w = new Workout();
+                w.setUserId(userId);
+                w.setType(k == 0 ? "run" : "yoga");
+                w.setDurationMinutes(30 + k * 15);
+                w.setCaloriesBurned(250 + k * 50);
+                w.setPerformedAt(day.atTime(7 + k * 10, 0));
+                entityManager.persist(w);
+            }
+            for (int k = 0; k < 3; k++) {
+                Meal m = new Meal();
+                m.setUserId(userId);
+                m.setMealType(k == 0 ? "breakfast" : k == 1 ? "lunch" : "dinner");
+                m.setCalories(600);
+                m.setProtein(30);
+                m.setCarbs(70);
+                m.setFats(20);
+                m.setLoggedAt(day.atTime(8 + k * 5, 0));
+                entityManager.persist(m);
+            }
+            SleepLog s = new SleepLog();
+            s.setUserId(userId);
+            s.setHours(7.0 + (i % 3) * 0.5);
+            s.setQuality(i % 2 == 0 ? "good" : "fair");
+            s.setSleepDate(day);
+            entityManager.persist(s);
+            for (int k = 0; k < 4; k++) {
+                WaterIntake wi = new WaterIntake();
+                wi.setUserId(userId);
+                wi.setLiters(0.5);
+                wi.setLoggedAt(day.atTime(9 + k * 3, 0));
+                entityManager.persist(wi);
+            }
+        }
+        entityManager.flush();
+        new DailyRollupService(jdbcTemplate, dailyRollupRepository).rebuildAll();
+        entityManager.clear();
+
+        AppUserService appUserService = mock(AppUserService.class);
+        when(appUserService.getUserIdFromAuthentication(any())).thenReturn(userId);
+        analyticsService = new AnalyticsServiceImpl(dailyRollupRepository, workoutTypeRollupRepository,
+                appUserService, userRepository, weightLogRepository, new AnalyticsSummaryCache(false, 0, 0));
+    }
+
+    @Test
+    void testUserAnalytics_StaysWithinQueryBudgetAndAggregatesEverySection() {
+        Statistics stats = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        stats.clear();
+
+        long started = System.nanoTime();
+        AnalyticsSummary summary = analyticsService.getUserAnalytics(auth, today.minusDays(6), today);
+        long elapsedMicros = (System.nanoTime() - started) / 1_000;
+
+        long statements = stats.getPrepareStatementCount();
+        System.out.printf("Analytics summary: %d statements, %d us%n", statements, elapsedMicros);
+        assertTrue(statements <= QUERY_BUDGET, "expected <= " + QUERY_BUDGET + " statements but was " + statements);
+
+        assertEquals(14, summary.getWorkoutAnalytics().getTotalWorkouts());
+        assertEquals(37.5, summary.getWorkoutAnalytics().getAvgDuration(), 1e-9);
+        assertEquals(7, summary.getWorkoutAnalytics().getWeeklyTrend().size());
+        assertEquals(7, summary.getWorkoutAnalytics().getWorkoutsByType().get("run"));
+        assertEquals(1800.0, summary.getNutritionAnalytics().getAvgDailyCalories(), 1e-9);
+        assertEquals(7, summary.getWaterIntakeAnalytics().getDaysMetGoal());
+        assertEquals(2000.0, summary.getWaterIntakeAnalytics().getAvgDailyIntake(), 1e-9);
+        assertEquals("Good", summary.getSleepAnalytics().getSleepConsistency());
+
+        // Consistency window covers all seeded days, not only the requested week
+        assertEquals(DAYS, summary.getWorkoutConsistency().getWorkoutCounts().size());
+
+        // Initial weight comes from the old baseline log; the trend stays within the range
+        assertEquals(44, summary.getGoalProgress().getPercentageComplete());
+        assertEquals(7, summary.getGoalProgress().getWeeklyProgressTrend().size());
+    }
+}
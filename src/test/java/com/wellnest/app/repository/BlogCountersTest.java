@@ -0,0 +1,184 @@
+package com.wellnest.app.repository;
+
+import com.wellnest.app.dto.BlogPostResponse;
+import com.wellnest.app.dto.CommentDto;
+import com.wellnest.app.model.BlogPost;
+import com.wellnest.app.model.User;
+import com.wellnest.app.service.BlogSearchService;
+import com.wellnest.app.service.BlogService;
+import com.wellnest.app.service.ContentVersions;
+import com.wellnest.app.service.HotPostRanking;
+import com.wellnest.app.service.ImageService;
+import com.wellnest.app.service.LikeCounterBuffer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.boot.jdbc.test.autoconfigure.AutoConfigureTestDatabase;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.spy;
+
+// MySQL mode for INSERT IGNORE; not transactional, so toggles commit and reach the buffer
+@DataJpaTest(properties = "spring.datasource.url=jdbc:h2:mem:blogcounters;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class BlogCountersTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    @Autowired
+    private BlogPostRepository blogPostRepository;
+    @Autowired
+    private BlogCommentRepository blogCommentRepository;
+    @Autowired
+    private UserRepository userRepository;
+
+    private LikeCounterBuffer buffer;
+    private BlogService blogService;
+    private TransactionTemplate tx;
+    private Long postId;
+
+    @BeforeEach
+    void setUp() {
+        // Flushed by hand below
+        buffer = new LikeCounterBuffer(jdbcTemplate, transactionManager, true, 3_600_000);
+        blogService = new BlogService(blogPostRepository, blogCommentRepository, userRepository,
+                mock(ImageService.class), buffer, mock(BlogSearchService.class), mock(HotPostRanking.class),
+                new ContentVersions());
+        tx = new TransactionTemplate(transactionManager);
+        BlogPost post = new BlogPost("Counters", "excerpt", "content", "Author", "User", "Fitness", null);
+        postId = blogPostRepository.save(post).getId();
+    }
+
+    @AfterEach
+    void tearDown() {
+        buffer.shutdown();
+        jdbcTemplate.update("DELETE FROM post_likes");
+        jdbcTemplate.update("DELETE FROM blog_comments");
+        jdbcTemplate.update("DELETE FROM blog_posts");
+        jdbcTemplate.update("DELETE FROM users");
+    }
+
+    @Test
+    void testToggleLike_ChangesOneRowAndBuffersTheCount() {
+        User alice = user("alice");
+        User bob = user("bob");
+
+        BlogPostResponse liked = toggle(alice);
+        assertTrue(liked.getIsLiked());
+        assertEquals(1, liked.getLikes());
+        assertEquals(0, storedLikes()); // not flushed yet
+        assertEquals(1, buffer.pending(postId));
+        assertEquals(1, buffer.flush());
+        assertEquals(1, storedLikes());
+        assertEquals(0, buffer.pending(postId));
+
+        assertEquals(2, toggle(bob).getLikes());
+        BlogPostResponse unliked = toggle(alice);
+        assertFalse(unliked.getIsLiked());
+        assertEquals(1, unliked.getLikes());
+        buffer.flush();
+        assertEquals(1, storedLikes());
+        assertEquals(1, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM post_likes", Integer.class));
+        assertNotNull(jdbcTemplate.queryForObject("SELECT created_at FROM post_likes", LocalDateTime.class));
+    }
+
+    @Test
+    void testToggleLike_ConcurrentBurstIsCoalescedIntoOneUpdate() throws Exception {
+        List<User> users = new ArrayList<>();
+        for (int i = 0; i < 24; i++) {
+            users.add(user("fan" + i));
+        }
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<BlogPostResponse>> results = new ArrayList<>();
+            for (User u : users) {
+                results.add(pool.submit(() -> toggle(u)));
+            }
+            for (Future<BlogPostResponse> result : results) {
+                assertTrue(result.get().getIsLiked());
+            }
+        } finally {
+            pool.shutdown();
+        }
+        assertEquals(24, buffer.pending(postId));
+        assertEquals(1, buffer.flush());
+        assertEquals(24, storedLikes());
+    }
+
+    @Test
+    void testFlush_FailedBatchIsRolledBackAndRetriedOnce() {
+        // The first batch writes its rows and then fails, as a lost connection would
+        JdbcTemplate flaky = spy(jdbcTemplate);
+        doAnswer(invocation -> {
+            invocation.callRealMethod();
+            throw new DataAccessResourceFailureException("down");
+        }).doCallRealMethod().when(flaky).batchUpdate(anyString(), anyList());
+        LikeCounterBuffer retrying = new LikeCounterBuffer(flaky, transactionManager, true, 3_600_000);
+        try {
+            retrying.add(postId, 1);
+            assertThrows(DataAccessResourceFailureException.class, retrying::flush);
+            assertEquals(0, storedLikes());
+            assertEquals(1, retrying.pending(postId));
+
+            assertEquals(1, retrying.flush());
+            assertEquals(1, storedLikes());
+            assertEquals(0, retrying.pending(postId));
+        } finally {
+            retrying.shutdown();
+        }
+    }
+
+    @Test
+    void testComments_KeepCommentCountInStep() {
+        User alice = user("alice");
+        CommentDto dto = new CommentDto();
+        dto.setText("Nice");
+        tx.executeWithoutResult(s -> blogService.addComment(postId, dto, alice.getEmail()));
+        tx.executeWithoutResult(s -> blogService.addComment(postId, dto, alice.getEmail()));
+        Long first = blogService.getComments(postId).get(0).getId();
+        tx.executeWithoutResult(s -> blogService.deleteComment(first, alice.getEmail()));
+
+        assertEquals(1, jdbcTemplate.queryForObject("SELECT comment_count FROM blog_posts WHERE id = ?",
+                Integer.class, postId));
+        assertEquals(1, blogService.getFeed(null, null, null, null).getItems().get(0).getCommentCount());
+    }
+
+    private BlogPostResponse toggle(User user) {
+        return tx.execute(s -> blogService.toggleLike(postId, user.getEmail()).orElseThrow());
+    }
+
+    private int storedLikes() {
+        return jdbcTemplate.queryForObject("SELECT likes FROM blog_posts WHERE id = ?", Integer.class, postId);
+    }
+
+    private User user(String name) {
+        User user = new User();
+        user.setName(name);
+        user.setEmail(name + "@test.com");
+        user.setPassword("secret");
+        user.setRole("USER");
+        return userRepository.save(user);
+    }
+}
@@ -0,0 +1,138 @@
+package com.wellnest.app.repository;
+
+import com.wellnest.app.dto.ClientAnalyticsSummary;
+import com.wellnest.app.model.DailyRollup;
+import com.wellnest.app.model.Trainer;
+import com.wellnest.app.model.TrainerClient;
+import com.wellnest.app.model.User;
+import com.wellnest.app.service.ClientAnalyticsService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Not transactional: the parallel chunks read on pool threads, which only see committed rows
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ClientAnalyticsOverviewTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private TrainerRepository trainerRepository;
+    @Autowired
+    private TrainerClientRepository trainerClientRepository;
+    @Autowired
+    private DailyRollupRepository dailyRollupRepository;
+
+    private ClientAnalyticsService service;
+    private Long trainerUserId;
+    private Trainer trainer;
+    private final LocalDate start = LocalDate.of(2024, 5, 1);
+    private final LocalDate end = LocalDate.of(2024, 5, 7);
+
+    @BeforeEach
+    void setUp() {
+        service = new ClientAnalyticsService(trainerRepository, trainerClientRepository, dailyRollupRepository, 2);
+        User trainerUser = user("Coach");
+        trainerUserId = trainerUser.getId();
+        trainer = new Trainer();
+        trainer.setName("Coach");
+        trainer.setUser(trainerUser);
+        trainerRepository.save(trainer);
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.shutdown();
+        // Plain deletes: the trainer collection tables are not created on H2
+        jdbcTemplate.update("DELETE FROM daily_rollups");
+        jdbcTemplate.update("DELETE FROM trainer_clients");
+        jdbcTemplate.update("DELETE FROM trainers");
+        jdbcTemplate.update("DELETE FROM users");
+    }
+
+    @Test
+    void testOverview_AggregatesRollupsForActiveClientsOnly() {
+        User active = client("Alice", "ACTIVE");
+        User pending = client("Bob", "PENDING");
+        rollup(active, start, 1, 30, 2100, 2.5, 8.0);
+        rollup(active, start.plusDays(1), 0, 0, 1400, 1.0, 6.0);
+        rollup(active, start.minusDays(1), 2, 60, 1000, 3.0, 7.0); // outside the range
+        rollup(pending, start, 1, 45, 1800, 2.0, 7.0);
+
+        List<ClientAnalyticsSummary> overview = service.getClientsOverview(trainerUserId, start, end);
+
+        assertEquals(1, overview.size());
+        ClientAnalyticsSummary alice = overview.get(0);
+        assertEquals(active.getId(), alice.getClientId());
+        assertEquals(2, alice.getActiveDays());
+        assertEquals(1, alice.getTotalWorkouts());
+        assertEquals(30.0, alice.getTotalWorkoutMinutes(), 1e-9);
+        assertEquals(3500.0 / 7, alice.getAvgDailyCalories(), 1e-9);
+        assertEquals(7.0, alice.getAvgSleepHours(), 1e-9);
+        assertEquals(1750.0, alice.getAvgDailyWaterIntake(), 1e-9);
+        assertEquals(1, alice.getWaterDaysMetGoal());
+        assertEquals(80.0 / (1.8 * 1.8), alice.getBmi(), 1e-9);
+    }
+
+    @Test
+    void testOverview_SplitsLargeRostersIntoParallelChunks() {
+        for (int i = 0; i < 250; i++) {
+            User c = client(String.format("Client %03d", i), "ACTIVE");
+            rollup(c, start, 1, i, 0, 0, 0);
+        }
+        List<ClientAnalyticsSummary> overview = service.getClientsOverview(trainerUserId, start, end);
+
+        assertEquals(250, overview.size());
+        assertEquals("Client 000", overview.get(0).getClientName());
+    }
+
+    private User user(String name) {
+        User u = new User();
+        u.setName(name);
+        u.setEmail(name.replace(" ", "").toLowerCase() + "@test.com");
+        u.setPassword("secret");
+        u.setRole("USER");
+        u.setWeightKg(80.0);
+        u.setHeightCm(180.0);
+        return userRepository.save(u);
+    }
+
+    private User client(String name, String status) {
+        User u = user(name);
+        TrainerClient tc = new TrainerClient();
+        tc.setTrainer(trainer);
+        tc.setClient(u);
+        tc.setStatus(status);
+        trainerClientRepository.save(tc);
+        return u;
+    }
+
+    private void rollup(User user, LocalDate day, int workouts, double minutes, double calories, double liters,
+            double sleepHours) {
+        DailyRollup r = new DailyRollup();
+        r.setUserId(user.getId());
+        r.setRollupDate(day);
+        r.setWorkoutCount(workouts);
+        r.setWorkoutMinutes(minutes);
+        r.setMealCount(calories > 0 ? 1 : 0);
+        r.setCaloriesIn(calories);
+        r.setWaterCount(liters > 0 ? 1 : 0);
+        r.setWaterLiters(liters);
+        r.setSleepCount(sleepHours > 0 ? 1 : 0);
+        r.setSleepHours(sleepHours);
+        dailyRollupRepository.save(r);
+    }
+}
@@ -0,0 +1,153 @@
+package com.wellnest.app.repository;
+
+import com.wellnest.app.model.*;
+import com.wellnest.app.service.DailyRollupService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.boot.jdbc.test.autoconfigure.AutoConfigureTestDatabase;
+import org.springframework.boot.jpa.test.autoconfigure.TestEntityManager;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// MySQL mode for the rollup upserts (ON DUPLICATE KEY UPDATE)
+@DataJpaTest(properties = "spring.datasource.url=jdbc:h2:mem:rollups;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class DailyRollupMaintenanceTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private DailyRollupRepository dailyRollupRepository;
+    @Autowired
+    private DailyWorkoutTypeRollupRepository workoutTypeRollupRepository;
+
+    private DailyRollupService rollupService;
+    private final LocalDate day = LocalDate.of(2024, 5, 6);
+
+    @BeforeEach
+    void setUp() {
+        rollupService = new DailyRollupService(jdbcTemplate, dailyRollupRepository);
+    }
+
+    @Test
+    void testDeltas_MatchFullRebuildAfterCreatesAndDeletes() {
+        Workout run = persist(workout("run", 30, day));
+        Workout yoga = persist(workout("yoga", 45, day));
+        Workout nextDay = persist(workout("run", 20, day.plusDays(1)));
+        Meal lunch = persist(meal(day, 700));
+        WaterIntake glass = persist(water(day, 0.75));
+        SleepLog sleep = persist(sleep(day, 7.5, "good"));
+        SleepLog unrated = persist(sleep(day.plusDays(1), 6.0, null));
+
+        rollupService.applyWorkouts(1L, List.of(run, yoga, nextDay), 1);
+        rollupService.applyMeals(1L, List.of(lunch), 1);
+        rollupService.applyWater(1L, List.of(glass), 1);
+        rollupService.applySleep(1L, List.of(sleep, unrated), 1);
+
+        // Deleting an entry subtracts it again
+        entityManager.remove(yoga);
+        rollupService.applyWorkouts(1L, List.of(yoga), -1);
+        entityManager.flush();
+
+        List<DailyRollup> days = rollups();
+        assertEquals(2, days.size());
+        DailyRollup first = days.get(0);
+        assertEquals(1, first.getWorkoutCount());
+        assertEquals(30.0, first.getWorkoutMinutes(), 1e-9);
+        assertEquals(700.0, first.getCaloriesIn(), 1e-9);
+        assertEquals(0.75, first.getWaterLiters(), 1e-9);
+        assertEquals(56.25, first.getSleepHoursSq(), 1e-9);
+        assertEquals(5.0, first.getSleepQualitySum(), 1e-9);
+        assertEquals(0, days.get(1).getSleepQualityCount());
+        assertEquals(Map.of("run", 1), typeCounts(day));
+
+        // A full rebuild from the raw tables produces the same rows
+        rollupService.rebuildAll();
+        List<DailyRollup> rebuilt = rollups();
+        assertEquals(days.size(), rebuilt.size());
+        for (int i = 0; i < days.size(); i++) {
+            assertSameTotals(days.get(i), rebuilt.get(i));
+        }
+        assertEquals(Map.of("run", 1), typeCounts(day));
+    }
+
+    private List<DailyRollup> rollups() {
+        entityManager.clear();
+        return dailyRollupRepository.findByUserIdAndRollupDateBetweenOrderByRollupDateAsc(1L, day, day.plusDays(1));
+    }
+
+    private Map<String, Integer> typeCounts(LocalDate date) {
+        Map<String, Integer> counts = new HashMap<>();
+        for (Object[] row : workoutTypeRollupRepository.sumCountsByTypeForUserBetween(1L, date, date)) {
+            counts.put((String) row[0], ((Number) row[1]).intValue());
+        }
+        return counts;
+    }
+
+    private void assertSameTotals(DailyRollup expected, DailyRollup actual) {
+        assertEquals(expected.getRollupDate(), actual.getRollupDate());
+        assertEquals(expected.getMealCount(), actual.getMealCount());
+        assertEquals(expected.getCaloriesIn(), actual.getCaloriesIn(), 1e-9);
+        assertEquals(expected.getWorkoutCount(), actual.getWorkoutCount());
+        assertEquals(expected.getWorkoutMinutes(), actual.getWorkoutMinutes(), 1e-9);
+        assertEquals(expected.getCaloriesOut(), actual.getCaloriesOut(), 1e-9);
+        assertEquals(expected.getWaterCount(), actual.getWaterCount());
+        assertEquals(expected.getWaterLiters(), actual.getWaterLiters(), 1e-9);
+        assertEquals(expected.getSleepCount(), actual.getSleepCount());
+        assertEquals(expected.getSleepHours(), actual.getSleepHours(), 1e-9);
+        assertEquals(expected.getSleepHoursSq(), actual.getSleepHoursSq(), 1e-9);
+        assertEquals(expected.getSleepQualitySum(), actual.getSleepQualitySum(), 1e-9);
+        assertEquals(expected.getSleepQualityCount(), actual.getSleepQualityCount());
+    }
+
+    private <T> T persist(T entity) {
+        return entityManager.persistAndFlush(entity);
+    }
+
+    private static Workout workout(String type, int minutes, LocalDate date) {
+        Workout w = new Workout();
+        w.setUserId(1L);
+        w.setType(type);
+        w.setDurationMinutes(minutes);
+        w.setCaloriesBurned(minutes * 8);
+        w.setPerformedAt(date.atTime(7, 0));
+        return w;
+    }
+
+    private static Meal meal(LocalDate date, int calories) {
+        Meal m = new Meal();
+        m.setUserId(1L);
+        m.setMealType("lunch");
+        m.setCalories(calories);
+        m.setProtein(30);
+        m.setLoggedAt(date.atTime(12, 0));
+        return m;
+    }
+
+    private static WaterIntake water(LocalDate date, double liters) {
+        WaterIntake w = new WaterIntake();
+        w.setUserId(1L);
+        w.setLiters(liters);
+        w.setLoggedAt(date.atTime(10, 0));
+        return w;
+    }
+
+    private static SleepLog sleep(LocalDate date, double hours, String quality) {
+        SleepLog s = new SleepLog();
+        s.setUserId(1L);
+        s.setHours(hours);
+        s.setQuality(quality);
+        s.setSleepDate(date);
+        return s;
+    }
+}
@@ -0,0 +1,258 @@
+package com.wellnest.app.repository;
+
+import com.wellnest.app.dto.BlogPostResponse;
+import com.wellnest.app.dto.BlogPostSummary;
+import com.wellnest.app.dto.ChatMessageDto;
+import com.wellnest.app.dto.ConnectionResponseDto;
+import com.wellnest.app.dto.CursorPage;
+import com.wellnest.app.dto.LeaderboardGroupResponse;
+import com.wellnest.app.model.*;
+import com.wellnest.app.service.BlogSearchService;
+import com.wellnest.app.service.BlogService;
+import com.wellnest.app.service.ContentVersions;
+import com.wellnest.app.service.HotPostRanking;
+import com.wellnest.app.service.ImageService;
+import com.wellnest.app.service.LeaderboardGroupService;
+import com.wellnest.app.service.LeaderboardService;
+import com.wellnest.app.service.LikeCounterBuffer;
+import com.wellnest.app.service.NotificationService;
+import com.wellnest.app.service.TrainerInteractionService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.boot.jpa.test.autoconfigure.TestEntityManager;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import static com.wellnest.app.repository.SqlStatementCounter.assertAtMost;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Statement budgets for the list endpoints that used to lazy-load per row
+ * (comments and likes per post, trainer/client per connection, sender per
+ * message, member count per leaderboard group). The budgets do not depend on the number of rows.
+ */
+@DataJpaTest(properties = SqlStatementCounter.PROPERTY)
+class EndpointQueryBudgetTest {
+
+    private static final int ROWS = 6;
+
+    @Autowired
+    private TestEntityManager entityManager;
+    @Autowired
+    private BlogPostRepository blogPostRepository;
+    @Autowired
+    private BlogCommentRepository blogCommentRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private TrainerClientRepository trainerClientRepository;
+    @Autowired
+    private ChatMessageRepository chatMessageRepository;
+    @Autowired
+    private TrainerRepository trainerRepository;
+    @Autowired
+    private LeaderboardGroupRepository groupRepository;
+    @Autowired
+    private LeaderboardGroupMemberRepository groupMemberRepository;
+
+    private BlogService blogService;
+    private HotPostRanking hotPostRanking;
+    private TrainerInteractionService interactionService;
+    private LeaderboardGroupService groupService;
+    private User reader;
+    private User coachUser;
+    private final List<User> clients = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        hotPostRanking = new HotPostRanking(blogPostRepository, blogCommentRepository, 24);
+        blogService = new BlogService(blogPostRepository, blogCommentRepository, userRepository,
+                mock(ImageService.class), mock(LikeCounterBuffer.class),
+                mock(BlogSearchService.class), hotPostRanking, new ContentVersions());
+        interactionService = new TrainerInteractionService(trainerClientRepository, chatMessageRepository,
+                trainerRepository, userRepository, mock(NotificationService.class));
+        groupService = new LeaderboardGroupService(mock(LeaderboardService.class), groupRepository,
+                groupMemberRepository, trainerRepository, trainerClientRepository, userRepository,
+                mock(NotificationService.class));
+
+        reader = user("Reader");
+        coachUser = user("Coach");
+        Trainer trainer = new Trainer();
+        trainer.setName("Coach");
+        trainer.setUser(coachUser);
+        entityManager.persist(trainer);
+
+        for (int i = 0; i < ROWS; i++) {
+            User client = user("Client" + i);
+            clients.add(client);
+
+            BlogPost post = new BlogPost("Post " + i, "excerpt", "content", client.getName(), "User",
+                    i % 2 == 0 ? "Fitness" : "Nutrition", null);
+            post.setUser(client);
+            if (i % 3 == 0) {
+                post.getLikedBy().add(reader);
+            }
+            post.setCommentCount(3); // kept in step by BlogService outside fixtures
+            entityManager.persist(post);
+            for (int k = 0; k < 3; k++) {
+                BlogComment comment = new BlogComment("Comment " + k, client.getName(), post);
+                comment.setUser(k == 0 ? reader : client);
+                entityManager.persist(comment);
+            }
+
+            entityManager.persist(new TrainerClient(trainer, client, i % 2 == 0 ? "ACTIVE" : "PENDING", "hi"));
+            entityManager.persist(new ChatMessage(coachUser, clients.get(0), "from coach " + i));
+            entityManager.persist(new ChatMessage(clients.get(0), coachUser, "from client " + i));
+
+            // Each client owns a group; the reader joined the even ones and is invited to the odd ones
+            LeaderboardGroup group = entityManager.persist(new LeaderboardGroup("Group " + i, client.getId()));
+            entityManager.persist(new LeaderboardGroupMember(group.getId(), client.getId(), "ACTIVE"));
+            entityManager.persist(new LeaderboardGroupMember(group.getId(), reader.getId(),
+                    i % 2 == 0 ? "ACTIVE" : "PENDING"));
+        }
+        entityManager.flush();
+        // Nothing cached, so any lazy load shows up as a statement
+        entityManager.clear();
+    }
+
+    @Test
+    void testBlogFeed_CommentsAndLikesDoNotQueryPerPost() {
+        // user + posts + comments + liked post ids
+        List<BlogPostResponse> posts = assertAtMost(4, "GET /api/blog/posts",
+                () -> blogService.getAllPosts(reader.getEmail()));
+        assertEquals(ROWS, posts.size());
+        assertEquals(2, posts.stream().filter(BlogPostResponse::getIsLiked).count());
+        posts.forEach(p -> assertEquals(3, p.getComments().size()));
+        assertEquals(reader.getId(), posts.get(0).getComments().get(0).getUserId());
+
+        entityManager.clear();
+        List<BlogPostResponse> fitness = assertAtMost(4, "GET /api/blog/posts?category",
+                () -> blogService.getPostsByCategory("Fitness", reader.getEmail()));
+        assertEquals(ROWS / 2, fitness.size());
+
+        entityManager.clear();
+        Long postId = posts.get(0).getId();
+        Optional<BlogPostResponse> post = assertAtMost(4, "GET /api/blog/posts/{id}",
+                () -> blogService.getPostById(postId, reader.getEmail()));
+        assertEquals(3, post.orElseThrow().getComments().size());
+
+        // Anonymous readers skip the user and likes queries
+        entityManager.clear();
+        assertAtMost(2, "GET /api/blog/posts (anonymous)", () -> blogService.getAllPosts(null));
+    }
+
+    @Test
+    void testBlogFeed_PagesSummariesWithAggregateCounts() {
+        // page (with comment counts) + user + liked post ids
+        CursorPage<BlogPostSummary> first = assertAtMost(3, "GET /api/blog/feed",
+                () -> blogService.getFeed(null, null, 4, reader.getEmail()));
+        assertEquals(4, first.getItems().size());
+        assertTrue(first.isHasMore());
+
+        entityManager.clear();
+        CursorPage<BlogPostSummary> second = assertAtMost(3, "GET /api/blog/feed?cursor",
+                () -> blogService.getFeed("All", first.getNextCursor(), 4, reader.getEmail()));
+        assertEquals(ROWS - 4, second.getItems().size());
+        assertNull(second.getNextCursor());
+
+        List<BlogPostSummary> all = new ArrayList<>(first.getItems());
+        all.addAll(second.getItems());
+        // Newest first; posts are created in id order within the same timestamp
+        for (int i = 1; i < all.size(); i++) {
+            assertTrue(all.get(i - 1).getId() > all.get(i).getId());
+        }
+        all.forEach(p -> assertEquals(3, p.getCommentCount()));
+        assertEquals(2, all.stream().filter(BlogPostSummary::getIsLiked).count());
+        assertEquals(clients.get(0).getId(), all.get(all.size() - 1).getAuthorId());
+
+        CursorPage<BlogPostSummary> nutrition = blogService.getFeed("Nutrition", null, null, null);
+        assertEquals(ROWS / 2, nutrition.getItems().size());
+        assertTrue(nutrition.getItems().stream().noneMatch(BlogPostSummary::getIsLiked));
+
+        assertThrows(IllegalArgumentException.class, () -> blogService.getFeed(null, "not-a-cursor", 4, null));
+    }
+
+    @Test
+    void testHotFeed_ReadsOnlyThePageFromTheDatabase() {
+        hotPostRanking.rebuildAll();
+        entityManager.clear();
+
+        // page summaries + user + liked post ids; the order comes from memory
+        CursorPage<BlogPostSummary> first = assertAtMost(3, "GET /api/blog/hot",
+                () -> blogService.getHotFeed(null, 4, reader.getEmail()));
+        assertEquals(4, first.getItems().size());
+        assertTrue(first.isHasMore());
+
+        entityManager.clear();
+        CursorPage<BlogPostSummary> second = assertAtMost(3, "GET /api/blog/hot?cursor",
+                () -> blogService.getHotFeed(first.getNextCursor(), 4, reader.getEmail()));
+        assertEquals(ROWS - 4, second.getItems().size());
+        assertNull(second.getNextCursor());
+
+        Set<Long> ids = new HashSet<>();
+        first.getItems().forEach(p -> ids.add(p.getId()));
+        second.getItems().forEach(p -> ids.add(p.getId()));
+        assertEquals(ROWS, ids.size());
+        assertEquals(2, Stream.concat(first.getItems().stream(), second.getItems().stream())
+                .filter(BlogPostSummary::getIsLiked).count());
+
+        assertThrows(IllegalArgumentException.class, () -> blogService.getHotFeed("-4", 4, null));
+    }
+
+    @Test
+    void testConnectionsAndChat_FetchPartiesWithTheRows() {
+        // user + trainer profile + connections with trainer and client
+        List<ConnectionResponseDto> requests = assertAtMost(3, "GET /api/trainer-interactions/requests",
+                () -> interactionService.getTrainerRequests(coachUser.getEmail()));
+        assertEquals(ROWS, requests.size());
+        assertTrue(requests.stream().allMatch(r -> "Coach".equals(r.getTrainerName())));
+        assertTrue(requests.stream().allMatch(r -> r.getClientName().startsWith("Client")));
+
+        entityManager.clear();
+        List<ConnectionResponseDto> own = assertAtMost(2, "GET /api/trainer-interactions/client-requests",
+                () -> interactionService.getClientRequests(clients.get(1).getEmail()));
+        assertEquals(1, own.size());
+        assertEquals("PENDING", own.get(0).getStatus());
+
+        entityManager.clear();
+        List<ChatMessageDto> chat = assertAtMost(2, "GET /api/trainer-interactions/chat/{otherUserId}",
+                () -> interactionService.getChatHistory(coachUser.getEmail(), clients.get(0).getId()));
+        assertEquals(ROWS * 2, chat.size());
+        assertEquals(ROWS, chat.stream().filter(m -> "Coach".equals(m.getSenderName())).count());
+        assertEquals(ROWS, chat.stream().filter(m -> coachUser.getId().equals(m.getReceiverId())).count());
+    }
+
+    @Test
+    void testLeaderboardGroups_CountMembersInOneQuery() {
+        // groups + grouped member counts
+        List<LeaderboardGroupResponse> groups = assertAtMost(2, "GET /api/leaderboard/groups",
+                () -> groupService.getGroups(reader.getId()));
+        assertEquals(ROWS / 2, groups.size());
+        groups.forEach(g -> assertEquals(2, g.getMemberCount()));
+
+        entityManager.clear();
+        List<LeaderboardGroupResponse> invites = assertAtMost(2, "GET /api/leaderboard/groups/invites",
+                () -> groupService.getInvites(reader.getId()));
+        assertEquals(ROWS / 2, invites.size());
+        invites.forEach(g -> assertEquals(1, g.getMemberCount())); // the invite is not counted
+
+        assertTrue(groupService.getInvites(coachUser.getId()).isEmpty());
+    }
+
+    private User user(String name) {
+        User user = new User();
+        user.setName(name);
+        user.setEmail(name.toLowerCase() + "@test.com");
+        user.setPassword("secret");
+        user.setRole("USER");
+        return entityManager.persist(user);
+    }
+}
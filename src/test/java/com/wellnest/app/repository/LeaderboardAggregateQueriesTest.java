@@ -0,0 +1,103 @@
+package com.wellnest.app.repository;
+
+import com.wellnest.app.model.*;
+import com.wellnest.app.service.LeaderboardService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.boot.jpa.test.autoconfigure.TestEntityManager;
+
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Runs the bucket backfill (one INSERT ... SELECT) against an in-memory database
+ * and checks that the seeded scores match the entity-based point rules.
+ */
+@DataJpaTest
+class LeaderboardAggregateQueriesTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private LeaderboardDailyScoreRepository dailyScoreRepository;
+
+    @Test
+    void testRebuildAll_MatchesPerEntityPoints() {
+        LocalDate monday = LocalDate.of(2024, 2, 12);
+
+        // User 1: 60 min workout (two sessions), 3 meals, 2L water, 8 hr sleep -> 210
+        persistWorkout(1L, monday, 40);
+        persistWorkout(1L, monday, 20);
+        for (int i = 0; i < 3; i++) {
+            persistMeal(1L, monday);
+        }
+        persistWater(1L, monday.plusDays(1), 2.0);
+        persistSleep(1L, monday.plusDays(2), 8.0);
+
+        // User 2: 30 min workout, 2 meals, 1L water, 7 hr sleep -> 140
+        persistWorkout(2L, monday.plusDays(3), 30);
+        persistMeal(2L, monday.plusDays(3));
+        persistMeal(2L, monday.plusDays(4));
+        persistWater(2L, monday.plusDays(4), 1.0);
+        persistSleep(2L, monday.plusDays(5), 7.0);
+
+        // User 3: values missing, so the sums are NULL and score 0
+        persistWorkout(3L, monday, null);
+        persistWater(3L, monday, null);
+
+        // Outside the window
+        persistWorkout(1L, monday.plusDays(7), 500);
+        entityManager.flush();
+
+        new LeaderboardService(userRepository, dailyScoreRepository).rebuildAll();
+        Map<Long, Double> scores = dailyScoreRepository.sumScoresByUserBetween(monday, monday.plusDays(6)).stream()
+                .collect(Collectors.toMap(row -> ((Number) row[0]).longValue(),
+                        row -> ((Number) row[1]).doubleValue()));
+
+        assertEquals(210.0, scores.get(1L));
+        assertEquals(140.0, scores.get(2L));
+        assertEquals(0.0, scores.get(3L));
+        // Workouts and meals of the same day share one bucket
+        assertEquals(3, dailyScoreRepository.findAll().stream().filter(s -> s.getUserId() == 1L
+                && !s.getScoreDate().isAfter(monday.plusDays(6))).count());
+    }
+
+    private void persistWorkout(Long userId, LocalDate day, Integer minutes) {
+        Workout w = new Workout();
+        w.setUserId(userId);
+        w.setType("run");
+        w.setDurationMinutes(minutes);
+        w.setPerformedAt(day.atTime(23, 30));
+        entityManager.persist(w);
+    }
+
+    private void persistMeal(Long userId, LocalDate day) {
+        Meal m = new Meal();
+        m.setUserId(userId);
+        m.setMealType("lunch");
+        m.setLoggedAt(day.atTime(13, 0));
+        entityManager.persist(m);
+    }
+
+    private void persistWater(Long userId, LocalDate day, Double liters) {
+        WaterIntake w = new WaterIntake();
+        w.setUserId(userId);
+        w.setLiters(liters);
+        w.setLoggedAt(day.atTime(10, 0));
+        entityManager.persist(w);
+    }
+
+    private void persistSleep(Long userId, LocalDate day, double hours) {
+        SleepLog s = new SleepLog();
+        s.setUserId(userId);
+        s.setHours(hours);
+        s.setSleepDate(day);
+        entityManager.persist(s);
+    }
+}
@@ -0,0 +1,80 @@
+package com.wellnest.app.repository;
+
+import com.wellnest.app.config.MethodMetricsInterceptor;
+import com.wellnest.app.config.MetricsConfig;
+import com.wellnest.app.model.WaterIntake;
+import com.wellnest.app.service.AnalyticsSummaryCache;
+import com.wellnest.app.service.TrackerDayCounters;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Service beans and repositories picked up by MetricsConfig record their
+ * timings and returned rows, tagged with endpoint "none" outside a request.
+ */
+@DataJpaTest
+@Import({ MetricsConfig.class, AnalyticsSummaryCache.class, TrackerDayCounters.class,
+        MethodMetricsTest.Registry.class })
+class MethodMetricsTest {
+
+    @TestConfiguration
+    static class Registry {
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+    }
+
+    @Autowired
+    private MeterRegistry registry;
+
+    @Autowired
+    private WaterIntakeRepository waterIntakeRepository;
+
+    @Autowired
+    private TrackerDayCounters dayCounters;
+
+    @Test
+    void recordsRepositoryRowsAndServiceTimings() {
+        for (int i = 0; i < 3; i++) {
+            WaterIntake water = new WaterIntake();
+            water.setUserId(7L);
+            water.setLiters(0.5);
+            water.setLoggedAt(LocalDateTime.now().minusMinutes(90 + i));
+            waterIntakeRepository.save(water);
+        }
+
+        assertEquals(3, waterIntakeRepository.findByUserIdOrderByLoggedAtDesc(7L).size());
+        assertEquals(1.5, dayCounters.waterLitersToday(7L), 1e-9);
+
+        DistributionSummary rows = registry.find(MethodMetricsInterceptor.REPOSITORY_ROWS)
+                .tags("repository", "WaterIntakeRepository", "method", "findByUserIdOrderByLoggedAtDesc",
+                        "endpoint", MethodMetricsInterceptor.NO_ENDPOINT)
+                .summary();
+        assertNotNull(rows);
+        assertEquals(1, rows.count());
+        assertEquals(3, rows.totalAmount(), 1e-9);
+
+        Timer serviceCalls = registry.find(MethodMetricsInterceptor.SERVICE_CALLS)
+                .tags("service", "TrackerDayCounters", "method", "waterLitersToday", "exception", "none")
+                .timer();
+        assertNotNull(serviceCalls);
+        assertEquals(1, serviceCalls.count());
+
+        // Counts and flags are not rows
+        waterIntakeRepository.count();
+        assertNull(registry.find(MethodMetricsInterceptor.REPOSITORY_ROWS).tags("method", "count").summary());
+    }
+}
@@ -0,0 +1,54 @@
+package com.wellnest.app.repository;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.fail;
+
+/**
+ * Records every SQL statement Hibernate prepares on the current thread, so a
+ * test can fail when a call goes over its statement budget (N+1 lazy loads).
+ * Enable it in the test's properties with PROPERTY, then wrap the call:
+ *
+ * List<BlogPostResponse> posts = SqlStatementCounter.assertAtMost(4, "GET /api/blog/posts",
+ * () -> blogService.getAllPosts(email));
+ *
+ * Clear the persistence context first, or entities already in it hide the lazy loads.
+ */
+public class SqlStatementCounter implements StatementInspector {
+
+    public static final String PROPERTY =
+            "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+                    + "com.wellnest.app.repository.SqlStatementCounter";
+
+    private static final ThreadLocal<List<String>> STATEMENTS = new ThreadLocal<>();
+
+    @Override
+    public String inspect(String sql) {
+        List<String> statements = STATEMENTS.get();
+        if (statements != null) {
+            statements.add(sql);
+        }
+        return sql;
+    }
+
+    /** Runs work and returns its result, failing with the statements when it issued more than budget. */
+    public static <T> T assertAtMost(int budget, String label, Supplier<T> work) {
+        List<String> statements = new ArrayList<>();
+        STATEMENTS.set(statements);
+        T result;
+        try {
+            result = work.get();
+        } finally {
+            STATEMENTS.remove();
+        }
+        if (statements.size() > budget) {
+            fail(label + ": expected <= " + budget + " statements but was " + statements.size() + "\n  "
+                    + String.join("\n  ", statements));
+        }
+        return result;
+    }
+}
@@ -0,0 +1,136 @@
+package com.wellnest.app.repository;
+
+import com.wellnest.app.dto.BulkItemResult;
+import com.wellnest.app.dto.BulkTrackerRequest;
+import com.wellnest.app.dto.BulkTrackerResponse;
+import com.wellnest.app.dto.SleepLogDto;
+import com.wellnest.app.dto.WaterIntakeDto;
+import com.wellnest.app.dto.WorkoutDto;
+import com.wellnest.app.model.Workout;
+import com.wellnest.app.service.AnalyticsSummaryCache;
+import com.wellnest.app.service.DailyRollupService;
+import com.wellnest.app.service.LeaderboardService;
+import com.wellnest.app.service.TrackerBulkService;
+import com.wellnest.app.service.TrackerDayCounters;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@DataJpaTest
+class TrackerBulkIngestTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private WorkoutRepository workoutRepository;
+    @Autowired
+    private MealRepository mealRepository;
+    @Autowired
+    private WaterIntakeRepository waterIntakeRepository;
+    @Autowired
+    private SleepLogRepository sleepLogRepository;
+
+    private LeaderboardService leaderboardService;
+    private TrackerBulkService bulkService;
+    private final LocalDate day = LocalDate.of(2024, 5, 6);
+
+    @BeforeEach
+    void setUp() {
+        leaderboardService = mock(LeaderboardService.class);
+        bulkService = new TrackerBulkService(jdbcTemplate, workoutRepository, mealRepository, waterIntakeRepository,
+                sleepLogRepository, leaderboardService, mock(TrackerDayCounters.class),
+                mock(DailyRollupService.class), mock(AnalyticsSummaryCache.class),
+                Validation.buildDefaultValidatorFactory().getValidator());
+    }
+
+    @Test
+    void testIngest_AppliesDailyLimitsPerEntryDayAndReportsEachItem() {
+        // One workout already stored on the first day
+        Workout existing = new Workout();
+        existing.setUserId(1L);
+        existing.setType("run");
+        existing.setPerformedAt(day.atTime(6, 0));
+        workoutRepository.save(existing);
+
+        BulkTrackerRequest request = new BulkTrackerRequest();
+        request.setWorkouts(List.of(workout(day, 30), workout(day, 20), workout(day.plusDays(1), 45),
+                workout(day.plusDays(1), 0)));
+        request.setWater(List.of(water(day, 6.0), water(day, 5.0), water(day.plusDays(1), 5.0)));
+        request.setSleep(List.of(sleep(day, 8.0), sleep(day, 7.0)));
+
+        BulkTrackerResponse response = bulkService.ingest(1L, request);
+
+        assertEquals(9, response.getResults().size());
+        assertEquals(5, response.getCreated());
+        assertEquals(4, response.getRejected());
+
+        // workout[1] exceeds 2/day (one already stored), workout[3] fails validation (@Min(1))
+        assertTrue(result(response, "workout", 0).isCreated());
+        assertFalse(result(response, "workout", 1).isCreated());
+        assertTrue(result(response, "workout", 2).isCreated());
+        assertTrue(result(response, "workout", 3).getError().startsWith("durationMinutes"));
+        // 6L + 5L on the same day is over 10L
+        assertFalse(result(response, "water", 1).isCreated());
+        assertFalse(result(response, "sleep", 1).isCreated());
+
+        assertEquals(3, workoutRepository.count());
+        assertEquals(2, waterIntakeRepository.count());
+        Long createdId = result(response, "workout", 2).getId();
+        assertEquals(45, workoutRepository.findById(createdId).orElseThrow().getDurationMinutes());
+
+        // One leaderboard update per touched day: day (30 + 120 + 80) and day+1 (45 + 100)
+        verify(leaderboardService).recordActivity(1L, day, 230.0);
+        verify(leaderboardService).recordActivity(1L, day.plusDays(1), 145.0);
+        verify(leaderboardService, times(2)).recordActivity(eq(1L), any(), anyDouble());
+    }
+
+    @Test
+    void testIngest_RejectsOversizedUpload() {
+        BulkTrackerRequest request = new BulkTrackerRequest();
+        request.setWater(java.util.Collections.nCopies(TrackerBulkService.MAX_ITEMS + 1, water(day, 0.1)));
+
+        assertThrows(IllegalArgumentException.class, () -> bulkService.ingest(1L, request));
+    }
+
+    private static BulkItemResult result(BulkTrackerResponse response, String type, int index) {
+        return response.getResults().stream()
+                .filter(r -> r.getType().equals(type) && r.getIndex() == index)
+                .findFirst().orElseThrow();
+    }
+
+    private static WorkoutDto workout(LocalDate date, int minutes) {
+        WorkoutDto dto = new WorkoutDto();
+        dto.setType("run");
+        dto.setDurationMinutes(minutes);
+        dto.setPerformedAt(date.atTime(18, 0));
+        return dto;
+    }
+
+    private static WaterIntakeDto water(LocalDate date, double liters) {
+        WaterIntakeDto dto = new WaterIntakeDto();
+        dto.setLiters(liters);
+        dto.setLoggedAt(date.atTime(12, 0));
+        return dto;
+    }
+
+    private static SleepLogDto sleep(LocalDate date, double hours) {
+        SleepLogDto dto = new SleepLogDto();
+        dto.setHours(hours);
+        dto.setSleepDate(date);
+        return dto;
+    }
+}
@@ -0,0 +1,131 @@
+package com.wellnest.app.repository;
+
+import com.wellnest.app.dto.MealDto;
+import com.wellnest.app.dto.WaterIntakeDto;
+import com.wellnest.app.dto.WorkoutDto;
+import com.wellnest.app.model.Meal;
+import com.wellnest.app.model.Workout;
+import com.wellnest.app.service.AnalyticsSummaryCache;
+import com.wellnest.app.service.DailyRollupService;
+import com.wellnest.app.service.LeaderboardService;
+import com.wellnest.app.service.TrackerDayCounters;
+import com.wellnest.app.service.TrackerService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Daily limits enforced through the bounded today-queries, with and without
+ * the in-memory counters. Runs without a test transaction so every save
+ * commits and the counters' after-commit updates fire as in production.
+ */
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class TrackerDailyLimitTest {
+    @Autowired
+    private WorkoutRepository workoutRepository;
+    @Autowired
+    private MealRepository mealRepository;
+    @Autowired
+    private WaterIntakeRepository waterIntakeRepository;
+    @Autowired
+    private SleepLogRepository sleepLogRepository;
+
+    @AfterEach
+    void cleanUp() {
+        workoutRepository.deleteAll();
+        mealRepository.deleteAll();
+        waterIntakeRepository.deleteAll();
+        sleepLogRepository.deleteAll();
+    }
+
+    @Test
+    void testLimitsWithQueriesOnly() {
+        assertLimitsEnforced(service(false));
+    }
+
+    @Test
+    void testLimitsWithInMemoryCounters() {
+        assertLimitsEnforced(service(true));
+    }
+
+    @Test
+    void testCountersReloadAfterDelete() {
+        TrackerService trackerService = service(true);
+        Workout first = trackerService.createWorkoutForUser(1L, workout());
+        trackerService.createWorkoutForUser(1L, workout());
+        assertThrows(IllegalArgumentException.class, () -> trackerService.createWorkoutForUser(1L, workout()));
+
+        trackerService.deleteWorkout(1L, first.getId());
+
+        assertNotNull(trackerService.createWorkoutForUser(1L, workout()));
+    }
+
+    private void assertLimitsEnforced(TrackerService trackerService) {
+        // Old history does not count towards today
+        Workout old = new Workout();
+        old.setUserId(1L);
+        old.setType("run");
+        old.setPerformedAt(LocalDate.now().minusDays(3).atTime(8, 0));
+        workoutRepository.save(old);
+
+        trackerService.createWorkoutForUser(1L, workout());
+        trackerService.createWorkoutForUser(1L, workout());
+        assertThrows(IllegalArgumentException.class, () -> trackerService.createWorkoutForUser(1L, workout()));
+
+        Meal lunch = trackerService.createMealForUser(1L, meal("Lunch"));
+        assertNotNull(lunch);
+        assertThrows(IllegalArgumentException.class, () -> trackerService.createMealForUser(1L, meal("lunch")));
+        assertNotNull(trackerService.createMealForUser(1L, meal("dinner")));
+
+        // The daily total is checked before the cooldown
+        trackerService.createWaterForUser(1L, water(9.0, null));
+        IllegalArgumentException tooMuch = assertThrows(IllegalArgumentException.class,
+                () -> trackerService.createWaterForUser(1L, water(2.0, null)));
+        assertTrue(tooMuch.getMessage().startsWith("Daily Limit Reached"));
+
+        IllegalArgumentException cooldown = assertThrows(IllegalArgumentException.class,
+                () -> trackerService.createWaterForUser(1L, water(0.5, null)));
+        assertTrue(cooldown.getMessage().startsWith("Cooldown Active"));
+
+        // Another user is unaffected
+        assertNotNull(trackerService.createWorkoutForUser(2L, workout()));
+    }
+
+    private TrackerService service(boolean cacheEnabled) {
+        TrackerDayCounters counters = new TrackerDayCounters(workoutRepository, mealRepository,
+                waterIntakeRepository, sleepLogRepository, cacheEnabled);
+        return new TrackerService(workoutRepository, mealRepository, waterIntakeRepository, sleepLogRepository,
+                mock(LeaderboardService.class), counters, mock(DailyRollupService.class),
+                mock(AnalyticsSummaryCache.class));
+    }
+
+    private static WorkoutDto workout() {
+        WorkoutDto dto = new WorkoutDto();
+        dto.setType("run");
+        dto.setDurationMinutes(30);
+        return dto;
+    }
+
+    private static MealDto meal(String type) {
+        MealDto dto = new MealDto();
+        dto.setMealType(type);
+        return dto;
+    }
+
+    private static WaterIntakeDto water(double liters, LocalDateTime loggedAt) {
+        WaterIntakeDto dto = new WaterIntakeDto();
+        dto.setLiters(liters);
+        dto.setLoggedAt(loggedAt);
+        return dto;
+    }
+}
@@ -0,0 +1,114 @@
+package com.wellnest.app.repository;
+
+import com.wellnest.app.dto.CursorPage;
+import com.wellnest.app.model.SleepLog;
+import com.wellnest.app.model.Workout;
+import com.wellnest.app.service.AnalyticsSummaryCache;
+import com.wellnest.app.service.DailyRollupService;
+import com.wellnest.app.service.LeaderboardService;
+import com.wellnest.app.service.TrackerDayCounters;
+import com.wellnest.app.service.TrackerService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.boot.jpa.test.autoconfigure.TestEntityManager;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Walks the keyset-paginated history queries page by page, including rows
+ * that share the same timestamp.
+ */
+@DataJpaTest
+class TrackerHistoryPagingTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+    @Autowired
+    private WorkoutRepository workoutRepository;
+    @Autowired
+    private MealRepository mealRepository;
+    @Autowired
+    private WaterIntakeRepository waterIntakeRepository;
+    @Autowired
+    private SleepLogRepository sleepLogRepository;
+
+    private TrackerService trackerService;
+    private final LocalDate day = LocalDate.of(2024, 3, 1);
+
+    @BeforeEach
+    void setUp() {
+        trackerService = new TrackerService(workoutRepository, mealRepository, waterIntakeRepository,
+                sleepLogRepository, mock(LeaderboardService.class), mock(TrackerDayCounters.class),
+                mock(DailyRollupService.class), mock(AnalyticsSummaryCache.class));
+    }
+
+    @Test
+    void testWorkoutHistory_PagesThroughTiesWithoutGapsOrDuplicates() {
+        List<Long> expected = new ArrayList<>();
+        for (int i = 0; i < 7; i++) {
+            // Pairs of rows share a timestamp so the id tie-breaker is exercised
+            expected.add(persistWorkout(1L, day.plusDays(i / 2), 10 + i));
+        }
+        persistWorkout(2L, day, 99); // other user
+        entityManager.flush();
+
+        List<Long> seen = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            CursorPage<Workout> page = trackerService.getWorkoutHistory(1L, null, null, cursor, 3);
+            page.getItems().forEach(w -> seen.add(w.getId()));
+            cursor = page.getNextCursor();
+            pages++;
+        } while (cursor != null);
+
+        assertEquals(3, pages);
+        assertEquals(7, seen.size());
+        assertTrue(seen.containsAll(expected));
+        // Newest first
+        List<Workout> firstPage = trackerService.getWorkoutHistory(1L, null, null, null, 1).getItems();
+        assertEquals(day.plusDays(3), firstPage.get(0).getPerformedAt().toLocalDate());
+    }
+
+    @Test
+    void testSleepHistory_AppliesDateRangeFilter() {
+        for (int i = 0; i < 10; i++) {
+            SleepLog s = new SleepLog();
+            s.setUserId(1L);
+            s.setHours(7.0);
+            s.setSleepDate(day.plusDays(i));
+            entityManager.persist(s);
+        }
+        entityManager.flush();
+
+        CursorPage<SleepLog> page = trackerService.getSleepHistory(1L, day.plusDays(2), day.plusDays(5), null, 10);
+
+        assertEquals(4, page.getItems().size());
+        assertFalse(page.isHasMore());
+        assertEquals(day.plusDays(5), page.getItems().get(0).getSleepDate());
+        assertEquals(day.plusDays(2), page.getItems().get(3).getSleepDate());
+    }
+
+    @Test
+    void testHistory_RejectsInvalidCursor() {
+        assertThrows(IllegalArgumentException.class,
+                () -> trackerService.getMealHistory(1L, null, null, "not-a-cursor", 10));
+    }
+
+    private Long persistWorkout(Long userId, LocalDate date, int minutes) {
+        Workout w = new Workout();
+        w.setUserId(userId);
+        w.setType("run");
+        w.setDurationMinutes(minutes);
+        w.setPerformedAt(date.atTime(7, 0));
+        entityManager.persist(w);
+        return w.getId();
+    }
+}
@@ -0,0 +1,85 @@
+package com.wellnest.app.service;
+
+import com.wellnest.app.dto.AnalyticsCacheStats;
+import com.wellnest.app.dto.AnalyticsSummary;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AnalyticsSummaryCacheTest {
+
+    private final AtomicLong now = new AtomicLong();
+    private final AtomicInteger loads = new AtomicInteger();
+    private final LocalDate start = LocalDate.of(2024, 5, 1);
+    private final LocalDate end = LocalDate.of(2024, 5, 7);
+
+    @Test
+    void testGet_CachesPerKeyUntilTtlExpires() {
+        AnalyticsSummaryCache cache = new AnalyticsSummaryCache(true, 10, 60, now::get);
+
+        AnalyticsSummary first = cache.get(1L, start, end, this::load);
+        assertSame(first, cache.get(1L, start, end, this::load));
+        cache.get(1L, start, end.plusDays(1), this::load); // different range, separate entry
+        assertEquals(2, loads.get());
+
+        now.addAndGet(TimeUnit.SECONDS.toNanos(61));
+        assertNotSame(first, cache.get(1L, start, end, this::load));
+
+        AnalyticsCacheStats stats = cache.stats();
+        assertEquals(1, stats.getHits());
+        assertEquals(3, stats.getMisses());
+    }
+
+    @Test
+    void testInvalidate_DropsOnlyThatUsersEntries() {
+        AnalyticsSummaryCache cache = new AnalyticsSummaryCache(true, 10, 60, now::get);
+        AnalyticsSummary user1 = cache.get(1L, start, end, this::load);
+        AnalyticsSummary user2 = cache.get(2L, start, end, this::load);
+
+        cache.invalidate(1L);
+
+        assertNotSame(user1, cache.get(1L, start, end, this::load));
+        assertSame(user2, cache.get(2L, start, end, this::load));
+        assertEquals(1, cache.stats().getInvalidations());
+    }
+
+    @Test
+    void testGet_DoesNotStoreSummaryComputedAcrossAnInvalidation() {
+        AnalyticsSummaryCache cache = new AnalyticsSummaryCache(true, 10, 60, now::get);
+
+        // A write commits while the summary is being computed from older data
+        cache.get(1L, start, end, () -> {
+            cache.invalidate(1L);
+            return load();
+        });
+        cache.get(1L, start, end, this::load);
+
+        assertEquals(2, loads.get());
+        assertEquals(0, cache.stats().getHits());
+    }
+
+    @Test
+    void testGet_EvictsLeastRecentlyUsedBeyondMaxEntries() {
+        AnalyticsSummaryCache cache = new AnalyticsSummaryCache(true, 2, 60, now::get);
+        AnalyticsSummary user1 = cache.get(1L, start, end, this::load);
+        cache.get(2L, start, end, this::load);
+        cache.get(1L, start, end, this::load); // touch user 1
+        cache.get(3L, start, end, this::load); // evicts user 2
+
+        assertSame(user1, cache.get(1L, start, end, this::load));
+        assertEquals(2, cache.stats().getSize());
+        assertEquals(1, cache.stats().getEvictions());
+        cache.get(2L, start, end, this::load);
+        assertEquals(4, loads.get());
+    }
+
+    private AnalyticsSummary load() {
+        loads.incrementAndGet();
+        return new AnalyticsSummary();
+    }
+}
@@ -0,0 +1,109 @@
+package com.wellnest.app.service;
+
+import com.wellnest.app.service.BlogSearchIndex.Document;
+import com.wellnest.app.service.BlogSearchIndex.Hit;
+import com.wellnest.app.service.BlogSearchIndex.Result;
+import com.wellnest.app.service.BlogSearchIndex.Snippet;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BlogSearchIndexTest {
+
+    private static List<Long> ids(Result result) {
+        return result.hits().stream().map(Hit::postId).collect(Collectors.toList());
+    }
+
+    private static Result search(BlogSearchIndex index, String query) {
+        return index.search(BlogSearchIndex.queryTerms(query), 0, 10);
+    }
+
+    @Test
+    void testTitleMatchesRankAboveContentMatchesAndAllTermsAreRequired() {
+        BlogSearchIndex index = new BlogSearchIndex();
+        index.put(new Document(1L, "Morning yoga routine", "Start the day", "Five poses.", "Mike", "Fitness"));
+        index.put(new Document(2L, "Healthy breakfast", "Oats", "Eat before yoga in the morning.", "Ann",
+                "Nutrition"));
+        index.put(new Document(3L, "Evening yoga", "Wind down", "Stretch before bed.", "Mike", "Fitness"));
+
+        assertEquals(List.of(1L, 2L), ids(search(index, "Morning YOGA")));
+        assertEquals(List.of(3L, 1L), ids(search(index, "mike"))); // same field, shorter post first
+        assertEquals(0, search(index, "yoga swimming").total());
+        assertEquals(0, search(index, "the a of").total()); // stop words only
+    }
+
+    @Test
+    void testLastTermMatchesAsPrefix() {
+        BlogSearchIndex index = new BlogSearchIndex();
+        index.put(new Document(1L, "Superfoods for your heart", null, "Berries and nuts.", "Sarah", "Nutrition"));
+        index.put(new Document(2L, "Heart rate zones", null, "Train smarter.", "Sarah", "Fitness"));
+
+        assertEquals(List.of(1L), ids(search(index, "heart super")));
+        assertEquals(0, search(index, "super heart").total()); // only the last term is a prefix
+    }
+
+    @Test
+    void testUpdateAndRemoveChangeWhatMatches() {
+        BlogSearchIndex index = new BlogSearchIndex();
+        index.put(new Document(1L, "Sleep hygiene", null, null, "Ann", "Lifestyle"));
+        index.put(new Document(1L, "Hydration basics", null, null, "Ann", "Lifestyle"));
+
+        assertEquals(0, search(index, "sleep").total());
+        assertEquals(List.of(1L), ids(search(index, "hydration")));
+        assertEquals(1, index.size());
+
+        index.remove(1L);
+        assertEquals(0, search(index, "hydration").total());
+        assertEquals(0, index.size());
+    }
+
+    @Test
+    void testPagingAndCompactionKeepResultsConsistent() {
+        BlogSearchIndex index = new BlogSearchIndex();
+        for (long id = 1001; id <= 4000; id++) {
+            index.put(new Document(id, "Post " + id, null, "Walking tips", "Bench", "Fitness"));
+        }
+        // Every post rewritten and half removed: enough dead entries to compact
+        for (long id = 1001; id <= 4000; id++) {
+            if (id % 2 == 0) {
+                index.remove(id);
+            } else {
+                index.put(new Document(id, "Post " + id, null, "Running tips", "Bench", "Fitness"));
+            }
+        }
+
+        assertEquals(0, search(index, "walking").total());
+        Result first = index.search(BlogSearchIndex.queryTerms("running"), 0, 10);
+        Result second = index.search(BlogSearchIndex.queryTerms("running"), 10, 10);
+        assertEquals(1500, first.total());
+        // Equal scores, so newest (highest id) first
+        assertEquals(3999L, first.hits().get(0).postId());
+        assertEquals(3979L, second.hits().get(0).postId());
+        assertEquals(List.of(2501L), ids(search(index, "2501")));
+        assertEquals(0, search(index, "2500").total());
+    }
+
+    @Test
+    void testSnippetCentresOnMatchesAndReportsTheirRanges() {
+        String text = "Cardiovascular health is crucial for a long life. ".repeat(5)
+                + "Incorporating superfoods like blueberries and almonds helps. " + "Filler text here. ".repeat(10);
+        List<String> terms = BlogSearchIndex.queryTerms("blueberries almond");
+
+        Snippet snippet = BlogSearchIndex.snippet(text, terms, 80);
+
+        assertTrue(snippet.text().startsWith("…"));
+        assertTrue(snippet.text().endsWith("…"));
+        assertEquals(2, snippet.highlights().size());
+        int[] first = snippet.highlights().get(0);
+        int[] second = snippet.highlights().get(1);
+        assertEquals("blueberries", snippet.text().substring(first[0], first[1]));
+        assertEquals("almonds", snippet.text().substring(second[0], second[1]));
+
+        Snippet none = BlogSearchIndex.snippet("Short text.", terms, 80);
+        assertEquals("Short text.", none.text());
+        assertTrue(none.highlights().isEmpty());
+    }
+}
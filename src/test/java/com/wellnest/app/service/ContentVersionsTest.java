@@ -0,0 +1,106 @@
+package com.wellnest.app.service;
+
+import com.wellnest.app.config.ConditionalGetInterceptor;
+import com.wellnest.app.service.ContentVersions.Aggregate;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ContentVersionsTest {
+
+    private final ContentVersions versions = new ContentVersions();
+    private final ConditionalGetInterceptor blog = new ConditionalGetInterceptor(versions, Aggregate.BLOG, true);
+    private final ConditionalGetInterceptor trainers =
+            new ConditionalGetInterceptor(versions, Aggregate.TRAINERS, false);
+
+    private static MockHttpServletRequest get(String uri) {
+        return new MockHttpServletRequest("GET", uri);
+    }
+
+    @Test
+    void testMatchingETagIsAnsweredWithoutReachingTheController() {
+        MockHttpServletResponse first = new MockHttpServletResponse();
+        assertTrue(trainers.preHandle(get("/api/trainers"), first, null));
+        String etag = first.getHeader("ETag");
+        assertNotNull(etag);
+        assertNotNull(first.getHeader("Last-Modified"));
+        assertEquals("no-cache", first.getHeader("Cache-Control"));
+
+        MockHttpServletRequest again = get("/api/trainers");
+        again.addHeader("If-None-Match", etag);
+        MockHttpServletResponse notModified = new MockHttpServletResponse();
+        assertFalse(trainers.preHandle(again, notModified, null));
+        assertEquals(304, notModified.getStatus());
+
+        // Without an ETag the Last-Modified date is compared
+        MockHttpServletRequest byDate = get("/api/trainers/filters");
+        byDate.addHeader("If-Modified-Since", first.getHeader("Last-Modified"));
+        assertFalse(trainers.preHandle(byDate, new MockHttpServletResponse(), null));
+
+        versions.bump(Aggregate.TRAINERS);
+        MockHttpServletResponse changed = new MockHttpServletResponse();
+        assertTrue(trainers.preHandle(again, changed, null));
+        assertNotEquals(etag, changed.getHeader("ETag"));
+        MockHttpServletResponse changedByDate = new MockHttpServletResponse();
+        assertTrue(trainers.preHandle(byDate, changedByDate, null));
+        assertTrue(changedByDate.getDateHeader("Last-Modified") > first.getDateHeader("Last-Modified"));
+    }
+
+    @Test
+    void testBlogTagsDifferPerReaderAndOnlyBlogWritesChangeThem() {
+        MockHttpServletRequest alice = get("/api/blog/feed");
+        alice.setUserPrincipal(() -> "alice@test.com");
+        MockHttpServletRequest bob = get("/api/blog/feed");
+        bob.setUserPrincipal(() -> "bob@test.com");
+
+        MockHttpServletResponse aliceResponse = new MockHttpServletResponse();
+        MockHttpServletResponse bobResponse = new MockHttpServletResponse();
+        blog.preHandle(alice, aliceResponse, null);
+        blog.preHandle(bob, bobResponse, null);
+        assertNotEquals(aliceResponse.getHeader("ETag"), bobResponse.getHeader("ETag"));
+        // Same String.hashCode, different readers
+        assertNotEquals(versions.current(Aggregate.BLOG, "Aa").etag(), versions.current(Aggregate.BLOG, "BB").etag());
+        assertEquals("private, no-cache", aliceResponse.getHeader("Cache-Control"));
+        assertEquals("Authorization", aliceResponse.getHeader("Vary"));
+
+        versions.bump(Aggregate.TRAINERS);
+        alice.addHeader("If-None-Match", aliceResponse.getHeader("ETag"));
+        assertFalse(blog.preHandle(alice, new MockHttpServletResponse(), null));
+
+        // Writes pass straight through
+        MockHttpServletRequest post = new MockHttpServletRequest("POST", "/api/blog/posts");
+        MockHttpServletResponse postResponse = new MockHttpServletResponse();
+        assertTrue(blog.preHandle(post, postResponse, null));
+        assertNull(postResponse.getHeader("ETag"));
+    }
+
+    @Test
+    void testBumpInsideTransactionWaitsForCommit() {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            versions.bump(Aggregate.BLOG);
+            assertEquals(0, versions.version(Aggregate.BLOG));
+            TransactionSynchronizationUtils.invokeAfterCompletion(
+                    TransactionSynchronizationManager.getSynchronizations(), TransactionSynchronization.STATUS_COMMITTED);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        assertEquals(1, versions.version(Aggregate.BLOG));
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            versions.bump(Aggregate.BLOG);
+            TransactionSynchronizationUtils.invokeAfterCompletion(
+                    TransactionSynchronizationManager.getSynchronizations(),
+                    TransactionSynchronization.STATUS_ROLLED_BACK);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        assertEquals(1, versions.version(Aggregate.BLOG));
+    }
+}
@@ -0,0 +1,190 @@
+package com.wellnest.app.service;
+
+import com.wellnest.app.repository.BlogCommentRepository;
+import com.wellnest.app.repository.BlogPostRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class HotPostRankingTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2026, 3, 1, 12, 0);
+
+    private final BlogPostRepository posts = mock(BlogPostRepository.class);
+    private final BlogCommentRepository comments = mock(BlogCommentRepository.class);
+    private final AtomicReference<LocalDateTime> clock = new AtomicReference<>(NOW);
+
+    private HotPostRanking ranking() {
+        return new HotPostRanking(posts, comments, 24, clock::get);
+    }
+
+    @Test
+    void testRecentActivityOutranksOlderLikes() {
+        HotPostRanking ranking = ranking();
+        clock.set(NOW.minusHours(48));
+        ranking.postCreated(1L, NOW.minusHours(48));
+        for (int i = 0; i < 3; i++) {
+            ranking.liked(1L, NOW.minusHours(48), NOW.minusHours(48), 1);
+        }
+        clock.set(NOW);
+        ranking.postCreated(2L, NOW);
+        ranking.commented(2L, NOW, NOW, 1);
+
+        // Two half-lives: (1 + 3) / 4 = 1 for post 1, 1 + 2 = 3 for post 2
+        assertEquals(1.0, ranking.score(1L), 1e-9);
+        assertEquals(3.0, ranking.score(2L), 1e-9);
+        assertEquals(List.of(2L, 1L), ranking.top(0, 10));
+        assertEquals(List.of(1L), ranking.top(1, 10));
+    }
+
+    @Test
+    void testFreshLikesLiftAnOldPost() {
+        HotPostRanking ranking = ranking();
+        ranking.postCreated(1L, NOW.minusHours(72));
+        ranking.postCreated(2L, NOW);
+        for (int i = 0; i < 4; i++) {
+            ranking.liked(1L, NOW.minusHours(72), NOW, 1);
+        }
+
+        // Likes count at the time they are made: 1 / 8 + 4
+        assertEquals(4.125, ranking.score(1L), 1e-9);
+        assertEquals(List.of(1L, 2L), ranking.top(0, 10));
+    }
+
+    @Test
+    void testDecayIsAppliedAtReadTimeWithoutReordering() {
+        HotPostRanking ranking = ranking();
+        ranking.postCreated(1L, NOW);
+        ranking.liked(1L, NOW, NOW, 1);
+        ranking.postCreated(2L, NOW.minusHours(1));
+
+        clock.set(NOW.plusHours(240)); // ten half-lives later
+        assertEquals(2.0 / 1024, ranking.score(1L), 1e-12);
+        assertEquals(List.of(1L, 2L), ranking.top(0, 10));
+
+        ranking.commented(2L, NOW.minusHours(1), NOW.plusHours(240), 1); // fresh activity moves the old post ahead
+        assertEquals(List.of(2L, 1L), ranking.top(0, 10));
+    }
+
+    @Test
+    void testUnlikeAndDeleteUndoActivity() {
+        HotPostRanking ranking = ranking();
+        ranking.postCreated(1L, NOW);
+        ranking.liked(1L, NOW, NOW, 1);
+        ranking.liked(1L, NOW, NOW, -1);
+        assertEquals(1.0, ranking.score(1L), 1e-9);
+
+        // Taking away more than is there stops at the post's own creation weight
+        ranking.liked(1L, NOW, NOW, -1);
+        ranking.commented(1L, NOW, NOW, -1);
+        assertEquals(1.0, ranking.score(1L), 1e-9);
+
+        ranking.postDeleted(1L);
+        assertEquals(0.0, ranking.score(1L));
+        assertTrue(ranking.top(0, 10).isEmpty());
+        ranking.liked(1L, NOW, NOW, 1); // a late toggle on a deleted post is ignored
+        assertEquals(0, ranking.size());
+    }
+
+    @Test
+    void testUnlikingADaysOldLikeTakesOffWhatItAdded() {
+        HotPostRanking ranking = ranking();
+        clock.set(NOW.minusHours(72));
+        ranking.postCreated(1L, NOW.minusHours(72));
+        ranking.postCreated(2L, NOW.minusHours(96));
+        clock.set(NOW.minusHours(60));
+        ranking.commented(1L, NOW.minusHours(72), NOW.minusHours(60), 1);
+        clock.set(NOW.minusHours(48));
+        ranking.liked(1L, NOW.minusHours(72), NOW.minusHours(48), 1);
+        ranking.liked(1L, NOW.minusHours(72), NOW.minusHours(48), 1);
+
+        // Unliked and uncommented now, each at the time it was made
+        clock.set(NOW);
+        ranking.liked(1L, NOW.minusHours(72), NOW.minusHours(48), -1);
+        ranking.commented(1L, NOW.minusHours(72), NOW.minusHours(60), -1);
+
+        // The post at three half-lives and one like at two: 1 / 8 + 1 / 4
+        assertEquals(0.375, ranking.score(1L), 1e-9);
+        assertEquals(1.0 / 16, ranking.score(2L), 1e-9);
+        assertEquals(List.of(1L, 2L), ranking.top(0, 10));
+
+        // A rebuild from the stored rows lands on the same score
+        when(posts.findHotSeeds(anyLong(), any())).thenReturn(List.of(
+                new Object[] { 1L, NOW.minusHours(72) },
+                new Object[] { 2L, NOW.minusHours(96) }));
+        when(posts.findLikeTimes(anyLong(), anyLong(), any())).thenReturn(List.<Object[]>of(
+                new Object[] { 1L, 5L, NOW.minusHours(48) }));
+        ranking.rebuildAll();
+        assertEquals(0.375, ranking.score(1L), 1e-9);
+    }
+
+    @Test
+    void testRebuildNeitherLosesNorRepeatsAnEventCommittingMeanwhile() throws Exception {
+        when(posts.findHotSeeds(anyLong(), any())).thenReturn(List.<Object[]>of(new Object[] { 1L, NOW }));
+        HotPostRanking ranking = ranking();
+        ranking.rebuildAll();
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            ranking.liked(1L, NOW, NOW, 1);
+            TransactionSynchronizationUtils.triggerBeforeCommit(false);
+
+            // The like is committed, so the rebuild reads it from post_likes
+            when(posts.findLikeTimes(anyLong(), anyLong(), any())).thenReturn(List.<Object[]>of(
+                    new Object[] { 1L, 5L, NOW }));
+            Thread rebuilder = new Thread(ranking::rebuildAll);
+            rebuilder.start();
+            rebuilder.join(200);
+            assertTrue(rebuilder.isAlive(), "rebuild waits for the committing like");
+
+            TransactionSynchronizationUtils.triggerAfterCommit();
+            TransactionSynchronizationUtils.triggerAfterCompletion(TransactionSynchronization.STATUS_COMMITTED);
+            rebuilder.join();
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertEquals(2.0, ranking.score(1L), 1e-9);
+
+        // Later likes go to the new index
+        ranking.liked(1L, NOW, NOW, 1);
+        assertEquals(3.0, ranking.score(1L), 1e-9);
+    }
+
+    @Test
+    void testRebuildScoresPostsLikesAndComments() {
+        when(posts.findHotSeeds(anyLong(), any())).thenReturn(List.of(
+                new Object[] { 1L, NOW.minusHours(24) },
+                new Object[] { 2L, NOW },
+                new Object[] { 3L, NOW.minusHours(1) }));
+        List<Object[]> likes = new ArrayList<>();
+        for (long userId = 1; userId <= 7; userId++) {
+            likes.add(new Object[] { 1L, userId, NOW.minusHours(24) });
+        }
+        likes.add(new Object[] { 99L, 1L, NOW }); // post no longer there
+        when(posts.findLikeTimes(anyLong(), anyLong(), any())).thenReturn(likes);
+        when(comments.findCommentTimes(anyLong(), any())).thenReturn(List.of(
+                new Object[] { 10L, 2L, NOW },
+                new Object[] { 11L, 99L, NOW })); // post no longer there
+
+        HotPostRanking ranking = ranking();
+        ranking.rebuildAll();
+
+        assertEquals(3, ranking.size());
+        assertEquals(4.0, ranking.score(1L), 1e-9); // (1 + 7) / 2
+        assertEquals(3.0, ranking.score(2L), 1e-9);
+        assertEquals(List.of(1L, 2L, 3L), ranking.top(0, 10));
+    }
+}
@@ -0,0 +1,140 @@
+package com.wellnest.app.service;
+
+import com.wellnest.app.controller.ImageController;
+import com.wellnest.app.service.impl.LocalImageStore;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import javax.imageio.ImageIO;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Base64;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+class ImageStoreTest {
+
+    // An 8-byte PNG signature plus a few bytes of payload is enough for the sniffing
+    private static final byte[] PNG = { (byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n', 0, 0, 0, 13, 'I', 'H' };
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void testToImageUrl_StoresDataUriOnceUnderItsHash() throws Exception {
+        LocalImageStore store = new LocalImageStore(dir.toString());
+        ImageService images = new ImageService(store, mock(ImageResizer.class), null);
+        String dataUri = "data:image/png;base64," + Base64.getEncoder().encodeToString(PNG);
+
+        String url = images.toImageUrl(dataUri);
+        assertTrue(url.startsWith(ImageService.URL_PREFIX));
+        String hash = url.substring(ImageService.URL_PREFIX.length());
+        assertTrue(ImageService.isHash(hash));
+        assertEquals(url, images.toImageUrl(dataUri));
+        try (var files = Files.walk(dir)) {
+            assertEquals(1, files.filter(Files::isRegularFile).count());
+        }
+        assertArrayEquals(PNG, store.get(hash).orElseThrow().getContentAsByteArray());
+
+        // Links and empty values pass through; unknown hashes and paths are not found
+        assertEquals("https://example.com/a.jpg", images.toImageUrl("https://example.com/a.jpg"));
+        assertNull(images.toImageUrl(null));
+        assertTrue(store.get("0".repeat(64)).isEmpty());
+        assertTrue(store.get("../../etc/passwd").isEmpty());
+
+        String svg = "data:image/svg+xml;base64," + Base64.getEncoder().encodeToString("<svg/>".getBytes());
+        assertThrows(IllegalArgumentException.class, () -> images.toImageUrl(svg));
+        assertThrows(IllegalArgumentException.class, () -> images.toImageUrl("data:image/png;base64,%%%"));
+        // Links must fit the VARCHAR(512) image columns
+        assertThrows(IllegalArgumentException.class,
+                () -> images.toImageUrl("https://example.com/" + "a".repeat(ImageService.MAX_URL_LENGTH)));
+    }
+
+    @Test
+    void testGetImage_ServesBytesWithImmutableCachingAndEtag() throws Exception {
+        LocalImageStore store = new LocalImageStore(dir.toString());
+        String hash = store.put(PNG);
+        MockMvc mvc = MockMvcBuilders.standaloneSetup(new ImageController(store, mock(ImageResizer.class))).build();
+
+        mvc.perform(get("/api/images/" + hash))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("image/png"))
+                .andExpect(content().bytes(PNG))
+                .andExpect(header().string("ETag", "\"" + hash + "\""))
+                .andExpect(header().string("Cache-Control", "public, max-age=31536000, immutable"));
+
+        mvc.perform(get("/api/images/" + hash).header("If-None-Match", "\"" + hash + "\""))
+                .andExpect(status().isNotModified())
+                .andExpect(content().bytes(new byte[0]));
+
+        mvc.perform(get("/api/images/" + "a".repeat(64))).andExpect(status().isNotFound());
+        mvc.perform(get("/api/images/not-a-hash")).andExpect(status().isNotFound());
+    }
+
+    @Test
+    void testCreateVariants_DownscalesOnceAndListsLinkTheSmallCopy() throws Exception {
+        LocalImageStore store = new LocalImageStore(dir.toString());
+        ImageResizer resizer = new ImageResizer(store, 1, 4);
+        try {
+            BufferedImage photo = new BufferedImage(1600, 1000, BufferedImage.TYPE_INT_RGB);
+            Graphics2D g = photo.createGraphics();
+            g.setColor(Color.ORANGE);
+            g.fillRect(0, 0, 800, 1000);
+            g.dispose();
+            ByteArrayOutputStream jpeg = new ByteArrayOutputStream();
+            ImageIO.write(photo, "jpeg", jpeg);
+            byte[] original = jpeg.toByteArray();
+            String hash = store.put(original);
+
+            resizer.createVariants(hash, original);
+
+            BufferedImage medium = ImageIO.read(store.getVariant(hash, ImageVariant.MEDIUM).orElseThrow().getInputStream());
+            assertEquals(640, medium.getWidth());
+            assertEquals(400, medium.getHeight());
+            byte[] thumbBytes = store.getVariant(hash, ImageVariant.THUMB).orElseThrow().getContentAsByteArray();
+            BufferedImage thumb = ImageIO.read(new ByteArrayInputStream(thumbBytes));
+            assertEquals(160, thumb.getWidth());
+            assertEquals(100, thumb.getHeight());
+            assertTrue(thumbBytes.length * 10 < original.length);
+
+            // Already smaller than both variants: the original bytes are reused
+            ByteArrayOutputStream png = new ByteArrayOutputStream();
+            ImageIO.write(new BufferedImage(100, 50, BufferedImage.TYPE_INT_ARGB), "png", png);
+            String smallHash = store.put(png.toByteArray());
+            resizer.createVariants(smallHash, png.toByteArray());
+            assertArrayEquals(png.toByteArray(),
+                    store.getVariant(smallHash, ImageVariant.THUMB).orElseThrow().getContentAsByteArray());
+
+            // Not decodable by ImageIO: no variants
+            String stubHash = store.put(PNG);
+            resizer.createVariants(stubHash, PNG);
+            assertTrue(store.getVariant(stubHash, ImageVariant.THUMB).isEmpty());
+
+            assertEquals("/api/images/" + hash + "/thumb",
+                    ImageService.variantUrl("/api/images/" + hash, ImageVariant.THUMB));
+            assertEquals("https://example.com/a.jpg",
+                    ImageService.variantUrl("https://example.com/a.jpg", ImageVariant.THUMB));
+
+            MockMvc mvc = MockMvcBuilders.standaloneSetup(new ImageController(store, resizer)).build();
+            mvc.perform(get("/api/images/" + hash + "/thumb"))
+                    .andExpect(status().isOk())
+                    .andExpect(content().contentType("image/jpeg"))
+                    .andExpect(content().bytes(thumbBytes))
+                    .andExpect(header().string("ETag", "\"" + hash + ".thumb\""))
+                    .andExpect(header().string("Cache-Control", "public, max-age=31536000, immutable"));
+            mvc.perform(get("/api/images/" + hash + "/huge")).andExpect(status().isNotFound());
+        } finally {
+            resizer.shutdown();
+        }
+    }
+}
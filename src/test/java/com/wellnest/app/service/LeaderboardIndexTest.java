@@ -0,0 +1,87 @@
+package com.wellnest.app.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LeaderboardIndexTest {
+
+    @Test
+    void testRankAndTopFollowScoreThenUserId() {
+        LeaderboardIndex index = new LeaderboardIndex();
+        index.put(1L, "Alice", 100.0);
+        index.put(2L, "Bob", 250.0);
+        index.put(3L, "Charlie", 100.0);
+
+        assertEquals(1, index.rankOf(2L));
+        assertEquals(2, index.rankOf(1L));
+        assertEquals(3, index.rankOf(3L));
+        assertEquals(0, index.rankOf(99L));
+
+        List<String> names = new ArrayList<>();
+        index.forEachTop(2, (rank, userId, name, score) -> names.add(name));
+        assertEquals(List.of("Bob", "Alice"), names);
+    }
+
+    @Test
+    void testAddScoreMovesUserAndKeepsName() {
+        LeaderboardIndex index = new LeaderboardIndex();
+        index.put(1L, "Alice", 10.0);
+        index.put(2L, "Bob", 20.0);
+
+        assertTrue(index.addScore(1L, 15.0));
+        assertFalse(index.addScore(3L, 5.0));
+
+        assertEquals(1, index.rankOf(1L));
+        assertEquals(25.0, index.scoreOf(1L));
+        assertEquals("Alice", index.nameOf(1L));
+    }
+
+    @Test
+    void testRandomOperationsMatchSortedReference() {
+        LeaderboardIndex index = new LeaderboardIndex();
+        Map<Long, Double> reference = new HashMap<>();
+        Random random = new Random(42);
+
+        for (int i = 0; i < 5000; i++) {
+            long userId = random.nextInt(500) + 1;
+            int op = random.nextInt(10);
+            if (op < 6) {
+                double delta = random.nextInt(50);
+                if (!index.addScore(userId, delta)) {
+                    index.put(userId, "u" + userId, delta);
+                }
+                reference.merge(userId, delta, Double::sum);
+            } else if (op < 8) {
+                double score = random.nextInt(200);
+                index.put(userId, "u" + userId, score);
+                reference.put(userId, score);
+            } else {
+                index.remove(userId);
+                reference.remove(userId);
+            }
+        }
+
+        List<Map.Entry<Long, Double>> sorted = new ArrayList<>(reference.entrySet());
+        sorted.sort(Comparator.<Map.Entry<Long, Double>>comparingDouble(Map.Entry::getValue).reversed()
+                .thenComparing(Map.Entry::getKey));
+
+        assertEquals(sorted.size(), index.size());
+        for (int i = 0; i < sorted.size(); i++) {
+            assertEquals(i + 1, index.rankOf(sorted.get(i).getKey()));
+        }
+
+        List<Long> top = new ArrayList<>();
+        index.forEachTop(10, (rank, userId, name, score) -> top.add(userId));
+        for (int i = 0; i < top.size(); i++) {
+            assertEquals(sorted.get(i).getKey(), top.get(i));
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.wellnest.app.service;
 
+import com.wellnest.app.dto.LeaderboardEntry;
 import com.wellnest.app.dto.LeaderboardResponse;
 import com.wellnest.app.model.*;
 import com.wellnest.app.repository.*;
@@ -9,36 +10,42 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
 
+import java.lang.reflect.Proxy;
+import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.LockSupport;
 import java.util.stream.Collectors;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
 class LeaderboardServiceTest {
 
-    @Mock
-    private WorkoutRepository workoutRepository;
-    @Mock
-    private MealRepository mealRepository;
-    @Mock
-    private WaterIntakeRepository waterIntakeRepository;
-    @Mock
-    private SleepLogRepository sleepLogRepository;
     @Mock
     private UserRepository userRepository;
+    @Mock
+    private LeaderboardDailyScoreRepository dailyScoreRepository;
 
     @InjectMocks
     private LeaderboardService leaderboardService;
 
     private User user1;
     private User user2;
+    private LocalDate weekStart;
 
     @BeforeEach
     void setUp() {
@@ -49,59 +56,30 @@ class LeaderboardServiceTest {
         user2 = new User();
         user2.setId(2L);
         user2.setName("Bob");
+
+        weekStart = LeaderboardService.weekStartOf(LocalDate.now());
+    }
+
+    @Test
+    void testInitializeBoards_SeedsEmptyBucketsWithOneStatement() {
+        when(dailyScoreRepository.count()).thenReturn(0L);
+
+        leaderboardService.initializeBoards();
+
+        // Points per workout minute, meal, liter of water and hour of sleep
+        verify(dailyScoreRepository).insertScoresFromActivity(1.0, 10.0, 20.0, 10.0);
+        verify(dailyScoreRepository, never()).saveAll(any());
     }
 
     @Test
-    void testGetWeeklyLeaderboard_CalculatesScoresCorrectly() {
-        // Arrange scenarios
-        // User 1: 60 min workout, 3 meals, 2L water, 8 hr sleep
-        // Score: 60 + 30 + 40 + 80 = 210
-
-        // User 2: 30 min workout, 2 meals, 1L water, 7 hr sleep
-        // Score: 30 + 20 + 20 + 70 = 140
-
-        Workout w1 = new Workout();
-        w1.setUserId(1L);
-        w1.setDurationMinutes(60);
-        Workout w2 = new Workout();
-        w2.setUserId(2L);
-        w2.setDurationMinutes(30);
-
-        Meal m1 = new Meal();
-        m1.setUserId(1L);
-        Meal m2 = new Meal();
-        m2.setUserId(1L);
-        Meal m3 = new Meal();
-        m3.setUserId(1L);
-        Meal m4 = new Meal();
-        m4.setUserId(2L);
-        Meal m5 = new Meal();
-        m5.setUserId(2L);
-
-        WaterIntake wa1 = new WaterIntake();
-        wa1.setUserId(1L);
-        wa1.setLiters(2.0);
-        WaterIntake wa2 = new WaterIntake();
-        wa2.setUserId(2L);
-        wa2.setLiters(1.0);
-
-        SleepLog s1 = new SleepLog();
-        s1.setUserId(1L);
-        s1.setHours(8.0);
-        SleepLog s2 = new SleepLog();
-        s2.setUserId(2L);
-        s2.setHours(7.0);
-
-        when(workoutRepository.findByPerformedAtBetween(any(), any())).thenReturn(Arrays.asList(w1, w2));
-        when(mealRepository.findByLoggedAtBetween(any(), any())).thenReturn(Arrays.asList(m1, m2, m3, m4, m5));
-        when(waterIntakeRepository.findByLoggedAtBetween(any(), any())).thenReturn(Arrays.asList(wa1, wa2));
-        when(sleepLogRepository.findBySleepDateBetween(any(), any())).thenReturn(Arrays.asList(s1, s2));
-        when(userRepository.findAllById(anyCollection())).thenReturn(Arrays.asList(user1, user2));
-
-        // Act
+    void testGetWeeklyLeaderboard_RanksPrecomputedScores() {
+        when(userRepository.findAllIdAndName()).thenReturn(Arrays.asList(
+                new Object[] { 1L, "Alice" }, new Object[] { 2L, "Bob" }));
+        when(dailyScoreRepository.sumScoresByUserBetween(weekStart, weekStart.plusDays(6)))
+                .thenReturn(Arrays.asList(new Object[] { 1L, 210.0 }, new Object[] { 2L, 140.0 }));
+
         LeaderboardResponse response = leaderboardService.getWeeklyLeaderboard(2L);
 
-        // Assert
         assertEquals(2, response.getTopUsers().size());
 
         // Check Rankings
@@ -119,51 +97,13 @@ class LeaderboardServiceTest {
         assertEquals(2, response.getCurrentUserEntry().getRank());
     }
 
-    @Test
-    void testGetWeeklyLeaderboard_HandlesNullValuesSafely() {
-        // User 1 has null duration, null liters, etc. should count as 0
-        Workout w1 = new Workout();
-        w1.setUserId(1L);
-        w1.setDurationMinutes(null);
-        WaterIntake wa1 = new WaterIntake();
-        wa1.setUserId(1L);
-        wa1.setLiters(null);
-        SleepLog s1 = new SleepLog();
-        s1.setUserId(1L);
-        s1.setHours(null);
-
-        when(workoutRepository.findByPerformedAtBetween(any(), any())).thenReturn(Collections.singletonList(w1));
-        when(waterIntakeRepository.findByLoggedAtBetween(any(), any())).thenReturn(Collections.singletonList(wa1));
-        when(sleepLogRepository.findBySleepDateBetween(any(), any())).thenReturn(Collections.singletonList(s1));
-        when(mealRepository.findByLoggedAtBetween(any(), any())).thenReturn(Collections.emptyList());
-
-        when(userRepository.findAllById(anyCollection())).thenReturn(Collections.singletonList(user1));
-
-        LeaderboardResponse response = leaderboardService.getWeeklyLeaderboard(1L);
-
-        assertEquals(1, response.getTopUsers().size());
-        assertEquals(0.0, response.getTopUsers().get(0).getScore());
-    }
-
     @Test
     void testGetWeeklyLeaderboard_IncludesAllUsersEvenZeroScore() {
-        // User 1 has 100 points
-        Workout w1 = new Workout();
-        w1.setUserId(1L);
-        w1.setDurationMinutes(100);
-        // User 2 and 3 have 0 points (no logged activity)
-        User user3 = new User();
-        user3.setId(3L);
-        user3.setName("Charlie");
-
-        when(userRepository.findAll()).thenReturn(Arrays.asList(user1, user2, user3));
-        when(workoutRepository.findByPerformedAtBetween(any(), any())).thenReturn(Collections.singletonList(w1));
-        when(mealRepository.findByLoggedAtBetween(any(), any())).thenReturn(Collections.emptyList());
-        when(waterIntakeRepository.findByLoggedAtBetween(any(), any())).thenReturn(Collections.emptyList());
-        when(sleepLogRepository.findBySleepDateBetween(any(), any())).thenReturn(Collections.emptyList());
-
-        // When building top users, it fetches details for those in top 10
-        when(userRepository.findAllById(anyCollection())).thenReturn(Arrays.asList(user1, user2, user3));
+        // User 1 has 100 points, User 2 and 3 have no row this week
+        when(userRepository.findAllIdAndName()).thenReturn(Arrays.asList(
+                new Object[] { 1L, "Alice" }, new Object[] { 2L, "Bob" }, new Object[] { 3L, "Charlie" }));
+        when(dailyScoreRepository.sumScoresByUserBetween(weekStart, weekStart.plusDays(6)))
+                .thenReturn(Collections.singletonList(new Object[] { 1L, 100.0 }));
 
         LeaderboardResponse response = leaderboardService.getWeeklyLeaderboard(2L);
 
@@ -179,4 +119,158 @@ class LeaderboardServiceTest {
         assertEquals(0.0, response.getTopUsers().get(1).getScore());
         assertEquals(0.0, response.getTopUsers().get(2).getScore());
     }
+
+    @Test
+    void testRecordActivity_AppliesDeltaToActivityDay() {
+        LocalDate wednesday = weekStart.plusDays(2);
+
+        leaderboardService.recordActivity(1L, wednesday, -30.0);
+
+        verify(dailyScoreRepository).addToScore(1L, wednesday, -30.0);
+    }
+
+    @Test
+    void testRecordActivity_UpdatesBoardWithoutDatabaseRead() {
+        when(userRepository.findAllIdAndName()).thenReturn(Arrays.asList(
+                new Object[] { 1L, "Alice" }, new Object[] { 2L, "Bob" }));
+        when(dailyScoreRepository.sumScoresByUserBetween(any(), any()))
+                .thenReturn(Collections.singletonList(new Object[] { 1L, 50.0 }));
+        when(dailyScoreRepository.count()).thenReturn(1L);
+        leaderboardService.initializeBoards();
+
+        leaderboardService.recordActivity(2L, LocalDate.now(), 80.0);
+        LeaderboardResponse weekly = leaderboardService.getWeeklyLeaderboard(1L);
+        LeaderboardResponse daily = leaderboardService.getLeaderboard(LeaderboardPeriod.DAILY, 1L);
+
+        assertEquals("Bob", weekly.getTopUsers().get(0).getUserName());
+        assertEquals(80.0, weekly.getTopUsers().get(0).getScore());
+        assertEquals(2, weekly.getCurrentUserEntry().getRank());
+        assertEquals(80.0, daily.getTopUsers().get(0).getScore());
+
+        // One user scan per board at startup, none on the read path
+        verify(userRepository, times(LeaderboardPeriod.values().length)).findAllIdAndName();
+    }
+
+    @Test
+    void testRebuild_DoesNotCountAWriteCommittingMeanwhileTwice() throws Exception {
+        when(userRepository.findAllIdAndName()).thenReturn(Arrays.asList(
+                new Object[] { 1L, "Alice" }, new Object[] { 2L, "Bob" }));
+        when(dailyScoreRepository.count()).thenReturn(1L);
+        leaderboardService.initializeBoards();
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            leaderboardService.recordActivity(2L, LocalDate.now(), 80.0);
+            TransactionSynchronizationUtils.triggerBeforeCommit(false);
+
+            // The row is committed, so a reload reads it from the buckets
+            when(dailyScoreRepository.sumScoresByUserBetween(any(), any()))
+                    .thenReturn(Collections.singletonList(new Object[] { 2L, 80.0 }));
+            Thread rebuilder = new Thread(leaderboardService::rebuildAll);
+            rebuilder.start();
+            rebuilder.join(200);
+            assertTrue(rebuilder.isAlive(), "reload waits for the committing write's delta");
+
+            TransactionSynchronizationUtils.triggerAfterCommit();
+            TransactionSynchronizationUtils.triggerAfterCompletion(TransactionSynchronization.STATUS_COMMITTED);
+            rebuilder.join();
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        for (LeaderboardPeriod period : LeaderboardPeriod.values()) {
+            assertEquals(80.0, leaderboardService.getLeaderboard(period, 2L).getCurrentUserEntry().getScore());
+        }
+    }
+
+    @Test
+    void testGetLeaderboard_CallerEntryStaysOwnUnderConcurrentUpdates() throws Exception {
+        List<Object[]> users = new ArrayList<>();
+        for (long id = 1; id <= 10; id++) {
+            users.add(new Object[] { id, "User " + id });
+        }
+        when(userRepository.findAllIdAndName()).thenReturn(users);
+        // Score writes go to a no-op repository so the writer is not slowed down by mock bookkeeping
+        LeaderboardService service = new LeaderboardService(userRepository, noOpScores());
+        service.initializeBoards();
+
+        AtomicBoolean done = new AtomicBoolean();
+        Thread writer = new Thread(() -> {
+            Random random = new Random(7);
+            while (!done.get()) {
+                service.recordActivity(random.nextLong(1, 11), LocalDate.now(), random.nextInt(1, 30));
+            }
+        });
+        // Rebuilds clear and refill the boards, as at a window rollover
+        Thread rebuilder = new Thread(() -> {
+            while (!done.get()) {
+                service.rebuildAll();
+                LockSupport.parkNanos(1_000_000);
+            }
+        });
+        writer.start();
+        rebuilder.start();
+        try {
+            for (int i = 0; i < 200_000; i++) {
+                long caller = i % 10 + 1;
+                LeaderboardResponse response = service.getLeaderboard(LeaderboardPeriod.DAILY, caller);
+                LeaderboardEntry entry = response.getCurrentUserEntry();
+                assertEquals("User " + caller, entry.getUserName());
+                assertSame(entry, response.getTopUsers().get(entry.getRank() - 1));
+            }
+        } finally {
+            done.set(true);
+            writer.join();
+            rebuilder.join();
+        }
+    }
+
+    private static LeaderboardDailyScoreRepository noOpScores() {
+        return (LeaderboardDailyScoreRepository) Proxy.newProxyInstance(
+                LeaderboardDailyScoreRepository.class.getClassLoader(),
+                new Class<?>[] { LeaderboardDailyScoreRepository.class },
+                (proxy, method, args) -> {
+                    Class<?> type = method.getReturnType();
+                    if (type == long.class) {
+                        return 1L;
+                    }
+                    if (type == int.class) {
+                        return 0;
+                    }
+                    return List.class.isAssignableFrom(type) ? List.of() : null;
+                });
+    }
+
+    @Test
+    void testGetScopedLeaderboard_RanksOnlyGroupMembers() {
+        when(userRepository.findAllIdAndName()).thenReturn(Arrays.asList(
+                new Object[] { 1L, "Alice" }, new Object[] { 2L, "Bob" }, new Object[] { 3L, "Charlie" }));
+        when(dailyScoreRepository.sumScoresByUserBetween(weekStart, weekStart.plusDays(6)))
+                .thenReturn(Arrays.asList(new Object[] { 1L, 300.0 }, new Object[] { 2L, 50.0 },
+                        new Object[] { 3L, 120.0 }));
+
+        // Alice leads globally but is not in the group
+        LeaderboardResponse response = leaderboardService.getScopedLeaderboard(LeaderboardPeriod.WEEKLY,
+                Arrays.asList(2L, 3L), 2L);
+
+        assertEquals(2, response.getTopUsers().size());
+        assertEquals("Charlie", response.getTopUsers().get(0).getUserName());
+        assertEquals(1, response.getTopUsers().get(0).getRank());
+        assertEquals("Bob", response.getCurrentUserEntry().getUserName());
+        assertEquals(2, response.getCurrentUserEntry().getRank());
+    }
+
+    @Test
+    void testPeriodWindows() {
+        LocalDate today = LocalDate.of(2024, 2, 14); // Wednesday
+
+        assertEquals(LocalDate.of(2024, 2, 12), LeaderboardPeriod.WEEKLY.windowStart(today));
+        assertEquals(LocalDate.of(2024, 2, 18), LeaderboardPeriod.WEEKLY.windowEnd(today));
+        assertEquals(LocalDate.of(2024, 2, 1), LeaderboardPeriod.MONTHLY.windowStart(today));
+        assertEquals(LocalDate.of(2024, 2, 29), LeaderboardPeriod.MONTHLY.windowEnd(today));
+        assertEquals(LocalDate.of(2024, 2, 8), LeaderboardPeriod.ROLLING_7_DAYS.windowStart(today));
+        assertEquals(LeaderboardPeriod.ALL_TIME, LeaderboardPeriod.fromParam("all-time"));
+        assertEquals(LeaderboardPeriod.ROLLING_7_DAYS, LeaderboardPeriod.fromParam("rolling-7-days"));
+        assertThrows(IllegalArgumentException.class, () -> LeaderboardPeriod.fromParam("yearly"));
+    }
 }
@@ -0,0 +1,66 @@
+package com.wellnest.app.service;
+
+import com.wellnest.app.repository.MealRepository;
+import com.wellnest.app.repository.SleepLogRepository;
+import com.wellnest.app.repository.WaterIntakeRepository;
+import com.wellnest.app.repository.WorkoutRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class TrackerDayCountersTest {
+
+    private final WorkoutRepository workoutRepository = mock(WorkoutRepository.class);
+    private final TrackerDayCounters dayCounters = new TrackerDayCounters(workoutRepository,
+            mock(MealRepository.class), mock(WaterIntakeRepository.class), mock(SleepLogRepository.class), true);
+
+    @Test
+    void testCreateCommittingDuringALoadIsNotLost() throws Exception {
+        AtomicLong stored = new AtomicLong();
+        CountDownLatch querying = new CountDownLatch(1);
+        CountDownLatch committed = new CountDownLatch(1);
+        when(workoutRepository.countForUserBetween(eq(7L), any(), any())).thenAnswer(inv -> {
+            long count = stored.get();
+            querying.countDown();
+            committed.await(5, TimeUnit.SECONDS);
+            return count;
+        });
+
+        CompletableFuture<Long> check = CompletableFuture.supplyAsync(() -> dayCounters.workoutsToday(7L));
+        assertTrue(querying.await(5, TimeUnit.SECONDS));
+
+        // Another request commits a workout while the load's query is in flight
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            dayCounters.workoutCreated(7L, LocalDateTime.now());
+            TransactionSynchronizationUtils.triggerBeforeCommit(false);
+            stored.incrementAndGet();
+            TransactionSynchronizationUtils.triggerAfterCommit();
+            TransactionSynchronizationUtils.triggerAfterCompletion(TransactionSynchronization.STATUS_COMMITTED);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        committed.countDown();
+
+        assertEquals(0L, check.get(5, TimeUnit.SECONDS));
+        // The stale load was not cached; the next check loads again and sees the workout
+        assertEquals(1L, dayCounters.workoutsToday(7L));
+        assertEquals(1L, dayCounters.workoutsToday(7L));
+        verify(workoutRepository, times(2)).countForUserBetween(eq(7L), any(), any());
+    }
+}
@@ -38,4 +38,8 @@ apiClient.interceptors.response.use(
   }
 );
 
+// Uploaded images come back as "/api/images/{hash}"; point them at the backend, not the frontend origin
+export const imageUrl = (src) =>
+  src && src.startsWith("/api/") ? apiClient.defaults.baseURL.replace(/\/api\/?$/, "") + src : src;
+
 export default apiClient;
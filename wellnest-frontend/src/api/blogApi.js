@@ -6,6 +6,17 @@ export const getPosts = (category = null) => {
     return apiClient.get("/blog/posts", { params });
 };
 
+// Paginated feed: params = { category, cursor, limit }; response = { items, nextCursor, hasMore }
+// Items carry commentCount instead of comments; content and comments come from getPostById
+export const getFeed = (params) => apiClient.get("/blog/feed", { params });
+
+// Hot feed, same params (minus category) and response shape as getFeed
+export const getHotFeed = (params) => apiClient.get("/blog/hot", { params });
+
+// Ranked search: params = { q, page, size }; response = { total, hasMore, hits }
+// Each hit has a snippet plus titleHighlights/snippetHighlights as [start, end) ranges to mark
+export const searchPosts = (params) => apiClient.get("/blog/search", { params });
+
 // Get a single post by ID
 export const getPostById = (id) => apiClient.get(`/blog/posts/${id}`);
 
@@ -3,3 +3,52 @@ import apiClient from "./apiClient";
 export const getWeeklyLeaderboard = () => {
     return apiClient.get("/leaderboard/weekly");
 };
+
+// period: daily | weekly | monthly | rolling-7-days | all-time
+export const getLeaderboard = (period = "weekly") => {
+    return apiClient.get("/leaderboard", { params: { period } });
+};
+
+// Ranking among a trainer's active clients (trainer or client of that trainer)
+export const getTrainerLeaderboard = (trainerId, period = "weekly") => {
+    return apiClient.get(`/leaderboard/trainer/${trainerId}`, { params: { period } });
+};
+
+export const getMyClientsLeaderboard = (period = "weekly") => {
+    return apiClient.get("/leaderboard/my-clients", { params: { period } });
+};
+
+export const getLeaderboardGroups = () => {
+    return apiClient.get("/leaderboard/groups");
+};
+
+// Groups the current user has been invited to and not yet joined
+export const getLeaderboardGroupInvites = () => {
+    return apiClient.get("/leaderboard/groups/invites");
+};
+
+export const createLeaderboardGroup = (name, memberIds = []) => {
+    return apiClient.post("/leaderboard/groups", { name, memberIds });
+};
+
+export const deleteLeaderboardGroup = (groupId) => {
+    return apiClient.delete(`/leaderboard/groups/${groupId}`);
+};
+
+// Sends an invitation; the member is ranked once they accept
+export const addLeaderboardGroupMember = (groupId, memberId) => {
+    return apiClient.post(`/leaderboard/groups/${groupId}/members/${memberId}`);
+};
+
+export const acceptLeaderboardGroupInvite = (groupId) => {
+    return apiClient.post(`/leaderboard/groups/${groupId}/accept`);
+};
+
+// Also used to leave a group or decline an invitation (memberId = own id)
+export const removeLeaderboardGroupMember = (groupId, memberId) => {
+    return apiClient.delete(`/leaderboard/groups/${groupId}/members/${memberId}`);
+};
+
+export const getGroupLeaderboard = (groupId, period = "weekly") => {
+    return apiClient.get(`/leaderboard/groups/${groupId}`, { params: { period } });
+};
@@ -18,6 +18,15 @@ export const getWater = () => apiClient.get("/trackers/water");
 export const createSleep = (data) => apiClient.post("/trackers/sleep", data);
 export const getSleep = () => apiClient.get("/trackers/sleep");
 
+// Paginated history: params = { from, to, cursor, limit }; response = { items, nextCursor, hasMore }
+export const getWorkoutHistory = (params) => apiClient.get("/trackers/workouts/history", { params });
+export const getMealHistory = (params) => apiClient.get("/trackers/meals/history", { params });
+export const getWaterHistory = (params) => apiClient.get("/trackers/water/history", { params });
+export const getSleepHistory = (params) => apiClient.get("/trackers/sleep/history", { params });
+
+// Bulk upload: { workouts: [], meals: [], water: [], sleep: [] } -> per-entry results
+export const bulkImportTrackers = (data) => apiClient.post("/trackers/bulk", data);
+
 // Delete
 export const deleteWorkout = (id) => apiClient.delete(`/trackers/workouts/${id}`);
 export const deleteMeal = (id) => apiClient.delete(`/trackers/meals/${id}`);
@@ -52,4 +52,8 @@ export const getDietPlanForTrainer = (trainerId) => apiClient.get(`/trainers/die
 
 export const getClientAnalytics = (clientId) => apiClient.get(`/analytics/client/${clientId}`);
 
+// Compact analytics for all active clients of the logged-in trainer in one call
+export const getClientsAnalyticsOverview = (startDate, endDate) =>
+  apiClient.get("/analytics/clients", { params: { startDate, endDate } });
+
 
@@ -2,6 +2,7 @@ import React, { useState } from 'react';
 import { FiClock, FiMessageSquare, FiHeart, FiTrash2 } from 'react-icons/fi';
 import { Link } from 'react-router-dom';
 import { toggleLike, deletePost } from '../api/blogApi';
+import { imageUrl } from '../api/apiClient';
 
 const BlogCard = ({ post, onRefresh }) => {
     const [likes, setLikes] = useState(post.likes);
@@ -56,7 +57,7 @@ const BlogCard = ({ post, onRefresh }) => {
         <div className="blog-card" style={{ background: 'var(--card-bg)', boxShadow: 'var(--shadow-md)', border: '1px solid var(--card-border)', overflow: 'hidden', borderRadius: '16px' }}>
             <div style={{ height: 160, overflow: 'hidden', background: '#f1f5f9', position: 'relative' }}>
                 {post.image ? (
-                    <img src={post.image} alt={post.title} style={{ width: '100%', height: '100%', objectFit: 'cover' }} />
+                    <img src={imageUrl(post.image)} alt={post.title} style={{ width: '100%', height: '100%', objectFit: 'cover' }} />
                 ) : (
                     <div style={{ width: '100%', height: '100%', background: 'linear-gradient(135deg, #e2e8f0, #cbd5e1)' }} />
                 )}
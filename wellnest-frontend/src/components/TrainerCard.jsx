@@ -2,6 +2,7 @@ import React, { useState, useEffect, useRef } from 'react';
 import toast from 'react-hot-toast';
 import { FiStar, FiMapPin, FiMail, FiCopy, FiCheck, FiUserPlus, FiMessageSquare, FiX, FiSend } from 'react-icons/fi';
 import { requestConnection, getChatHistory, sendMessage, rateTrainer } from '../api/trainerApi';
+import { imageUrl } from '../api/apiClient';
 
 const TrainerCard = ({ trainer, connectionStatus, onConnectRefresh, onViewDiet }) => {
     const [copiedField, setCopiedField] = useState(null);
@@ -116,7 +117,7 @@ const TrainerCard = ({ trainer, connectionStatus, onConnectRefresh, onViewDiet }
             <div className="trainer-card">
                 <div className="trainer-header">
                     <img
-                        src={trainer.image}
+                        src={imageUrl(trainer.image)}
                         alt={trainer.name}
                         className="trainer-avatar"
                     />
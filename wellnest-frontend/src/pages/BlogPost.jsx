@@ -2,6 +2,7 @@ import React, { useState, useEffect } from 'react';
 import { useParams, Link, useNavigate } from 'react-router-dom';
 import { FiArrowLeft, FiHeart, FiShare2, FiClock, FiUser, FiTrash2 } from 'react-icons/fi';
 import { getPostById, toggleLike, addComment, deletePost, deleteComment } from '../api/blogApi';
+import { imageUrl } from '../api/apiClient';
 
 const BlogPost = () => {
     const { id } = useParams();
@@ -141,7 +142,7 @@ const BlogPost = () => {
             <div className="blog-detail-container">
                 {post.image && (
                     <div style={{ width: '100%', height: 300, borderRadius: '16px 16px 0 0', overflow: 'hidden', marginBottom: 24 }}>
-                        <img src={post.image} alt={post.title} style={{ width: '100%', height: '100%', objectFit: 'cover' }} />
+                        <img src={imageUrl(post.image)} alt={post.title} style={{ width: '100%', height: '100%', objectFit: 'cover' }} />
                     </div>
                 )}
                 <header className="blog-meta-header">